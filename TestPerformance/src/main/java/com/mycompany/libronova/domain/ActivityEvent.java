@@ -0,0 +1,41 @@
+package com.mycompany.libronova.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the user activity audit trail.
+ * The timestamp is taken when the activity happens, not when it is written.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class ActivityEvent {
+    
+    private final Long id;
+    private final String userId;
+    private final String action;
+    private final String details;
+    private final LocalDateTime createdAt;
+    
+    public ActivityEvent(Long id, String userId, String action, String details, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.action = action;
+        this.details = details;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getId() { return id; }
+    
+    public String getUserId() { return userId; }
+    
+    public String getAction() { return action; }
+    
+    public String getDetails() { return details; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    @Override
+    public String toString() {
+        return String.format("ActivityEvent{user='%s', action=%s, at=%s}", userId, action, createdAt);
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.libronova.domain;
 
+import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.Objects;
 
@@ -18,6 +19,7 @@ public class Book {
     private Year year;
     private Integer availableStock;
     private Integer totalStock;
+    private LocalDateTime updatedAt;
     
     public Book() {
     }
@@ -60,6 +62,9 @@ public class Book {
     public Integer getTotalStock() { return totalStock; }
     public void setTotalStock(Integer totalStock) { this.totalStock = totalStock; }
     
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
     /**
      * Checks if the book is available for loan.
      * 
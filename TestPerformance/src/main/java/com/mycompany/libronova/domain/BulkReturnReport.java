@@ -0,0 +1,81 @@
+package com.mycompany.libronova.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-loan result of a bulk return, in the order the loans were submitted.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class BulkReturnReport {
+    
+    private final Map<Long, ReturnOutcome> outcomes;
+    
+    // Book and member of each returned loan, by loan ID
+    private final Map<Long, Long> bookIds;
+    private final Map<Long, Long> memberIds;
+    
+    public BulkReturnReport(Map<Long, ReturnOutcome> outcomes) {
+        this(outcomes, Map.of(), Map.of());
+    }
+    
+    public BulkReturnReport(Map<Long, ReturnOutcome> outcomes, Map<Long, Long> bookIds, Map<Long, Long> memberIds) {
+        this.outcomes = Collections.unmodifiableMap(new LinkedHashMap<>(outcomes));
+        this.bookIds = Map.copyOf(bookIds);
+        this.memberIds = Map.copyOf(memberIds);
+    }
+    
+    public Map<Long, ReturnOutcome> getOutcomes() { return outcomes; }
+    
+    public ReturnOutcome getOutcome(Long loanId) { return outcomes.get(loanId); }
+    
+    /** @return the book of a returned loan, or null if not reported */
+    public Long getBookId(Long loanId) { return bookIds.get(loanId); }
+    
+    /** @return the member of a returned loan, or null if not reported */
+    public Long getMemberId(Long loanId) { return memberIds.get(loanId); }
+    
+    /**
+     * Sums the returned copies per book.
+     * 
+     * @return copies put back per book ID, in book ID order
+     */
+    public Map<Long, Integer> getReturnedCopiesByBook() {
+        Map<Long, Integer> copies = new TreeMap<>();
+        bookIds.values().forEach(bookId -> copies.merge(bookId, 1, Integer::sum));
+        return copies;
+    }
+    
+    /**
+     * Counts loans with a given outcome.
+     * 
+     * @param outcome the outcome to count
+     * @return number of loans with that outcome
+     */
+    public int count(ReturnOutcome outcome) {
+        return (int) outcomes.values().stream().filter(o -> o == outcome).count();
+    }
+    
+    /**
+     * Lists loans that could not be returned.
+     * 
+     * @return IDs of loans whose outcome is not RETURNED
+     */
+    public List<Long> getRejected() {
+        return outcomes.entrySet().stream()
+                .filter(e -> e.getValue() != ReturnOutcome.RETURNED)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BulkReturnReport{returned=%d, notFound=%d, notActive=%d}",
+                count(ReturnOutcome.RETURNED), count(ReturnOutcome.NOT_FOUND), count(ReturnOutcome.NOT_ACTIVE));
+    }
+}
@@ -0,0 +1,59 @@
+package com.mycompany.libronova.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Reminder that a loan is due back soon.
+ * Carries only what a notification needs, so pending reminders stay small.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class DueReminder {
+    
+    private final Long loanId;
+    private final String memberName;
+    private final String memberEmail;
+    private final String bookTitle;
+    private final LocalDate expectedReturnDate;
+    
+    public DueReminder(Long loanId, String memberName, String memberEmail,
+                       String bookTitle, LocalDate expectedReturnDate) {
+        this.loanId = loanId;
+        this.memberName = memberName;
+        this.memberEmail = memberEmail;
+        this.bookTitle = bookTitle;
+        this.expectedReturnDate = expectedReturnDate;
+    }
+    
+    /**
+     * Builds the reminder for a loan.
+     * 
+     * @param loan the active loan
+     * @return the reminder
+     */
+    public static DueReminder of(Loan loan) {
+        Member member = loan.getMember();
+        Book book = loan.getBook();
+        return new DueReminder(loan.getId(),
+                member != null ? member.getName() : null,
+                member != null ? member.getEmail() : null,
+                book != null ? book.getTitle() : null,
+                loan.getExpectedReturnDate());
+    }
+    
+    public Long getLoanId() { return loanId; }
+    
+    public String getMemberName() { return memberName; }
+    
+    public String getMemberEmail() { return memberEmail; }
+    
+    public String getBookTitle() { return bookTitle; }
+    
+    public LocalDate getExpectedReturnDate() { return expectedReturnDate; }
+    
+    @Override
+    public String toString() {
+        return String.format("DueReminder{loan=%d, member='%s', book='%s', due=%s}",
+                loanId, memberName, bookTitle, expectedReturnDate);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.libronova.domain;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Domain model representing a member's place in the waitlist of a book.
+ * Holds with a higher priority are served first, equal priorities in
+ * the order they were placed.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class Hold {
+    
+    /**
+     * Queue order of a book: ready holds, then priority, then arrival.
+     */
+    public static final Comparator<Hold> QUEUE_ORDER = Comparator
+            .comparing((Hold h) -> h.getStatus() != HoldStatus.READY)
+            .thenComparing(Hold::getPriority, Comparator.reverseOrder())
+            .thenComparing(Hold::getId);
+    
+    private Long id;
+    private Long bookId;
+    private Long memberId;
+    private int priority;
+    private HoldStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime readyAt;
+    private LocalDateTime expiresAt;
+    
+    public Hold() {
+    }
+    
+    public Hold(Long bookId, Long memberId, int priority) {
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.priority = priority;
+        this.status = HoldStatus.WAITING;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+    
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+    
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+    
+    public HoldStatus getStatus() { return status; }
+    public void setStatus(HoldStatus status) { this.status = status; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getReadyAt() { return readyAt; }
+    public void setReadyAt(LocalDateTime readyAt) { this.readyAt = readyAt; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    
+    /**
+     * Checks if a copy is waiting to be picked up for this hold.
+     * 
+     * @return true if the hold is ready
+     */
+    public boolean isReady() {
+        return status == HoldStatus.READY;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Hold{id=%d, book=%d, member=%d, priority=%d, status=%s}",
+                id, bookId, memberId, priority, status);
+    }
+}
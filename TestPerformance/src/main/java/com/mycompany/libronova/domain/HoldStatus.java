@@ -0,0 +1,13 @@
+package com.mycompany.libronova.domain;
+
+/**
+ * Enum representing hold status.
+ * WAITING holds are queued; a READY hold has a returned copy set aside.
+ */
+public enum HoldStatus {
+    WAITING,
+    READY,
+    FULFILLED,
+    EXPIRED,
+    CANCELLED
+}
@@ -0,0 +1,46 @@
+package com.mycompany.libronova.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome recorded for a client-supplied idempotency key.
+ * A record without a loan ID belongs to a request still in progress.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class IdempotencyRecord {
+    
+    private final String key;
+    private final String operation;
+    private final Long loanId;
+    private final LocalDateTime createdAt;
+    
+    public IdempotencyRecord(String key, String operation, Long loanId, LocalDateTime createdAt) {
+        this.key = key;
+        this.operation = operation;
+        this.loanId = loanId;
+        this.createdAt = createdAt;
+    }
+    
+    public String getKey() { return key; }
+    
+    public String getOperation() { return operation; }
+    
+    public Long getLoanId() { return loanId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    /**
+     * Checks if the request that owns the key has finished.
+     * 
+     * @return true if a result was recorded
+     */
+    public boolean isCompleted() {
+        return loanId != null;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("IdempotencyRecord{key='%s', operation=%s, loan=%d}", key, operation, loanId);
+    }
+}
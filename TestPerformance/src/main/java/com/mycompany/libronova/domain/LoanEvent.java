@@ -0,0 +1,80 @@
+package com.mycompany.libronova.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the append-only loan journal.
+ * The journal assigns the sequence and timestamp when the event is appended;
+ * book and member IDs are null when the writer did not know them.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class LoanEvent {
+    
+    private final long sequence;
+    private final LocalDateTime timestamp;
+    private final LoanEventType type;
+    private final Long loanId;
+    private final Long bookId;
+    private final Long memberId;
+    private final int stockDelta;
+    
+    public LoanEvent(long sequence, LocalDateTime timestamp, LoanEventType type,
+                     Long loanId, Long bookId, Long memberId, int stockDelta) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.loanId = loanId;
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.stockDelta = stockDelta;
+    }
+    
+    /**
+     * @param loan the saved loan
+     * @return an unsequenced LOAN_CREATED event
+     */
+    public static LoanEvent loanCreated(Loan loan) {
+        return new LoanEvent(0, null, LoanEventType.LOAN_CREATED, loan.getId(),
+                loan.getBook().getId(), loan.getMember().getId(), 0);
+    }
+    
+    /**
+     * @param loanId the returned loan
+     * @param bookId the loan's book, or null if unknown
+     * @param memberId the loan's member, or null if unknown
+     * @return an unsequenced BOOK_RETURNED event
+     */
+    public static LoanEvent bookReturned(Long loanId, Long bookId, Long memberId) {
+        return new LoanEvent(0, null, LoanEventType.BOOK_RETURNED, loanId, bookId, memberId, 0);
+    }
+    
+    /**
+     * @param bookId the book whose available stock changed
+     * @param delta copies added (positive) or taken (negative)
+     * @return an unsequenced STOCK_CHANGED event
+     */
+    public static LoanEvent stockChanged(Long bookId, int delta) {
+        return new LoanEvent(0, null, LoanEventType.STOCK_CHANGED, null, bookId, null, delta);
+    }
+    
+    public long getSequence() { return sequence; }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+    
+    public LoanEventType getType() { return type; }
+    
+    public Long getLoanId() { return loanId; }
+    
+    public Long getBookId() { return bookId; }
+    
+    public Long getMemberId() { return memberId; }
+    
+    public int getStockDelta() { return stockDelta; }
+    
+    @Override
+    public String toString() {
+        return String.format("LoanEvent{seq=%d, type=%s, loan=%d, book=%d, member=%d, delta=%d}",
+                sequence, type, loanId, bookId, memberId, stockDelta);
+    }
+}
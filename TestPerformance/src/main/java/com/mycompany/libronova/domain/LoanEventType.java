@@ -0,0 +1,11 @@
+package com.mycompany.libronova.domain;
+
+/**
+ * Enum representing the kinds of loan journal events.
+ * The journal stores the ordinal, so new types go at the end.
+ */
+public enum LoanEventType {
+    LOAN_CREATED,
+    BOOK_RETURNED,
+    STOCK_CHANGED
+}
@@ -0,0 +1,53 @@
+package com.mycompany.libronova.domain;
+
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+
+/**
+ * Borrowing limits of a member: how many loans may be active and how
+ * many overdue loans still allow a new one.
+ * 
+ * @author Wilffren Muñoz
+ */
+public final class LoanLimit {
+    
+    /** No cap on either counter; checkouts still keep the counters up to date. */
+    public static final LoanLimit UNLIMITED = new LoanLimit(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    
+    private final int maxActive;
+    private final int maxOverdue;
+    
+    /**
+     * @param maxActive most loans a member may have active
+     * @param maxOverdue most overdue loans a member may have and still borrow
+     */
+    public LoanLimit(int maxActive, int maxOverdue) {
+        if (maxActive <= 0 || maxOverdue < 0) {
+            throw new IllegalArgumentException("Max active loans must be > 0 and max overdue >= 0");
+        }
+        this.maxActive = maxActive;
+        this.maxOverdue = maxOverdue;
+    }
+    
+    /**
+     * Checks that a member with the given counters may borrow more copies.
+     * 
+     * @param memberNumber the member number, for the error message
+     * @param counts the member's current counters
+     * @param copies number of loans about to be created
+     * @throws LoanLimitExceededException if the member is over the limit or delinquent
+     */
+    public void check(String memberNumber, MemberLoanCounts counts, int copies) throws LoanLimitExceededException {
+        if (counts.getOverdueLoans() > maxOverdue) {
+            throw new LoanLimitExceededException(memberNumber, counts.getActiveLoans(), counts.getOverdueLoans(),
+                    "has overdue loans");
+        }
+        if ((long) counts.getActiveLoans() + copies > maxActive) {
+            throw new LoanLimitExceededException(memberNumber, counts.getActiveLoans(), counts.getOverdueLoans(),
+                    "limit of " + maxActive + " active loans reached");
+        }
+    }
+    
+    public int getMaxActive() { return maxActive; }
+    
+    public int getMaxOverdue() { return maxOverdue; }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.libronova.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight read-only projection of a loan for large lists.
+ * Carries only the columns a loan listing shows instead of full
+ * Book and Member objects.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class LoanSummary {
+    
+    private final Long id;
+    private final Long bookId;
+    private final String bookTitle;
+    private final Long memberId;
+    private final String memberName;
+    private final LocalDate loanDate;
+    private final LocalDate expectedReturnDate;
+    private final LocalDate actualReturnDate;
+    private final LoanStatus status;
+    
+    public LoanSummary(Long id, Long bookId, String bookTitle, Long memberId, String memberName,
+                       LocalDate loanDate, LocalDate expectedReturnDate, LocalDate actualReturnDate,
+                       LoanStatus status) {
+        this.id = id;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.loanDate = loanDate;
+        this.expectedReturnDate = expectedReturnDate;
+        this.actualReturnDate = actualReturnDate;
+        this.status = status;
+    }
+    
+    public Long getId() { return id; }
+    
+    public Long getBookId() { return bookId; }
+    
+    public String getBookTitle() { return bookTitle; }
+    
+    public Long getMemberId() { return memberId; }
+    
+    public String getMemberName() { return memberName; }
+    
+    public LocalDate getLoanDate() { return loanDate; }
+    
+    public LocalDate getExpectedReturnDate() { return expectedReturnDate; }
+    
+    public LocalDate getActualReturnDate() { return actualReturnDate; }
+    
+    public LoanStatus getStatus() { return status; }
+    
+    /**
+     * Checks if the loan is overdue.
+     * 
+     * @return true if loan is overdue
+     */
+    public boolean isOverdue() {
+        return status == LoanStatus.ACTIVE && 
+               LocalDate.now().isAfter(expectedReturnDate);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("LoanSummary{id=%d, book='%s', member='%s', status=%s}",
+                id, bookTitle, memberName, status);
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.libronova.domain;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Result of a bulk member import: how many members were registered and
+ * why each rejected row was skipped.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class MemberImportReport {
+    
+    /**
+     * A CSV row that was not imported.
+     */
+    public static class Rejection {
+        
+        private final int line;
+        private final String memberNumber;
+        private final String email;
+        private final String reason;
+        
+        public Rejection(int line, String memberNumber, String email, String reason) {
+            this.line = line;
+            this.memberNumber = memberNumber;
+            this.email = email;
+            this.reason = reason;
+        }
+        
+        public int getLine() { return line; }
+        
+        public String getMemberNumber() { return memberNumber; }
+        
+        public String getEmail() { return email; }
+        
+        public String getReason() { return reason; }
+        
+        @Override
+        public String toString() {
+            return "line " + line + ": " + reason;
+        }
+    }
+    
+    private final int imported;
+    private final List<Rejection> rejections;
+    private final Path rejectionFile;
+    
+    public MemberImportReport(int imported, List<Rejection> rejections, Path rejectionFile) {
+        this.imported = imported;
+        this.rejections = rejections;
+        this.rejectionFile = rejectionFile;
+    }
+    
+    public int getImported() { return imported; }
+    
+    public List<Rejection> getRejections() { return rejections; }
+    
+    /**
+     * @return the CSV listing every rejected row, or null if none were rejected
+     */
+    public Path getRejectionFile() { return rejectionFile; }
+    
+    @Override
+    public String toString() {
+        return String.format("MemberImportReport{imported=%d, rejected=%d}", imported, rejections.size());
+    }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.libronova.domain;
+
+/**
+ * Active and overdue loan counters kept on a member row.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class MemberLoanCounts {
+    
+    private final int activeLoans;
+    private final int overdueLoans;
+    
+    public MemberLoanCounts(int activeLoans, int overdueLoans) {
+        this.activeLoans = activeLoans;
+        this.overdueLoans = overdueLoans;
+    }
+    
+    public int getActiveLoans() { return activeLoans; }
+    
+    public int getOverdueLoans() { return overdueLoans; }
+    
+    @Override
+    public String toString() {
+        return String.format("MemberLoanCounts{active=%d, overdue=%d}", activeLoans, overdueLoans);
+    }
+}
@@ -0,0 +1,10 @@
+package com.mycompany.libronova.domain;
+
+/**
+ * Enum representing the result of returning one loan in a bulk return.
+ */
+public enum ReturnOutcome {
+    RETURNED,
+    NOT_FOUND,
+    NOT_ACTIVE
+}
@@ -0,0 +1,33 @@
+package com.mycompany.libronova.exceptions;
+
+/**
+ * Exception thrown when a member is over the loan limit or has overdue loans.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class LoanLimitExceededException extends LibroNovaException {
+    
+    private final String memberNumber;
+    private final int activeLoans;
+    private final int overdueLoans;
+    
+    public LoanLimitExceededException(String memberNumber, int activeLoans, int overdueLoans, String reason) {
+        super(String.format("The member with number '%s' cannot borrow: %s (active: %d, overdue: %d)",
+                memberNumber, reason, activeLoans, overdueLoans));
+        this.memberNumber = memberNumber;
+        this.activeLoans = activeLoans;
+        this.overdueLoans = overdueLoans;
+    }
+    
+    public String getMemberNumber() {
+        return memberNumber;
+    }
+    
+    public int getActiveLoans() {
+        return activeLoans;
+    }
+    
+    public int getOverdueLoans() {
+        return overdueLoans;
+    }
+}
@@ -0,0 +1,114 @@
+package com.mycompany.libronova.infra.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of keys that were recently looked up and not found.
+ * Lets services reject repeated misses (scanner typos, catalog probes)
+ * without a database round trip. Entries expire after a fixed TTL and are
+ * removed as soon as a matching entity is saved.
+ * 
+ * @param <K> the lookup key type
+ * @author Wilffren Muñoz
+ */
+public class NegativeLookupCache<K> {
+    
+    private final Map<K, Long> expiries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxSize;
+    
+    public NegativeLookupCache(Duration ttl, int maxSize) {
+        if (ttl.isNegative() || ttl.isZero() || maxSize <= 0) {
+            throw new IllegalArgumentException("TTL and max size must be greater than 0");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * Returns a token to pass to {@link #recordMiss(Object, long)} once the
+     * lookup has finished. A save that happens in between makes the token
+     * stale, so the miss is not recorded.
+     * 
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    /**
+     * Checks whether a key is known to be missing.
+     * 
+     * @param key the lookup key
+     * @return true if the key missed recently and has not been saved since
+     */
+    public boolean isKnownMissing(K key) {
+        if (key == null) {
+            return false;
+        }
+        Long expiry = expiries.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiry >= 0) {
+            expiries.remove(key, expiry);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Records a key whose lookup found nothing.
+     * 
+     * @param key the lookup key
+     * @param lookupGeneration value of {@link #generation()} taken before the lookup
+     */
+    public void recordMiss(K key, long lookupGeneration) {
+        if (key == null || lookupGeneration != generation.get()) {
+            return;
+        }
+        if (expiries.size() >= maxSize) {
+            purgeExpired();
+            if (expiries.size() >= maxSize) {
+                return;
+            }
+        }
+        expiries.put(key, System.nanoTime() + ttlNanos);
+        if (lookupGeneration != generation.get()) {
+            expiries.remove(key);
+        }
+    }
+    
+    /**
+     * Forgets a key because a matching entity now exists.
+     * 
+     * @param key the lookup key
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        if (key != null) {
+            expiries.remove(key);
+        }
+    }
+    
+    /**
+     * Forgets every key.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        expiries.clear();
+    }
+    
+    public int size() {
+        return expiries.size();
+    }
+    
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        expiries.entrySet().removeIf(entry -> now - entry.getValue() >= 0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.mycompany.libronova.infra.columnar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout constants and varint codecs shared by LoanColumnWriter and
+ * LoanColumnReader. Integers in headers, footers and the trailer are
+ * big-endian; column values are unsigned LEB128 varints.
+ *
+ * <pre>
+ * header   8 bytes    magic, version
+ * groups   per row group: one chunk per column, then a footer of
+ *          row count, chunk lengths, min and max loan ID, CRC of the chunks
+ * index    g * 8      offset of each group footer
+ * trailer  16 bytes   index offset, group count, magic
+ * </pre>
+ *
+ * Column chunks use one of two encodings:
+ * <ul>
+ *   <li>delta: per row 0 for null, otherwise zigzag(value - previous) + 1,
+ *       where previous is the last non-null value of the chunk (0 at the
+ *       start). IDs and epoch-day dates shrink to a byte or two.</li>
+ *   <li>dictionary: the distinct values (count, then length and UTF-8
+ *       bytes of each), then per row 0 for null or the value number
+ *       starting at 1.</li>
+ * </ul>
+ *
+ * @author Wilffren Muñoz
+ */
+final class LoanColumnFormat {
+
+    static final int MAGIC = 0x4C4E4343; // "LNCC"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 16;
+
+    // Columns, in chunk order
+    static final int C_ID = 0;
+    static final int C_BOOK_ID = 1;
+    static final int C_BOOK_ISBN = 2;
+    static final int C_BOOK_TITLE = 3;
+    static final int C_MEMBER_ID = 4;
+    static final int C_MEMBER_NUMBER = 5;
+    static final int C_MEMBER_NAME = 6;
+    static final int C_LOAN_DATE = 7;
+    static final int C_EXPECTED_RETURN_DATE = 8;
+    static final int C_ACTUAL_RETURN_DATE = 9;
+    static final int C_STATUS = 10;
+    static final int COLUMN_COUNT = 11;
+
+    // Group footer: rows, chunk lengths, min ID, max ID, crc
+    static final int FOOTER_SIZE = 4 + 4 * COLUMN_COUNT + 8 + 8 + 4;
+
+    /** Null in delta-encoded columns. */
+    static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private LoanColumnFormat() {
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long readVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint at " + buffer.position());
+    }
+
+    static int readVarInt(ByteBuffer buffer) throws IOException {
+        long value = readVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Value out of range at " + buffer.position());
+        }
+        return (int) value;
+    }
+}
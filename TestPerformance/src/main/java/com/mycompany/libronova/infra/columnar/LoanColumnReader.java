@@ -0,0 +1,273 @@
+package com.mycompany.libronova.infra.columnar;
+
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.repository.IdRange;
+import com.mycompany.libronova.repository.RowCallback;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import static com.mycompany.libronova.infra.columnar.LoanColumnFormat.*;
+
+/**
+ * Reads the columnar loans files written by LoanColumnWriter.
+ * Opening a file only reads its trailer and group footers; each row group
+ * is then read with one positional read, checked against its CRC and
+ * decoded into primitive column arrays. The footers carry the ID range
+ * of each group, so a reader can skip groups it does not need.
+ *
+ * @author Wilffren Muñoz
+ */
+public class LoanColumnReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long[] groupOffsets;
+    private final int[] groupRows;
+    private final int[][] chunkLengths;
+    private final long[] minIds;
+    private final long[] maxIds;
+    private final int[] crcs;
+    private long rowCount;
+
+    // Grown to the largest group read so far and reused
+    private ByteBuffer groupBuffer = ByteBuffer.allocate(0);
+
+    private LoanColumnReader(FileChannel channel, int groupCount) {
+        this.channel = channel;
+        this.groupOffsets = new long[groupCount];
+        this.groupRows = new int[groupCount];
+        this.chunkLengths = new int[groupCount][];
+        this.minIds = new long[groupCount];
+        this.maxIds = new long[groupCount];
+        this.crcs = new int[groupCount];
+    }
+
+    /**
+     * Opens a file and reads its group footers.
+     *
+     * @param file the file to read
+     * @return the reader
+     * @throws IOException if the file cannot be read or is not a columnar loans file
+     */
+    public static LoanColumnReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return readIndex(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private static LoanColumnReader readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + TRAILER_SIZE) {
+            throw new IOException("Not a columnar loans file: too short");
+        }
+        ByteBuffer header = read(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a columnar loans file: bad magic");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported columnar loans file version: " + version);
+        }
+
+        ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+        long indexOffset = trailer.getLong();
+        int groupCount = trailer.getInt();
+        if (trailer.getInt() != MAGIC || groupCount < 0
+                || indexOffset + groupCount * 8L != size - TRAILER_SIZE) {
+            throw new IOException("Truncated columnar loans file");
+        }
+
+        LoanColumnReader reader = new LoanColumnReader(channel, groupCount);
+        ByteBuffer index = read(channel, indexOffset, groupCount * 8);
+        for (int group = 0; group < groupCount; group++) {
+            long footerOffset = index.getLong();
+            ByteBuffer footer = read(channel, footerOffset, FOOTER_SIZE);
+            reader.groupRows[group] = footer.getInt();
+            int[] lengths = new int[COLUMN_COUNT];
+            long groupSize = 0;
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                lengths[column] = footer.getInt();
+                groupSize += lengths[column];
+            }
+            reader.chunkLengths[group] = lengths;
+            reader.minIds[group] = footer.getLong();
+            reader.maxIds[group] = footer.getLong();
+            reader.crcs[group] = footer.getInt();
+            reader.groupOffsets[group] = footerOffset - groupSize;
+            if (reader.groupOffsets[group] < HEADER_SIZE || groupSize > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt footer of row group " + group);
+            }
+            reader.rowCount += reader.groupRows[group];
+        }
+        return reader;
+    }
+
+    /**
+     * @return number of row groups in the file
+     */
+    public int getRowGroupCount() {
+        return groupOffsets.length;
+    }
+
+    /**
+     * @return number of loans in the file
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param group the row group index
+     * @return the range of loan IDs stored in the group, from its footer
+     */
+    public IdRange getIdRange(int group) {
+        return new IdRange(minIds[group], maxIds[group]);
+    }
+
+    /**
+     * Reads and decodes a row group.
+     *
+     * @param group the row group index
+     * @return the decoded columns
+     * @throws IOException if the group cannot be read or fails its CRC check
+     */
+    public LoanRowGroup readRowGroup(int group) throws IOException {
+        int[] lengths = chunkLengths[group];
+        int groupSize = 0;
+        for (int length : lengths) {
+            groupSize += length;
+        }
+        if (groupBuffer.capacity() < groupSize) {
+            groupBuffer = ByteBuffer.allocate(groupSize);
+        }
+        ByteBuffer buffer = groupBuffer;
+        buffer.clear().limit(groupSize);
+        readFully(channel, buffer, groupOffsets[group]);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, groupSize);
+        if ((int) crc.getValue() != crcs[group]) {
+            throw new IOException("Corrupt row group " + group + ": CRC mismatch");
+        }
+
+        int rows = groupRows[group];
+        long[][] deltaColumns = new long[COLUMN_COUNT][];
+        String[][] dictionaries = new String[COLUMN_COUNT][];
+        int[][] refs = new int[COLUMN_COUNT][];
+        int chunkStart = 0;
+        try {
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                buffer.limit(chunkStart + lengths[column]).position(chunkStart);
+                if (isDictionary(column)) {
+                    dictionaries[column] = decodeDictionary(buffer);
+                    refs[column] = decodeRefs(buffer, rows, dictionaries[column].length);
+                } else {
+                    deltaColumns[column] = decodeDeltas(buffer, rows);
+                }
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Trailing bytes in column " + column);
+                }
+                chunkStart += lengths[column];
+            }
+        } catch (RuntimeException ex) {
+            throw new IOException("Corrupt row group " + group, ex);
+        }
+        return new LoanRowGroup(rows, deltaColumns, dictionaries, refs);
+    }
+
+    /**
+     * Reads every loan in file order.
+     *
+     * @param callback receives each loan
+     * @throws IOException if the file cannot be read or the callback fails
+     */
+    public void forEach(RowCallback<Loan> callback) throws IOException {
+        for (int group = 0; group < getRowGroupCount(); group++) {
+            LoanRowGroup rows = readRowGroup(group);
+            for (int row = 0; row < rows.getRowCount(); row++) {
+                callback.accept(rows.toLoan(row));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static boolean isDictionary(int column) {
+        switch (column) {
+            case C_BOOK_ISBN:
+            case C_BOOK_TITLE:
+            case C_MEMBER_NUMBER:
+            case C_MEMBER_NAME:
+            case C_STATUS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static long[] decodeDeltas(ByteBuffer buffer, int rows) throws IOException {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            long encoded = readVarLong(buffer);
+            if (encoded == 0) {
+                values[row] = NULL_VALUE;
+            } else {
+                previous += unzigzag(encoded - 1);
+                values[row] = previous;
+            }
+        }
+        return values;
+    }
+
+    private static String[] decodeDictionary(ByteBuffer buffer) throws IOException {
+        String[] values = new String[readVarInt(buffer)];
+        for (int i = 0; i < values.length; i++) {
+            int length = readVarInt(buffer);
+            values[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+        return values;
+    }
+
+    private static int[] decodeRefs(ByteBuffer buffer, int rows, int dictionarySize) throws IOException {
+        int[] refs = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            int ref = readVarInt(buffer);
+            if (ref > dictionarySize) {
+                throw new IOException("Dictionary reference out of range: " + ref);
+            }
+            refs[row] = ref;
+        }
+        return refs;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(channel, buffer, position);
+        return buffer.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of columnar loans file");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.mycompany.libronova.infra.columnar;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.infra.config.AppConfig;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static com.mycompany.libronova.infra.columnar.LoanColumnFormat.*;
+
+/**
+ * Writes loans to a binary columnar file read by LoanColumnReader.
+ * Rows are buffered column by column into primitive arrays and encoded
+ * one row group at a time, so memory stays bounded by the group size
+ * however many loans are written. Dictionaries are rebuilt for every
+ * group, which keeps each group readable on its own.
+ *
+ * @author Wilffren Muñoz
+ */
+public class LoanColumnWriter implements Closeable {
+
+    /** Extension of the files written by this class. */
+    public static final String FILE_EXTENSION = ".lncol";
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final int rowGroupSize;
+    private final Sink chunk = new Sink();
+    private final ByteBuffer fixed = ByteBuffer.allocate(Math.max(FOOTER_SIZE, TRAILER_SIZE));
+    private final CRC32 crc = new CRC32();
+    private final List<Long> footerOffsets = new ArrayList<>();
+    private long position;
+    private long rowCount;
+    private boolean closed;
+
+    // Current row group
+    private int rows;
+    private final long[] ids;
+    private final long[] bookIds;
+    private final long[] memberIds;
+    private final long[] loanDays;
+    private final long[] expectedReturnDays;
+    private final long[] actualReturnDays;
+    private final Dictionary isbns;
+    private final Dictionary titles;
+    private final Dictionary memberNumbers;
+    private final Dictionary memberNames;
+    private final Dictionary statuses;
+
+    private LoanColumnWriter(OutputStream out, int rowGroupSize) {
+        this.out = out;
+        this.rowGroupSize = rowGroupSize;
+        this.ids = new long[rowGroupSize];
+        this.bookIds = new long[rowGroupSize];
+        this.memberIds = new long[rowGroupSize];
+        this.loanDays = new long[rowGroupSize];
+        this.expectedReturnDays = new long[rowGroupSize];
+        this.actualReturnDays = new long[rowGroupSize];
+        this.isbns = new Dictionary(rowGroupSize);
+        this.titles = new Dictionary(rowGroupSize);
+        this.memberNumbers = new Dictionary(rowGroupSize);
+        this.memberNames = new Dictionary(rowGroupSize);
+        this.statuses = new Dictionary(rowGroupSize);
+    }
+
+    /**
+     * Creates or replaces a file, with the row group size configured by
+     * export.columnar.row.group.
+     *
+     * @param target the file to write
+     * @return the writer
+     * @throws IOException if the file cannot be created
+     */
+    public static LoanColumnWriter open(Path target) throws IOException {
+        return open(target, AppConfig.getInstance().getInt("export.columnar.row.group", 65536));
+    }
+
+    /**
+     * Creates or replaces a file.
+     *
+     * @param target the file to write
+     * @param rowGroupSize rows per row group
+     * @return the writer
+     * @throws IOException if the file cannot be created
+     */
+    public static LoanColumnWriter open(Path target, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be greater than 0");
+        }
+        LoanColumnWriter writer = new LoanColumnWriter(
+                new BufferedOutputStream(Files.newOutputStream(target), OUTPUT_BUFFER_SIZE), rowGroupSize);
+        writer.fixed.clear();
+        writer.fixed.putInt(MAGIC).putInt(VERSION);
+        writer.writeFixed();
+        return writer;
+    }
+
+    /**
+     * Adds a loan; a full row group is encoded and written.
+     *
+     * @param loan the loan
+     * @throws IOException if a row group cannot be written
+     */
+    public void append(Loan loan) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        Book book = loan.getBook();
+        Member member = loan.getMember();
+        int row = rows;
+        ids[row] = orNull(loan.getId());
+        bookIds[row] = book != null ? orNull(book.getId()) : NULL_VALUE;
+        isbns.set(row, book != null ? book.getIsbn() : null);
+        titles.set(row, book != null ? book.getTitle() : null);
+        memberIds[row] = member != null ? orNull(member.getId()) : NULL_VALUE;
+        memberNumbers.set(row, member != null ? member.getMemberNumber() : null);
+        memberNames.set(row, member != null ? member.getName() : null);
+        loanDays[row] = epochDay(loan.getLoanDate());
+        expectedReturnDays[row] = epochDay(loan.getExpectedReturnDate());
+        actualReturnDays[row] = epochDay(loan.getActualReturnDate());
+        statuses.set(row, loan.getStatus() != null ? loan.getStatus().name() : null);
+
+        rows++;
+        rowCount++;
+        if (rows == rowGroupSize) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * @return loans appended so far
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the last row group, the group index and the trailer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            if (rows > 0) {
+                writeRowGroup();
+            }
+            long indexOffset = position;
+            for (long offset : footerOffsets) {
+                fixed.clear();
+                fixed.putLong(offset);
+                writeFixed();
+            }
+            fixed.clear();
+            fixed.putLong(indexOffset).putInt(footerOffsets.size()).putInt(MAGIC);
+            writeFixed();
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        int[] lengths = new int[COLUMN_COUNT];
+        crc.reset();
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            chunk.reset();
+            encodeColumn(column);
+            crc.update(chunk.bytes, 0, chunk.size);
+            out.write(chunk.bytes, 0, chunk.size);
+            position += chunk.size;
+            lengths[column] = chunk.size;
+        }
+
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (int row = 0; row < rows; row++) {
+            if (ids[row] != NULL_VALUE) {
+                minId = Math.min(minId, ids[row]);
+                maxId = Math.max(maxId, ids[row]);
+            }
+        }
+
+        footerOffsets.add(position);
+        fixed.clear();
+        fixed.putInt(rows);
+        for (int length : lengths) {
+            fixed.putInt(length);
+        }
+        fixed.putLong(minId).putLong(maxId).putInt((int) crc.getValue());
+        writeFixed();
+
+        rows = 0;
+        isbns.clear();
+        titles.clear();
+        memberNumbers.clear();
+        memberNames.clear();
+        statuses.clear();
+    }
+
+    private void encodeColumn(int column) {
+        switch (column) {
+            case C_ID:
+                encodeDeltas(ids);
+                break;
+            case C_BOOK_ID:
+                encodeDeltas(bookIds);
+                break;
+            case C_BOOK_ISBN:
+                isbns.encode(chunk, rows);
+                break;
+            case C_BOOK_TITLE:
+                titles.encode(chunk, rows);
+                break;
+            case C_MEMBER_ID:
+                encodeDeltas(memberIds);
+                break;
+            case C_MEMBER_NUMBER:
+                memberNumbers.encode(chunk, rows);
+                break;
+            case C_MEMBER_NAME:
+                memberNames.encode(chunk, rows);
+                break;
+            case C_LOAN_DATE:
+                encodeDeltas(loanDays);
+                break;
+            case C_EXPECTED_RETURN_DATE:
+                encodeDeltas(expectedReturnDays);
+                break;
+            case C_ACTUAL_RETURN_DATE:
+                encodeDeltas(actualReturnDays);
+                break;
+            case C_STATUS:
+                statuses.encode(chunk, rows);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown column: " + column);
+        }
+    }
+
+    private void encodeDeltas(long[] values) {
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            long value = values[row];
+            if (value == NULL_VALUE) {
+                chunk.putVarLong(0);
+            } else {
+                chunk.putVarLong(zigzag(value - previous) + 1);
+                previous = value;
+            }
+        }
+    }
+
+    private void writeFixed() throws IOException {
+        out.write(fixed.array(), 0, fixed.position());
+        position += fixed.position();
+    }
+
+    private static long orNull(Long value) {
+        return value != null ? value : NULL_VALUE;
+    }
+
+    private static long epochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : NULL_VALUE;
+    }
+
+    /**
+     * Distinct values of a string column within the current row group.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final int[] rows;
+
+        Dictionary(int rowGroupSize) {
+            this.rows = new int[rowGroupSize];
+        }
+
+        void set(int row, String value) {
+            if (value == null) {
+                rows[row] = 0;
+                return;
+            }
+            Integer ref = refs.get(value);
+            if (ref == null) {
+                values.add(value);
+                ref = values.size();
+                refs.put(value, ref);
+            }
+            rows[row] = ref;
+        }
+
+        void encode(Sink sink, int count) {
+            sink.putVarLong(values.size());
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                sink.putVarLong(bytes.length);
+                sink.put(bytes);
+            }
+            for (int row = 0; row < count; row++) {
+                sink.putVarLong(rows[row]);
+            }
+        }
+
+        void clear() {
+            refs.clear();
+            values.clear();
+        }
+    }
+
+    /**
+     * Growable byte array reused for every chunk.
+     */
+    private static final class Sink {
+
+        private byte[] bytes = new byte[OUTPUT_BUFFER_SIZE];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        void putVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7fL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void put(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.mycompany.libronova.infra.columnar;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.Member;
+import java.time.LocalDate;
+
+/**
+ * One decoded row group of a columnar loans file. Numeric columns are
+ * exposed as primitive arrays, so aggregations can scan them without
+ * building a Loan per row; {@link #toLoan(int)} builds one when needed.
+ * The arrays are not copied and must not be modified.
+ *
+ * @author Wilffren Muñoz
+ */
+public final class LoanRowGroup {
+
+    /** Null in the ID and epoch-day arrays. */
+    public static final long NULL = LoanColumnFormat.NULL_VALUE;
+
+    private final int rowCount;
+    private final long[] ids;
+    private final long[] bookIds;
+    private final long[] memberIds;
+    private final long[] loanDays;
+    private final long[] expectedReturnDays;
+    private final long[] actualReturnDays;
+    private final String[][] dictionaries;
+    private final int[][] refs;
+    private final LoanStatus[] statuses;
+
+    LoanRowGroup(int rowCount, long[][] deltaColumns, String[][] dictionaries, int[][] refs) {
+        this.rowCount = rowCount;
+        this.ids = deltaColumns[LoanColumnFormat.C_ID];
+        this.bookIds = deltaColumns[LoanColumnFormat.C_BOOK_ID];
+        this.memberIds = deltaColumns[LoanColumnFormat.C_MEMBER_ID];
+        this.loanDays = deltaColumns[LoanColumnFormat.C_LOAN_DATE];
+        this.expectedReturnDays = deltaColumns[LoanColumnFormat.C_EXPECTED_RETURN_DATE];
+        this.actualReturnDays = deltaColumns[LoanColumnFormat.C_ACTUAL_RETURN_DATE];
+        this.dictionaries = dictionaries;
+        this.refs = refs;
+
+        // Resolved once per distinct value rather than once per row
+        String[] names = dictionaries[LoanColumnFormat.C_STATUS];
+        this.statuses = new LoanStatus[names.length];
+        for (int i = 0; i < names.length; i++) {
+            statuses[i] = LoanStatus.valueOf(names[i]);
+        }
+    }
+
+    public int getRowCount() { return rowCount; }
+
+    public long[] getIds() { return ids; }
+
+    public long[] getBookIds() { return bookIds; }
+
+    public long[] getMemberIds() { return memberIds; }
+
+    /** @return loan dates as epoch days */
+    public long[] getLoanDays() { return loanDays; }
+
+    /** @return expected return dates as epoch days */
+    public long[] getExpectedReturnDays() { return expectedReturnDays; }
+
+    /** @return actual return dates as epoch days, NULL while on loan */
+    public long[] getActualReturnDays() { return actualReturnDays; }
+
+    public String getBookIsbn(int row) { return string(LoanColumnFormat.C_BOOK_ISBN, row); }
+
+    public String getBookTitle(int row) { return string(LoanColumnFormat.C_BOOK_TITLE, row); }
+
+    public String getMemberNumber(int row) { return string(LoanColumnFormat.C_MEMBER_NUMBER, row); }
+
+    public String getMemberName(int row) { return string(LoanColumnFormat.C_MEMBER_NAME, row); }
+
+    public LoanStatus getStatus(int row) {
+        int ref = refs[LoanColumnFormat.C_STATUS][row];
+        return ref == 0 ? null : statuses[ref - 1];
+    }
+
+    /**
+     * Builds the loan stored in a row. Book and member only carry the
+     * columns stored in the file.
+     *
+     * @param row the row index within the group
+     * @return the loan
+     */
+    public Loan toLoan(int row) {
+        Loan loan = new Loan();
+        loan.setId(boxed(ids[row]));
+        loan.setLoanDate(date(loanDays[row]));
+        loan.setExpectedReturnDate(date(expectedReturnDays[row]));
+        loan.setActualReturnDate(date(actualReturnDays[row]));
+        loan.setStatus(getStatus(row));
+
+        String isbn = getBookIsbn(row);
+        String title = getBookTitle(row);
+        if (bookIds[row] != NULL || isbn != null || title != null) {
+            Book book = new Book();
+            book.setId(boxed(bookIds[row]));
+            book.setIsbn(isbn);
+            book.setTitle(title);
+            loan.setBook(book);
+        }
+
+        String memberNumber = getMemberNumber(row);
+        String memberName = getMemberName(row);
+        if (memberIds[row] != NULL || memberNumber != null || memberName != null) {
+            Member member = new Member();
+            member.setId(boxed(memberIds[row]));
+            member.setMemberNumber(memberNumber);
+            member.setName(memberName);
+            loan.setMember(member);
+        }
+        return loan;
+    }
+
+    private String string(int column, int row) {
+        int ref = refs[column][row];
+        return ref == 0 ? null : dictionaries[column][ref - 1];
+    }
+
+    private static Long boxed(long value) {
+        return value != NULL ? value : null;
+    }
+
+    private static LocalDate date(long epochDay) {
+        return epochDay != NULL ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.mycompany.libronova.infra.concurrent;
+
+import com.mycompany.libronova.infra.config.AppConfig;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking database work on virtual threads.
+ * Each task gets its own virtual thread, and a semaphore caps how many
+ * tasks run at once so callers never open more connections than the
+ * database allows.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class AsyncExecutor {
+    
+    private static final Logger LOGGER = Logger.getLogger(AsyncExecutor.class.getName());
+    
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    
+    /**
+     * Blocking unit of work that may throw checked exceptions.
+     * 
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws Exception;
+    }
+    
+    public AsyncExecutor() {
+        this(AppConfig.getInstance().getInt("db.max.connections", 10));
+    }
+    
+    public AsyncExecutor(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permits = new Semaphore(maxConcurrency, true);
+        LOGGER.info("Async executor started with " + maxConcurrency + " permits");
+    }
+    
+    /**
+     * Submits a task and returns a future for its result.
+     * A failing task completes the future with the original exception.
+     * 
+     * @param task the work to run
+     * @return a future completed with the task result
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(ex);
+                return;
+            }
+            try {
+                future.complete(task.call());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            } finally {
+                permits.release();
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Stops accepting new tasks.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    /**
+     * Returns the original failure behind CompletableFuture wrapper exceptions.
+     * 
+     * @param error the error reported by a future
+     * @return the underlying cause
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
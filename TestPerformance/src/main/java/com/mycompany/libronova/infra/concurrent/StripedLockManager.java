@@ -0,0 +1,177 @@
+package com.mycompany.libronova.infra.concurrent;
+
+import com.mycompany.libronova.infra.config.AppConfig;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by book and member IDs.
+ * Each ID maps to one stripe, so operations on different books and
+ * members usually take different locks and run in parallel, while two
+ * operations on the same book are serialized. Stripes are always taken
+ * in ascending order, which rules out deadlocks between callers that
+ * need several of them. ReentrantLock is used instead of synchronized so
+ * a virtual thread waiting for a stripe unmounts from its carrier.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class StripedLockManager {
+    
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    
+    /**
+     * Stripes held by one caller; closing it releases them.
+     */
+    public final class Held implements AutoCloseable {
+        
+        private final int[] indices;
+        
+        private Held(int[] indices) {
+            this.indices = indices;
+        }
+        
+        @Override
+        public void close() {
+            for (int i = indices.length - 1; i >= 0; i--) {
+                stripes[indices[i]].unlock();
+            }
+        }
+    }
+    
+    public StripedLockManager() {
+        this(AppConfig.getInstance().getInt("loan.lock.stripes", 256));
+    }
+    
+    /**
+     * @param stripeCount number of locks, rounded up to a power of two
+     */
+    public StripedLockManager(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be greater than 0");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+    
+    /**
+     * Locks the stripes of a book and a member.
+     * 
+     * @param bookId the book ID, or null
+     * @param memberId the member ID, or null
+     * @return the held stripes, to be closed by the caller
+     */
+    public Held lock(Long bookId, Long memberId) {
+        return lock(bookId != null ? List.of(bookId) : List.of(), memberId);
+    }
+    
+    /**
+     * Locks the stripes of several books and a member.
+     * 
+     * @param bookIds the book IDs
+     * @param memberId the member ID, or null
+     * @return the held stripes, to be closed by the caller
+     */
+    public Held lock(Collection<Long> bookIds, Long memberId) {
+        int[] indices = new int[bookIds.size() + 1];
+        int count = 0;
+        for (Long bookId : bookIds) {
+            indices[count++] = stripeOf(bookId, 0);
+        }
+        if (memberId != null) {
+            indices[count++] = stripeOf(memberId, 1);
+        }
+        
+        // Sort and drop duplicates so every caller locks in the same order
+        Arrays.sort(indices, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || indices[i] != indices[unique - 1]) {
+                indices[unique++] = indices[i];
+            }
+        }
+        int[] held = Arrays.copyOf(indices, unique);
+        
+        for (int i = 0; i < held.length; i++) {
+            acquire(stripes[held[i]]);
+        }
+        return new Held(held);
+    }
+    
+    /**
+     * @return number of stripes
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+    
+    /**
+     * @return number of stripe acquisitions
+     */
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+    
+    /**
+     * @return number of acquisitions that had to wait for another holder
+     */
+    public long getContendedAcquisitions() {
+        return contended.sum();
+    }
+    
+    /**
+     * @return total time spent waiting for stripes, in milliseconds
+     */
+    public long getTotalWaitMillis() {
+        return waitNanos.sum() / 1_000_000;
+    }
+    
+    /**
+     * @return longest single wait for a stripe, in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("StripedLockManager{stripes=%d, acquisitions=%d, contended=%d, waitMs=%d, maxWaitMs=%d}",
+                stripes.length, getAcquisitions(), getContendedAcquisitions(), getTotalWaitMillis(), getMaxWaitMillis());
+    }
+    
+    private void acquire(ReentrantLock lock) {
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        lock.lock();
+        long waited = System.nanoTime() - start;
+        contended.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+    }
+    
+    private int stripeOf(long id, int namespace) {
+        // Books and members with the same ID land on unrelated stripes
+        long z = (id * 2 + namespace) * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32)) & mask;
+    }
+}
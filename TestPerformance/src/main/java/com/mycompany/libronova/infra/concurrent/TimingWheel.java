@@ -0,0 +1,168 @@
+package com.mycompany.libronova.infra.concurrent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by integer ticks.
+ * Level 0 has one slot per tick for the next 64 ticks, level 1 one slot
+ * per 64 ticks, and so on. Scheduling and cancelling are O(1); advancing
+ * one tick empties a single level-0 slot and, every 64 ticks, moves one
+ * slot of the level above down, so the cost per tick does not depend on
+ * how many timers are pending. Not thread-safe; callers synchronize.
+ *
+ * @param <T> the payload handed back when a timer fires
+ * @author Wilffren Muñoz
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final int levels;
+    private final List<List<Entry<T>>> slots;
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private long currentTick;
+
+    private static final class Entry<T> {
+        private final long id;
+        private final long deadline;
+        private final T payload;
+        private boolean cancelled;
+
+        private Entry(long id, long deadline, T payload) {
+            this.id = id;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * @param levels number of wheels; covers 64^levels ticks ahead
+     * @param startTick the current tick
+     */
+    public TimingWheel(int levels, long startTick) {
+        if (levels <= 0 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Levels must be between 1 and 10");
+        }
+        this.levels = levels;
+        this.currentTick = startTick;
+        this.slots = new ArrayList<>(levels * SLOTS);
+        for (int i = 0; i < levels * SLOTS; i++) {
+            slots.add(null);
+        }
+    }
+
+    /**
+     * Schedules a timer, replacing any timer with the same ID.
+     * A deadline that is not in the future fires on the next tick.
+     *
+     * @param id the timer ID
+     * @param deadline the tick at which the timer fires
+     * @param payload value returned when it fires
+     */
+    public void schedule(long id, long deadline, T payload) {
+        cancel(id);
+        Entry<T> entry = new Entry<>(id, Math.max(deadline, currentTick + 1), payload);
+        entries.put(id, entry);
+        place(entry);
+    }
+
+    /**
+     * Cancels a pending timer.
+     *
+     * @param id the timer ID
+     * @return true if the timer was pending
+     */
+    public boolean cancel(long id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        // Dropped lazily when its slot is visited
+        entry.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Advances the wheel tick by tick up to a target.
+     *
+     * @param tick the target tick
+     * @return payloads of the timers that fired, in deadline order
+     */
+    public List<T> advanceTo(long tick) {
+        List<T> fired = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            cascade(1);
+
+            List<Entry<T>> due = slots.set(slotIndex(0, currentTick), null);
+            if (due == null) {
+                continue;
+            }
+            for (Entry<T> entry : due) {
+                if (!entry.cancelled) {
+                    entries.remove(entry.id);
+                    fired.add(entry.payload);
+                }
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * @return number of pending timers
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the tick the wheel has advanced to
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Moves the due slot of a level down when the level below wrapped.
+     * Higher levels go first so their entries can fall through.
+     */
+    private void cascade(int level) {
+        if (level >= levels || (currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+            return;
+        }
+        cascade(level + 1);
+
+        List<Entry<T>> moved = slots.set(slotIndex(level, currentTick), null);
+        if (moved != null) {
+            for (Entry<T> entry : moved) {
+                if (!entry.cancelled) {
+                    place(entry);
+                }
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadline - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = slotIndex(level, entry.deadline);
+        List<Entry<T>> slot = slots.get(index);
+        if (slot == null) {
+            slot = new ArrayList<>();
+            slots.set(index, slot);
+        }
+        slot.add(entry);
+    }
+
+    private int slotIndex(int level, long tick) {
+        return level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
@@ -0,0 +1,111 @@
+package com.mycompany.libronova.infra.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Singleton class for reading application settings.
+ * Loads business rules and tuning values from config.properties file.
+ *
+ * @author Wilffren Muñoz
+ */
+public class AppConfig {
+
+    private static AppConfig instance;
+    private static final Logger LOGGER = Logger.getLogger(AppConfig.class.getName());
+
+    private final Properties props = new Properties();
+
+    /**
+     * Private constructor to prevent instantiation.
+     * Loads application settings from properties file.
+     */
+    private AppConfig() {
+        loadProperties();
+    }
+
+    /**
+     * Gets the singleton instance of AppConfig.
+     *
+     * @return the singleton instance
+     */
+    public static synchronized AppConfig getInstance() {
+        if (instance == null) {
+            instance = new AppConfig();
+        }
+        return instance;
+    }
+
+    /**
+     * Loads application settings from config.properties file.
+     */
+    private void loadProperties() {
+        try (InputStream input = getClass().getClassLoader()
+                .getResourceAsStream("config.properties")) {
+
+            if (input == null) {
+                LOGGER.warning("config.properties not found, using defaults");
+                return;
+            }
+
+            props.load(input);
+
+        } catch (IOException ex) {
+            LOGGER.log(Level.SEVERE, "Error loading properties file", ex);
+        }
+    }
+
+    /**
+     * Gets a string setting.
+     *
+     * @param key the property key
+     * @param defaultValue value used when the key is missing
+     * @return the configured value or the default
+     */
+    public String getString(String key, String defaultValue) {
+        return props.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Gets an integer setting.
+     *
+     * @param key the property key
+     * @param defaultValue value used when the key is missing or invalid
+     * @return the configured value or the default
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            LOGGER.warning("Invalid integer for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a decimal setting.
+     *
+     * @param key the property key
+     * @param defaultValue value used when the key is missing or invalid
+     * @return the configured value or the default
+     */
+    public double getDouble(String key, double defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            LOGGER.warning("Invalid number for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
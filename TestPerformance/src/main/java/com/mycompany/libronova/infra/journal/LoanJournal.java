@@ -0,0 +1,392 @@
+package com.mycompany.libronova.infra.journal;
+
+import com.mycompany.libronova.domain.LoanEvent;
+import com.mycompany.libronova.domain.LoanEventType;
+import com.mycompany.libronova.infra.config.AppConfig;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of loan events stored in memory-mapped segment files.
+ * Appends only copy a fixed-width record into the mapped segment; a flusher
+ * thread forces dirty pages to disk every few milliseconds, so one fsync
+ * covers every event appended since the previous one. Replay reads the
+ * segments sequentially and is much cheaper than re-querying the loans.
+ *
+ * <pre>
+ * segment  NNNNNNNNNNNNNNNNNNNN.seg, named after its first sequence
+ * header   32 bytes   magic, version, first sequence
+ * records  n * 56     sequence, timestamp, loan, book, member, delta, type, crc
+ * </pre>
+ *
+ * A record is valid when it carries the expected sequence and its CRC
+ * matches; recovery stops at the first invalid record, which drops a
+ * record torn by a crash.
+ *
+ * @author Wilffren Muñoz
+ */
+public class LoanJournal {
+
+    private static final Logger LOGGER = Logger.getLogger(LoanJournal.class.getName());
+
+    private static final int MAGIC = 0x4C4E4A4C; // "LNJL"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".seg";
+
+    // Header fields
+    private static final int HEADER_SIZE = 32;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_FIRST_SEQUENCE = 8;
+
+    // Record fields
+    private static final int RECORD_SIZE = 56;
+    private static final int R_SEQUENCE = 0;
+    private static final int R_TIMESTAMP = 8;
+    private static final int R_LOAN = 16;
+    private static final int R_BOOK = 24;
+    private static final int R_MEMBER = 32;
+    private static final int R_STOCK_DELTA = 40;
+    private static final int R_TYPE = 44;
+    private static final int R_CRC = 48;
+
+    private static final long NULL_ID = Long.MIN_VALUE;
+    private static final LoanEventType[] TYPES = LoanEventType.values();
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final long flushMillis;
+    private final List<Consumer<LoanEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence = 1;
+    private boolean dirty;
+    private ScheduledExecutorService flusher;
+
+    private volatile long lastSequence;
+
+    private LoanJournal(Path dir, int segmentBytes, long flushMillis) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.flushMillis = flushMillis;
+    }
+
+    /**
+     * Opens a journal directory, creating it if needed, and finds the end
+     * of the last segment.
+     *
+     * @param dir the directory holding the segments
+     * @param segmentBytes size of each new segment file
+     * @param flushMillis delay between group flushes
+     * @return the journal
+     * @throws IOException if the directory cannot be read
+     */
+    public static LoanJournal open(Path dir, int segmentBytes, long flushMillis) throws IOException {
+        if (segmentBytes < HEADER_SIZE + RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment too small: " + segmentBytes);
+        }
+        Files.createDirectories(dir);
+        LoanJournal journal = new LoanJournal(dir, segmentBytes, flushMillis);
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Opens the journal configured by journal.dir, journal.segment.mb and
+     * journal.flush.millis.
+     *
+     * @return the journal
+     * @throws IOException if the directory cannot be read
+     */
+    public static LoanJournal fromConfig() throws IOException {
+        AppConfig config = AppConfig.getInstance();
+        long segmentBytes = config.getInt("journal.segment.mb", 64) * 1024L * 1024L;
+        return open(Path.of(config.getString("journal.dir", "journal")),
+                (int) Math.min(segmentBytes, Integer.MAX_VALUE),
+                config.getInt("journal.flush.millis", 50));
+    }
+
+    /**
+     * Registers a consumer called with every event after it is appended.
+     *
+     * @param subscriber the consumer, e.g. a projection
+     */
+    public void subscribe(Consumer<LoanEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Appends an event. It reaches disk with the next group flush.
+     *
+     * @param event the event; its sequence and timestamp are ignored
+     * @return the sequence assigned to the event
+     * @throws IOException if a new segment cannot be created
+     */
+    public synchronized long append(LoanEvent event) throws IOException {
+        if (segment == null || position + RECORD_SIZE > segment.capacity()) {
+            roll();
+        }
+
+        long sequence = nextSequence;
+        LocalDateTime timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        segment.putLong(position + R_TIMESTAMP, timestamp.toInstant(ZoneOffset.UTC).toEpochMilli());
+        segment.putLong(position + R_LOAN, orNull(event.getLoanId()));
+        segment.putLong(position + R_BOOK, orNull(event.getBookId()));
+        segment.putLong(position + R_MEMBER, orNull(event.getMemberId()));
+        segment.putInt(position + R_STOCK_DELTA, event.getStockDelta());
+        segment.putInt(position + R_TYPE, event.getType().ordinal());
+        segment.putLong(position + R_SEQUENCE, sequence);
+        // Written last, so a torn record never validates
+        segment.putInt(position + R_CRC, crc(segment, position));
+
+        position += RECORD_SIZE;
+        nextSequence++;
+        dirty = true;
+        lastSequence = sequence;
+
+        // Subscribers see events in sequence order
+        LoanEvent stored = new LoanEvent(sequence, timestamp, event.getType(), event.getLoanId(),
+                event.getBookId(), event.getMemberId(), event.getStockDelta());
+        for (Consumer<LoanEvent> subscriber : subscribers) {
+            subscriber.accept(stored);
+        }
+        return sequence;
+    }
+
+    /**
+     * Forces appended events to disk. The fsync runs outside the append
+     * lock, so writers are not held up while it completes.
+     */
+    public void flush() {
+        MappedByteBuffer dirtySegment;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirtySegment = segment;
+            dirty = false;
+        }
+        dirtySegment.force();
+    }
+
+    /**
+     * Reads events in sequence order, starting at a sequence.
+     * Events appended while the replay runs are not included.
+     *
+     * @param fromSequence first sequence to deliver; 1 replays everything
+     * @param consumer called with each event
+     * @return number of events delivered
+     * @throws IOException if a segment cannot be read
+     */
+    public long replay(long fromSequence, Consumer<LoanEvent> consumer) throws IOException {
+        long upTo = lastSequence;
+        List<Path> segments = segments();
+        long replayed = 0;
+
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip whole segments that end before the requested sequence
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_ONLY, channel.size());
+                if (!hasHeader(buffer)) {
+                    continue;
+                }
+                long expected = buffer.getLong(H_FIRST_SEQUENCE);
+                // Records are fixed width, so seek straight to the first one wanted
+                long skip = Math.max(0, fromSequence - expected);
+                if (HEADER_SIZE + skip * RECORD_SIZE >= buffer.capacity()) {
+                    continue;
+                }
+                expected += skip;
+                for (int pos = HEADER_SIZE + (int) skip * RECORD_SIZE;
+                     pos + RECORD_SIZE <= buffer.capacity() && expected <= upTo && isValid(buffer, pos, expected);
+                     pos += RECORD_SIZE, expected++) {
+                    consumer.accept(read(buffer, pos));
+                    replayed++;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * @return the sequence of the last appended event, 0 if none
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Starts the group flush thread.
+     */
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.SEVERE, "Error flushing loan journal", ex);
+            }
+        }, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Loan journal started in " + dir + ", flushing every " + flushMillis + " ms");
+    }
+
+    /**
+     * Stops the flush thread and forces what is left to disk.
+     */
+    public synchronized void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher = null;
+            LOGGER.info("Loan journal stopped");
+        }
+        flush();
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = segments();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Path file = segments.get(i);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_WRITE, channel.size());
+                if (hasHeader(buffer)) {
+                    openSegment(buffer);
+                    return;
+                }
+            }
+
+            // A crash while the segment was being created
+            LOGGER.warning("Discarding journal segment without header: " + file);
+            Files.delete(file);
+        }
+    }
+
+    private void openSegment(MappedByteBuffer buffer) {
+        long expected = buffer.getLong(H_FIRST_SEQUENCE);
+        int pos = HEADER_SIZE;
+        while (pos + RECORD_SIZE <= buffer.capacity() && isValid(buffer, pos, expected)) {
+            pos += RECORD_SIZE;
+            expected++;
+        }
+
+        segment = buffer;
+        position = pos;
+        nextSequence = expected;
+        lastSequence = expected - 1;
+        LOGGER.info("Loan journal opened at sequence " + lastSequence);
+    }
+
+    private void roll() throws IOException {
+        if (segment != null) {
+            // Seal the full segment before moving on
+            segment.force();
+            dirty = false;
+        }
+
+        Path file = dir.resolve(String.format("%020d", nextSequence) + SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_WRITE, segmentBytes);
+            buffer.putInt(H_VERSION, VERSION);
+            buffer.putLong(H_FIRST_SEQUENCE, nextSequence);
+            buffer.putInt(H_MAGIC, MAGIC);
+            buffer.force();
+
+            segment = buffer;
+            position = HEADER_SIZE;
+        }
+        LOGGER.info("Loan journal segment started: " + file);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(f -> f.getFileName().toString().matches("\\d{20}\\" + SUFFIX))
+                    .sorted()
+                    .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static boolean hasHeader(MappedByteBuffer buffer) {
+        return buffer.capacity() >= HEADER_SIZE
+                && buffer.getInt(H_MAGIC) == MAGIC && buffer.getInt(H_VERSION) == VERSION;
+    }
+
+    private static boolean isValid(MappedByteBuffer buffer, int pos, long expected) {
+        return buffer.getLong(pos + R_SEQUENCE) == expected
+                && buffer.getInt(pos + R_CRC) == crc(buffer, pos);
+    }
+
+    private static LoanEvent read(MappedByteBuffer buffer, int pos) {
+        LocalDateTime timestamp = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(buffer.getLong(pos + R_TIMESTAMP)), ZoneOffset.UTC);
+        return new LoanEvent(buffer.getLong(pos + R_SEQUENCE), timestamp,
+                TYPES[buffer.getInt(pos + R_TYPE)],
+                toId(buffer.getLong(pos + R_LOAN)),
+                toId(buffer.getLong(pos + R_BOOK)),
+                toId(buffer.getLong(pos + R_MEMBER)),
+                buffer.getInt(pos + R_STOCK_DELTA));
+    }
+
+    private static int crc(MappedByteBuffer buffer, int pos) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(pos, R_CRC));
+        return (int) crc.getValue();
+    }
+
+    private static long orNull(Long id) {
+        return id != null ? id : NULL_ID;
+    }
+
+    private static Long toId(long value) {
+        return value != NULL_ID ? value : null;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Journal segment exceeds 2 GB: " + length);
+        }
+        MappedByteBuffer buffer = channel.map(mode, 0, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.libronova.infra.journal;
+
+import com.mycompany.libronova.domain.LoanEvent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-memory view of loan activity derived from the loan journal.
+ * Rebuilt at startup by replaying the journal and kept current by
+ * subscribing to it. It only knows what the journal holds, so loans
+ * opened before journaling started are not counted.
+ *
+ * @author Wilffren Muñoz
+ */
+public class LoanProjection implements Consumer<LoanEvent> {
+
+    // Loan ID to {book ID, member ID} for every open journaled loan
+    private final Map<Long, long[]> openLoans = new HashMap<>();
+    private final Map<Long, Integer> openByMember = new HashMap<>();
+    private final Map<Long, Integer> checkoutsByBook = new HashMap<>();
+    private final Map<Long, Integer> stockDeltaByBook = new HashMap<>();
+    private long created;
+    private long returned;
+    private long lastSequence;
+
+    @Override
+    public synchronized void accept(LoanEvent event) {
+        switch (event.getType()) {
+            case LOAN_CREATED:
+                openLoans.put(event.getLoanId(), new long[] {event.getBookId(), event.getMemberId()});
+                openByMember.merge(event.getMemberId(), 1, Integer::sum);
+                checkoutsByBook.merge(event.getBookId(), 1, Integer::sum);
+                created++;
+                break;
+            case BOOK_RETURNED:
+                // Journals written before bulk returns carried the member rely on the open loan
+                long[] open = openLoans.remove(event.getLoanId());
+                if (open != null) {
+                    openByMember.computeIfPresent(open[1], (member, count) -> count > 1 ? count - 1 : null);
+                }
+                returned++;
+                break;
+            case STOCK_CHANGED:
+                stockDeltaByBook.merge(event.getBookId(), event.getStockDelta(), Integer::sum);
+                break;
+            default:
+                break;
+        }
+        lastSequence = event.getSequence();
+    }
+
+    /**
+     * @param memberId the member ID
+     * @return journaled loans the member has not returned
+     */
+    public synchronized int getOpenLoans(Long memberId) {
+        return openByMember.getOrDefault(memberId, 0);
+    }
+
+    /**
+     * @param bookId the book ID
+     * @return times the book was checked out
+     */
+    public synchronized int getCheckouts(Long bookId) {
+        return checkoutsByBook.getOrDefault(bookId, 0);
+    }
+
+    /**
+     * @param bookId the book ID
+     * @return net change of the book's available stock from loans and holds
+     */
+    public synchronized int getStockDelta(Long bookId) {
+        return stockDeltaByBook.getOrDefault(bookId, 0);
+    }
+
+    /**
+     * @return journaled loans not yet returned
+     */
+    public synchronized int getOpenLoanCount() {
+        return openLoans.size();
+    }
+
+    public synchronized long getCreatedCount() { return created; }
+
+    public synchronized long getReturnedCount() { return returned; }
+
+    public synchronized long getLastSequence() { return lastSequence; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("LoanProjection{seq=%d, created=%d, returned=%d, open=%d}",
+                lastSequence, created, returned, openLoans.size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.libronova.infra.notify;
+
+import com.mycompany.libronova.domain.DueReminder;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends reminders to a local text file, one line each.
+ * A whole batch is written with a single open and flush.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class FileReminderSink implements ReminderSink {
+    
+    private final Path file;
+    
+    public FileReminderSink(Path file) {
+        this.file = file;
+    }
+    
+    @Override
+    public synchronized void send(List<DueReminder> reminders) throws IOException {
+        String sentAt = LocalDateTime.now().withNano(0).toString();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (DueReminder reminder : reminders) {
+                writer.write(sentAt + " loan=" + reminder.getLoanId()
+                        + " to=" + reminder.getMemberEmail()
+                        + " due=" + reminder.getExpectedReturnDate()
+                        + " book=\"" + reminder.getBookTitle() + "\"");
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.libronova.infra.notify;
+
+import com.mycompany.libronova.domain.DueReminder;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Stand-in for an SMTP sender.
+ * Writes each reminder as an RFC 5322 message file into an outbox
+ * directory, where a mail relay or a person can pick it up.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class OutboxReminderSink implements ReminderSink {
+    
+    private final Path outbox;
+    private final String from;
+    
+    public OutboxReminderSink(Path outbox, String from) {
+        this.outbox = outbox;
+        this.from = from;
+    }
+    
+    @Override
+    public void send(List<DueReminder> reminders) throws IOException {
+        Files.createDirectories(outbox);
+        String date = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        
+        for (DueReminder reminder : reminders) {
+            if (reminder.getMemberEmail() == null) {
+                continue;
+            }
+            String message = "From: " + from + "\r\n"
+                    + "To: " + reminder.getMemberEmail() + "\r\n"
+                    + "Date: " + date + "\r\n"
+                    + "Subject: Return reminder - " + reminder.getBookTitle() + "\r\n"
+                    + "Content-Type: text/plain; charset=UTF-8\r\n"
+                    + "\r\n"
+                    + "Hello " + reminder.getMemberName() + ",\r\n\r\n"
+                    + "The book \"" + reminder.getBookTitle() + "\" is due back on "
+                    + reminder.getExpectedReturnDate() + ".\r\n";
+            Files.writeString(outbox.resolve("reminder-" + reminder.getLoanId() + ".eml"),
+                    message, StandardCharsets.UTF_8);
+        }
+    }
+}
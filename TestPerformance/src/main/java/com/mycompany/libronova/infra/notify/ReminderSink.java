@@ -0,0 +1,40 @@
+package com.mycompany.libronova.infra.notify;
+
+import com.mycompany.libronova.domain.DueReminder;
+import com.mycompany.libronova.infra.config.AppConfig;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Destination of due-date reminders.
+ * Reminders that fire on the same tick arrive as one batch.
+ * 
+ * @author Wilffren Muñoz
+ */
+@FunctionalInterface
+public interface ReminderSink {
+    
+    /**
+     * Delivers a batch of reminders.
+     * 
+     * @param reminders the reminders, never empty
+     * @throws IOException if the batch could not be delivered
+     */
+    void send(List<DueReminder> reminders) throws IOException;
+    
+    /**
+     * Creates the sink selected by reminders.sink: "file" or "outbox".
+     * 
+     * @return the configured sink
+     */
+    static ReminderSink fromConfig() {
+        AppConfig config = AppConfig.getInstance();
+        if ("outbox".equalsIgnoreCase(config.getString("reminders.sink", "file"))) {
+            return new OutboxReminderSink(
+                    Path.of(config.getString("reminders.outbox.dir", "outbox")),
+                    config.getString("reminders.from", "biblioteca@libronova.local"));
+        }
+        return new FileReminderSink(Path.of(config.getString("reminders.file", "reminders.log")));
+    }
+}
@@ -2,17 +2,28 @@ package com.mycompany.libronova.infra.util;
 
 import com.mycompany.libronova.domain.Book;
 import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberImportReport;
 import com.mycompany.libronova.infra.config.LoggingConfig;
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class for exporting data to CSV format.
- * Provides methods to export book catalog and overdue loans.
+ * Provides methods to export book catalog, loans and members.
  * 
  * @author Wilffren Muñoz
  */
@@ -23,6 +34,34 @@ public class CSVExporter {
     private static final String LINE_SEPARATOR = "\n";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    
+    /** Header line of the book catalog export. */
+    public static final String BOOK_HEADER = "ISBN" + CSV_SEPARATOR + 
+            "Title" + CSV_SEPARATOR + 
+            "Author" + CSV_SEPARATOR + 
+            "Publisher" + CSV_SEPARATOR + 
+            "Year" + CSV_SEPARATOR + 
+            "Available Stock" + CSV_SEPARATOR + 
+            "Total Stock" + LINE_SEPARATOR;
+    
+    /** Header line of the loan exports. */
+    public static final String LOAN_HEADER = "Loan ID" + CSV_SEPARATOR +
+            "Book Title" + CSV_SEPARATOR +
+            "Book ISBN" + CSV_SEPARATOR +
+            "Member Name" + CSV_SEPARATOR +
+            "Member Number" + CSV_SEPARATOR +
+            "Loan Date" + CSV_SEPARATOR +
+            "Expected Return Date" + CSV_SEPARATOR +
+            "Days Overdue" + CSV_SEPARATOR +
+            "Status" + LINE_SEPARATOR;
+    
+    /** Header line of the member exports. */
+    public static final String MEMBER_HEADER = "Member Number" + CSV_SEPARATOR +
+            "Name" + CSV_SEPARATOR +
+            "Email" + CSV_SEPARATOR +
+            "Status" + CSV_SEPARATOR +
+            "Registration Date" + LINE_SEPARATOR;
     
     /**
      * Exports the book catalog to a CSV file.
@@ -33,30 +72,30 @@ public class CSVExporter {
      * @throws IOException if file operation fails
      */
     public static String exportBookCatalog(List<Book> books, String customFileName) throws IOException {
+        return exportBookCatalog(books, customFileName, false, Deflater.DEFAULT_COMPRESSION);
+    }
+    
+    /**
+     * Exports the book catalog to a CSV file, optionally gzip-compressed.
+     * 
+     * @param books list of books to export
+     * @param customFileName optional custom filename (null for auto-generated)
+     * @param compressed true to write a .csv.gz file
+     * @param compressionLevel deflate level from 0 to 9, or -1 for the default
+     * @return the filename of the exported file
+     * @throws IOException if file operation fails
+     */
+    public static String exportBookCatalog(List<Book> books, String customFileName,
+                                           boolean compressed, int compressionLevel) throws IOException {
         String fileName = customFileName != null ? customFileName : 
-                "book_catalog_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".csv";
+                "book_catalog_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + fileExtension(compressed);
         
         LOGGER.info("Starting book catalog export to: " + fileName);
         
-        try (FileWriter writer = new FileWriter(fileName)) {
-            // Write header
-            writer.write("ISBN" + CSV_SEPARATOR + 
-                        "Title" + CSV_SEPARATOR + 
-                        "Author" + CSV_SEPARATOR + 
-                        "Publisher" + CSV_SEPARATOR + 
-                        "Year" + CSV_SEPARATOR + 
-                        "Available Stock" + CSV_SEPARATOR + 
-                        "Total Stock" + LINE_SEPARATOR);
-            
-            // Write book data
+        try (Writer writer = openWriter(Path.of(fileName), compressed, compressionLevel)) {
+            writer.write(BOOK_HEADER);
             for (Book book : books) {
-                writer.write(escapeCSV(book.getIsbn()) + CSV_SEPARATOR +
-                           escapeCSV(book.getTitle()) + CSV_SEPARATOR +
-                           escapeCSV(book.getAuthor()) + CSV_SEPARATOR +
-                           escapeCSV(book.getPublisher()) + CSV_SEPARATOR +
-                           book.getYear().getValue() + CSV_SEPARATOR +
-                           book.getAvailableStock() + CSV_SEPARATOR +
-                           book.getTotalStock() + LINE_SEPARATOR);
+                writeBookRow(writer, book);
             }
             
             LOGGER.info("Book catalog exported successfully. Records: " + books.size());
@@ -77,39 +116,30 @@ public class CSVExporter {
      * @throws IOException if file operation fails
      */
     public static String exportOverdueLoans(List<Loan> overdueLoans, String customFileName) throws IOException {
+        return exportOverdueLoans(overdueLoans, customFileName, false, Deflater.DEFAULT_COMPRESSION);
+    }
+    
+    /**
+     * Exports overdue loans to a CSV file, optionally gzip-compressed.
+     * 
+     * @param overdueLoans list of overdue loans to export
+     * @param customFileName optional custom filename (null for auto-generated)
+     * @param compressed true to write a .csv.gz file
+     * @param compressionLevel deflate level from 0 to 9, or -1 for the default
+     * @return the filename of the exported file
+     * @throws IOException if file operation fails
+     */
+    public static String exportOverdueLoans(List<Loan> overdueLoans, String customFileName,
+                                            boolean compressed, int compressionLevel) throws IOException {
         String fileName = customFileName != null ? customFileName :
-                "overdue_loans_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".csv";
+                "overdue_loans_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + fileExtension(compressed);
         
         LOGGER.info("Starting overdue loans export to: " + fileName);
         
-        try (FileWriter writer = new FileWriter(fileName)) {
-            // Write header
-            writer.write("Loan ID" + CSV_SEPARATOR +
-                        "Book Title" + CSV_SEPARATOR +
-                        "Book ISBN" + CSV_SEPARATOR +
-                        "Member Name" + CSV_SEPARATOR +
-                        "Member Number" + CSV_SEPARATOR +
-                        "Loan Date" + CSV_SEPARATOR +
-                        "Expected Return Date" + CSV_SEPARATOR +
-                        "Days Overdue" + CSV_SEPARATOR +
-                        "Status" + LINE_SEPARATOR);
-            
-            // Write overdue loan data
+        try (Writer writer = openWriter(Path.of(fileName), compressed, compressionLevel)) {
+            writer.write(LOAN_HEADER);
             for (Loan loan : overdueLoans) {
-                String bookTitle = loan.getBook() != null ? loan.getBook().getTitle() : "N/A";
-                String bookIsbn = loan.getBook() != null ? loan.getBook().getIsbn() : "N/A";
-                String memberName = loan.getMember() != null ? loan.getMember().getName() : "N/A";
-                String memberNumber = loan.getMember() != null ? loan.getMember().getMemberNumber() : "N/A";
-                
-                writer.write(loan.getId() + CSV_SEPARATOR +
-                           escapeCSV(bookTitle) + CSV_SEPARATOR +
-                           escapeCSV(bookIsbn) + CSV_SEPARATOR +
-                           escapeCSV(memberName) + CSV_SEPARATOR +
-                           escapeCSV(memberNumber) + CSV_SEPARATOR +
-                           (loan.getLoanDate() != null ? loan.getLoanDate().format(DATE_FORMAT) : "N/A") + CSV_SEPARATOR +
-                           (loan.getExpectedReturnDate() != null ? loan.getExpectedReturnDate().format(DATE_FORMAT) : "N/A") + CSV_SEPARATOR +
-                           loan.overdueDays() + CSV_SEPARATOR +
-                           loan.getStatus() + LINE_SEPARATOR);
+                writeLoanRow(writer, loan);
             }
             
             LOGGER.info("Overdue loans exported successfully. Records: " + overdueLoans.size());
@@ -121,6 +151,184 @@ public class CSVExporter {
         return fileName;
     }
     
+    /**
+     * Exports the rows rejected by a member import to a CSV file.
+     * 
+     * @param rejections the rejected rows
+     * @param fileName the file to write
+     * @return the filename of the exported file
+     * @throws IOException if file operation fails
+     */
+    public static String exportMemberRejections(List<MemberImportReport.Rejection> rejections, String fileName)
+            throws IOException {
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write("Line" + CSV_SEPARATOR +
+                        "Member Number" + CSV_SEPARATOR +
+                        "Email" + CSV_SEPARATOR +
+                        "Reason" + LINE_SEPARATOR);
+            
+            for (MemberImportReport.Rejection rejection : rejections) {
+                writer.write(rejection.getLine() + CSV_SEPARATOR +
+                           escapeCSV(rejection.getMemberNumber()) + CSV_SEPARATOR +
+                           escapeCSV(rejection.getEmail()) + CSV_SEPARATOR +
+                           escapeCSV(rejection.getReason()) + LINE_SEPARATOR);
+            }
+            
+            LOGGER.info("Member import rejections exported. Records: " + rejections.size());
+        } catch (IOException e) {
+            LOGGER.severe("Failed to export member import rejections: " + e.getMessage());
+            throw e;
+        }
+        
+        return fileName;
+    }
+    
+    /**
+     * Opens a buffered UTF-8 writer for an export file.
+     * Compressed output goes through a streaming deflater, so rows are
+     * compressed as they are written and never held in memory.
+     * 
+     * @param file the file to create or replace
+     * @param compressed true to gzip the output
+     * @param compressionLevel deflate level from 0 to 9, or -1 for the default
+     * @return the writer; closing it finishes the gzip stream
+     * @throws IOException if the file cannot be opened
+     */
+    public static Writer openWriter(Path file, boolean compressed, int compressionLevel) throws IOException {
+        if (!compressed) {
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        }
+        return new BufferedWriter(new OutputStreamWriter(openStream(file, true, compressionLevel),
+                StandardCharsets.UTF_8), GZIP_BUFFER_SIZE);
+    }
+    
+    /**
+     * Opens an unbuffered byte stream for an export file, for callers
+     * that do their own buffering.
+     * 
+     * @param file the file to create or replace
+     * @param compressed true to gzip the output
+     * @param compressionLevel deflate level from 0 to 9, or -1 for the default
+     * @return the stream; closing it finishes the gzip stream
+     * @throws IOException if the file cannot be opened
+     */
+    public static OutputStream openStream(Path file, boolean compressed, int compressionLevel) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (!compressed) {
+            return out;
+        }
+        try {
+            return new GZIPOutputStream(out, GZIP_BUFFER_SIZE) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * @param compressed true for gzip output
+     * @return the file extension of an export
+     */
+    public static String fileExtension(boolean compressed) {
+        return compressed ? ".csv.gz" : ".csv";
+    }
+    
+    /**
+     * Writes one book as a line of the book catalog export.
+     * 
+     * @param writer the destination
+     * @param book the book to write
+     * @throws IOException if the write fails
+     */
+    public static void writeBookRow(Writer writer, Book book) throws IOException {
+        writer.write(escapeCSV(book.getIsbn()) + CSV_SEPARATOR +
+                   escapeCSV(book.getTitle()) + CSV_SEPARATOR +
+                   escapeCSV(book.getAuthor()) + CSV_SEPARATOR +
+                   escapeCSV(book.getPublisher()) + CSV_SEPARATOR +
+                   book.getYear().getValue() + CSV_SEPARATOR +
+                   book.getAvailableStock() + CSV_SEPARATOR +
+                   book.getTotalStock() + LINE_SEPARATOR);
+    }
+    
+    /**
+     * Writes one loan as a line of the loan exports.
+     * 
+     * @param writer the destination
+     * @param loan the loan to write
+     * @throws IOException if the write fails
+     */
+    public static void writeLoanRow(Writer writer, Loan loan) throws IOException {
+        String bookTitle = loan.getBook() != null ? loan.getBook().getTitle() : "N/A";
+        String bookIsbn = loan.getBook() != null ? loan.getBook().getIsbn() : "N/A";
+        String memberName = loan.getMember() != null ? loan.getMember().getName() : "N/A";
+        String memberNumber = loan.getMember() != null ? loan.getMember().getMemberNumber() : "N/A";
+        
+        writer.write(loan.getId() + CSV_SEPARATOR +
+                   escapeCSV(bookTitle) + CSV_SEPARATOR +
+                   escapeCSV(bookIsbn) + CSV_SEPARATOR +
+                   escapeCSV(memberName) + CSV_SEPARATOR +
+                   escapeCSV(memberNumber) + CSV_SEPARATOR +
+                   (loan.getLoanDate() != null ? loan.getLoanDate().format(DATE_FORMAT) : "N/A") + CSV_SEPARATOR +
+                   (loan.getExpectedReturnDate() != null ? loan.getExpectedReturnDate().format(DATE_FORMAT) : "N/A") + CSV_SEPARATOR +
+                   loan.overdueDays() + CSV_SEPARATOR +
+                   loan.getStatus() + LINE_SEPARATOR);
+    }
+    
+    /**
+     * Writes one member as a line of the member exports.
+     * 
+     * @param writer the destination
+     * @param member the member to write
+     * @throws IOException if the write fails
+     */
+    public static void writeMemberRow(Writer writer, Member member) throws IOException {
+        writer.write(escapeCSV(member.getMemberNumber()) + CSV_SEPARATOR +
+                   escapeCSV(member.getName()) + CSV_SEPARATOR +
+                   escapeCSV(member.getEmail()) + CSV_SEPARATOR +
+                   member.getStatus() + CSV_SEPARATOR +
+                   (member.getRegistrationDate() != null ? member.getRegistrationDate().format(DATE_FORMAT) : "N/A") + LINE_SEPARATOR);
+    }
+    
+    /**
+     * Builds the header of a delta export: the change type and row ID
+     * followed by the columns of the full export.
+     * 
+     * @param header the header line of the full export
+     * @return the delta header line
+     */
+    public static String deltaHeader(String header) {
+        return "Change" + CSV_SEPARATOR + "ID" + CSV_SEPARATOR + header;
+    }
+    
+    /**
+     * Starts a delta line for an inserted or updated row; the row itself
+     * follows, written by the matching row writer.
+     * 
+     * @param writer the destination
+     * @param id the row ID
+     * @throws IOException if the write fails
+     */
+    public static void writeUpsertPrefix(Writer writer, Long id) throws IOException {
+        writer.write("UPSERT" + CSV_SEPARATOR + id + CSV_SEPARATOR);
+    }
+    
+    /**
+     * Writes a delta line for a deleted row, with the data columns empty.
+     * 
+     * @param writer the destination
+     * @param id the row ID
+     * @param header the header line of the full export
+     * @throws IOException if the write fails
+     */
+    public static void writeTombstone(Writer writer, Long id, String header) throws IOException {
+        int columns = header.split(CSV_SEPARATOR, -1).length;
+        writer.write("DELETE" + CSV_SEPARATOR + id + CSV_SEPARATOR.repeat(columns) + LINE_SEPARATOR);
+    }
+    
     /**
      * Escapes CSV special characters in a string.
      * 
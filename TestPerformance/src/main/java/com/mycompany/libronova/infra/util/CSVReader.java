@@ -0,0 +1,105 @@
+package com.mycompany.libronova.infra.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for CSV files written by CSVExporter or a spreadsheet.
+ * Fields may be quoted; quoted fields can contain separators, doubled
+ * quotes and line breaks. Records are read one at a time, so files of any
+ * size can be processed in constant memory. A leading UTF-8 byte order
+ * mark is skipped.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class CSVReader implements Closeable {
+    
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    
+    private final BufferedReader reader;
+    private int lineNumber;
+    private int recordLine;
+    
+    public CSVReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+    
+    /**
+     * Reads the next record.
+     * 
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    public List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        // Spreadsheets often save UTF-8 with a BOM, which readers keep as a character
+        if (lineNumber == 0 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+            line = line.substring(1);
+        }
+        lineNumber++;
+        recordLine = lineNumber;
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // A quoted field continues on the next line
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == QUOTE && i < line.length() && line.charAt(i) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    /**
+     * @return line number where the last record read started, 1-based
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
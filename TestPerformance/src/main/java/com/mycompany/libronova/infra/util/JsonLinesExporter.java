@@ -0,0 +1,120 @@
+package com.mycompany.libronova.infra.util;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.infra.util.JsonLinesWriter.Key;
+import java.io.IOException;
+
+/**
+ * Writes books, members and loans as JSON Lines objects. Field names
+ * match the CSV columns in camelCase; missing values are written as null.
+ * 
+ * @author Wilffren Muñoz
+ */
+public final class JsonLinesExporter {
+    
+    private static final Key ID = JsonLinesWriter.key("id");
+    private static final Key ISBN = JsonLinesWriter.key("isbn");
+    private static final Key TITLE = JsonLinesWriter.key("title");
+    private static final Key AUTHOR = JsonLinesWriter.key("author");
+    private static final Key PUBLISHER = JsonLinesWriter.key("publisher");
+    private static final Key YEAR = JsonLinesWriter.key("year");
+    private static final Key AVAILABLE_STOCK = JsonLinesWriter.key("availableStock");
+    private static final Key TOTAL_STOCK = JsonLinesWriter.key("totalStock");
+    
+    private static final Key MEMBER_NUMBER = JsonLinesWriter.key("memberNumber");
+    private static final Key NAME = JsonLinesWriter.key("name");
+    private static final Key EMAIL = JsonLinesWriter.key("email");
+    private static final Key STATUS = JsonLinesWriter.key("status");
+    private static final Key REGISTRATION_DATE = JsonLinesWriter.key("registrationDate");
+    
+    private static final Key BOOK_ID = JsonLinesWriter.key("bookId");
+    private static final Key BOOK_ISBN = JsonLinesWriter.key("bookIsbn");
+    private static final Key BOOK_TITLE = JsonLinesWriter.key("bookTitle");
+    private static final Key MEMBER_ID = JsonLinesWriter.key("memberId");
+    private static final Key MEMBER_NAME = JsonLinesWriter.key("memberName");
+    private static final Key LOAN_DATE = JsonLinesWriter.key("loanDate");
+    private static final Key EXPECTED_RETURN_DATE = JsonLinesWriter.key("expectedReturnDate");
+    private static final Key ACTUAL_RETURN_DATE = JsonLinesWriter.key("actualReturnDate");
+    private static final Key DAYS_OVERDUE = JsonLinesWriter.key("daysOverdue");
+    
+    private JsonLinesExporter() {
+    }
+    
+    /**
+     * Writes one book as a line.
+     * 
+     * @param json the destination
+     * @param book the book to write
+     * @throws IOException if the write fails
+     */
+    public static void writeBook(JsonLinesWriter json, Book book) throws IOException {
+        json.beginObject()
+                .field(ID, book.getId())
+                .field(ISBN, book.getIsbn())
+                .field(TITLE, book.getTitle())
+                .field(AUTHOR, book.getAuthor())
+                .field(PUBLISHER, book.getPublisher());
+        if (book.getYear() != null) {
+            json.field(YEAR, book.getYear().getValue());
+        } else {
+            json.nullField(YEAR);
+        }
+        json.field(AVAILABLE_STOCK, book.getAvailableStock())
+                .field(TOTAL_STOCK, book.getTotalStock())
+                .endObject();
+    }
+    
+    /**
+     * Writes one member as a line.
+     * 
+     * @param json the destination
+     * @param member the member to write
+     * @throws IOException if the write fails
+     */
+    public static void writeMember(JsonLinesWriter json, Member member) throws IOException {
+        json.beginObject()
+                .field(ID, member.getId())
+                .field(MEMBER_NUMBER, member.getMemberNumber())
+                .field(NAME, member.getName())
+                .field(EMAIL, member.getEmail())
+                .field(STATUS, member.getStatus())
+                .field(REGISTRATION_DATE, member.getRegistrationDate())
+                .endObject();
+    }
+    
+    /**
+     * Writes one loan as a line, with the book and member columns of
+     * the CSV export flattened into it.
+     * 
+     * @param json the destination
+     * @param loan the loan to write
+     * @throws IOException if the write fails
+     */
+    public static void writeLoan(JsonLinesWriter json, Loan loan) throws IOException {
+        Book book = loan.getBook();
+        Member member = loan.getMember();
+        json.beginObject().field(ID, loan.getId());
+        if (book != null) {
+            json.field(BOOK_ID, book.getId())
+                    .field(BOOK_ISBN, book.getIsbn())
+                    .field(BOOK_TITLE, book.getTitle());
+        } else {
+            json.nullField(BOOK_ID).nullField(BOOK_ISBN).nullField(BOOK_TITLE);
+        }
+        if (member != null) {
+            json.field(MEMBER_ID, member.getId())
+                    .field(MEMBER_NUMBER, member.getMemberNumber())
+                    .field(MEMBER_NAME, member.getName());
+        } else {
+            json.nullField(MEMBER_ID).nullField(MEMBER_NUMBER).nullField(MEMBER_NAME);
+        }
+        json.field(LOAN_DATE, loan.getLoanDate())
+                .field(EXPECTED_RETURN_DATE, loan.getExpectedReturnDate())
+                .field(ACTUAL_RETURN_DATE, loan.getActualReturnDate())
+                .field(DAYS_OVERDUE, loan.overdueDays())
+                .field(STATUS, loan.getStatus())
+                .endObject();
+    }
+}
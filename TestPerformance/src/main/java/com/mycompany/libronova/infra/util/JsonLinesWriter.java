@@ -0,0 +1,332 @@
+package com.mycompany.libronova.infra.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON Lines encoder: one flat object per line, written as
+ * escaped UTF-8 straight into a reusable byte buffer that is handed to
+ * the output stream whenever it fills up. Field names are encoded once
+ * as {@link Key}s and values are written from primitives, so a row costs
+ * no intermediate objects, strings or reflection.
+ *
+ * <pre>
+ * json.beginObject()
+ *     .field(ID, book.getId())
+ *     .field(TITLE, book.getTitle())
+ *     .endObject();
+ * </pre>
+ *
+ * @author Wilffren Muñoz
+ */
+public class JsonLinesWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    // Longest escape of one char: backslash, u and four hex digits
+    private static final int MAX_BYTES_PER_CHAR = 6;
+
+    /**
+     * A field name, escaped and encoded once with its quotes and colon.
+     */
+    public static final class Key {
+
+        private final byte[] bytes;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position;
+    private boolean firstField;
+
+    /**
+     * @param out the destination; closed with this writer
+     */
+    public JsonLinesWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param out the destination; closed with this writer
+     * @param bufferSize bytes buffered before they are written out
+     */
+    public JsonLinesWriter(OutputStream out, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be greater than 0");
+        }
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Encodes a field name.
+     *
+     * @param name the field name
+     * @return the key, meant to be kept in a constant
+     */
+    public static Key key(String name) {
+        // Sized for the worst case, so nothing is ever drained
+        JsonLinesWriter encoder = new JsonLinesWriter(OutputStream.nullOutputStream(),
+                name.length() * MAX_BYTES_PER_CHAR + 3);
+        try {
+            encoder.writeString(name);
+            encoder.writeByte(':');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Key(Arrays.copyOf(encoder.buffer, encoder.position));
+    }
+
+    /**
+     * @param compressed true for gzip output
+     * @return the file extension of a JSON Lines export
+     */
+    public static String fileExtension(boolean compressed) {
+        return compressed ? ".jsonl.gz" : ".jsonl";
+    }
+
+    public JsonLinesWriter beginObject() throws IOException {
+        writeByte('{');
+        firstField = true;
+        return this;
+    }
+
+    /**
+     * Ends the object and its line.
+     *
+     * @throws IOException if the buffer cannot be written out
+     */
+    public void endObject() throws IOException {
+        ensure(2);
+        buffer[position++] = '}';
+        buffer[position++] = '\n';
+    }
+
+    public JsonLinesWriter nullField(Key key) throws IOException {
+        name(key);
+        writeBytes(NULL);
+        return this;
+    }
+
+    public JsonLinesWriter field(Key key, String value) throws IOException {
+        name(key);
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    public JsonLinesWriter field(Key key, long value) throws IOException {
+        name(key);
+        writeLong(value);
+        return this;
+    }
+
+    public JsonLinesWriter field(Key key, Long value) throws IOException {
+        name(key);
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeLong(value);
+        }
+        return this;
+    }
+
+    public JsonLinesWriter field(Key key, Integer value) throws IOException {
+        name(key);
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeLong(value);
+        }
+        return this;
+    }
+
+    public JsonLinesWriter field(Key key, Enum<?> value) throws IOException {
+        return field(key, value != null ? value.name() : null);
+    }
+
+    /**
+     * Writes a date as an ISO-8601 string, e.g. "2025-03-10".
+     */
+    public JsonLinesWriter field(Key key, LocalDate value) throws IOException {
+        name(key);
+        if (value == null) {
+            writeBytes(NULL);
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            writeString(value.toString());
+        } else {
+            ensure(12);
+            buffer[position++] = '"';
+            writeDigits(value.getYear(), 4);
+            buffer[position++] = '-';
+            writeDigits(value.getMonthValue(), 2);
+            buffer[position++] = '-';
+            writeDigits(value.getDayOfMonth(), 2);
+            buffer[position++] = '"';
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            drain();
+        }
+    }
+
+    private void name(Key key) throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            writeByte(',');
+        }
+        writeBytes(key.bytes);
+    }
+
+    private void writeString(String value) throws IOException {
+        int length = value.length();
+        ensure(length * MAX_BYTES_PER_CHAR + 2);
+        byte[] buf = buffer;
+        int pos = position;
+        buf[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buf[pos++] = '\\';
+                }
+                buf[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                pos = writeControl(buf, pos, c);
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xc0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xf0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced like String.getBytes does
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xe0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        buf[pos++] = '"';
+        position = pos;
+    }
+
+    private static int writeControl(byte[] buf, int pos, char c) {
+        buf[pos++] = '\\';
+        switch (c) {
+            case '\n':
+                buf[pos++] = 'n';
+                break;
+            case '\r':
+                buf[pos++] = 'r';
+                break;
+            case '\t':
+                buf[pos++] = 't';
+                break;
+            case '\b':
+                buf[pos++] = 'b';
+                break;
+            case '\f':
+                buf[pos++] = 'f';
+                break;
+            default:
+                buf[pos++] = 'u';
+                buf[pos++] = '0';
+                buf[pos++] = '0';
+                buf[pos++] = HEX[c >> 4];
+                buf[pos++] = HEX[c & 0xf];
+                break;
+        }
+        return pos;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int pos = position + digits;
+        do {
+            buffer[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        position += digits;
+    }
+
+    private void writeDigits(int value, int digits) {
+        for (int pos = position + digits - 1; pos >= position; pos--) {
+            buffer[pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int extra) throws IOException {
+        if (position + extra > buffer.length) {
+            drain();
+            if (extra > buffer.length) {
+                // Only a huge string gets here; the buffer stays grown
+                buffer = new byte[Math.max(buffer.length * 2, extra)];
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
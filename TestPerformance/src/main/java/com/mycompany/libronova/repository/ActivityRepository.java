@@ -0,0 +1,33 @@
+package com.mycompany.libronova.repository;
+
+import com.mycompany.libronova.domain.ActivityEvent;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the user activity audit trail.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface ActivityRepository {
+    
+    /**
+     * Inserts a batch of events in one round trip.
+     * 
+     * @param events the events to store
+     * @throws DatabaseException if database operation fails
+     */
+    void saveAll(List<ActivityEvent> events) throws DatabaseException;
+    
+    /**
+     * Finds the events of a user within a time range, oldest first.
+     * 
+     * @param userId the user ID
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return the events
+     * @throws DatabaseException if database operation fails
+     */
+    List<ActivityEvent> findByUser(String userId, LocalDateTime from, LocalDateTime to) throws DatabaseException;
+}
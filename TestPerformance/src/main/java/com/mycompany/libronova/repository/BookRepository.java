@@ -3,6 +3,9 @@ package com.mycompany.libronova.repository;
 import com.mycompany.libronova.domain.Book;
 import com.mycompany.libronova.exceptions.DatabaseException;
 import com.mycompany.libronova.exceptions.DuplicateISBNException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,6 +53,16 @@ public interface BookRepository {
      */
     Optional<Book> findByIsbn(String isbn) throws DatabaseException;
     
+    /**
+     * Finds several books by ID with a single query.
+     * IDs that do not exist are simply missing from the result.
+     * 
+     * @param ids the book IDs
+     * @return list of the books found, in no particular order
+     * @throws DatabaseException if database operation fails
+     */
+    List<Book> findAllById(Collection<Long> ids) throws DatabaseException;
+    
     /**
      * Retrieves all books from the database.
      * 
@@ -58,6 +71,15 @@ public interface BookRepository {
      */
     List<Book> findAll() throws DatabaseException;
     
+    /**
+     * Retrieves books inserted or modified at or after a point in time.
+     * 
+     * @param since lower bound for the updated_at column (inclusive)
+     * @return list of changed books ordered by updated_at
+     * @throws DatabaseException if database operation fails
+     */
+    List<Book> findUpdatedSince(LocalDateTime since) throws DatabaseException;
+    
     /**
      * Searches books by title (partial match).
      * 
@@ -84,4 +106,34 @@ public interface BookRepository {
      * @throws DatabaseException if database operation fails
      */
     boolean existsByIsbn(String isbn) throws DatabaseException;
-}
\ No newline at end of file
+    
+    /**
+     * Finds the lowest and highest book ID.
+     * 
+     * @return the ID range, or IdRange.EMPTY if there are no books
+     * @throws DatabaseException if database operation fails
+     */
+    IdRange findIdRange() throws DatabaseException;
+    
+    /**
+     * Streams the books with IDs in a range, in ID order, without
+     * loading them all into memory.
+     * 
+     * @param range the IDs to read
+     * @param callback receives each book
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if the callback fails
+     */
+    void streamByIdRange(IdRange range, RowCallback<Book> callback) throws DatabaseException, IOException;
+    
+    /**
+     * Streams the books whose updated_at is at or after a point in time,
+     * in updated_at order, without loading them all into memory.
+     * 
+     * @param since lower bound for the updated_at column (inclusive)
+     * @param callback receives each book
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if the callback fails
+     */
+    void streamUpdatedSince(LocalDateTime since, RowCallback<Book> callback) throws DatabaseException, IOException;
+}
@@ -0,0 +1,61 @@
+package com.mycompany.libronova.repository;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the data behind delta exports: tombstones of
+ * deleted rows and the watermark each export has reached.
+ *
+ * @author Wilffren Muñoz
+ */
+public interface ChangeLogRepository {
+    
+    /**
+     * Reads the database clock, the same clock that stamps updated_at
+     * and deleted_at, so watermarks do not depend on the client clock.
+     *
+     * @return the current database time
+     * @throws DatabaseException if database operation fails
+     */
+    LocalDateTime currentTimestamp() throws DatabaseException;
+    
+    /**
+     * Finds the watermark stored for an export.
+     *
+     * @param name the export name
+     * @return Optional containing the watermark, empty before the first run
+     * @throws DatabaseException if database operation fails
+     */
+    Optional<LocalDateTime> findWatermark(String name) throws DatabaseException;
+    
+    /**
+     * Stores the watermark of an export, replacing the previous one.
+     *
+     * @param name the export name
+     * @param watermark the point in time the export has covered
+     * @throws DatabaseException if database operation fails
+     */
+    void saveWatermark(String name, LocalDateTime watermark) throws DatabaseException;
+    
+    /**
+     * Finds the IDs of rows deleted from a table since a point in time.
+     *
+     * @param tableName books, members or loans
+     * @param since lower bound for the deleted_at column (inclusive)
+     * @return the deleted IDs in deletion order
+     * @throws DatabaseException if database operation fails
+     */
+    List<Long> findDeletedSince(String tableName, LocalDateTime since) throws DatabaseException;
+    
+    /**
+     * Removes tombstones older than a point in time.
+     *
+     * @param before exclusive upper bound for the deleted_at column
+     * @return number of tombstones removed
+     * @throws DatabaseException if database operation fails
+     */
+    int deleteTombstonesBefore(LocalDateTime before) throws DatabaseException;
+}
@@ -0,0 +1,47 @@
+package com.mycompany.libronova.repository;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository interface for the loan_fines ledger.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface FineRepository {
+    
+    /**
+     * Brings the ledger up to date for every overdue loan.
+     * Only loans whose ledger row is missing or older than the accrual
+     * date are touched; returned loans are accrued up to their return date.
+     * 
+     * @param asOf the accrual date, normally today
+     * @param dailyRate amount charged per overdue day
+     * @param graceDays overdue days that are not charged
+     * @param maxFine upper bound of a single fine, 0 for no cap
+     * @return number of ledger rows inserted or updated
+     * @throws DatabaseException if database operation fails
+     */
+    int accrueThrough(LocalDate asOf, double dailyRate, int graceDays, double maxFine) throws DatabaseException;
+    
+    /**
+     * Finds the accrued fine of a loan.
+     * 
+     * @param loanId the loan ID
+     * @return the fine if the loan has a ledger row
+     * @throws DatabaseException if database operation fails
+     */
+    Optional<Double> findAmountByLoanId(Long loanId) throws DatabaseException;
+    
+    /**
+     * Finds the accrued fines of several loans with one primary key lookup.
+     * 
+     * @param loanIds the loan IDs
+     * @return fine per loan ID, only for loans that have a ledger row
+     * @throws DatabaseException if database operation fails
+     */
+    Map<Long, Double> findAmountsByLoanIds(Collection<Long> loanIds) throws DatabaseException;
+}
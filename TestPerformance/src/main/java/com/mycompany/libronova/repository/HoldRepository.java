@@ -0,0 +1,132 @@
+package com.mycompany.libronova.repository;
+
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.HoldStatus;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository interface for the holds waitlist.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface HoldRepository {
+    
+    /**
+     * Places a new WAITING hold.
+     * 
+     * @param hold the hold to save
+     * @return the saved hold with generated ID
+     * @throws DatabaseException if database operation fails
+     */
+    Hold save(Hold hold) throws DatabaseException;
+    
+    /**
+     * Finds a hold by its ID.
+     * 
+     * @param id the hold ID
+     * @return Optional containing the hold if found
+     * @throws DatabaseException if database operation fails
+     */
+    Optional<Hold> findById(Long id) throws DatabaseException;
+    
+    /**
+     * Finds every WAITING or READY hold, grouped by book in queue order.
+     * 
+     * @return the open holds
+     * @throws DatabaseException if database operation fails
+     */
+    List<Hold> findOpen() throws DatabaseException;
+    
+    /**
+     * Moves a hold to a new status if it still has the expected one.
+     * 
+     * @param id the hold ID
+     * @param expected the status the hold must have
+     * @param status the new status
+     * @return true if the hold was changed
+     * @throws DatabaseException if database operation fails
+     */
+    boolean updateStatus(Long id, HoldStatus expected, HoldStatus status) throws DatabaseException;
+    
+    /**
+     * Moves the pickup deadline of a READY hold.
+     * 
+     * @param id the hold ID
+     * @param expiresAt the new deadline
+     * @return true if the hold was ready and changed
+     * @throws DatabaseException if database operation fails
+     */
+    boolean updateDeadline(Long id, LocalDateTime expiresAt) throws DatabaseException;
+    
+    /**
+     * Lends the copy set aside for a READY hold. In one transaction the
+     * hold is claimed with a conditional update to FULFILLED and the loan
+     * is inserted, so a hold that expired or was passed on meanwhile
+     * lends nothing. The member's active loan counter is raised in the
+     * same transaction, within the limit.
+     * 
+     * @param holdId the hold to claim; its book and member must match the loan
+     * @param loan the loan to save
+     * @param limit the borrowing limit to enforce
+     * @return the saved loan with generated ID
+     * @throws InsufficientStockException if the hold is no longer READY for this member
+     * @throws LoanLimitExceededException if the member is over the limit or delinquent
+     * @throws DatabaseException if database operation fails
+     */
+    Loan fulfill(Long holdId, Loan loan, LoanLimit limit)
+            throws InsufficientStockException, LoanLimitExceededException, DatabaseException;
+    
+    /**
+     * Returns a loan and hands the copy to the head of the book's waitlist.
+     * In one transaction the loan is marked RETURNED and either the first
+     * waiting hold becomes READY or, with nobody waiting, the stock goes up.
+     * The member's loan counters are released in the same transaction.
+     * 
+     * @param loanId the loan to return
+     * @param bookId the book of the loan
+     * @param returnDate the actual return date to record
+     * @param readyUntil pickup deadline for the hold that receives the copy
+     * @return the hold that received the copy, if any
+     * @throws DatabaseException if the loan is not active or the database operation fails
+     */
+    Optional<Hold> returnLoan(Long loanId, Long bookId, LocalDate returnDate, LocalDateTime readyUntil)
+            throws DatabaseException;
+    
+    /**
+     * Expires READY holds whose pickup deadline passed, in one transaction.
+     * Each released copy goes to the next waiting hold of its book, or back
+     * to stock when nobody is waiting.
+     * 
+     * @param now holds that expired before this instant are released
+     * @param readyUntil pickup deadline for holds promoted to READY
+     * @param stockChanges receives the copies put back in stock, per book
+     * @return number of holds expired
+     * @throws DatabaseException if database operation fails
+     */
+    int expireReady(LocalDateTime now, LocalDateTime readyUntil, Map<Long, Integer> stockChanges)
+            throws DatabaseException;
+    
+    /**
+     * Moves copies that are in stock to the waiting holds of their books,
+     * in one transaction. Catches copies that reached stock without going
+     * through the waitlist, such as bulk returns or stock corrections.
+     * 
+     * @param now ready time recorded on promoted holds
+     * @param readyUntil pickup deadline for promoted holds
+     * @param stockChanges receives the copies taken from stock, as negative
+     *        changes per book
+     * @return number of copies assigned
+     * @throws DatabaseException if database operation fails
+     */
+    int assignAvailableCopies(LocalDateTime now, LocalDateTime readyUntil, Map<Long, Integer> stockChanges)
+            throws DatabaseException;
+}
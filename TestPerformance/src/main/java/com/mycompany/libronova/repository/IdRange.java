@@ -0,0 +1,69 @@
+package com.mycompany.libronova.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inclusive range of primary key values, used to split a table into
+ * partitions that can be read independently.
+ * 
+ * @author Wilffren Muñoz
+ */
+public final class IdRange {
+    
+    /** Range of a table without rows. */
+    public static final IdRange EMPTY = new IdRange(1, 0);
+    
+    private final long min;
+    private final long max;
+    
+    /**
+     * @param min first ID of the range
+     * @param max last ID of the range; below min for an empty range
+     */
+    public IdRange(long min, long max) {
+        this.min = min;
+        this.max = max;
+    }
+    
+    public long getMin() { return min; }
+    
+    public long getMax() { return max; }
+    
+    public boolean isEmpty() {
+        return max < min;
+    }
+    
+    /**
+     * Splits the range into contiguous ranges of about the same width.
+     * Gaps in the IDs are not known here, so partitions of a table with
+     * many deleted rows may hold different numbers of rows.
+     * 
+     * @param parts maximum number of ranges
+     * @return the ranges in ascending order; empty for an empty range
+     */
+    public List<IdRange> split(int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Parts must be greater than 0");
+        }
+        List<IdRange> ranges = new ArrayList<>(parts);
+        if (isEmpty()) {
+            return ranges;
+        }
+        
+        long width = max - min + 1;
+        long step = (width + parts - 1) / parts;
+        for (long start = min; start <= max; start += step) {
+            ranges.add(new IdRange(start, Math.min(max, start + step - 1)));
+            if (start > Long.MAX_VALUE - step) {
+                break;
+            }
+        }
+        return ranges;
+    }
+    
+    @Override
+    public String toString() {
+        return "[" + min + ".." + max + "]";
+    }
+}
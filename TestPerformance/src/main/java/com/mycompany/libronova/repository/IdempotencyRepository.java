@@ -0,0 +1,61 @@
+package com.mycompany.libronova.repository;
+
+import com.mycompany.libronova.domain.IdempotencyRecord;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for idempotency keys of loan requests.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface IdempotencyRepository {
+    
+    /**
+     * Claims a key for a new request. The key column is unique, so only
+     * one of several concurrent requests with the same key succeeds.
+     * 
+     * @param key the client-supplied key
+     * @param operation the operation the key is used for
+     * @return true if the key was claimed, false if it already exists
+     * @throws DatabaseException if database operation fails
+     */
+    boolean reserve(String key, String operation) throws DatabaseException;
+    
+    /**
+     * Finds the record of a key.
+     * 
+     * @param key the client-supplied key
+     * @return Optional containing the record if found
+     * @throws DatabaseException if database operation fails
+     */
+    Optional<IdempotencyRecord> findByKey(String key) throws DatabaseException;
+    
+    /**
+     * Records the loan produced by the request that claimed a key.
+     * 
+     * @param key the client-supplied key
+     * @param loanId the created or returned loan
+     * @throws DatabaseException if database operation fails
+     */
+    void complete(String key, Long loanId) throws DatabaseException;
+    
+    /**
+     * Frees a key whose request failed, so the client can retry it.
+     * Completed keys are never released.
+     * 
+     * @param key the client-supplied key
+     * @throws DatabaseException if database operation fails
+     */
+    void release(String key) throws DatabaseException;
+    
+    /**
+     * Deletes keys created before a cutoff.
+     * 
+     * @param cutoff keys older than this are removed
+     * @return number of keys deleted
+     * @throws DatabaseException if database operation fails
+     */
+    int deleteOlderThan(LocalDateTime cutoff) throws DatabaseException;
+}
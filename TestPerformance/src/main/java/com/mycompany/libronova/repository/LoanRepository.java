@@ -1,7 +1,16 @@
 package com.mycompany.libronova.repository;
 
+import com.mycompany.libronova.domain.BulkReturnReport;
 import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.domain.LoanSummary;
 import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +30,25 @@ public interface LoanRepository {
      */
     Loan save(Loan loan) throws DatabaseException;
     
+    /**
+     * Saves several new loans as a single unit.
+     * Stock is decremented with one batched conditional update (one row per
+     * distinct book) and the loans are inserted with one batched insert, all
+     * in one transaction. The borrowing members' active loan counters are
+     * raised in the same transaction with a conditional update that enforces
+     * the limit. If any book no longer has enough copies or a member would go
+     * over the limit nothing is written.
+     * 
+     * @param loans the loans to save; each needs a book with ID and ISBN
+     * @param limit the borrowing limit to enforce
+     * @return the saved loans with generated IDs
+     * @throws InsufficientStockException if a book ran out of copies meanwhile
+     * @throws LoanLimitExceededException if a member is over the limit or delinquent
+     * @throws DatabaseException if database operation fails
+     */
+    List<Loan> saveAllAndDecrementStock(List<Loan> loans, LoanLimit limit)
+            throws InsufficientStockException, LoanLimitExceededException, DatabaseException;
+    
     /**
      * Updates an existing loan.
      * 
@@ -30,6 +58,21 @@ public interface LoanRepository {
      */
     Loan update(Loan loan) throws DatabaseException;
     
+    /**
+     * Returns several loans as a single unit.
+     * Active loans are marked RETURNED with one batched update and each
+     * affected book gets a single stock increment for all its copies.
+     * The borrowing members' loan counters are released in the same transaction.
+     * Loans that do not exist or are not active are left untouched.
+     * 
+     * @param loanIds the loans to return
+     * @param returnDate the actual return date to record
+     * @return outcome per loan ID, in iteration order of loanIds, with the
+     *         book and member of every returned loan
+     * @throws DatabaseException if database operation fails
+     */
+    BulkReturnReport returnAll(Collection<Long> loanIds, LocalDate returnDate) throws DatabaseException;
+    
     /**
      * Finds a loan by ID.
      * 
@@ -72,4 +115,83 @@ public interface LoanRepository {
      * @throws DatabaseException if database operation fails
      */
     List<Loan> findOverdue() throws DatabaseException;
-}
\ No newline at end of file
+    
+    /**
+     * Finds active loans due on or after a date, soonest first.
+     * 
+     * @param from earliest expected return date
+     * @return list of active loans not yet overdue
+     * @throws DatabaseException if database operation fails
+     */
+    List<Loan> findActiveDueFrom(LocalDate from) throws DatabaseException;
+    
+    /**
+     * Moves one chunk of returned loans into the loans_history table.
+     * The copy and the delete run in a single transaction.
+     * 
+     * @param cutoff loans returned before this date are archived
+     * @param batchSize maximum number of loans moved by this call
+     * @return number of loans archived, 0 when nothing is left to move
+     * @throws DatabaseException if database operation fails
+     */
+    int archiveReturnedBefore(LocalDate cutoff, int batchSize) throws DatabaseException;
+    
+    /**
+     * Finds archived loans for a specific member.
+     * Only the loans_history table is searched.
+     * 
+     * @param memberId the member ID
+     * @return list of archived loans
+     * @throws DatabaseException if database operation fails
+     */
+    List<Loan> findHistoryByMemberId(Long memberId) throws DatabaseException;
+    
+    /**
+     * Finds archived loans for a specific book.
+     * Only the loans_history table is searched.
+     * 
+     * @param bookId the book ID
+     * @return list of archived loans
+     * @throws DatabaseException if database operation fails
+     */
+    List<Loan> findHistoryByBookId(Long bookId) throws DatabaseException;
+    
+    /**
+     * Retrieves a lightweight projection of all loans.
+     * Only the loan columns plus book title and member name are read.
+     * 
+     * @return list of loan summaries, newest first
+     * @throws DatabaseException if database operation fails
+     */
+    List<LoanSummary> findAllSummaries() throws DatabaseException;
+    
+    /**
+     * Finds the lowest and highest loan ID.
+     * 
+     * @return the ID range, or IdRange.EMPTY if there are no loans
+     * @throws DatabaseException if database operation fails
+     */
+    IdRange findIdRange() throws DatabaseException;
+    
+    /**
+     * Streams the loans with IDs in a range, in ID order, without
+     * loading them all into memory.
+     * 
+     * @param range the IDs to read
+     * @param callback receives each loan
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if the callback fails
+     */
+    void streamByIdRange(IdRange range, RowCallback<Loan> callback) throws DatabaseException, IOException;
+    
+    /**
+     * Streams the loans whose updated_at is at or after a point in time,
+     * in updated_at order, without loading them all into memory.
+     * 
+     * @param since lower bound for the updated_at column (inclusive)
+     * @param callback receives each loan
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if the callback fails
+     */
+    void streamUpdatedSince(LocalDateTime since, RowCallback<Loan> callback) throws DatabaseException, IOException;
+}
@@ -1,9 +1,13 @@
 package com.mycompany.libronova.repository;
 
 import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberLoanCounts;
 import com.mycompany.libronova.exceptions.DatabaseException;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for Member entity operations.
@@ -81,4 +85,73 @@ public interface MemberRepository {
      * @throws DatabaseException if database operation fails
      */
     boolean deleteById(Long id) throws DatabaseException;
-}
\ No newline at end of file
+    
+    /**
+     * Reads the active and overdue loan counters of a member.
+     * 
+     * @param memberId the member ID
+     * @return the counters, zero for an unknown member
+     * @throws DatabaseException if database operation fails
+     */
+    MemberLoanCounts findLoanCounts(Long memberId) throws DatabaseException;
+    
+    /**
+     * Recomputes every member's loan counters from the loans table and
+     * records the date overdue loans were counted on, so a later return
+     * only leaves the overdue counter if it was counted there.
+     * 
+     * @return number of member rows changed
+     * @throws DatabaseException if database operation fails
+     */
+    int refreshLoanCounts() throws DatabaseException;
+    
+    /**
+     * Inserts members with batched statements in one transaction and sets
+     * their generated IDs. Nothing is inserted if any row fails.
+     * 
+     * @param members the members to save
+     * @return the saved members
+     * @throws DatabaseException if database operation fails
+     */
+    List<Member> saveAll(List<Member> members) throws DatabaseException;
+    
+    /**
+     * Reads the member number and email of every member in one query.
+     * Keys are added in lower case, since the unique indexes ignore case.
+     * 
+     * @param memberNumbers receives the member numbers
+     * @param emails receives the emails
+     * @throws DatabaseException if database operation fails
+     */
+    void loadKeys(Set<String> memberNumbers, Set<String> emails) throws DatabaseException;
+    
+    /**
+     * Finds the lowest and highest member ID.
+     * 
+     * @return the ID range, or IdRange.EMPTY if there are no members
+     * @throws DatabaseException if database operation fails
+     */
+    IdRange findIdRange() throws DatabaseException;
+    
+    /**
+     * Streams the members with IDs in a range, in ID order, without
+     * loading them all into memory.
+     * 
+     * @param range the IDs to read
+     * @param callback receives each member
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if the callback fails
+     */
+    void streamByIdRange(IdRange range, RowCallback<Member> callback) throws DatabaseException, IOException;
+    
+    /**
+     * Streams the members whose updated_at is at or after a point in time,
+     * in updated_at order, without loading them all into memory.
+     * 
+     * @param since lower bound for the updated_at column (inclusive)
+     * @param callback receives each member
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if the callback fails
+     */
+    void streamUpdatedSince(LocalDateTime since, RowCallback<Member> callback) throws DatabaseException, IOException;
+}
@@ -0,0 +1,22 @@
+package com.mycompany.libronova.repository;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one at a time from a streaming repository query, so a
+ * caller can write them out without holding the whole result in memory.
+ *
+ * @param <T> the row type
+ * @author Wilffren Muñoz
+ */
+@FunctionalInterface
+public interface RowCallback<T> {
+    
+    /**
+     * Handles one row.
+     * 
+     * @param row the mapped row
+     * @throws IOException if the row cannot be written
+     */
+    void accept(T row) throws IOException;
+}
@@ -0,0 +1,266 @@
+package com.mycompany.libronova.repository.cache;
+
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberLoanCounts;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.IdRange;
+import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.repository.RowCallback;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caching decorator for MemberRepository.
+ * Members are kept in a bounded LRU map by id, with secondary indexes by
+ * member number and email that always point at the same entries. Writes go
+ * straight to the wrapped repository and evict the affected member, so
+ * updates, activations and deactivations made through MemberServiceImpl
+ * are never served stale. Callers always receive copies, so mutating a
+ * returned member cannot corrupt the cache.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class CachingMemberRepository implements MemberRepository {
+    
+    private final MemberRepository delegate;
+    private final Map<Long, Member> byId;
+    private final Map<String, Long> idByMemberNumber = new HashMap<>();
+    private final Map<String, Long> idByEmail = new HashMap<>();
+    
+    // Bumped on every eviction so loads that raced with a write are not cached
+    private long generation;
+    private long hits;
+    private long misses;
+    
+    public CachingMemberRepository(MemberRepository delegate) {
+        this(delegate, AppConfig.getInstance().getInt("cache.members.max", 10000));
+    }
+    
+    public CachingMemberRepository(MemberRepository delegate, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        this.delegate = delegate;
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Member> eldest) {
+                if (size() > maxSize) {
+                    removeSecondaryKeys(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    @Override
+    public Member save(Member member) throws DatabaseException {
+        Member saved = delegate.save(member);
+        evict(saved.getId());
+        return saved;
+    }
+    
+    @Override
+    public Member update(Member member) throws DatabaseException {
+        evict(member.getId());
+        try {
+            return delegate.update(member);
+        } finally {
+            evict(member.getId());
+        }
+    }
+    
+    @Override
+    public Optional<Member> findById(Long id) throws DatabaseException {
+        long loadGeneration;
+        synchronized (this) {
+            Member cached = byId.get(id);
+            if (cached != null) {
+                hits++;
+                return Optional.of(copyOf(cached));
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        return cacheLoaded(delegate.findById(id), loadGeneration);
+    }
+    
+    @Override
+    public Optional<Member> findByMemberNumber(String memberNumber) throws DatabaseException {
+        long loadGeneration;
+        synchronized (this) {
+            Long id = idByMemberNumber.get(memberNumber);
+            Member cached = id != null ? byId.get(id) : null;
+            if (cached != null) {
+                hits++;
+                return Optional.of(copyOf(cached));
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        return cacheLoaded(delegate.findByMemberNumber(memberNumber), loadGeneration);
+    }
+    
+    @Override
+    public Optional<Member> findByEmail(String email) throws DatabaseException {
+        long loadGeneration;
+        synchronized (this) {
+            Long id = idByEmail.get(email);
+            Member cached = id != null ? byId.get(id) : null;
+            if (cached != null) {
+                hits++;
+                return Optional.of(copyOf(cached));
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        return cacheLoaded(delegate.findByEmail(email), loadGeneration);
+    }
+    
+    @Override
+    public List<Member> findAll() throws DatabaseException {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<Member> findAllActive() throws DatabaseException {
+        return delegate.findAllActive();
+    }
+    
+    @Override
+    public boolean deleteById(Long id) throws DatabaseException {
+        evict(id);
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            evict(id);
+        }
+    }
+    
+    @Override
+    public MemberLoanCounts findLoanCounts(Long memberId) throws DatabaseException {
+        // Counters change with every loan and are not part of the cached member
+        return delegate.findLoanCounts(memberId);
+    }
+    
+    @Override
+    public int refreshLoanCounts() throws DatabaseException {
+        return delegate.refreshLoanCounts();
+    }
+    
+    @Override
+    public List<Member> saveAll(List<Member> members) throws DatabaseException {
+        // New members cannot be cached yet, so there is nothing to evict
+        return delegate.saveAll(members);
+    }
+    
+    @Override
+    public void loadKeys(Set<String> memberNumbers, Set<String> emails) throws DatabaseException {
+        delegate.loadKeys(memberNumbers, emails);
+    }
+    
+    @Override
+    public IdRange findIdRange() throws DatabaseException {
+        return delegate.findIdRange();
+    }
+    
+    @Override
+    public void streamByIdRange(IdRange range, RowCallback<Member> callback)
+            throws DatabaseException, IOException {
+        delegate.streamByIdRange(range, callback);
+    }
+    
+    @Override
+    public void streamUpdatedSince(LocalDateTime since, RowCallback<Member> callback)
+            throws DatabaseException, IOException {
+        delegate.streamUpdatedSince(since, callback);
+    }
+    
+    /**
+     * Removes a member from every index.
+     * 
+     * @param id the member ID
+     */
+    public synchronized void evict(Long id) {
+        generation++;
+        if (id == null) {
+            return;
+        }
+        Member removed = byId.remove(id);
+        if (removed != null) {
+            removeSecondaryKeys(removed);
+        }
+    }
+    
+    /**
+     * Removes every cached member.
+     */
+    public synchronized void clear() {
+        generation++;
+        byId.clear();
+        idByMemberNumber.clear();
+        idByEmail.clear();
+    }
+    
+    public synchronized int size() {
+        return byId.size();
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    private Optional<Member> cacheLoaded(Optional<Member> loaded, long loadGeneration) {
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+        Member member = loaded.get();
+        synchronized (this) {
+            if (loadGeneration == generation && member.getId() != null) {
+                Member previous = byId.put(member.getId(), copyOf(member));
+                if (previous != null) {
+                    removeSecondaryKeys(previous);
+                }
+                if (member.getMemberNumber() != null) {
+                    idByMemberNumber.put(member.getMemberNumber(), member.getId());
+                }
+                if (member.getEmail() != null) {
+                    idByEmail.put(member.getEmail(), member.getId());
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    private void removeSecondaryKeys(Member member) {
+        if (member.getMemberNumber() != null) {
+            idByMemberNumber.remove(member.getMemberNumber(), member.getId());
+        }
+        if (member.getEmail() != null) {
+            idByEmail.remove(member.getEmail(), member.getId());
+        }
+    }
+    
+    private static Member copyOf(Member source) {
+        Member copy = new Member();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setEmail(source.getEmail());
+        copy.setRole(source.getRole());
+        copy.setMemberNumber(source.getMemberNumber());
+        copy.setStatus(source.getStatus());
+        copy.setRegistrationDate(source.getRegistrationDate());
+        return copy;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.ActivityEvent;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.ConnectionDB;
+import com.mycompany.libronova.repository.ActivityRepository;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBC implementation of ActivityRepository.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class ActivityRepositoryJDBC implements ActivityRepository {
+    
+    private static final Logger LOGGER = Logger.getLogger(ActivityRepositoryJDBC.class.getName());
+    private final ConnectionDB connectionDB;
+    
+    public ActivityRepositoryJDBC() {
+        this.connectionDB = ConnectionDB.getInstance();
+    }
+    
+    @Override
+    public void saveAll(List<ActivityEvent> events) throws DatabaseException {
+        String sql = "INSERT INTO user_activity (user_id, action, details, created_at) VALUES (?, ?, ?, ?)";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (ActivityEvent event : events) {
+                stmt.setString(1, event.getUserId());
+                stmt.setString(2, event.getAction());
+                stmt.setString(3, event.getDetails());
+                stmt.setTimestamp(4, Timestamp.valueOf(event.getCreatedAt()));
+                stmt.addBatch();
+            }
+            // rewriteBatchedStatements turns the batch into one multi-row INSERT
+            stmt.executeBatch();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error saving user activity", ex);
+            throw new DatabaseException("Error saving user activity", ex);
+        }
+    }
+    
+    @Override
+    public List<ActivityEvent> findByUser(String userId, LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        String sql = "SELECT id, user_id, action, details, created_at FROM user_activity " +
+                     "WHERE user_id = ? AND created_at >= ? AND created_at < ? ORDER BY created_at, id";
+        List<ActivityEvent> events = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, userId);
+            stmt.setTimestamp(2, Timestamp.valueOf(from));
+            stmt.setTimestamp(3, Timestamp.valueOf(to));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(new ActivityEvent(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getTimestamp(5).toLocalDateTime()));
+                }
+            }
+            
+            return events;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding user activity", ex);
+            throw new DatabaseException("Error finding user activity", ex);
+        }
+    }
+}
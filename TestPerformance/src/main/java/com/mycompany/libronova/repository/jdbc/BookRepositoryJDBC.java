@@ -5,9 +5,14 @@ import com.mycompany.libronova.exceptions.DatabaseException;
 import com.mycompany.libronova.exceptions.DuplicateISBNException;
 import com.mycompany.libronova.infra.config.ConnectionDB;
 import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.IdRange;
+import com.mycompany.libronova.repository.RowCallback;
+import java.io.IOException;
 import java.sql.*;
-import java.time.Year;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -101,7 +106,7 @@ public class BookRepositoryJDBC implements BookRepository {
     
     @Override
     public Optional<Book> findById(Long id) throws DatabaseException {
-        String sql = "SELECT * FROM books WHERE id = ?";
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE id = ?";
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -110,7 +115,7 @@ public class BookRepositoryJDBC implements BookRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToBook(rs));
+                    return Optional.of(BookRowMapper.forResultSet(rs).map(rs));
                 }
             }
             
@@ -124,7 +129,7 @@ public class BookRepositoryJDBC implements BookRepository {
     
     @Override
     public Optional<Book> findByIsbn(String isbn) throws DatabaseException {
-        String sql = "SELECT * FROM books WHERE isbn = ?";
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE isbn = ?";
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -133,7 +138,7 @@ public class BookRepositoryJDBC implements BookRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToBook(rs));
+                    return Optional.of(BookRowMapper.forResultSet(rs).map(rs));
                 }
             }
             
@@ -145,17 +150,51 @@ public class BookRepositoryJDBC implements BookRepository {
         }
     }
     
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) throws DatabaseException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE id IN (" + placeholders + ")";
+        List<Book> books = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                BookRowMapper mapper = BookRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    books.add(mapper.map(rs));
+                }
+            }
+            
+            return books;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding books by ID", ex);
+            throw new DatabaseException("Error finding books by ID", ex);
+        }
+    }
+    
     @Override
     public List<Book> findAll() throws DatabaseException {
-        String sql = "SELECT * FROM books ORDER BY title";
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books ORDER BY title";
         List<Book> books = new ArrayList<>();
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
+            BookRowMapper mapper = BookRowMapper.forResultSet(rs);
             while (rs.next()) {
-                books.add(mapResultSetToBook(rs));
+                books.add(mapper.map(rs));
             }
             
             return books;
@@ -166,9 +205,34 @@ public class BookRepositoryJDBC implements BookRepository {
         }
     }
     
+    @Override
+    public List<Book> findUpdatedSince(LocalDateTime since) throws DatabaseException {
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE updated_at >= ? ORDER BY updated_at";
+        List<Book> books = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                BookRowMapper mapper = BookRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    books.add(mapper.map(rs));
+                }
+            }
+            
+            return books;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding updated books", ex);
+            throw new DatabaseException("Error finding updated books", ex);
+        }
+    }
+    
     @Override
     public List<Book> findByTitle(String title) throws DatabaseException {
-        String sql = "SELECT * FROM books WHERE title LIKE ? ORDER BY title";
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE title LIKE ? ORDER BY title";
         List<Book> books = new ArrayList<>();
         
         try (Connection conn = connectionDB.getConnection();
@@ -177,8 +241,9 @@ public class BookRepositoryJDBC implements BookRepository {
             stmt.setString(1, "%" + title + "%");
             
             try (ResultSet rs = stmt.executeQuery()) {
+                BookRowMapper mapper = BookRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapper.map(rs));
                 }
             }
             
@@ -232,23 +297,73 @@ public class BookRepositoryJDBC implements BookRepository {
         }
     }
     
-    /**
-     * Maps a ResultSet row to a Book object.
-     * 
-     * @param rs the ResultSet
-     * @return a Book object
-     * @throws SQLException if mapping fails
-     */
-    private Book mapResultSetToBook(ResultSet rs) throws SQLException {
-        Book book = new Book();
-        book.setId(rs.getLong("id"));
-        book.setIsbn(rs.getString("isbn"));
-        book.setTitle(rs.getString("title"));
-        book.setAuthor(rs.getString("author"));
-        book.setPublisher(rs.getString("publisher"));
-        book.setYear(Year.of(rs.getInt("year")));
-        book.setAvailableStock(rs.getInt("available_stock"));
-        book.setTotalStock(rs.getInt("total_stock"));
-        return book;
+    @Override
+    public IdRange findIdRange() throws DatabaseException {
+        String sql = "SELECT MIN(id), MAX(id) FROM books";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                long min = rs.getLong(1);
+                if (!rs.wasNull()) {
+                    return new IdRange(min, rs.getLong(2));
+                }
+            }
+            return IdRange.EMPTY;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading book ID range", ex);
+            throw new DatabaseException("Error reading book ID range", ex);
+        }
+    }
+    
+    @Override
+    public void streamByIdRange(IdRange range, RowCallback<Book> callback) throws DatabaseException, IOException {
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE id BETWEEN ? AND ? ORDER BY id";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // Rows arrive one at a time instead of being buffered by the driver
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setLong(1, range.getMin());
+            stmt.setLong(2, range.getMax());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                BookRowMapper mapper = BookRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    callback.accept(mapper.map(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming books", ex);
+            throw new DatabaseException("Error streaming books", ex);
+        }
+    }
+    
+    @Override
+    public void streamUpdatedSince(LocalDateTime since, RowCallback<Book> callback) throws DatabaseException, IOException {
+        String sql = "SELECT " + BookRowMapper.COLUMNS + " FROM books WHERE updated_at >= ? ORDER BY updated_at, id";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                BookRowMapper mapper = BookRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    callback.accept(mapper.map(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming updated books", ex);
+            throw new DatabaseException("Error streaming updated books", ex);
+        }
     }
-}
\ No newline at end of file
+}
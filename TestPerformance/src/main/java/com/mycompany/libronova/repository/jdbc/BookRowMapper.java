@@ -0,0 +1,82 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Book;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Year;
+
+/**
+ * Index-based row mapper for the books table.
+ *
+ * @author Wilffren Muñoz
+ */
+final class BookRowMapper implements RowMapper<Book> {
+
+    /** Columns read by {@link #forResultSet(ResultSet)}, in select order. */
+    static final String COLUMNS =
+            "id, isbn, title, author, publisher, year, available_stock, total_stock, updated_at";
+
+    /** Book columns of the loan join; the id comes from loans.book_id. */
+    static final String JOINED_COLUMNS =
+            "b.isbn, b.title, b.author, b.publisher, b.year, b.available_stock, b.total_stock";
+
+    private final int id;
+    private final int isbn;
+    private final int title;
+    private final int author;
+    private final int publisher;
+    private final int year;
+    private final int availableStock;
+    private final int totalStock;
+    private final int updatedAt;
+
+    private BookRowMapper(ResultSet rs, String idLabel, boolean withUpdatedAt) throws SQLException {
+        this.id = rs.findColumn(idLabel);
+        this.isbn = rs.findColumn("isbn");
+        this.title = rs.findColumn("title");
+        this.author = rs.findColumn("author");
+        this.publisher = rs.findColumn("publisher");
+        this.year = rs.findColumn("year");
+        this.availableStock = rs.findColumn("available_stock");
+        this.totalStock = rs.findColumn("total_stock");
+        this.updatedAt = withUpdatedAt ? rs.findColumn("updated_at") : 0;
+    }
+
+    /**
+     * Binds a mapper to a result set selecting {@link #COLUMNS}.
+     */
+    static BookRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new BookRowMapper(rs, "id", true);
+    }
+
+    /**
+     * Binds a mapper to a loan join selecting {@link #JOINED_COLUMNS}.
+     */
+    static BookRowMapper forLoanJoin(ResultSet rs) throws SQLException {
+        return new BookRowMapper(rs, "book_id", false);
+    }
+
+    @Override
+    public Book map(ResultSet rs) throws SQLException {
+        Book book = new Book();
+        book.setId(rs.getLong(id));
+        book.setIsbn(rs.getString(isbn));
+        book.setTitle(rs.getString(title));
+        book.setAuthor(rs.getString(author));
+        book.setPublisher(rs.getString(publisher));
+        int yearValue = rs.getInt(year);
+        if (!rs.wasNull()) {
+            book.setYear(Year.of(yearValue));
+        }
+        book.setAvailableStock(rs.getInt(availableStock));
+        book.setTotalStock(rs.getInt(totalStock));
+        if (updatedAt > 0) {
+            Timestamp updated = rs.getTimestamp(updatedAt);
+            if (updated != null) {
+                book.setUpdatedAt(updated.toLocalDateTime());
+            }
+        }
+        return book;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.ConnectionDB;
+import com.mycompany.libronova.repository.ChangeLogRepository;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBC implementation of ChangeLogRepository.
+ * Tombstones are written by the AFTER DELETE triggers of the books,
+ * members and loans tables, so every delete path is covered.
+ *
+ * @author Wilffren Muñoz
+ */
+public class ChangeLogRepositoryJDBC implements ChangeLogRepository {
+    
+    private static final Logger LOGGER = Logger.getLogger(ChangeLogRepositoryJDBC.class.getName());
+    private final ConnectionDB connectionDB;
+    
+    public ChangeLogRepositoryJDBC() {
+        this.connectionDB = ConnectionDB.getInstance();
+    }
+    
+    @Override
+    public LocalDateTime currentTimestamp() throws DatabaseException {
+        String sql = "SELECT CURRENT_TIMESTAMP";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading database time", ex);
+            throw new DatabaseException("Error reading database time", ex);
+        }
+    }
+    
+    @Override
+    public Optional<LocalDateTime> findWatermark(String name) throws DatabaseException {
+        String sql = "SELECT watermark FROM export_watermarks WHERE name = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, name);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(rs.getTimestamp(1).toLocalDateTime());
+                }
+            }
+            
+            return Optional.empty();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding export watermark", ex);
+            throw new DatabaseException("Error finding export watermark", ex);
+        }
+    }
+    
+    @Override
+    public void saveWatermark(String name, LocalDateTime watermark) throws DatabaseException {
+        String sql = "INSERT INTO export_watermarks (name, watermark) VALUES (?, ?) " +
+                    "ON DUPLICATE KEY UPDATE watermark = VALUES(watermark)";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, name);
+            stmt.setTimestamp(2, Timestamp.valueOf(watermark));
+            stmt.executeUpdate();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error saving export watermark", ex);
+            throw new DatabaseException("Error saving export watermark", ex);
+        }
+    }
+    
+    @Override
+    public List<Long> findDeletedSince(String tableName, LocalDateTime since) throws DatabaseException {
+        String sql = "SELECT row_id FROM deleted_rows WHERE table_name = ? AND deleted_at >= ? ORDER BY id";
+        List<Long> ids = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, tableName);
+            stmt.setTimestamp(2, Timestamp.valueOf(since));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+            
+            return ids;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding deleted rows", ex);
+            throw new DatabaseException("Error finding deleted rows", ex);
+        }
+    }
+    
+    @Override
+    public int deleteTombstonesBefore(LocalDateTime before) throws DatabaseException {
+        String sql = "DELETE FROM deleted_rows WHERE deleted_at < ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(before));
+            return stmt.executeUpdate();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error purging deleted rows", ex);
+            throw new DatabaseException("Error purging deleted rows", ex);
+        }
+    }
+}
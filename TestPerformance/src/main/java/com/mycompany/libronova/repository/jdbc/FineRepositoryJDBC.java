@@ -0,0 +1,130 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.ConnectionDB;
+import com.mycompany.libronova.repository.FineRepository;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBC implementation of FineRepository.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class FineRepositoryJDBC implements FineRepository {
+    
+    private static final Logger LOGGER = Logger.getLogger(FineRepositoryJDBC.class.getName());
+    
+    // Largest value of DECIMAL(10, 2), used when the policy has no cap
+    private static final double NO_CAP = 99999999.99;
+    
+    private final ConnectionDB connectionDB;
+    
+    public FineRepositoryJDBC() {
+        this.connectionDB = ConnectionDB.getInstance();
+    }
+    
+    @Override
+    public int accrueThrough(LocalDate asOf, double dailyRate, int graceDays, double maxFine) throws DatabaseException {
+        String sql = "INSERT INTO loan_fines (loan_id, member_id, overdue_days, daily_rate, amount, accrued_through) " +
+                     "SELECT l.id, l.member_id, " +
+                     "DATEDIFF(COALESCE(l.actual_return_date, ?), l.expected_return_date), ?, " +
+                     "LEAST((DATEDIFF(COALESCE(l.actual_return_date, ?), l.expected_return_date) - ?) * ?, ?), " +
+                     "COALESCE(l.actual_return_date, ?) " +
+                     "FROM loans l " +
+                     "LEFT JOIN loan_fines f ON f.loan_id = l.id " +
+                     "WHERE l.expected_return_date < ? " +
+                     "AND DATEDIFF(COALESCE(l.actual_return_date, ?), l.expected_return_date) > ? " +
+                     "AND (f.loan_id IS NULL OR f.accrued_through < COALESCE(l.actual_return_date, ?)) " +
+                     "ON DUPLICATE KEY UPDATE overdue_days = VALUES(overdue_days), daily_rate = VALUES(daily_rate), " +
+                     "amount = VALUES(amount), accrued_through = VALUES(accrued_through)";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            Date today = Date.valueOf(asOf);
+            stmt.setDate(1, today);
+            stmt.setDouble(2, dailyRate);
+            stmt.setDate(3, today);
+            stmt.setInt(4, graceDays);
+            stmt.setDouble(5, dailyRate);
+            stmt.setDouble(6, maxFine > 0 ? maxFine : NO_CAP);
+            stmt.setDate(7, today);
+            stmt.setDate(8, Date.valueOf(asOf.minusDays(graceDays)));
+            stmt.setDate(9, today);
+            stmt.setInt(10, graceDays);
+            stmt.setDate(11, today);
+            
+            int affectedRows = stmt.executeUpdate();
+            
+            LOGGER.info("Fines accrued through " + asOf + ": " + affectedRows + " ledger rows changed");
+            return affectedRows;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error accruing fines", ex);
+            throw new DatabaseException("Error accruing fines", ex);
+        }
+    }
+    
+    @Override
+    public Optional<Double> findAmountByLoanId(Long loanId) throws DatabaseException {
+        String sql = "SELECT amount FROM loan_fines WHERE loan_id = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, loanId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(rs.getDouble(1));
+                }
+            }
+            
+            return Optional.empty();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding fine by loan", ex);
+            throw new DatabaseException("Error finding fine by loan", ex);
+        }
+    }
+    
+    @Override
+    public Map<Long, Double> findAmountsByLoanIds(Collection<Long> loanIds) throws DatabaseException {
+        Map<Long, Double> amounts = new HashMap<>();
+        if (loanIds.isEmpty()) {
+            return amounts;
+        }
+        
+        String placeholders = String.join(", ", Collections.nCopies(loanIds.size(), "?"));
+        String sql = "SELECT loan_id, amount FROM loan_fines WHERE loan_id IN (" + placeholders + ")";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (Long loanId : loanIds) {
+                stmt.setLong(index++, loanId);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    amounts.put(rs.getLong(1), rs.getDouble(2));
+                }
+            }
+            
+            return amounts;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding fines by loans", ex);
+            throw new DatabaseException("Error finding fines by loans", ex);
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.HoldStatus;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+import com.mycompany.libronova.infra.config.ConnectionDB;
+import com.mycompany.libronova.repository.HoldRepository;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBC implementation of HoldRepository.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class HoldRepositoryJDBC implements HoldRepository {
+    
+    private static final Logger LOGGER = Logger.getLogger(HoldRepositoryJDBC.class.getName());
+    
+    // Queue order of a book's waitlist, served by idx_holds_queue
+    private static final String QUEUE_ORDER = "priority DESC, id";
+    
+    private final ConnectionDB connectionDB;
+    
+    public HoldRepositoryJDBC() {
+        this.connectionDB = ConnectionDB.getInstance();
+    }
+    
+    @Override
+    public Hold save(Hold hold) throws DatabaseException {
+        String sql = "INSERT INTO holds (book_id, member_id, priority, status, created_at) VALUES (?, ?, ?, ?, ?)";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            stmt.setLong(1, hold.getBookId());
+            stmt.setLong(2, hold.getMemberId());
+            stmt.setInt(3, hold.getPriority());
+            stmt.setString(4, hold.getStatus().name());
+            stmt.setTimestamp(5, Timestamp.valueOf(hold.getCreatedAt()));
+            
+            int affectedRows = stmt.executeUpdate();
+            
+            if (affectedRows == 0) {
+                throw new DatabaseException("Could not save the hold");
+            }
+            
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    hold.setId(generatedKeys.getLong(1));
+                }
+            }
+            
+            LOGGER.info("Hold placed: " + hold.getId());
+            return hold;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error saving hold", ex);
+            throw new DatabaseException("Error saving hold", ex);
+        }
+    }
+    
+    @Override
+    public Optional<Hold> findById(Long id) throws DatabaseException {
+        String sql = "SELECT " + HoldRowMapper.COLUMNS + " FROM holds WHERE id = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(HoldRowMapper.forResultSet(rs).map(rs));
+                }
+            }
+            
+            return Optional.empty();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding hold by ID", ex);
+            throw new DatabaseException("Error finding hold", ex);
+        }
+    }
+    
+    @Override
+    public List<Hold> findOpen() throws DatabaseException {
+        String sql = "SELECT " + HoldRowMapper.COLUMNS + " FROM holds " +
+                     "WHERE status IN ('WAITING', 'READY') ORDER BY book_id, " + QUEUE_ORDER;
+        List<Hold> holds = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            HoldRowMapper mapper = HoldRowMapper.forResultSet(rs);
+            while (rs.next()) {
+                holds.add(mapper.map(rs));
+            }
+            
+            return holds;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding open holds", ex);
+            throw new DatabaseException("Error finding open holds", ex);
+        }
+    }
+    
+    @Override
+    public boolean updateStatus(Long id, HoldStatus expected, HoldStatus status) throws DatabaseException {
+        String sql = "UPDATE holds SET status = ? WHERE id = ? AND status = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, status.name());
+            stmt.setLong(2, id);
+            stmt.setString(3, expected.name());
+            
+            return stmt.executeUpdate() > 0;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error updating hold status", ex);
+            throw new DatabaseException("Error updating hold status", ex);
+        }
+    }
+    
+    @Override
+    public boolean updateDeadline(Long id, LocalDateTime expiresAt) throws DatabaseException {
+        String sql = "UPDATE holds SET expires_at = ? WHERE id = ? AND status = 'READY'";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(expiresAt));
+            stmt.setLong(2, id);
+            
+            return stmt.executeUpdate() > 0;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error updating hold deadline", ex);
+            throw new DatabaseException("Error updating hold deadline", ex);
+        }
+    }
+    
+    @Override
+    public Loan fulfill(Long holdId, Loan loan, LoanLimit limit)
+            throws InsufficientStockException, LoanLimitExceededException, DatabaseException {
+        String claimSql = "UPDATE holds SET status = 'FULFILLED' " +
+                          "WHERE id = ? AND book_id = ? AND member_id = ? AND status = 'READY'";
+        String insertSql = "INSERT INTO loans (book_id, member_id, loan_date, expected_return_date, status) " +
+                           "VALUES (?, ?, ?, ?, ?)";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                // Claim the hold first; only one checkout can move it out of READY
+                try (PreparedStatement stmt = conn.prepareStatement(claimSql)) {
+                    stmt.setLong(1, holdId);
+                    stmt.setLong(2, loan.getBook().getId());
+                    stmt.setLong(3, loan.getMember().getId());
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        throw new InsufficientStockException(loan.getBook().getIsbn(),
+                                loan.getBook().getAvailableStock());
+                    }
+                }
+                
+                LoanCounterSql.reserve(conn, loan.getMember().getId(), 1, limit);
+                
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setLong(1, loan.getBook().getId());
+                    stmt.setLong(2, loan.getMember().getId());
+                    stmt.setDate(3, Date.valueOf(loan.getLoanDate()));
+                    stmt.setDate(4, Date.valueOf(loan.getExpectedReturnDate()));
+                    stmt.setString(5, loan.getStatus().name());
+                    stmt.executeUpdate();
+                    
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            loan.setId(generatedKeys.getLong(1));
+                        }
+                    }
+                }
+                
+                conn.commit();
+                LOGGER.info("Hold " + holdId + " fulfilled by loan " + loan.getId());
+                return loan;
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fulfilling hold", ex);
+            throw new DatabaseException("Error fulfilling hold", ex);
+        }
+    }
+    
+    @Override
+    public Optional<Hold> returnLoan(Long loanId, Long bookId, LocalDate returnDate, LocalDateTime readyUntil)
+            throws DatabaseException {
+        String loanSql = "UPDATE loans SET status = 'RETURNED', actual_return_date = ? " +
+                         "WHERE id = ? AND status = 'ACTIVE'";
+        String lockSql = "SELECT id FROM books WHERE id = ? FOR UPDATE";
+        String headSql = "SELECT " + HoldRowMapper.COLUMNS + " FROM holds " +
+                         "WHERE book_id = ? AND status = 'WAITING' ORDER BY " + QUEUE_ORDER + " LIMIT 1 FOR UPDATE";
+        String readySql = "UPDATE holds SET status = 'READY', ready_at = ?, expires_at = ? WHERE id = ?";
+        String stockSql = "UPDATE books SET available_stock = available_stock + 1 WHERE id = ?";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(loanSql)) {
+                    stmt.setDate(1, Date.valueOf(returnDate));
+                    stmt.setLong(2, loanId);
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        throw new DatabaseException("Loan is not active");
+                    }
+                }
+                
+                // Lock the book before its holds, the same order expireReady and assignAvailableCopies use
+                try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                    stmt.setLong(1, bookId);
+                    stmt.executeQuery().close();
+                }
+                
+                // Hand the copy to the head of the waitlist, if anyone is waiting
+                Optional<Hold> head = Optional.empty();
+                try (PreparedStatement stmt = conn.prepareStatement(headSql)) {
+                    stmt.setLong(1, bookId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            head = Optional.of(HoldRowMapper.forResultSet(rs).map(rs));
+                        }
+                    }
+                }
+                
+                if (head.isPresent()) {
+                    Hold hold = head.get();
+                    hold.setStatus(HoldStatus.READY);
+                    hold.setReadyAt(LocalDateTime.now());
+                    hold.setExpiresAt(readyUntil);
+                    try (PreparedStatement stmt = conn.prepareStatement(readySql)) {
+                        stmt.setTimestamp(1, Timestamp.valueOf(hold.getReadyAt()));
+                        stmt.setTimestamp(2, Timestamp.valueOf(readyUntil));
+                        stmt.setLong(3, hold.getId());
+                        stmt.executeUpdate();
+                    }
+                } else {
+                    try (PreparedStatement stmt = conn.prepareStatement(stockSql)) {
+                        stmt.setLong(1, bookId);
+                        stmt.executeUpdate();
+                    }
+                }
+                
+                LoanCounterSql.release(conn, List.of(loanId));
+                
+                conn.commit();
+                return head;
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error returning loan to waitlist", ex);
+            throw new DatabaseException("Error returning loan", ex);
+        }
+    }
+    
+    @Override
+    public int expireReady(LocalDateTime now, LocalDateTime readyUntil, Map<Long, Integer> stockChanges)
+            throws DatabaseException {
+        String booksSql = "SELECT b.id FROM books b WHERE EXISTS (SELECT 1 FROM holds h " +
+                          "WHERE h.book_id = b.id AND h.status = 'READY' AND h.expires_at < ?) " +
+                          "ORDER BY b.id FOR UPDATE";
+        String expireSql = "UPDATE holds SET status = 'EXPIRED' WHERE id = ?";
+        String stockSql = "UPDATE books SET available_stock = available_stock + ? WHERE id = ?";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                // Lock the books first, in id order, as returnLoan and assignAvailableCopies do
+                List<Long> bookIds = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(booksSql)) {
+                    stmt.setTimestamp(1, Timestamp.valueOf(now));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            bookIds.add(rs.getLong(1));
+                        }
+                    }
+                }
+                
+                if (bookIds.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+                
+                // Then their expired holds; one may have been picked up while we waited
+                String placeholders = String.join(", ", Collections.nCopies(bookIds.size(), "?"));
+                String expiredSql = "SELECT id, book_id FROM holds WHERE status = 'READY' AND expires_at < ? " +
+                                    "AND book_id IN (" + placeholders + ") FOR UPDATE";
+                List<Long> expired = new ArrayList<>();
+                Map<Long, Integer> copiesByBook = new TreeMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(expiredSql)) {
+                    stmt.setTimestamp(1, Timestamp.valueOf(now));
+                    int index = 2;
+                    for (Long bookId : bookIds) {
+                        stmt.setLong(index++, bookId);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            expired.add(rs.getLong(1));
+                            copiesByBook.merge(rs.getLong(2), 1, Integer::sum);
+                        }
+                    }
+                }
+                
+                if (expired.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(expireSql)) {
+                    for (Long id : expired) {
+                        stmt.setLong(1, id);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                
+                // Pass each released copy to the next member waiting for the book
+                Map<Long, Integer> served = promoteWaiting(conn, copiesByBook, now, readyUntil);
+                
+                Map<Long, Integer> restocked = new TreeMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(stockSql)) {
+                    for (Map.Entry<Long, Integer> entry : copiesByBook.entrySet()) {
+                        int left = entry.getValue() - served.getOrDefault(entry.getKey(), 0);
+                        if (left > 0) {
+                            stmt.setInt(1, left);
+                            stmt.setLong(2, entry.getKey());
+                            stmt.addBatch();
+                            restocked.put(entry.getKey(), left);
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+                
+                conn.commit();
+                restocked.forEach((bookId, copies) -> stockChanges.merge(bookId, copies, Integer::sum));
+                LOGGER.info("Holds expired: " + expired.size());
+                return expired.size();
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error expiring holds", ex);
+            throw new DatabaseException("Error expiring holds", ex);
+        }
+    }
+    
+    @Override
+    public int assignAvailableCopies(LocalDateTime now, LocalDateTime readyUntil, Map<Long, Integer> stockChanges)
+            throws DatabaseException {
+        String booksSql = "SELECT b.id, b.available_stock FROM books b " +
+                          "WHERE b.available_stock > 0 AND EXISTS (SELECT 1 FROM holds h " +
+                          "WHERE h.book_id = b.id AND h.status = 'WAITING') ORDER BY b.id FOR UPDATE";
+        String stockSql = "UPDATE books SET available_stock = available_stock - ? WHERE id = ?";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                Map<Long, Integer> copiesByBook = new TreeMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(booksSql);
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        copiesByBook.put(rs.getLong(1), rs.getInt(2));
+                    }
+                }
+                
+                Map<Long, Integer> served = promoteWaiting(conn, copiesByBook, now, readyUntil);
+                
+                try (PreparedStatement stmt = conn.prepareStatement(stockSql)) {
+                    for (Map.Entry<Long, Integer> entry : served.entrySet()) {
+                        stmt.setInt(1, entry.getValue());
+                        stmt.setLong(2, entry.getKey());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                
+                conn.commit();
+                served.forEach((bookId, copies) -> stockChanges.merge(bookId, -copies, Integer::sum));
+                int assigned = served.values().stream().mapToInt(Integer::intValue).sum();
+                if (assigned > 0) {
+                    LOGGER.info("Copies in stock assigned to holds: " + assigned);
+                }
+                return assigned;
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error assigning copies to holds", ex);
+            throw new DatabaseException("Error assigning copies to holds", ex);
+        }
+    }
+    
+    /**
+     * Marks the first waiting holds of each book READY, one per free copy.
+     * Runs inside the caller's transaction; books are visited in id order.
+     * 
+     * @return number of holds promoted per book
+     */
+    private Map<Long, Integer> promoteWaiting(Connection conn, Map<Long, Integer> copiesByBook,
+                                              LocalDateTime now, LocalDateTime readyUntil) throws SQLException {
+        String nextSql = "SELECT id FROM holds WHERE book_id = ? AND status = 'WAITING' " +
+                         "ORDER BY " + QUEUE_ORDER + " LIMIT ? FOR UPDATE";
+        String readySql = "UPDATE holds SET status = 'READY', ready_at = ?, expires_at = ? WHERE id = ?";
+        
+        List<Long> promoted = new ArrayList<>();
+        Map<Long, Integer> served = new TreeMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(nextSql)) {
+            for (Map.Entry<Long, Integer> entry : copiesByBook.entrySet()) {
+                stmt.setLong(1, entry.getKey());
+                stmt.setInt(2, entry.getValue());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        promoted.add(rs.getLong(1));
+                        served.merge(entry.getKey(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        
+        if (promoted.isEmpty()) {
+            return served;
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(readySql)) {
+            Timestamp readyAt = Timestamp.valueOf(now);
+            Timestamp expiresAt = Timestamp.valueOf(readyUntil);
+            for (Long id : promoted) {
+                stmt.setTimestamp(1, readyAt);
+                stmt.setTimestamp(2, expiresAt);
+                stmt.setLong(3, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return served;
+    }
+}
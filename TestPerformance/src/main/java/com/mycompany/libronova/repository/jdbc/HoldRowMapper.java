@@ -0,0 +1,68 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.HoldStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Index-based row mapper for the holds table.
+ *
+ * @author Wilffren Muñoz
+ */
+final class HoldRowMapper implements RowMapper<Hold> {
+
+    /** Columns read by {@link #forResultSet(ResultSet)}, in select order. */
+    static final String COLUMNS = "id, book_id, member_id, priority, status, created_at, ready_at, expires_at";
+
+    private final int id;
+    private final int bookId;
+    private final int memberId;
+    private final int priority;
+    private final int status;
+    private final int createdAt;
+    private final int readyAt;
+    private final int expiresAt;
+
+    private HoldRowMapper(ResultSet rs) throws SQLException {
+        this.id = rs.findColumn("id");
+        this.bookId = rs.findColumn("book_id");
+        this.memberId = rs.findColumn("member_id");
+        this.priority = rs.findColumn("priority");
+        this.status = rs.findColumn("status");
+        this.createdAt = rs.findColumn("created_at");
+        this.readyAt = rs.findColumn("ready_at");
+        this.expiresAt = rs.findColumn("expires_at");
+    }
+
+    /**
+     * Binds a mapper to a result set selecting {@link #COLUMNS}.
+     */
+    static HoldRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new HoldRowMapper(rs);
+    }
+
+    @Override
+    public Hold map(ResultSet rs) throws SQLException {
+        Hold hold = new Hold();
+        hold.setId(rs.getLong(id));
+        hold.setBookId(rs.getLong(bookId));
+        hold.setMemberId(rs.getLong(memberId));
+        hold.setPriority(rs.getInt(priority));
+        hold.setStatus(HoldStatus.valueOf(rs.getString(status)));
+        Timestamp created = rs.getTimestamp(createdAt);
+        if (created != null) {
+            hold.setCreatedAt(created.toLocalDateTime());
+        }
+        Timestamp ready = rs.getTimestamp(readyAt);
+        if (ready != null) {
+            hold.setReadyAt(ready.toLocalDateTime());
+        }
+        Timestamp expires = rs.getTimestamp(expiresAt);
+        if (expires != null) {
+            hold.setExpiresAt(expires.toLocalDateTime());
+        }
+        return hold;
+    }
+}
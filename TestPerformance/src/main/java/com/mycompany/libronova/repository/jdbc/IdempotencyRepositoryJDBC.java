@@ -0,0 +1,121 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.IdempotencyRecord;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.ConnectionDB;
+import com.mycompany.libronova.repository.IdempotencyRepository;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBC implementation of IdempotencyRepository.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class IdempotencyRepositoryJDBC implements IdempotencyRepository {
+    
+    private static final Logger LOGGER = Logger.getLogger(IdempotencyRepositoryJDBC.class.getName());
+    private final ConnectionDB connectionDB;
+    
+    public IdempotencyRepositoryJDBC() {
+        this.connectionDB = ConnectionDB.getInstance();
+    }
+    
+    @Override
+    public boolean reserve(String key, String operation) throws DatabaseException {
+        String sql = "INSERT INTO idempotency_keys (idem_key, operation) VALUES (?, ?)";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, key);
+            stmt.setString(2, operation);
+            stmt.executeUpdate();
+            return true;
+            
+        } catch (SQLIntegrityConstraintViolationException ex) {
+            return false;
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reserving idempotency key", ex);
+            throw new DatabaseException("Error reserving idempotency key", ex);
+        }
+    }
+    
+    @Override
+    public Optional<IdempotencyRecord> findByKey(String key) throws DatabaseException {
+        String sql = "SELECT " + IdempotencyRowMapper.COLUMNS + " FROM idempotency_keys WHERE idem_key = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, key);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(IdempotencyRowMapper.forResultSet(rs).map(rs));
+                }
+            }
+            
+            return Optional.empty();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding idempotency key", ex);
+            throw new DatabaseException("Error finding idempotency key", ex);
+        }
+    }
+    
+    @Override
+    public void complete(String key, Long loanId) throws DatabaseException {
+        String sql = "UPDATE idempotency_keys SET loan_id = ? WHERE idem_key = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, loanId);
+            stmt.setString(2, key);
+            stmt.executeUpdate();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error completing idempotency key", ex);
+            throw new DatabaseException("Error completing idempotency key", ex);
+        }
+    }
+    
+    @Override
+    public void release(String key) throws DatabaseException {
+        String sql = "DELETE FROM idempotency_keys WHERE idem_key = ? AND loan_id IS NULL";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, key);
+            stmt.executeUpdate();
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error releasing idempotency key", ex);
+            throw new DatabaseException("Error releasing idempotency key", ex);
+        }
+    }
+    
+    @Override
+    public int deleteOlderThan(LocalDateTime cutoff) throws DatabaseException {
+        String sql = "DELETE FROM idempotency_keys WHERE created_at < ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            int deleted = stmt.executeUpdate();
+            
+            LOGGER.info("Idempotency keys purged: " + deleted);
+            return deleted;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error purging idempotency keys", ex);
+            throw new DatabaseException("Error purging idempotency keys", ex);
+        }
+    }
+}
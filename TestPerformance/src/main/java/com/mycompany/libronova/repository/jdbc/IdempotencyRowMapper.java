@@ -0,0 +1,46 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.IdempotencyRecord;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Index-based row mapper for the idempotency_keys table.
+ *
+ * @author Wilffren Muñoz
+ */
+final class IdempotencyRowMapper implements RowMapper<IdempotencyRecord> {
+
+    /** Columns read by {@link #forResultSet(ResultSet)}, in select order. */
+    static final String COLUMNS = "idem_key, operation, loan_id, created_at";
+
+    private final int key;
+    private final int operation;
+    private final int loanId;
+    private final int createdAt;
+
+    private IdempotencyRowMapper(ResultSet rs) throws SQLException {
+        this.key = rs.findColumn("idem_key");
+        this.operation = rs.findColumn("operation");
+        this.loanId = rs.findColumn("loan_id");
+        this.createdAt = rs.findColumn("created_at");
+    }
+
+    /**
+     * Binds a mapper to a result set selecting {@link #COLUMNS}.
+     */
+    static IdempotencyRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new IdempotencyRowMapper(rs);
+    }
+
+    @Override
+    public IdempotencyRecord map(ResultSet rs) throws SQLException {
+        // NULL while the owning request is still in progress
+        long loan = rs.getLong(loanId);
+        Long completedLoan = rs.wasNull() ? null : loan;
+        Timestamp created = rs.getTimestamp(createdAt);
+        return new IdempotencyRecord(rs.getString(key), rs.getString(operation), completedLoan,
+                created != null ? created.toLocalDateTime() : null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Query-scoped identity map used while mapping joined result sets.
+ * Rows that reference the same id share a single instance, so a list of
+ * loans holds one Book per title and one Member per borrower instead of
+ * one of each per row. Create a new map for every query; instances are
+ * shared only within the list that query returns.
+ *
+ * @param <T> the mapped type
+ * @author Wilffren Muñoz
+ */
+final class IdentityMap<T> {
+
+    /**
+     * Maps the current row when its id has not been seen yet.
+     *
+     * @param <T> the mapped type
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private final Map<Long, T> entries = new HashMap<>();
+
+    /**
+     * Returns the instance already mapped for an id, or maps the current row.
+     *
+     * @param id the entity id
+     * @param loader reads the entity from the current row
+     * @return the shared instance
+     * @throws SQLException if the row cannot be read
+     */
+    T get(long id, Loader<T> loader) throws SQLException {
+        T existing = entries.get(id);
+        if (existing == null) {
+            existing = loader.load();
+            entries.put(id, existing);
+        }
+        return existing;
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
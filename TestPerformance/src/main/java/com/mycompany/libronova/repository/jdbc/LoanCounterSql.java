@@ -0,0 +1,109 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.domain.MemberLoanCounts;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Updates of the members' loan counters, run inside the caller's
+ * checkout or return transaction so the counters commit or roll back
+ * with the loans they count. Member rows are locked after the book,
+ * hold and existing loan rows of the same transaction.
+ * 
+ * @author Wilffren Muñoz
+ */
+final class LoanCounterSql {
+    
+    // Passes only while the member stays within the limit, so the row lock is the check
+    private static final String RESERVE_SQL = "UPDATE members SET active_loans = active_loans + ? " +
+            "WHERE id = ? AND active_loans + ? <= ? AND overdue_loans <= ?";
+    private static final String COUNTS_SQL = "SELECT member_number, active_loans, overdue_loans " +
+            "FROM members WHERE id = ? FOR UPDATE";
+    
+    // A returned loan only leaves overdue_loans if the last refresh counted it there
+    private static final String RELEASE_SQL = "UPDATE members m JOIN loans l ON l.member_id = m.id " +
+            "SET m.active_loans = m.active_loans - 1, " +
+            "m.overdue_loans = m.overdue_loans - " +
+            "CASE WHEN l.expected_return_date < m.overdue_counted_on THEN 1 ELSE 0 END " +
+            "WHERE l.id = ?";
+    
+    private LoanCounterSql() {
+    }
+    
+    /**
+     * Counts new loans against a member's limit. When the limit is
+     * reached the transaction is rolled back.
+     * 
+     * @param conn connection with an open transaction
+     * @param memberId the borrowing member
+     * @param copies number of loans about to be created
+     * @param limit the limit to enforce
+     * @throws LoanLimitExceededException if the member is over the limit or delinquent
+     * @throws SQLException if the member does not exist or the update fails
+     */
+    static void reserve(Connection conn, Long memberId, int copies, LoanLimit limit)
+            throws LoanLimitExceededException, SQLException {
+        if (tryReserve(conn, memberId, copies, limit)) {
+            return;
+        }
+        
+        // Read the counters under lock to report why; they may also have dropped meanwhile
+        String memberNumber;
+        MemberLoanCounts counts;
+        try (PreparedStatement stmt = conn.prepareStatement(COUNTS_SQL)) {
+            stmt.setLong(1, memberId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Member not found: " + memberId);
+                }
+                memberNumber = rs.getString(1);
+                counts = new MemberLoanCounts(rs.getInt(2), rs.getInt(3));
+            }
+        }
+        
+        try {
+            limit.check(memberNumber, counts, copies);
+        } catch (LoanLimitExceededException ex) {
+            conn.rollback();
+            throw ex;
+        }
+        if (!tryReserve(conn, memberId, copies, limit)) {
+            throw new SQLException("Could not update loan counters of member " + memberId);
+        }
+    }
+    
+    /**
+     * Takes returned loans off their members' counters. Call before the
+     * loans' status changes are committed, with the loans in member order.
+     * 
+     * @param conn connection with an open transaction
+     * @param loanIds the returned loans
+     * @throws SQLException if the update fails
+     */
+    static void release(Connection conn, Collection<Long> loanIds) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RELEASE_SQL)) {
+            for (Long loanId : loanIds) {
+                stmt.setLong(1, loanId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    private static boolean tryReserve(Connection conn, Long memberId, int copies, LoanLimit limit)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RESERVE_SQL)) {
+            stmt.setInt(1, copies);
+            stmt.setLong(2, memberId);
+            stmt.setInt(3, copies);
+            stmt.setInt(4, limit.getMaxActive());
+            stmt.setInt(5, limit.getMaxOverdue());
+            return stmt.executeUpdate() > 0;
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.mycompany.libronova.repository.jdbc;
 
 import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.BulkReturnReport;
 import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanLimit;
 import com.mycompany.libronova.domain.LoanStatus;
-import com.mycompany.libronova.domain.Member;
-import com.mycompany.libronova.domain.MemberStatus;
-import com.mycompany.libronova.domain.UserRole;
+import com.mycompany.libronova.domain.LoanSummary;
+import com.mycompany.libronova.domain.ReturnOutcome;
 import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
 import com.mycompany.libronova.infra.config.ConnectionDB;
 import com.mycompany.libronova.repository.LoanRepository;
+import com.mycompany.libronova.repository.IdRange;
+import com.mycompany.libronova.repository.RowCallback;
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
-import java.time.Year;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -67,6 +79,91 @@ public class LoanRepositoryJDBC implements LoanRepository {
         }
     }
     
+    @Override
+    public List<Loan> saveAllAndDecrementStock(List<Loan> loans, LoanLimit limit)
+            throws InsufficientStockException, LoanLimitExceededException, DatabaseException {
+        if (loans.isEmpty()) {
+            return loans;
+        }
+        
+        // Copies per book and member, ordered by id so concurrent checkouts lock rows in the same order
+        Map<Long, Integer> copiesByBook = new TreeMap<>();
+        Map<Long, Integer> copiesByMember = new TreeMap<>();
+        Map<Long, Book> booksById = new HashMap<>();
+        for (Loan loan : loans) {
+            copiesByBook.merge(loan.getBook().getId(), 1, Integer::sum);
+            copiesByMember.merge(loan.getMember().getId(), 1, Integer::sum);
+            booksById.putIfAbsent(loan.getBook().getId(), loan.getBook());
+        }
+        
+        String stockSql = "UPDATE books SET available_stock = available_stock - ? " +
+                         "WHERE id = ? AND available_stock >= ?";
+        String insertSql = "INSERT INTO loans (book_id, member_id, loan_date, expected_return_date, status) " +
+                          "VALUES (?, ?, ?, ?, ?)";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                List<Long> bookIds = new ArrayList<>(copiesByBook.keySet());
+                try (PreparedStatement stockStmt = conn.prepareStatement(stockSql)) {
+                    for (Long bookId : bookIds) {
+                        int copies = copiesByBook.get(bookId);
+                        stockStmt.setInt(1, copies);
+                        stockStmt.setLong(2, bookId);
+                        stockStmt.setInt(3, copies);
+                        stockStmt.addBatch();
+                    }
+                    
+                    int[] updated = stockStmt.executeBatch();
+                    for (int i = 0; i < updated.length; i++) {
+                        if (updated[i] == 0) {
+                            conn.rollback();
+                            Book book = booksById.get(bookIds.get(i));
+                            throw new InsufficientStockException(book.getIsbn(), book.getAvailableStock());
+                        }
+                    }
+                }
+                
+                for (Map.Entry<Long, Integer> entry : copiesByMember.entrySet()) {
+                    LoanCounterSql.reserve(conn, entry.getKey(), entry.getValue(), limit);
+                }
+                
+                try (PreparedStatement insertStmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Loan loan : loans) {
+                        insertStmt.setLong(1, loan.getBook().getId());
+                        insertStmt.setLong(2, loan.getMember().getId());
+                        insertStmt.setDate(3, Date.valueOf(loan.getLoanDate()));
+                        insertStmt.setDate(4, Date.valueOf(loan.getExpectedReturnDate()));
+                        insertStmt.setString(5, loan.getStatus().name());
+                        insertStmt.addBatch();
+                    }
+                    insertStmt.executeBatch();
+                    
+                    try (ResultSet generatedKeys = insertStmt.getGeneratedKeys()) {
+                        for (Loan loan : loans) {
+                            if (generatedKeys.next()) {
+                                loan.setId(generatedKeys.getLong(1));
+                            }
+                        }
+                    }
+                }
+                
+                conn.commit();
+                LOGGER.info("Loans saved: " + loans.size());
+                return loans;
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error saving loans", ex);
+            throw new DatabaseException("Error saving loans", ex);
+        }
+    }
+    
     @Override
     public Loan update(Loan loan) throws DatabaseException {
         String sql = "UPDATE loans SET status = ?, actual_return_date = ? WHERE id = ?";
@@ -99,11 +196,103 @@ public class LoanRepositoryJDBC implements LoanRepository {
         }
     }
     
+    @Override
+    public BulkReturnReport returnAll(Collection<Long> loanIds, LocalDate returnDate) throws DatabaseException {
+        Map<Long, ReturnOutcome> outcomes = new LinkedHashMap<>();
+        for (Long loanId : loanIds) {
+            outcomes.put(loanId, ReturnOutcome.NOT_FOUND);
+        }
+        if (outcomes.isEmpty()) {
+            return new BulkReturnReport(outcomes);
+        }
+        
+        String placeholders = String.join(", ", Collections.nCopies(outcomes.size(), "?"));
+        String selectSql = "SELECT id, book_id, status, member_id " +
+                           "FROM loans WHERE id IN (" + placeholders + ") FOR UPDATE";
+        String loanSql = "UPDATE loans SET status = 'RETURNED', actual_return_date = ? WHERE id = ?";
+        String stockSql = "UPDATE books SET available_stock = available_stock + ? WHERE id = ?";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                // Lock the loans and find which ones can be returned
+                List<Long> returnable = new ArrayList<>();
+                Map<Long, Long> bookIds = new HashMap<>();
+                Map<Long, Long> memberIds = new HashMap<>();
+                Map<Long, Integer> copiesByBook = new TreeMap<>();
+                Map<Long, List<Long>> loansByMember = new TreeMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    int index = 1;
+                    for (Long loanId : outcomes.keySet()) {
+                        stmt.setLong(index++, loanId);
+                    }
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            long loanId = rs.getLong(1);
+                            if (LoanStatus.ACTIVE.name().equals(rs.getString(3))) {
+                                returnable.add(loanId);
+                                bookIds.put(loanId, rs.getLong(2));
+                                memberIds.put(loanId, rs.getLong(4));
+                                copiesByBook.merge(rs.getLong(2), 1, Integer::sum);
+                                loansByMember.computeIfAbsent(rs.getLong(4), k -> new ArrayList<>()).add(loanId);
+                                outcomes.put(loanId, ReturnOutcome.RETURNED);
+                            } else {
+                                outcomes.put(loanId, ReturnOutcome.NOT_ACTIVE);
+                            }
+                        }
+                    }
+                }
+                
+                if (returnable.isEmpty()) {
+                    conn.commit();
+                    return new BulkReturnReport(outcomes);
+                }
+                
+                try (PreparedStatement loanStmt = conn.prepareStatement(loanSql)) {
+                    Date date = Date.valueOf(returnDate);
+                    for (Long loanId : returnable) {
+                        loanStmt.setDate(1, date);
+                        loanStmt.setLong(2, loanId);
+                        loanStmt.addBatch();
+                    }
+                    loanStmt.executeBatch();
+                }
+                
+                // One increment per book, in id order
+                try (PreparedStatement stockStmt = conn.prepareStatement(stockSql)) {
+                    for (Map.Entry<Long, Integer> entry : copiesByBook.entrySet()) {
+                        stockStmt.setInt(1, entry.getValue());
+                        stockStmt.setLong(2, entry.getKey());
+                        stockStmt.addBatch();
+                    }
+                    stockStmt.executeBatch();
+                }
+                
+                // Release the members' loan counters, also in id order
+                List<Long> inMemberOrder = new ArrayList<>(returnable.size());
+                loansByMember.values().forEach(inMemberOrder::addAll);
+                LoanCounterSql.release(conn, inMemberOrder);
+                
+                conn.commit();
+                LOGGER.info("Loans returned: " + returnable.size() + " of " + outcomes.size());
+                return new BulkReturnReport(outcomes, bookIds, memberIds);
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error returning loans", ex);
+            throw new DatabaseException("Error returning loans", ex);
+        }
+    }
+    
     @Override
     public Optional<Loan> findById(Long id) throws DatabaseException {
-        String sql = "SELECT l.*, " +
-                    "b.isbn, b.title, b.author, b.publisher, b.year, b.available_stock, b.total_stock, " +
-                    "m.name, m.email, m.member_number, m.status as member_status, m.registration_date " +
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
                     "FROM loans l " +
                     "LEFT JOIN books b ON l.book_id = b.id " +
                     "LEFT JOIN members m ON l.member_id = m.id " +
@@ -116,7 +305,7 @@ public class LoanRepositoryJDBC implements LoanRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToLoanWithDetails(rs));
+                    return Optional.of(LoanRowMapper.forResultSet(rs).map(rs));
                 }
             }
             
@@ -130,9 +319,7 @@ public class LoanRepositoryJDBC implements LoanRepository {
     
     @Override
     public List<Loan> findAll() throws DatabaseException {
-        String sql = "SELECT l.*, " +
-                    "b.isbn, b.title, b.author, b.publisher, b.year, b.available_stock, b.total_stock, " +
-                    "m.name, m.email, m.member_number, m.status as member_status, m.registration_date " +
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
                     "FROM loans l " +
                     "LEFT JOIN books b ON l.book_id = b.id " +
                     "LEFT JOIN members m ON l.member_id = m.id " +
@@ -143,8 +330,9 @@ public class LoanRepositoryJDBC implements LoanRepository {
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
+            LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
             while (rs.next()) {
-                loans.add(mapResultSetToLoanWithDetails(rs));
+                loans.add(mapper.map(rs));
             }
             
             return loans;
@@ -157,9 +345,7 @@ public class LoanRepositoryJDBC implements LoanRepository {
     
     @Override
     public List<Loan> findActiveByMemberId(Long memberId) throws DatabaseException {
-        String sql = "SELECT l.*, " +
-                    "b.isbn, b.title, b.author, b.publisher, b.year, b.available_stock, b.total_stock, " +
-                    "m.name, m.email, m.member_number, m.status as member_status, m.registration_date " +
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
                     "FROM loans l " +
                     "LEFT JOIN books b ON l.book_id = b.id " +
                     "LEFT JOIN members m ON l.member_id = m.id " +
@@ -172,8 +358,9 @@ public class LoanRepositoryJDBC implements LoanRepository {
             stmt.setLong(1, memberId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    loans.add(mapResultSetToLoanWithDetails(rs));
+                    loans.add(mapper.map(rs));
                 }
             }
             
@@ -187,9 +374,7 @@ public class LoanRepositoryJDBC implements LoanRepository {
     
     @Override
     public List<Loan> findActiveByBookId(Long bookId) throws DatabaseException {
-        String sql = "SELECT l.*, " +
-                    "b.isbn, b.title, b.author, b.publisher, b.year, b.available_stock, b.total_stock, " +
-                    "m.name, m.email, m.member_number, m.status as member_status, m.registration_date " +
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
                     "FROM loans l " +
                     "LEFT JOIN books b ON l.book_id = b.id " +
                     "LEFT JOIN members m ON l.member_id = m.id " +
@@ -202,8 +387,9 @@ public class LoanRepositoryJDBC implements LoanRepository {
             stmt.setLong(1, bookId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    loans.add(mapResultSetToLoanWithDetails(rs));
+                    loans.add(mapper.map(rs));
                 }
             }
             
@@ -217,9 +403,7 @@ public class LoanRepositoryJDBC implements LoanRepository {
     
     @Override
     public List<Loan> findOverdue() throws DatabaseException {
-        String sql = "SELECT l.*, " +
-                    "b.isbn, b.title, b.author, b.publisher, b.year, b.available_stock, b.total_stock, " +
-                    "m.name, m.email, m.member_number, m.status as member_status, m.registration_date " +
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
                     "FROM loans l " +
                     "LEFT JOIN books b ON l.book_id = b.id " +
                     "LEFT JOIN members m ON l.member_id = m.id " +
@@ -230,8 +414,9 @@ public class LoanRepositoryJDBC implements LoanRepository {
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
+            LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
             while (rs.next()) {
-                loans.add(mapResultSetToLoanWithDetails(rs));
+                loans.add(mapper.map(rs));
             }
             
             return loans;
@@ -242,47 +427,263 @@ public class LoanRepositoryJDBC implements LoanRepository {
         }
     }
     
+    @Override
+    public List<Loan> findActiveDueFrom(LocalDate from) throws DatabaseException {
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
+                    "FROM loans l " +
+                    "LEFT JOIN books b ON l.book_id = b.id " +
+                    "LEFT JOIN members m ON l.member_id = m.id " +
+                    "WHERE l.status = 'ACTIVE' AND l.expected_return_date >= ? " +
+                    "ORDER BY l.expected_return_date";
+        List<Loan> loans = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setDate(1, Date.valueOf(from));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    loans.add(mapper.map(rs));
+                }
+            }
+            
+            return loans;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding active loans by due date", ex);
+            throw new DatabaseException("Error finding active loans", ex);
+        }
+    }
+    
+    @Override
+    public int archiveReturnedBefore(LocalDate cutoff, int batchSize) throws DatabaseException {
+        String selectSql = "SELECT id FROM loans " +
+                          "WHERE status = 'RETURNED' AND actual_return_date < ? " +
+                          "ORDER BY id LIMIT ? FOR UPDATE";
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                List<Long> ids = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    stmt.setDate(1, Date.valueOf(cutoff));
+                    stmt.setInt(2, batchSize);
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getLong(1));
+                        }
+                    }
+                }
+                
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+                
+                String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+                String copySql = "INSERT INTO loans_history (id, book_id, member_id, loan_date, " +
+                                "expected_return_date, actual_return_date, status, created_at, updated_at) " +
+                                "SELECT id, book_id, member_id, loan_date, expected_return_date, " +
+                                "actual_return_date, status, created_at, updated_at " +
+                                "FROM loans WHERE id IN (" + placeholders + ")";
+                String deleteSql = "DELETE FROM loans WHERE id IN (" + placeholders + ")";
+                
+                try (PreparedStatement copyStmt = conn.prepareStatement(copySql);
+                     PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
+                    
+                    for (int i = 0; i < ids.size(); i++) {
+                        copyStmt.setLong(i + 1, ids.get(i));
+                        deleteStmt.setLong(i + 1, ids.get(i));
+                    }
+                    
+                    int copied = copyStmt.executeUpdate();
+                    int deleted = deleteStmt.executeUpdate();
+                    
+                    if (copied != ids.size() || deleted != ids.size()) {
+                        throw new SQLException("Archived " + copied + " loans but removed " + deleted);
+                    }
+                }
+                
+                conn.commit();
+                LOGGER.info("Loans archived: " + ids.size());
+                return ids.size();
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error archiving returned loans", ex);
+            throw new DatabaseException("Error archiving returned loans", ex);
+        }
+    }
+    
+    @Override
+    public List<Loan> findHistoryByMemberId(Long memberId) throws DatabaseException {
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
+                    "FROM loans_history l " +
+                    "LEFT JOIN books b ON l.book_id = b.id " +
+                    "LEFT JOIN members m ON l.member_id = m.id " +
+                    "WHERE l.member_id = ? " +
+                    "ORDER BY l.loan_date DESC";
+        List<Loan> loans = new ArrayList<>();
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, memberId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    loans.add(mapper.map(rs));
+                }
+            }
+            
+            return loans;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding loan history by member", ex);
+            throw new DatabaseException("Error finding loan history by member", ex);
+        }
+    }
     
-    private Loan mapResultSetToLoanWithDetails(ResultSet rs) throws SQLException {
-        Loan loan = new Loan();
-        loan.setId(rs.getLong("id"));
-        loan.setLoanDate(rs.getDate("loan_date").toLocalDate());
-        loan.setExpectedReturnDate(rs.getDate("expected_return_date").toLocalDate());
+    @Override
+    public List<Loan> findHistoryByBookId(Long bookId) throws DatabaseException {
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
+                    "FROM loans_history l " +
+                    "LEFT JOIN books b ON l.book_id = b.id " +
+                    "LEFT JOIN members m ON l.member_id = m.id " +
+                    "WHERE l.book_id = ? " +
+                    "ORDER BY l.loan_date DESC";
+        List<Loan> loans = new ArrayList<>();
         
-        Date actualReturnDate = rs.getDate("actual_return_date");
-        if (actualReturnDate != null) {
-            loan.setActualReturnDate(actualReturnDate.toLocalDate());
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, bookId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    loans.add(mapper.map(rs));
+                }
+            }
+            
+            return loans;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding loan history by book", ex);
+            throw new DatabaseException("Error finding loan history by book", ex);
         }
+    }
+    
+    @Override
+    public List<LoanSummary> findAllSummaries() throws DatabaseException {
+        String sql = "SELECT " + LoanSummaryRowMapper.COLUMNS + " " +
+                    "FROM loans l " +
+                    "LEFT JOIN books b ON l.book_id = b.id " +
+                    "LEFT JOIN members m ON l.member_id = m.id " +
+                    "ORDER BY l.loan_date DESC";
+        List<LoanSummary> summaries = new ArrayList<>();
         
-        loan.setStatus(LoanStatus.valueOf(rs.getString("status")));
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            LoanSummaryRowMapper mapper = LoanSummaryRowMapper.forResultSet(rs);
+            while (rs.next()) {
+                summaries.add(mapper.map(rs));
+            }
+            
+            return summaries;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error listing loan summaries", ex);
+            throw new DatabaseException("Error listing loan summaries", ex);
+        }
+    }
+    
+    @Override
+    public IdRange findIdRange() throws DatabaseException {
+        String sql = "SELECT MIN(id), MAX(id) FROM loans";
         
-        // Map Book details
-        Book book = new Book();
-        book.setId(rs.getLong("book_id"));
-        book.setIsbn(rs.getString("isbn"));
-        book.setTitle(rs.getString("title"));
-        book.setAuthor(rs.getString("author"));
-        book.setPublisher(rs.getString("publisher"));
-        if (rs.getObject("year") != null) {
-            book.setYear(Year.of(rs.getInt("year")));
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                long min = rs.getLong(1);
+                if (!rs.wasNull()) {
+                    return new IdRange(min, rs.getLong(2));
+                }
+            }
+            return IdRange.EMPTY;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading loan ID range", ex);
+            throw new DatabaseException("Error reading loan ID range", ex);
         }
-        book.setAvailableStock(rs.getInt("available_stock"));
-        book.setTotalStock(rs.getInt("total_stock"));
-        loan.setBook(book);
+    }
+    
+    @Override
+    public void streamByIdRange(IdRange range, RowCallback<Loan> callback) throws DatabaseException, IOException {
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
+                     "FROM loans l " +
+                     "LEFT JOIN books b ON l.book_id = b.id " +
+                     "LEFT JOIN members m ON l.member_id = m.id " +
+                     "WHERE l.id BETWEEN ? AND ? ORDER BY l.id";
         
-        // Map Member details
-        Member member = new Member();
-        member.setId(rs.getLong("member_id"));
-        member.setName(rs.getString("name"));
-        member.setEmail(rs.getString("email"));
-        member.setMemberNumber(rs.getString("member_number"));
-        member.setStatus(MemberStatus.valueOf(rs.getString("member_status")));
-        if (rs.getDate("registration_date") != null) {
-            member.setRegistrationDate(rs.getDate("registration_date").toLocalDate());
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // Rows arrive one at a time instead of being buffered by the driver
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setLong(1, range.getMin());
+            stmt.setLong(2, range.getMax());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forStreaming(rs);
+                while (rs.next()) {
+                    callback.accept(mapper.map(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming loans", ex);
+            throw new DatabaseException("Error streaming loans", ex);
         }
-        member.setRole(UserRole.MEMBER);
-        loan.setMember(member);
+    }
+    
+    @Override
+    public void streamUpdatedSince(LocalDateTime since, RowCallback<Loan> callback) throws DatabaseException, IOException {
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " " +
+                     "FROM loans l " +
+                     "LEFT JOIN books b ON l.book_id = b.id " +
+                     "LEFT JOIN members m ON l.member_id = m.id " +
+                     "WHERE l.updated_at >= ? ORDER BY l.updated_at, l.id";
         
-        return loan;
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                LoanRowMapper mapper = LoanRowMapper.forStreaming(rs);
+                while (rs.next()) {
+                    callback.accept(mapper.map(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming updated loans", ex);
+            throw new DatabaseException("Error streaming updated loans", ex);
+        }
     }
 }
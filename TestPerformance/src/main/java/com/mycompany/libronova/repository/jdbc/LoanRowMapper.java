@@ -0,0 +1,95 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.Member;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Index-based row mapper for loans joined with their book and member.
+ * Works for both the loans and loans_history tables aliased as l.
+ * Book and member columns are only read the first time an id appears
+ * in the result set; later rows reuse the instance from the identity map.
+ * Streaming mappers skip the identity map, since it would keep every
+ * distinct book and member of the cursor on the heap.
+ *
+ * @author Wilffren Muñoz
+ */
+final class LoanRowMapper implements RowMapper<Loan> {
+
+    /** Loan columns of the join, in select order. */
+    static final String LOAN_COLUMNS =
+            "l.id, l.book_id, l.member_id, l.loan_date, l.expected_return_date, l.actual_return_date, l.status";
+
+    /** Every column read by this mapper, in select order. */
+    static final String COLUMNS = LOAN_COLUMNS + ", "
+            + BookRowMapper.JOINED_COLUMNS + ", " + MemberRowMapper.JOINED_COLUMNS;
+
+    private final int id;
+    private final int bookId;
+    private final int memberId;
+    private final int loanDate;
+    private final int expectedReturnDate;
+    private final int actualReturnDate;
+    private final int status;
+    private final BookRowMapper bookMapper;
+    private final MemberRowMapper memberMapper;
+    // Null when rows are streamed
+    private final IdentityMap<Book> books;
+    private final IdentityMap<Member> members;
+
+    private LoanRowMapper(ResultSet rs, boolean shareInstances) throws SQLException {
+        this.id = rs.findColumn("id");
+        this.bookId = rs.findColumn("book_id");
+        this.memberId = rs.findColumn("member_id");
+        this.loanDate = rs.findColumn("loan_date");
+        this.expectedReturnDate = rs.findColumn("expected_return_date");
+        this.actualReturnDate = rs.findColumn("actual_return_date");
+        this.status = rs.findColumn("status");
+        this.bookMapper = BookRowMapper.forLoanJoin(rs);
+        this.memberMapper = MemberRowMapper.forLoanJoin(rs);
+        this.books = shareInstances ? new IdentityMap<>() : null;
+        this.members = shareInstances ? new IdentityMap<>() : null;
+    }
+
+    /**
+     * Binds a mapper to a result set selecting {@link #COLUMNS}.
+     * The identity map lives as long as the mapper, i.e. one query.
+     */
+    static LoanRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new LoanRowMapper(rs, true);
+    }
+
+    /**
+     * Binds a mapper to a streamed result set selecting {@link #COLUMNS}.
+     * Every row gets its own book and member, so memory stays flat
+     * however long the cursor is.
+     */
+    static LoanRowMapper forStreaming(ResultSet rs) throws SQLException {
+        return new LoanRowMapper(rs, false);
+    }
+
+    @Override
+    public Loan map(ResultSet rs) throws SQLException {
+        Loan loan = new Loan();
+        loan.setId(rs.getLong(id));
+        loan.setLoanDate(rs.getDate(loanDate).toLocalDate());
+        loan.setExpectedReturnDate(rs.getDate(expectedReturnDate).toLocalDate());
+        Date returned = rs.getDate(actualReturnDate);
+        if (returned != null) {
+            loan.setActualReturnDate(returned.toLocalDate());
+        }
+        loan.setStatus(LoanStatus.valueOf(rs.getString(status)));
+        if (books != null) {
+            loan.setBook(books.get(rs.getLong(bookId), () -> bookMapper.map(rs)));
+            loan.setMember(members.get(rs.getLong(memberId), () -> memberMapper.map(rs)));
+        } else {
+            loan.setBook(bookMapper.map(rs));
+            loan.setMember(memberMapper.map(rs));
+        }
+        return loan;
+    }
+}
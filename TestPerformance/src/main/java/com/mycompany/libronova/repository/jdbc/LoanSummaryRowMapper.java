@@ -0,0 +1,67 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.LoanSummary;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Index-based row mapper for the LoanSummary projection.
+ * Titles and names are shared between rows of the same book or member.
+ *
+ * @author Wilffren Muñoz
+ */
+final class LoanSummaryRowMapper implements RowMapper<LoanSummary> {
+
+    /** Every column read by this mapper, in select order. */
+    static final String COLUMNS = LoanRowMapper.LOAN_COLUMNS + ", b.title, m.name";
+
+    private final int id;
+    private final int bookId;
+    private final int memberId;
+    private final int loanDate;
+    private final int expectedReturnDate;
+    private final int actualReturnDate;
+    private final int status;
+    private final int title;
+    private final int name;
+    private final IdentityMap<String> titles = new IdentityMap<>();
+    private final IdentityMap<String> names = new IdentityMap<>();
+
+    private LoanSummaryRowMapper(ResultSet rs) throws SQLException {
+        this.id = rs.findColumn("id");
+        this.bookId = rs.findColumn("book_id");
+        this.memberId = rs.findColumn("member_id");
+        this.loanDate = rs.findColumn("loan_date");
+        this.expectedReturnDate = rs.findColumn("expected_return_date");
+        this.actualReturnDate = rs.findColumn("actual_return_date");
+        this.status = rs.findColumn("status");
+        this.title = rs.findColumn("title");
+        this.name = rs.findColumn("name");
+    }
+
+    /**
+     * Binds a mapper to a result set selecting {@link #COLUMNS}.
+     */
+    static LoanSummaryRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new LoanSummaryRowMapper(rs);
+    }
+
+    @Override
+    public LoanSummary map(ResultSet rs) throws SQLException {
+        long book = rs.getLong(bookId);
+        long member = rs.getLong(memberId);
+        Date returned = rs.getDate(actualReturnDate);
+        return new LoanSummary(
+                rs.getLong(id),
+                book,
+                titles.get(book, () -> rs.getString(title)),
+                member,
+                names.get(member, () -> rs.getString(name)),
+                rs.getDate(loanDate).toLocalDate(),
+                rs.getDate(expectedReturnDate).toLocalDate(),
+                returned != null ? returned.toLocalDate() : null,
+                LoanStatus.valueOf(rs.getString(status)));
+    }
+}
@@ -1,16 +1,20 @@
 package com.mycompany.libronova.repository.jdbc;
 
 import com.mycompany.libronova.domain.Member;
-import com.mycompany.libronova.domain.MemberStatus;
-import com.mycompany.libronova.domain.UserRole;
+import com.mycompany.libronova.domain.MemberLoanCounts;
 import com.mycompany.libronova.exceptions.DatabaseException;
 import com.mycompany.libronova.infra.config.ConnectionDB;
+import com.mycompany.libronova.repository.IdRange;
 import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.repository.RowCallback;
+import java.io.IOException;
 import java.sql.*;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -92,7 +96,7 @@ public class MemberRepositoryJDBC implements MemberRepository {
     
     @Override
     public Optional<Member> findById(Long id) throws DatabaseException {
-        String sql = "SELECT * FROM members WHERE id = ?";
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members WHERE id = ?";
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -101,7 +105,7 @@ public class MemberRepositoryJDBC implements MemberRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToMember(rs));
+                    return Optional.of(MemberRowMapper.forResultSet(rs).map(rs));
                 }
             }
             
@@ -115,7 +119,7 @@ public class MemberRepositoryJDBC implements MemberRepository {
     
     @Override
     public Optional<Member> findByMemberNumber(String memberNumber) throws DatabaseException {
-        String sql = "SELECT * FROM members WHERE member_number = ?";
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members WHERE member_number = ?";
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -124,7 +128,7 @@ public class MemberRepositoryJDBC implements MemberRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToMember(rs));
+                    return Optional.of(MemberRowMapper.forResultSet(rs).map(rs));
                 }
             }
             
@@ -138,7 +142,7 @@ public class MemberRepositoryJDBC implements MemberRepository {
     
     @Override
     public Optional<Member> findByEmail(String email) throws DatabaseException {
-        String sql = "SELECT * FROM members WHERE email = ?";
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members WHERE email = ?";
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -147,7 +151,7 @@ public class MemberRepositoryJDBC implements MemberRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToMember(rs));
+                    return Optional.of(MemberRowMapper.forResultSet(rs).map(rs));
                 }
             }
             
@@ -161,15 +165,16 @@ public class MemberRepositoryJDBC implements MemberRepository {
     
     @Override
     public List<Member> findAll() throws DatabaseException {
-        String sql = "SELECT * FROM members ORDER BY name";
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members ORDER BY name";
         List<Member> members = new ArrayList<>();
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
+            MemberRowMapper mapper = MemberRowMapper.forResultSet(rs);
             while (rs.next()) {
-                members.add(mapResultSetToMember(rs));
+                members.add(mapper.map(rs));
             }
             
             return members;
@@ -182,15 +187,16 @@ public class MemberRepositoryJDBC implements MemberRepository {
     
     @Override
     public List<Member> findAllActive() throws DatabaseException {
-        String sql = "SELECT * FROM members WHERE status = 'ACTIVE' ORDER BY name";
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members WHERE status = 'ACTIVE' ORDER BY name";
         List<Member> members = new ArrayList<>();
         
         try (Connection conn = connectionDB.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
+            MemberRowMapper mapper = MemberRowMapper.forResultSet(rs);
             while (rs.next()) {
-                members.add(mapResultSetToMember(rs));
+                members.add(mapper.map(rs));
             }
             
             return members;
@@ -220,15 +226,184 @@ public class MemberRepositoryJDBC implements MemberRepository {
         }
     }
     
-    private Member mapResultSetToMember(ResultSet rs) throws SQLException {
-        Member member = new Member();
-        member.setId(rs.getLong("id"));
-        member.setName(rs.getString("name"));
-        member.setEmail(rs.getString("email"));
-        member.setMemberNumber(rs.getString("member_number"));
-        member.setStatus(MemberStatus.valueOf(rs.getString("status")));
-        member.setRegistrationDate(rs.getDate("registration_date").toLocalDate());
-        member.setRole(UserRole.MEMBER);
-        return member;
+    @Override
+    public MemberLoanCounts findLoanCounts(Long memberId) throws DatabaseException {
+        String sql = "SELECT active_loans, overdue_loans FROM members WHERE id = ?";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, memberId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new MemberLoanCounts(rs.getInt(1), rs.getInt(2));
+                }
+            }
+            
+            return new MemberLoanCounts(0, 0);
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading member loan counters", ex);
+            throw new DatabaseException("Error reading member loan counters", ex);
+        }
+    }
+    
+    @Override
+    public int refreshLoanCounts() throws DatabaseException {
+        String sql = "UPDATE members m " +
+                     "LEFT JOIN (SELECT member_id, COUNT(*) AS active, " +
+                     "SUM(expected_return_date < CURDATE()) AS overdue " +
+                     "FROM loans WHERE status IN ('ACTIVE', 'OVERDUE') GROUP BY member_id) c " +
+                     "ON c.member_id = m.id " +
+                     "SET m.active_loans = COALESCE(c.active, 0), m.overdue_loans = COALESCE(c.overdue, 0), " +
+                     "m.overdue_counted_on = CURDATE()";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int affectedRows = stmt.executeUpdate();
+            
+            LOGGER.info("Member loan counters refreshed: " + affectedRows + " members changed");
+            return affectedRows;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error refreshing member loan counters", ex);
+            throw new DatabaseException("Error refreshing member loan counters", ex);
+        }
+    }
+    
+    @Override
+    public List<Member> saveAll(List<Member> members) throws DatabaseException {
+        String sql = "INSERT INTO members (name, email, member_number, status, registration_date) " +
+                     "VALUES (?, ?, ?, ?, ?)";
+        
+        if (members.isEmpty()) {
+            return members;
+        }
+        
+        try (Connection conn = connectionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Member member : members) {
+                    stmt.setString(1, member.getName());
+                    stmt.setString(2, member.getEmail());
+                    stmt.setString(3, member.getMemberNumber());
+                    stmt.setString(4, member.getStatus().name());
+                    stmt.setDate(5, Date.valueOf(member.getRegistrationDate()));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    for (Member member : members) {
+                        if (generatedKeys.next()) {
+                            member.setId(generatedKeys.getLong(1));
+                        }
+                    }
+                }
+                
+                conn.commit();
+                LOGGER.info("Members saved: " + members.size());
+                return members;
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error saving members", ex);
+            throw new DatabaseException("Error saving members", ex);
+        }
+    }
+    
+    @Override
+    public void loadKeys(Set<String> memberNumbers, Set<String> emails) throws DatabaseException {
+        String sql = "SELECT member_number, email FROM members";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                memberNumbers.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                emails.add(rs.getString(2).toLowerCase(Locale.ROOT));
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error loading member keys", ex);
+            throw new DatabaseException("Error loading member keys", ex);
+        }
+    }
+    
+    @Override
+    public IdRange findIdRange() throws DatabaseException {
+        String sql = "SELECT MIN(id), MAX(id) FROM members";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                long min = rs.getLong(1);
+                if (!rs.wasNull()) {
+                    return new IdRange(min, rs.getLong(2));
+                }
+            }
+            return IdRange.EMPTY;
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading member ID range", ex);
+            throw new DatabaseException("Error reading member ID range", ex);
+        }
+    }
+    
+    @Override
+    public void streamByIdRange(IdRange range, RowCallback<Member> callback) throws DatabaseException, IOException {
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members WHERE id BETWEEN ? AND ? ORDER BY id";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setLong(1, range.getMin());
+            stmt.setLong(2, range.getMax());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                MemberRowMapper mapper = MemberRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    callback.accept(mapper.map(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming members", ex);
+            throw new DatabaseException("Error streaming members", ex);
+        }
+    }
+    
+    @Override
+    public void streamUpdatedSince(LocalDateTime since, RowCallback<Member> callback) throws DatabaseException, IOException {
+        String sql = "SELECT " + MemberRowMapper.COLUMNS + " FROM members WHERE updated_at >= ? ORDER BY updated_at, id";
+        
+        try (Connection conn = connectionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                MemberRowMapper mapper = MemberRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    callback.accept(mapper.map(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming updated members", ex);
+            throw new DatabaseException("Error streaming updated members", ex);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberStatus;
+import com.mycompany.libronova.domain.UserRole;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Index-based row mapper for the members table.
+ *
+ * @author Wilffren Muñoz
+ */
+final class MemberRowMapper implements RowMapper<Member> {
+
+    /** Columns read by {@link #forResultSet(ResultSet)}, in select order. */
+    static final String COLUMNS = "id, name, email, member_number, status, registration_date";
+
+    /** Member columns of the loan join; the id comes from loans.member_id. */
+    static final String JOINED_COLUMNS =
+            "m.name, m.email, m.member_number, m.status AS member_status, m.registration_date";
+
+    private final int id;
+    private final int name;
+    private final int email;
+    private final int memberNumber;
+    private final int status;
+    private final int registrationDate;
+
+    private MemberRowMapper(ResultSet rs, String idLabel, String statusLabel) throws SQLException {
+        this.id = rs.findColumn(idLabel);
+        this.name = rs.findColumn("name");
+        this.email = rs.findColumn("email");
+        this.memberNumber = rs.findColumn("member_number");
+        this.status = rs.findColumn(statusLabel);
+        this.registrationDate = rs.findColumn("registration_date");
+    }
+
+    /**
+     * Binds a mapper to a result set selecting {@link #COLUMNS}.
+     */
+    static MemberRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new MemberRowMapper(rs, "id", "status");
+    }
+
+    /**
+     * Binds a mapper to a loan join selecting {@link #JOINED_COLUMNS}.
+     */
+    static MemberRowMapper forLoanJoin(ResultSet rs) throws SQLException {
+        return new MemberRowMapper(rs, "member_id", "member_status");
+    }
+
+    @Override
+    public Member map(ResultSet rs) throws SQLException {
+        Member member = new Member();
+        member.setId(rs.getLong(id));
+        member.setName(rs.getString(name));
+        member.setEmail(rs.getString(email));
+        member.setMemberNumber(rs.getString(memberNumber));
+        String statusValue = rs.getString(status);
+        if (statusValue != null) {
+            member.setStatus(MemberStatus.valueOf(statusValue));
+        }
+        Date registered = rs.getDate(registrationDate);
+        if (registered != null) {
+            member.setRegistrationDate(registered.toLocalDate());
+        }
+        member.setRole(UserRole.MEMBER);
+        return member;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet to an object.
+ * Implementations resolve their column indices once when they are bound to
+ * a ResultSet and then read each column a single time per row by index.
+ *
+ * @param <T> the mapped type
+ * @author Wilffren Muñoz
+ */
+@FunctionalInterface
+interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,338 @@
+package com.mycompany.libronova.repository.offheap;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.DuplicateISBNException;
+import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.IdRange;
+import com.mycompany.libronova.repository.RowCallback;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.mycompany.libronova.repository.offheap.MappedCatalogFormat.*;
+
+/**
+ * Read-optimized BookRepository backed by a memory-mapped catalog file.
+ * Rows, strings and indexes live outside the heap; Book objects are only
+ * created for the rows a caller asks for. Opening a catalog just maps the
+ * file, so it is ready immediately at startup regardless of its size.
+ * Write operations are rejected; rebuild the file with MappedCatalogWriter.
+ * When catalog.mapped.file is set, the application seeds the catalog
+ * snapshot from this repository and rewrites the file on exit.
+ *
+ * @author Wilffren Muñoz
+ */
+public class MappedBookRepository implements BookRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(MappedBookRepository.class.getName());
+
+    private final Path file;
+    private final int recordCount;
+    private final int indexCapacity;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer dictOffsets;
+    private final MappedByteBuffer dictBytes;
+    private final MappedByteBuffer idIndex;
+    private final MappedByteBuffer isbnIndex;
+
+    private MappedBookRepository(Path file, int recordCount, int indexCapacity,
+                                 MappedByteBuffer records, MappedByteBuffer dictOffsets,
+                                 MappedByteBuffer dictBytes, MappedByteBuffer idIndex,
+                                 MappedByteBuffer isbnIndex) {
+        this.file = file;
+        this.recordCount = recordCount;
+        this.indexCapacity = indexCapacity;
+        this.records = records;
+        this.dictOffsets = dictOffsets;
+        this.dictBytes = dictBytes;
+        this.idIndex = idIndex;
+        this.isbnIndex = isbnIndex;
+    }
+
+    /**
+     * Maps an existing catalog file.
+     *
+     * @param file the catalog written by MappedCatalogWriter
+     * @return the repository
+     * @throws DatabaseException if the file is missing or not a catalog
+     */
+    public static MappedBookRepository open(Path file) throws DatabaseException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new DatabaseException("Not a catalog file: " + file);
+            }
+            MappedByteBuffer header = map(channel, 0, HEADER_SIZE);
+            if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION) {
+                throw new DatabaseException("Unsupported catalog file: " + file);
+            }
+            int recordCount = header.getInt(H_RECORD_COUNT);
+            int dictCount = header.getInt(H_DICT_COUNT);
+            int capacity = header.getInt(H_INDEX_CAPACITY);
+            long dictOffsetsPos = header.getLong(H_DICT_OFFSETS_POS);
+            long dictBytesPos = header.getLong(H_DICT_BYTES_POS);
+            long idIndexPos = header.getLong(H_ID_INDEX_POS);
+            long isbnIndexPos = header.getLong(H_ISBN_INDEX_POS);
+            long dictBytesLength = header.getLong(H_DICT_BYTES_LENGTH);
+
+            if (channel.size() < isbnIndexPos + (long) capacity * SLOT_SIZE) {
+                throw new DatabaseException("Truncated catalog file: " + file);
+            }
+
+            MappedBookRepository repository = new MappedBookRepository(file, recordCount, capacity,
+                    map(channel, HEADER_SIZE, (long) recordCount * RECORD_SIZE),
+                    map(channel, dictOffsetsPos, (long) (dictCount + 1) * Integer.BYTES),
+                    map(channel, dictBytesPos, dictBytesLength),
+                    map(channel, idIndexPos, (long) capacity * SLOT_SIZE),
+                    map(channel, isbnIndexPos, (long) capacity * SLOT_SIZE));
+
+            LOGGER.info("Mapped catalog opened: " + recordCount + " books from " + file);
+            return repository;
+
+        } catch (IOException ex) {
+            LOGGER.log(Level.SEVERE, "Error opening mapped catalog", ex);
+            throw new DatabaseException("Error opening mapped catalog", ex);
+        }
+    }
+
+    @Override
+    public Book save(Book book) throws DuplicateISBNException, DatabaseException {
+        throw readOnly();
+    }
+
+    @Override
+    public Book update(Book book) throws DatabaseException {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean deleteById(Long id) throws DatabaseException {
+        throw readOnly();
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) throws DatabaseException {
+        if (id == null) {
+            return Optional.empty();
+        }
+        int slot = slot(id, indexCapacity);
+        int row;
+        while ((row = idIndex.getInt(slot * SLOT_SIZE + 8)) != 0) {
+            if (idIndex.getLong(slot * SLOT_SIZE) == id) {
+                return Optional.of(readBook(row - 1));
+            }
+            slot = (slot + 1) & (indexCapacity - 1);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) throws DatabaseException {
+        int row = rowOfIsbn(isbn);
+        return row < 0 ? Optional.empty() : Optional.of(readBook(row));
+    }
+
+    @Override
+    public boolean existsByIsbn(String isbn) throws DatabaseException {
+        return rowOfIsbn(isbn) >= 0;
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) throws DatabaseException {
+        List<Book> books = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id).ifPresent(books::add);
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> findAll() throws DatabaseException {
+        List<Book> books = new ArrayList<>(recordCount);
+        for (int row = 0; row < recordCount; row++) {
+            books.add(readBook(row));
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> findUpdatedSince(LocalDateTime since) throws DatabaseException {
+        long threshold = since.toEpochSecond(ZoneOffset.UTC);
+        List<Book> books = new ArrayList<>();
+        for (int row = 0; row < recordCount; row++) {
+            long updatedAt = records.getLong(row * RECORD_SIZE + R_UPDATED_AT);
+            if (updatedAt != NULL_LONG && updatedAt >= threshold) {
+                books.add(readBook(row));
+            }
+        }
+        books.sort((a, b) -> a.getUpdatedAt().compareTo(b.getUpdatedAt()));
+        return books;
+    }
+
+    @Override
+    public List<Book> findByTitle(String title) throws DatabaseException {
+        String needle = title.toLowerCase();
+        List<Book> books = new ArrayList<>();
+        int lastRef = NULL_REF;
+        boolean lastMatch = false;
+        for (int row = 0; row < recordCount; row++) {
+            int ref = records.getInt(row * RECORD_SIZE + R_TITLE);
+            // Rows are sorted by title, so repeated titles are adjacent
+            if (ref != lastRef) {
+                lastRef = ref;
+                lastMatch = ref != NULL_REF && string(ref).toLowerCase().contains(needle);
+            }
+            if (lastMatch) {
+                books.add(readBook(row));
+            }
+        }
+        return books;
+    }
+
+    @Override
+    public IdRange findIdRange() throws DatabaseException {
+        if (recordCount == 0) {
+            return IdRange.EMPTY;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int row = 0; row < recordCount; row++) {
+            long id = records.getLong(row * RECORD_SIZE + R_ID);
+            min = Math.min(min, id);
+            max = Math.max(max, id);
+        }
+        return new IdRange(min, max);
+    }
+
+    @Override
+    public void streamByIdRange(IdRange range, RowCallback<Book> callback) throws DatabaseException, IOException {
+        // Rows are sorted by title; collect the matching rows and visit them in ID order
+        List<long[]> matches = new ArrayList<>();
+        for (int row = 0; row < recordCount; row++) {
+            long id = records.getLong(row * RECORD_SIZE + R_ID);
+            if (id >= range.getMin() && id <= range.getMax()) {
+                matches.add(new long[] {id, row});
+            }
+        }
+        matches.sort((a, b) -> Long.compare(a[0], b[0]));
+        for (long[] match : matches) {
+            callback.accept(readBook((int) match[1]));
+        }
+    }
+
+    @Override
+    public void streamUpdatedSince(LocalDateTime since, RowCallback<Book> callback)
+            throws DatabaseException, IOException {
+        for (Book book : findUpdatedSince(since)) {
+            callback.accept(book);
+        }
+    }
+
+    /**
+     * @return the number of books in the catalog
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * @return the mapped file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private int rowOfIsbn(String isbn) {
+        if (isbn == null) {
+            return -1;
+        }
+        byte[] bytes = isbn.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        int slot = slot(hash, indexCapacity);
+        int row;
+        while ((row = isbnIndex.getInt(slot * SLOT_SIZE + 8)) != 0) {
+            if (isbnIndex.getLong(slot * SLOT_SIZE) == hash
+                    && stringEquals(records.getInt((row - 1) * RECORD_SIZE + R_ISBN), bytes)) {
+                return row - 1;
+            }
+            slot = (slot + 1) & (indexCapacity - 1);
+        }
+        return -1;
+    }
+
+    private Book readBook(int row) {
+        int base = row * RECORD_SIZE;
+        Book book = new Book();
+        book.setId(records.getLong(base + R_ID));
+        book.setIsbn(string(records.getInt(base + R_ISBN)));
+        book.setTitle(string(records.getInt(base + R_TITLE)));
+        book.setAuthor(string(records.getInt(base + R_AUTHOR)));
+        book.setPublisher(string(records.getInt(base + R_PUBLISHER)));
+
+        int year = records.getInt(base + R_YEAR);
+        book.setYear(year != NULL_INT ? Year.of(year) : null);
+        int available = records.getInt(base + R_AVAILABLE);
+        book.setAvailableStock(available != NULL_INT ? available : null);
+        int total = records.getInt(base + R_TOTAL);
+        book.setTotalStock(total != NULL_INT ? total : null);
+        long updatedAt = records.getLong(base + R_UPDATED_AT);
+        if (updatedAt != NULL_LONG) {
+            book.setUpdatedAt(LocalDateTime.ofEpochSecond(updatedAt, 0, ZoneOffset.UTC));
+        }
+        return book;
+    }
+
+    private String string(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        int start = dictOffsets.getInt(ref * Integer.BYTES);
+        int end = dictOffsets.getInt((ref + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        dictBytes.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int ref, byte[] expected) {
+        if (ref == NULL_REF) {
+            return false;
+        }
+        int start = dictOffsets.getInt(ref * Integer.BYTES);
+        int end = dictOffsets.getInt((ref + 1) * Integer.BYTES);
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (dictBytes.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private DatabaseException readOnly() {
+        return new DatabaseException("Mapped catalog is read-only: " + file);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Catalog region exceeds 2 GB: " + length);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
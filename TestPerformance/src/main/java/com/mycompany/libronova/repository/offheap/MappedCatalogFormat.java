@@ -0,0 +1,94 @@
+package com.mycompany.libronova.repository.offheap;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout constants shared by MappedCatalogWriter and MappedBookRepository.
+ *
+ * <pre>
+ * header   64 bytes   magic, version, counts and region offsets
+ * records  n * 44     fixed-width rows sorted by title
+ * dict     (d+1) * 4  int offsets into the string bytes
+ * strings  UTF-8      deduplicated isbn, title, author and publisher values
+ * id index cap * 12   open addressing table: long id, int row + 1
+ * isbn idx cap * 12   open addressing table: long isbn hash, int row + 1
+ * </pre>
+ *
+ * @author Wilffren Muñoz
+ */
+final class MappedCatalogFormat {
+
+    static final int MAGIC = 0x4C4E4D43; // "LNMC"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    // Header fields
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_RECORD_COUNT = 8;
+    static final int H_DICT_COUNT = 12;
+    static final int H_INDEX_CAPACITY = 16;
+    static final int H_DICT_OFFSETS_POS = 24;
+    static final int H_DICT_BYTES_POS = 32;
+    static final int H_ID_INDEX_POS = 40;
+    static final int H_ISBN_INDEX_POS = 48;
+    static final int H_DICT_BYTES_LENGTH = 56;
+
+    // Record fields
+    static final int RECORD_SIZE = 44;
+    static final int R_ID = 0;
+    static final int R_UPDATED_AT = 8;
+    static final int R_YEAR = 16;
+    static final int R_AVAILABLE = 20;
+    static final int R_TOTAL = 24;
+    static final int R_ISBN = 28;
+    static final int R_TITLE = 32;
+    static final int R_AUTHOR = 36;
+    static final int R_PUBLISHER = 40;
+
+    // Index slots
+    static final int SLOT_SIZE = 12;
+
+    static final int NULL_REF = -1;
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+
+    private MappedCatalogFormat() {
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes of a string.
+     */
+    static long hash(String value) {
+        return hash(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Spreads a 64-bit key over the table; capacity is a power of two.
+     */
+    static int slot(long key, int capacity) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32)) & (capacity - 1);
+    }
+
+    static int indexCapacity(int records) {
+        int capacity = 16;
+        while (capacity < records * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+}
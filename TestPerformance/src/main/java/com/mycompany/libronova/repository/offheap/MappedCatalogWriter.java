@@ -0,0 +1,203 @@
+package com.mycompany.libronova.repository.offheap;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.repository.BookRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static com.mycompany.libronova.repository.offheap.MappedCatalogFormat.*;
+
+/**
+ * Builds the memory-mapped catalog file read by MappedBookRepository.
+ * The file is written next to the target and moved into place atomically,
+ * so readers never see a half-written catalog.
+ *
+ * @author Wilffren Muñoz
+ */
+public class MappedCatalogWriter {
+
+    private static final Logger LOGGER = Logger.getLogger(MappedCatalogWriter.class.getName());
+
+    private static final Comparator<Book> BY_TITLE = Comparator
+            .comparing(Book::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Book::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private MappedCatalogWriter() {
+    }
+
+    /**
+     * Snapshots every book of a repository into a catalog file.
+     *
+     * @param source the repository to read
+     * @param target the catalog file to create or replace
+     * @throws DatabaseException if the source cannot be read
+     * @throws IOException if the file cannot be written
+     */
+    public static void exportFrom(BookRepository source, Path target) throws DatabaseException, IOException {
+        write(source.findAll(), target);
+    }
+
+    /**
+     * Writes a catalog file.
+     *
+     * @param books the books to store; every book needs an ID
+     * @param target the catalog file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Collection<Book> books, Path target) throws IOException {
+        List<Book> sorted = new ArrayList<>(books);
+        sorted.sort(BY_TITLE);
+
+        // Dictionary-encode every string column
+        Map<String, Integer> refs = new HashMap<>();
+        List<Integer> offsets = new ArrayList<>();
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        int[][] columns = new int[sorted.size()][4];
+        for (int i = 0; i < sorted.size(); i++) {
+            Book book = sorted.get(i);
+            if (book.getId() == null) {
+                throw new IllegalArgumentException("Every book needs an ID: " + book);
+            }
+            columns[i][0] = ref(book.getIsbn(), refs, offsets, stringBytes);
+            columns[i][1] = ref(book.getTitle(), refs, offsets, stringBytes);
+            columns[i][2] = ref(book.getAuthor(), refs, offsets, stringBytes);
+            columns[i][3] = ref(book.getPublisher(), refs, offsets, stringBytes);
+        }
+        offsets.add(stringBytes.size());
+
+        int recordCount = sorted.size();
+        int capacity = indexCapacity(recordCount);
+        long recordsLength = (long) recordCount * RECORD_SIZE;
+        long dictOffsetsPos = align8(HEADER_SIZE + recordsLength);
+        long dictBytesPos = align8(dictOffsetsPos + (long) offsets.size() * Integer.BYTES);
+        long idIndexPos = align8(dictBytesPos + stringBytes.size());
+        long isbnIndexPos = align8(idIndexPos + (long) capacity * SLOT_SIZE);
+        long fileLength = isbnIndexPos + (long) capacity * SLOT_SIZE;
+        checkRegion(recordsLength);
+        checkRegion((long) capacity * SLOT_SIZE);
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            MappedByteBuffer header = map(channel, 0, HEADER_SIZE);
+            header.putInt(H_MAGIC, MAGIC);
+            header.putInt(H_VERSION, VERSION);
+            header.putInt(H_RECORD_COUNT, recordCount);
+            header.putInt(H_DICT_COUNT, offsets.size() - 1);
+            header.putInt(H_INDEX_CAPACITY, capacity);
+            header.putLong(H_DICT_OFFSETS_POS, dictOffsetsPos);
+            header.putLong(H_DICT_BYTES_POS, dictBytesPos);
+            header.putLong(H_ID_INDEX_POS, idIndexPos);
+            header.putLong(H_ISBN_INDEX_POS, isbnIndexPos);
+            header.putLong(H_DICT_BYTES_LENGTH, stringBytes.size());
+
+            MappedByteBuffer records = map(channel, HEADER_SIZE, recordsLength);
+            MappedByteBuffer idIndex = map(channel, idIndexPos, (long) capacity * SLOT_SIZE);
+            MappedByteBuffer isbnIndex = map(channel, isbnIndexPos, (long) capacity * SLOT_SIZE);
+
+            for (int row = 0; row < recordCount; row++) {
+                Book book = sorted.get(row);
+                int base = row * RECORD_SIZE;
+                records.putLong(base + R_ID, book.getId());
+                records.putLong(base + R_UPDATED_AT, book.getUpdatedAt() != null
+                        ? book.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) : NULL_LONG);
+                records.putInt(base + R_YEAR, book.getYear() != null ? book.getYear().getValue() : NULL_INT);
+                records.putInt(base + R_AVAILABLE, book.getAvailableStock() != null ? book.getAvailableStock() : NULL_INT);
+                records.putInt(base + R_TOTAL, book.getTotalStock() != null ? book.getTotalStock() : NULL_INT);
+                records.putInt(base + R_ISBN, columns[row][0]);
+                records.putInt(base + R_TITLE, columns[row][1]);
+                records.putInt(base + R_AUTHOR, columns[row][2]);
+                records.putInt(base + R_PUBLISHER, columns[row][3]);
+
+                insert(idIndex, capacity, book.getId(), row);
+                if (book.getIsbn() != null) {
+                    insert(isbnIndex, capacity, hash(book.getIsbn()), row);
+                }
+            }
+
+            MappedByteBuffer dictOffsets = map(channel, dictOffsetsPos, (long) offsets.size() * Integer.BYTES);
+            for (int i = 0; i < offsets.size(); i++) {
+                dictOffsets.putInt(i * Integer.BYTES, offsets.get(i));
+            }
+
+            if (stringBytes.size() > 0) {
+                MappedByteBuffer strings = map(channel, dictBytesPos, stringBytes.size());
+                strings.put(0, stringBytes.toByteArray());
+                strings.force();
+            }
+
+            records.force();
+            dictOffsets.force();
+            idIndex.force();
+            isbnIndex.force();
+            header.force();
+
+            if (channel.size() < fileLength) {
+                channel.truncate(fileLength);
+            }
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("Mapped catalog written: " + recordCount + " books, "
+                + (offsets.size() - 1) + " distinct strings, " + fileLength + " bytes");
+    }
+
+    private static int ref(String value, Map<String, Integer> refs, List<Integer> offsets,
+                           ByteArrayOutputStream stringBytes) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        Integer existing = refs.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if ((long) stringBytes.size() + bytes.length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("String dictionary exceeds 2 GB");
+        }
+        int ref = offsets.size();
+        offsets.add(stringBytes.size());
+        stringBytes.writeBytes(bytes);
+        refs.put(value, ref);
+        return ref;
+    }
+
+    private static void insert(MappedByteBuffer index, int capacity, long key, int row) {
+        int slot = slot(key, capacity);
+        while (index.getInt(slot * SLOT_SIZE + 8) != 0) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        index.putLong(slot * SLOT_SIZE, key);
+        index.putInt(slot * SLOT_SIZE + 8, row + 1);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static void checkRegion(long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Catalog region exceeds 2 GB: " + length);
+        }
+    }
+}
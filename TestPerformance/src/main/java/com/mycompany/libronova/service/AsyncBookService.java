@@ -0,0 +1,29 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.Book;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of BookService.
+ * Every call returns immediately; the future completes with the result
+ * or with the exception the blocking service would have thrown.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface AsyncBookService {
+    
+    CompletableFuture<Book> registerBook(Book book);
+    
+    CompletableFuture<Book> updateBook(Book book);
+    
+    CompletableFuture<Book> findBookById(Long id);
+    
+    CompletableFuture<Book> findBookByIsbn(String isbn);
+    
+    CompletableFuture<List<Book>> listAllBooks();
+    
+    CompletableFuture<List<Book>> findBooksByTitle(String title);
+    
+    CompletableFuture<Void> deleteBook(Long id);
+}
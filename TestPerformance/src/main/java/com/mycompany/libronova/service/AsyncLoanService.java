@@ -0,0 +1,46 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.BulkReturnReport;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanSummary;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of LoanService.
+ * Every call returns immediately; the future completes with the result
+ * or with the exception the blocking service would have thrown.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface AsyncLoanService {
+    
+    CompletableFuture<Loan> createLoan(Long bookId, Long memberId, int loanDays);
+    
+    CompletableFuture<Loan> createLoan(String requestKey, Long bookId, Long memberId, int loanDays);
+    
+    CompletableFuture<List<Loan>> createLoans(Long memberId, List<Long> bookIds, int loanDays);
+    
+    CompletableFuture<Loan> returnBook(Long loanId);
+    
+    CompletableFuture<Loan> returnBook(String requestKey, Long loanId);
+    
+    CompletableFuture<BulkReturnReport> returnBooks(Collection<Long> loanIds);
+    
+    CompletableFuture<Loan> findLoanById(Long id);
+    
+    CompletableFuture<List<Loan>> listAllLoans();
+    
+    CompletableFuture<List<Loan>> listActiveLoansByMember(Long memberId);
+    
+    CompletableFuture<List<Loan>> listLoanHistoryByMember(Long memberId);
+    
+    CompletableFuture<List<LoanSummary>> listLoanSummaries();
+    
+    CompletableFuture<List<Loan>> listOverdueLoans();
+    
+    CompletableFuture<Double> calculateFine(Long loanId);
+    
+    CompletableFuture<Double> calculateMemberFines(Long memberId);
+}
@@ -0,0 +1,31 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.Member;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of MemberService.
+ * Every call returns immediately; the future completes with the result
+ * or with the exception the blocking service would have thrown.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface AsyncMemberService {
+    
+    CompletableFuture<Member> registerMember(Member member);
+    
+    CompletableFuture<Member> updateMember(Member member);
+    
+    CompletableFuture<Member> findMemberById(Long id);
+    
+    CompletableFuture<Member> findMemberByNumber(String memberNumber);
+    
+    CompletableFuture<List<Member>> listAllMembers();
+    
+    CompletableFuture<List<Member>> listActiveMembers();
+    
+    CompletableFuture<Void> activateMember(Long id);
+    
+    CompletableFuture<Void> deactivateMember(Long id);
+}
@@ -0,0 +1,76 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.ActivityEvent;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for the write-behind user activity audit trail.
+ * Recording only enqueues the event; a background writer stores queued
+ * events in batches, so callers never wait for the database.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface AuditService {
+    
+    /**
+     * Queues an activity event. When the queue is full the event is
+     * dropped and counted rather than blocking the caller.
+     * 
+     * @param userId the user ID, or null for anonymous activity
+     * @param action the action performed
+     * @param details free-form details
+     * @return true if the event was queued
+     */
+    boolean record(String userId, String action, String details);
+    
+    /**
+     * Writes every queued event now.
+     * 
+     * @return number of events written
+     */
+    int flush();
+    
+    /**
+     * Finds the activity of a user within a time range, including events
+     * still queued.
+     * 
+     * @param userId the user ID
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return the events, oldest first
+     * @throws DatabaseException if database operation fails
+     */
+    List<ActivityEvent> findByUser(String userId, LocalDateTime from, LocalDateTime to) throws DatabaseException;
+    
+    /**
+     * @return events waiting to be written
+     */
+    int getQueueDepth();
+    
+    /**
+     * @return events dropped because the queue was full
+     */
+    long getDropped();
+    
+    /**
+     * @return events written to the database
+     */
+    long getWritten();
+    
+    /**
+     * @return events lost because their batch could not be written
+     */
+    long getFailed();
+    
+    /**
+     * Starts the background writer.
+     */
+    void start();
+    
+    /**
+     * Stops the background writer after writing what is queued.
+     */
+    void stop();
+}
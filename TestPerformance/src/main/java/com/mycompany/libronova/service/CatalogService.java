@@ -0,0 +1,59 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for the in-memory book catalog snapshot.
+ * Readers get an immutable list sorted by title without locks or database
+ * access; a background job keeps the snapshot up to date.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface CatalogService {
+    
+    /**
+     * Gets the current catalog snapshot sorted by title.
+     * Only the very first call touches the database.
+     * The returned books are shared and must be treated as read-only.
+     * 
+     * @return immutable list of all books
+     * @throws DatabaseException if the initial load fails
+     */
+    List<Book> getBooks() throws DatabaseException;
+    
+    /**
+     * Finds a book in the current snapshot.
+     * 
+     * @param id the book ID
+     * @return an Optional containing the book if present in the snapshot
+     * @throws DatabaseException if the initial load fails
+     */
+    Optional<Book> findById(Long id) throws DatabaseException;
+    
+    /**
+     * Applies rows changed since the last refresh and publishes a new snapshot.
+     * 
+     * @throws DatabaseException if database operation fails
+     */
+    void refresh() throws DatabaseException;
+    
+    /**
+     * Drops a deleted book from the snapshot.
+     * 
+     * @param id the book ID
+     */
+    void remove(Long id);
+    
+    /**
+     * Starts the periodic background refresh.
+     */
+    void start();
+    
+    /**
+     * Stops the periodic background refresh.
+     */
+    void stop();
+}
@@ -0,0 +1,22 @@
+package com.mycompany.libronova.service;
+
+/**
+ * Data sets covered by the delta and JSON Lines exports. Delta exports
+ * select rows by updated_at, so they only see changes committed within
+ * the export.delta.overlap.seconds window of being written.
+ * 
+ * @author Wilffren Muñoz
+ */
+public enum ExportEntity {
+    BOOKS("Books"),
+    MEMBERS("Members"),
+    LOANS("Loans");
+    
+    private final String displayName;
+    
+    ExportEntity(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() { return displayName; }
+}
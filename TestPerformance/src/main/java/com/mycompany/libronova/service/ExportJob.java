@@ -0,0 +1,68 @@
+package com.mycompany.libronova.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Handle of an export running in the background.
+ *
+ * @author Wilffren Muñoz
+ */
+public interface ExportJob {
+
+    /**
+     * States of an export job.
+     */
+    enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    long getId();
+
+    /**
+     * @return what the job exports, e.g. "Book catalog"
+     */
+    String getDescription();
+
+    Status getStatus();
+
+    /**
+     * @return rows written so far
+     */
+    long getRowsWritten();
+
+    /**
+     * @return expected number of rows, 0 while unknown
+     */
+    long getEstimatedTotal();
+
+    /**
+     * @return fraction of the estimated rows written, from 0 to 1
+     */
+    double getProgress();
+
+    /**
+     * Asks the job to stop. A running export stops at its next row and
+     * removes the partial file; a queued one never starts.
+     *
+     * @return false if the job had already finished
+     */
+    boolean cancel();
+
+    boolean isDone();
+
+    /**
+     * @return a future completed with the exported file name
+     */
+    CompletableFuture<String> getResult();
+
+    /**
+     * Registers a callback run once the job finishes, on the job thread.
+     * The callback gets the file name, or the failure; a cancelled job
+     * reports a CancellationException.
+     *
+     * @param callback the callback
+     * @return this job
+     */
+    ExportJob onCompletion(BiConsumer<String, Throwable> callback);
+}
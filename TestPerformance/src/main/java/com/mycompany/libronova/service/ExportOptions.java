@@ -0,0 +1,68 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.infra.config.AppConfig;
+import java.util.zip.Deflater;
+
+/**
+ * Settings of a large export: how many ID-range partitions are read
+ * and written in parallel, and whether the file is gzip-compressed.
+ *
+ * @author Wilffren Muñoz
+ */
+public final class ExportOptions {
+
+    private final int partitions;
+    private final boolean compressed;
+    private final int compressionLevel;
+
+    /**
+     * @param partitions number of ID ranges exported in parallel, 1 for a sequential export
+     */
+    public ExportOptions(int partitions) {
+        this(partitions, false, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param partitions number of ID ranges exported in parallel, 1 for a sequential export
+     * @param compressed true to write a .csv.gz file
+     * @param compressionLevel deflate level from 0 (fastest) to 9 (smallest), or -1 for the default
+     */
+    public ExportOptions(int partitions, boolean compressed, int compressionLevel) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be greater than 0");
+        }
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between -1 and 9");
+        }
+        this.partitions = partitions;
+        this.compressed = compressed;
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Builds the options from the export.* settings.
+     *
+     * @return the configured options
+     */
+    public static ExportOptions fromConfig() {
+        AppConfig config = AppConfig.getInstance();
+        return new ExportOptions(
+                config.getInt("export.partitions", 8),
+                Boolean.parseBoolean(config.getString("export.compress", "false")),
+                config.getInt("export.compression.level", Deflater.DEFAULT_COMPRESSION));
+    }
+
+    /**
+     * @param compressed true to write a .csv.gz file
+     * @return these options with compression switched on or off
+     */
+    public ExportOptions withCompression(boolean compressed) {
+        return new ExportOptions(partitions, compressed, compressionLevel);
+    }
+
+    public int getPartitions() { return partitions; }
+
+    public boolean isCompressed() { return compressed; }
+
+    public int getCompressionLevel() { return compressionLevel; }
+}
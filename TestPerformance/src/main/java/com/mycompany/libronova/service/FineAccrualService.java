@@ -0,0 +1,29 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+
+/**
+ * Service interface for the nightly fine accrual job.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface FineAccrualService {
+    
+    /**
+     * Brings the fine ledger up to date as of today.
+     * 
+     * @return number of ledger rows inserted or updated
+     * @throws DatabaseException if database operation fails
+     */
+    int accrueFines() throws DatabaseException;
+    
+    /**
+     * Starts the nightly accrual job.
+     */
+    void start();
+    
+    /**
+     * Stops the nightly accrual job.
+     */
+    void stop();
+}
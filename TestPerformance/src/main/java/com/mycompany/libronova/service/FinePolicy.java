@@ -0,0 +1,59 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.infra.config.AppConfig;
+
+/**
+ * Fine rules read from configuration: daily rate, grace period and cap.
+ * 
+ * @author Wilffren Muñoz
+ */
+public final class FinePolicy {
+    
+    private final double dailyRate;
+    private final int graceDays;
+    private final double maxFine;
+    
+    /**
+     * @param dailyRate amount charged per overdue day
+     * @param graceDays overdue days that are not charged
+     * @param maxFine upper bound of a single fine, 0 for no cap
+     */
+    public FinePolicy(double dailyRate, int graceDays, double maxFine) {
+        if (dailyRate < 0 || graceDays < 0 || maxFine < 0) {
+            throw new IllegalArgumentException("Fine policy values must not be negative");
+        }
+        this.dailyRate = dailyRate;
+        this.graceDays = graceDays;
+        this.maxFine = maxFine;
+    }
+    
+    /**
+     * Builds the policy from the prestamo.multa.* settings.
+     * 
+     * @return the configured policy
+     */
+    public static FinePolicy fromConfig() {
+        AppConfig config = AppConfig.getInstance();
+        return new FinePolicy(
+                config.getDouble("prestamo.multa.por.dia", 1.0),
+                config.getInt("prestamo.multa.dias.gracia", 0),
+                config.getDouble("prestamo.multa.maxima", 0));
+    }
+    
+    /**
+     * Calculates the fine for a number of overdue days.
+     * 
+     * @param overdueDays days past the expected return date
+     * @return the fine after grace period and cap
+     */
+    public double fineFor(long overdueDays) {
+        double fine = Math.max(0, overdueDays - graceDays) * dailyRate;
+        return maxFine > 0 ? Math.min(fine, maxFine) : fine;
+    }
+    
+    public double getDailyRate() { return dailyRate; }
+    
+    public int getGraceDays() { return graceDays; }
+    
+    public double getMaxFine() { return maxFine; }
+}
@@ -0,0 +1,122 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.EntityNotFoundException;
+import com.mycompany.libronova.exceptions.InactiveMemberException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for the holds waitlist of books with no available copy.
+ * Queues are persisted in the holds table and mirrored in memory, so
+ * queue and pickup lookups never hit the database.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface HoldService {
+    
+    /**
+     * Puts a member on the waitlist of a book.
+     * 
+     * @param bookId the book ID
+     * @param memberId the member ID
+     * @param priority higher values are served first
+     * @return the placed hold
+     * @throws EntityNotFoundException if book or member not found
+     * @throws InactiveMemberException if member is not active
+     * @throws DatabaseException if the book has copies, the member already
+     *         holds it, or the database operation fails
+     */
+    Hold placeHold(Long bookId, Long memberId, int priority)
+            throws EntityNotFoundException, InactiveMemberException, DatabaseException;
+    
+    /**
+     * Cancels a waiting or ready hold. A ready hold ends as EXPIRED and its
+     * copy is passed on to the next member, or back to stock, immediately.
+     * 
+     * @param holdId the hold ID
+     * @throws EntityNotFoundException if the hold is not open
+     * @throws DatabaseException if database operation fails
+     */
+    void cancelHold(Long holdId) throws EntityNotFoundException, DatabaseException;
+    
+    /**
+     * Gets the open holds of a book in queue order, ready holds first.
+     * 
+     * @param bookId the book ID
+     * @return the queue
+     */
+    List<Hold> getQueue(Long bookId);
+    
+    /**
+     * Finds the hold with a copy waiting for a member.
+     * 
+     * @param bookId the book ID
+     * @param memberId the member ID
+     * @return the ready hold, if any
+     */
+    Optional<Hold> findReadyHold(Long bookId, Long memberId);
+    
+    /**
+     * Lends the copy set aside for a ready hold. The hold is claimed and
+     * the loan saved in one transaction, whatever the in-memory queue says.
+     * 
+     * @param hold the ready hold
+     * @param loan the loan picking up the copy
+     * @param limit the borrowing limit to enforce
+     * @return the saved loan with generated ID
+     * @throws InsufficientStockException if the hold expired or was passed on meanwhile
+     * @throws LoanLimitExceededException if the member is over the limit or delinquent
+     * @throws DatabaseException if database operation fails
+     */
+    Loan fulfill(Hold hold, Loan loan, LoanLimit limit)
+            throws InsufficientStockException, LoanLimitExceededException, DatabaseException;
+    
+    /**
+     * Returns a loan and hands the copy to the head of the waitlist
+     * in the same transaction.
+     * 
+     * @param loan the active loan
+     * @return the hold that received the copy, if anyone was waiting
+     * @throws DatabaseException if the loan is not active or database operation fails
+     */
+    Optional<Hold> returnLoan(Loan loan) throws DatabaseException;
+    
+    /**
+     * Expires unclaimed ready holds in bulk and passes their copies on.
+     * 
+     * @return number of holds expired
+     * @throws DatabaseException if database operation fails
+     */
+    int expireHolds() throws DatabaseException;
+    
+    /**
+     * Moves copies sitting in stock to members waiting for them.
+     * 
+     * @return number of copies assigned
+     * @throws DatabaseException if database operation fails
+     */
+    int assignAvailableCopies() throws DatabaseException;
+    
+    /**
+     * Rebuilds the in-memory queues from the holds table.
+     * 
+     * @throws DatabaseException if database operation fails
+     */
+    void reload() throws DatabaseException;
+    
+    /**
+     * Loads the queues and starts the periodic expiry sweep.
+     */
+    void start();
+    
+    /**
+     * Stops the periodic expiry sweep.
+     */
+    void stop();
+}
@@ -0,0 +1,65 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import java.util.Optional;
+
+/**
+ * Service interface for client-supplied idempotency keys.
+ * A request claims its key with {@link #begin}, runs, and then either
+ * records its loan with {@link #complete} or frees the key with
+ * {@link #abandon}. Retries of a completed request get the recorded loan
+ * instead of running again.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface IdempotencyService {
+    
+    /**
+     * Claims a key or finds the result of an earlier request with it.
+     * 
+     * @param key the client-supplied key
+     * @param operation the operation the key is used for
+     * @return the loan ID recorded for the key, or empty if the caller
+     *         claimed the key and must run the request
+     * @throws DatabaseException if the key is in use by a request still in
+     *         progress or by another operation, or database operation fails
+     */
+    Optional<Long> begin(String key, String operation) throws DatabaseException;
+    
+    /**
+     * Records the result of a request that claimed a key.
+     * 
+     * @param key the client-supplied key
+     * @param operation the operation the key was claimed for
+     * @param loanId the created or returned loan
+     * @throws DatabaseException if database operation fails
+     */
+    void complete(String key, String operation, Long loanId) throws DatabaseException;
+    
+    /**
+     * Frees the key of a request that failed so it can be retried.
+     * Failures are logged; a key that cannot be freed expires with the
+     * retention period.
+     * 
+     * @param key the client-supplied key
+     */
+    void abandon(String key);
+    
+    /**
+     * Deletes keys older than the retention period.
+     * 
+     * @return number of keys deleted
+     * @throws DatabaseException if database operation fails
+     */
+    int purgeExpired() throws DatabaseException;
+    
+    /**
+     * Starts the hourly purge of expired keys.
+     */
+    void start();
+    
+    /**
+     * Stops the hourly purge of expired keys.
+     */
+    void stop();
+}
@@ -0,0 +1,30 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+
+/**
+ * Service interface for moving old returned loans out of the loans table.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface LoanArchiveService {
+    
+    /**
+     * Archives every returned loan older than the configured age.
+     * Loans are moved in batched transactional chunks.
+     * 
+     * @return total number of loans archived
+     * @throws DatabaseException if database operation fails
+     */
+    int archiveReturnedLoans() throws DatabaseException;
+    
+    /**
+     * Starts the daily archival job.
+     */
+    void start();
+    
+    /**
+     * Stops the daily archival job.
+     */
+    void stop();
+}
@@ -0,0 +1,50 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.domain.MemberLoanCounts;
+import com.mycompany.libronova.exceptions.DatabaseException;
+
+/**
+ * Service interface for per-member borrowing limits.
+ * Counters live in the members table and are changed by the checkout and
+ * return transactions themselves, so eligibility checks never scan the
+ * loans table.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface LoanLimitService {
+    
+    /**
+     * Gets the configured limit, enforced by the repositories when loans are saved.
+     * 
+     * @return the borrowing limit
+     */
+    LoanLimit getLimit();
+    
+    /**
+     * Gets the current counters of a member.
+     * 
+     * @param memberId the member ID
+     * @return active and overdue loan counts
+     * @throws DatabaseException if database operation fails
+     */
+    MemberLoanCounts getCounts(Long memberId) throws DatabaseException;
+    
+    /**
+     * Recomputes every counter from the loans table.
+     * 
+     * @return number of member rows changed
+     * @throws DatabaseException if database operation fails
+     */
+    int refreshCounts() throws DatabaseException;
+    
+    /**
+     * Starts the daily counter refresh, which also picks up newly overdue loans.
+     */
+    void start();
+    
+    /**
+     * Stops the daily counter refresh.
+     */
+    void stop();
+}
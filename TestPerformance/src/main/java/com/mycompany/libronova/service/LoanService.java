@@ -1,7 +1,10 @@
 package com.mycompany.libronova.service;
 
+import com.mycompany.libronova.domain.BulkReturnReport;
 import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanSummary;
 import com.mycompany.libronova.exceptions.*;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,10 +26,53 @@ public interface LoanService {
      * @throws EntityNotFoundException if book or member not found
      * @throws InactiveMemberException if member is not active
      * @throws InsufficientStockException if book is not available
+     * @throws LoanLimitExceededException if the member cannot borrow more books
      * @throws DatabaseException if database operation fails
      */
     Loan createLoan(Long bookId, Long memberId, int loanDays) 
-            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException, DatabaseException;
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException;
+    
+    /**
+     * Creates a loan at most once per idempotency key.
+     * A retry with the same key returns the loan created by the first
+     * attempt instead of lending another copy.
+     * 
+     * @param requestKey client-generated key of this request, or null
+     * @param bookId the book ID
+     * @param memberId the member ID
+     * @param loanDays number of days for the loan
+     * @return the created loan
+     * @throws EntityNotFoundException if book or member not found
+     * @throws InactiveMemberException if member is not active
+     * @throws InsufficientStockException if book is not available
+     * @throws LoanLimitExceededException if the member cannot borrow more books
+     * @throws DatabaseException if the key is in use by a request in progress
+     *         or database operation fails
+     */
+    Loan createLoan(String requestKey, Long bookId, Long memberId, int loanDays)
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException;
+    
+    /**
+     * Creates loans for several books borrowed together by one member.
+     * The member is validated once, all books are read with one query and
+     * the stock updates and loan inserts are committed as a single unit:
+     * either every loan is created or none is.
+     * 
+     * @param memberId the member ID
+     * @param bookIds the books to lend; a repeated ID lends several copies
+     * @param loanDays number of days for the loans
+     * @return the created loans in the order of bookIds
+     * @throws EntityNotFoundException if the member or any book is not found
+     * @throws InactiveMemberException if member is not active
+     * @throws InsufficientStockException if any book lacks enough copies
+     * @throws LoanLimitExceededException if the checkout would exceed the member's loan limit
+     * @throws DatabaseException if database operation fails
+     */
+    List<Loan> createLoans(Long memberId, List<Long> bookIds, int loanDays)
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException;
     
     /**
      * Processes a book return with transaction support.
@@ -39,6 +85,31 @@ public interface LoanService {
      */
     Loan returnBook(Long loanId) throws EntityNotFoundException, DatabaseException;
     
+    /**
+     * Processes a book return at most once per idempotency key.
+     * A retry with the same key returns the loan instead of failing
+     * because it is no longer active.
+     * 
+     * @param requestKey client-generated key of this request, or null
+     * @param loanId the loan ID
+     * @return the updated loan
+     * @throws EntityNotFoundException if loan not found
+     * @throws DatabaseException if the key is in use by a request in progress
+     *         or database operation fails
+     */
+    Loan returnBook(String requestKey, Long loanId) throws EntityNotFoundException, DatabaseException;
+    
+    /**
+     * Processes many returns at once, e.g. when draining the drop box.
+     * Loans that are missing or not active are reported instead of
+     * failing the whole batch.
+     * 
+     * @param loanIds the loans to return; duplicates are ignored
+     * @return the outcome of every submitted loan
+     * @throws DatabaseException if database operation fails
+     */
+    BulkReturnReport returnBooks(Collection<Long> loanIds) throws DatabaseException;
+    
     /**
      * Finds a loan by ID.
      * 
@@ -66,6 +137,26 @@ public interface LoanService {
      */
     List<Loan> listActiveLoansByMember(Long memberId) throws DatabaseException;
     
+    /**
+     * Lists archived loans for a member.
+     * Archived loans live in the history table and are only read on request.
+     * 
+     * @param memberId the member ID
+     * @return list of archived loans
+     * @throws DatabaseException if database operation fails
+     */
+    List<Loan> listLoanHistoryByMember(Long memberId) throws DatabaseException;
+    
+    /**
+     * Lists all loans as lightweight summaries.
+     * Preferred over listAllLoans for large listings that only show
+     * titles, names, dates and status.
+     * 
+     * @return list of loan summaries
+     * @throws DatabaseException if database operation fails
+     */
+    List<LoanSummary> listLoanSummaries() throws DatabaseException;
+    
     /**
      * Lists all overdue loans.
      * 
@@ -76,6 +167,8 @@ public interface LoanService {
     
     /**
      * Calculates fine for an overdue loan.
+     * When a fine ledger is configured the amount accrued by the last
+     * nightly run is returned with a single indexed read.
      * 
      * @param loanId the loan ID
      * @return fine amount
@@ -83,4 +176,15 @@ public interface LoanService {
      * @throws DatabaseException if database operation fails
      */
     double calculateFine(Long loanId) throws EntityNotFoundException, DatabaseException;
+    
+    /**
+     * Calculates the total fines of a member's active overdue loans.
+     * Amounts come from the fine ledger where it has accrued the loan and
+     * from the fine policy otherwise; fines of returned loans are not included.
+     * 
+     * @param memberId the member ID
+     * @return total fine amount, 0 if none
+     * @throws DatabaseException if database operation fails
+     */
+    double calculateMemberFines(Long memberId) throws DatabaseException;
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.mycompany.libronova.service;
 
 import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberImportReport;
 import com.mycompany.libronova.exceptions.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -85,4 +88,19 @@ public interface MemberService {
      * @throws DatabaseException if database operation fails
      */
     void deactivateMember(Long id) throws EntityNotFoundException, DatabaseException;
+    
+    /**
+     * Registers every valid member of a CSV file with columns name, email
+     * and member_number, plus optional status and registration_date.
+     * Rows with missing fields or a member number or email that is already
+     * registered, or repeated in the file, are skipped and listed in a
+     * rejection report written next to the file.
+     * 
+     * @param csvFile the CSV file, with a header row
+     * @return how many members were imported and which rows were rejected
+     * @throws ValidationException if a required column is missing
+     * @throws IOException if a file cannot be read or written
+     * @throws DatabaseException if database operation fails
+     */
+    MemberImportReport importMembers(Path csvFile) throws ValidationException, IOException, DatabaseException;
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.mycompany.libronova.service;
+
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.exceptions.DatabaseException;
+
+/**
+ * Service interface for due-date reminders.
+ * Each active loan has one pending reminder, fired a configured number
+ * of days before its expected return date.
+ * 
+ * @author Wilffren Muñoz
+ */
+public interface ReminderService {
+    
+    /**
+     * Schedules or reschedules the reminder of a loan.
+     * 
+     * @param loan the loan; loans that are not active are ignored
+     */
+    void loanCreated(Loan loan);
+    
+    /**
+     * Cancels the reminder of a loan.
+     * 
+     * @param loanId the loan ID
+     */
+    void loanReturned(Long loanId);
+    
+    /**
+     * Schedules reminders for every active loan whose reminder time is
+     * still ahead; earlier ones were sent before the last restart.
+     * 
+     * @return number of reminders scheduled
+     * @throws DatabaseException if database operation fails
+     */
+    int load() throws DatabaseException;
+    
+    /**
+     * Sends the reminders that came due since the last call. A batch the
+     * sink fails to deliver is kept and retried on the next tick.
+     * 
+     * @return number of reminders sent
+     */
+    int sendDue();
+    
+    /**
+     * @return number of pending reminders
+     */
+    int pending();
+    
+    /**
+     * Loads the active loans and starts sending reminders.
+     */
+    void start();
+    
+    /**
+     * Stops sending reminders.
+     */
+    void stop();
+}
@@ -1,7 +1,10 @@
 package com.mycompany.libronova.service;
 
+import com.mycompany.libronova.domain.ActivityEvent;
 import com.mycompany.libronova.exceptions.DatabaseException;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service interface for generating reports and exports.
@@ -37,6 +40,135 @@ public interface ReportService {
      */
     String exportAllLoans() throws DatabaseException, IOException;
     
+    /**
+     * Exports overdue loans to CSV, gzip-compressed if the options ask for it.
+     * 
+     * @param options the export settings
+     * @return the filename of the exported file
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if file operation fails
+     */
+    String exportOverdueLoans(ExportOptions options) throws DatabaseException, IOException;
+    
+    /**
+     * Exports the complete book catalog to CSV, streaming ID-range
+     * partitions in parallel. Rows are written in ID order, gzip-compressed
+     * if the options ask for it.
+     * 
+     * @param options the export settings
+     * @return the filename of the exported file
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if file operation fails
+     */
+    String exportBookCatalog(ExportOptions options) throws DatabaseException, IOException;
+    
+    /**
+     * Exports all loans to CSV, streaming ID-range partitions in parallel.
+     * Rows are written in ID order, gzip-compressed if the options ask for it.
+     * 
+     * @param options the export settings
+     * @return the filename of the exported file
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if file operation fails
+     */
+    String exportAllLoans(ExportOptions options) throws DatabaseException, IOException;
+    
+    /**
+     * Exports all loans to a binary columnar file for analytics, read back
+     * with LoanColumnReader. Columns are typed: IDs and epoch-day dates are
+     * delta-encoded, strings and status are dictionary-encoded, and rows
+     * are stored in ID order in row groups with footers.
+     * 
+     * @return the filename of the exported file
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if file operation fails
+     */
+    String exportLoansColumnar() throws DatabaseException, IOException;
+    
+    /**
+     * Exports the rows of a data set inserted, updated or deleted since
+     * the previous delta export, then moves its stored watermark forward.
+     * The first run exports every row. Each line starts with UPSERT or
+     * DELETE and the row ID; deleted rows only carry the ID. Each run
+     * re-reads a configured overlap window before the previous watermark,
+     * so consumers should apply the lines as idempotent upserts and
+     * deletes. A row written by a transaction that commits later than the
+     * overlap after stamping it is not exported.
+     * 
+     * @param entity the data set
+     * @param options the export settings
+     * @return the filename of the exported file
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if file operation fails
+     */
+    String exportDelta(ExportEntity entity, ExportOptions options) throws DatabaseException, IOException;
+    
+    /**
+     * Exports every row of a data set as JSON Lines, one object per line,
+     * streamed in ID order and gzip-compressed if the options ask for it.
+     * 
+     * @param entity the data set
+     * @param options the export settings
+     * @return the filename of the exported file
+     * @throws DatabaseException if database operation fails
+     * @throws IOException if file operation fails
+     */
+    String exportJsonLines(ExportEntity entity, ExportOptions options) throws DatabaseException, IOException;
+    
+    /**
+     * Submits a partitioned book catalog export as a background job.
+     * 
+     * @param options the export settings
+     * @return the job handle
+     */
+    ExportJob submitBookCatalogExport(ExportOptions options);
+    
+    /**
+     * Submits an overdue loans export as a background job.
+     * 
+     * @param options the export settings
+     * @return the job handle
+     */
+    ExportJob submitOverdueLoansExport(ExportOptions options);
+    
+    /**
+     * Submits a partitioned all loans export as a background job.
+     * 
+     * @param options the export settings
+     * @return the job handle
+     */
+    ExportJob submitAllLoansExport(ExportOptions options);
+    
+    /**
+     * Submits a columnar all loans export as a background job.
+     * 
+     * @return the job handle
+     */
+    ExportJob submitLoansColumnarExport();
+    
+    /**
+     * Submits a delta export as a background job.
+     * 
+     * @param entity the data set
+     * @param options the export settings
+     * @return the job handle
+     */
+    ExportJob submitDeltaExport(ExportEntity entity, ExportOptions options);
+    
+    /**
+     * Submits a JSON Lines export as a background job.
+     * 
+     * @param entity the data set
+     * @param options the export settings
+     * @return the job handle
+     */
+    ExportJob submitJsonLinesExport(ExportEntity entity, ExportOptions options);
+    
+    /**
+     * @return running, queued and recently finished export jobs, oldest first
+     */
+    List<ExportJob> getExportJobs();
+    
     /**
      * Logs user activity for audit purposes.
      * 
@@ -54,4 +186,15 @@ public interface ReportService {
      * @param exception the exception (optional)
      */
     void logSystemError(String component, String error, Throwable exception);
+    
+    /**
+     * Finds the logged activity of a user within a time range.
+     * 
+     * @param userId the user ID
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return the activity, oldest first; empty if no audit trail is kept
+     * @throws DatabaseException if database operation fails
+     */
+    List<ActivityEvent> findUserActivity(String userId, LocalDateTime from, LocalDateTime to) throws DatabaseException;
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.service.AsyncBookService;
+import com.mycompany.libronova.service.BookService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncBookService that runs a blocking BookService on virtual threads.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class AsyncBookServiceImpl implements AsyncBookService {
+    
+    private final BookService bookService;
+    private final AsyncExecutor executor;
+    
+    public AsyncBookServiceImpl(BookService bookService, AsyncExecutor executor) {
+        this.bookService = bookService;
+        this.executor = executor;
+    }
+    
+    @Override
+    public CompletableFuture<Book> registerBook(Book book) {
+        return executor.submit(() -> bookService.registerBook(book));
+    }
+    
+    @Override
+    public CompletableFuture<Book> updateBook(Book book) {
+        return executor.submit(() -> bookService.updateBook(book));
+    }
+    
+    @Override
+    public CompletableFuture<Book> findBookById(Long id) {
+        return executor.submit(() -> bookService.findBookById(id));
+    }
+    
+    @Override
+    public CompletableFuture<Book> findBookByIsbn(String isbn) {
+        return executor.submit(() -> bookService.findBookByIsbn(isbn));
+    }
+    
+    @Override
+    public CompletableFuture<List<Book>> listAllBooks() {
+        return executor.submit(bookService::listAllBooks);
+    }
+    
+    @Override
+    public CompletableFuture<List<Book>> findBooksByTitle(String title) {
+        return executor.submit(() -> bookService.findBooksByTitle(title));
+    }
+    
+    @Override
+    public CompletableFuture<Void> deleteBook(Long id) {
+        return executor.submit(() -> {
+            bookService.deleteBook(id);
+            return null;
+        });
+    }
+}
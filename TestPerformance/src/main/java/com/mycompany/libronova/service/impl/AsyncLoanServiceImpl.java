@@ -0,0 +1,97 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.BulkReturnReport;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanSummary;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.service.AsyncLoanService;
+import com.mycompany.libronova.service.LoanService;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncLoanService that runs a blocking LoanService on virtual threads.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class AsyncLoanServiceImpl implements AsyncLoanService {
+    
+    private final LoanService loanService;
+    private final AsyncExecutor executor;
+    
+    public AsyncLoanServiceImpl(LoanService loanService, AsyncExecutor executor) {
+        this.loanService = loanService;
+        this.executor = executor;
+    }
+    
+    @Override
+    public CompletableFuture<Loan> createLoan(Long bookId, Long memberId, int loanDays) {
+        return executor.submit(() -> loanService.createLoan(bookId, memberId, loanDays));
+    }
+    
+    @Override
+    public CompletableFuture<Loan> createLoan(String requestKey, Long bookId, Long memberId, int loanDays) {
+        return executor.submit(() -> loanService.createLoan(requestKey, bookId, memberId, loanDays));
+    }
+    
+    @Override
+    public CompletableFuture<List<Loan>> createLoans(Long memberId, List<Long> bookIds, int loanDays) {
+        return executor.submit(() -> loanService.createLoans(memberId, bookIds, loanDays));
+    }
+    
+    @Override
+    public CompletableFuture<Loan> returnBook(Long loanId) {
+        return executor.submit(() -> loanService.returnBook(loanId));
+    }
+    
+    @Override
+    public CompletableFuture<Loan> returnBook(String requestKey, Long loanId) {
+        return executor.submit(() -> loanService.returnBook(requestKey, loanId));
+    }
+    
+    @Override
+    public CompletableFuture<BulkReturnReport> returnBooks(Collection<Long> loanIds) {
+        return executor.submit(() -> loanService.returnBooks(loanIds));
+    }
+    
+    @Override
+    public CompletableFuture<Loan> findLoanById(Long id) {
+        return executor.submit(() -> loanService.findLoanById(id));
+    }
+    
+    @Override
+    public CompletableFuture<List<Loan>> listAllLoans() {
+        return executor.submit(loanService::listAllLoans);
+    }
+    
+    @Override
+    public CompletableFuture<List<Loan>> listActiveLoansByMember(Long memberId) {
+        return executor.submit(() -> loanService.listActiveLoansByMember(memberId));
+    }
+    
+    @Override
+    public CompletableFuture<List<Loan>> listLoanHistoryByMember(Long memberId) {
+        return executor.submit(() -> loanService.listLoanHistoryByMember(memberId));
+    }
+    
+    @Override
+    public CompletableFuture<List<LoanSummary>> listLoanSummaries() {
+        return executor.submit(loanService::listLoanSummaries);
+    }
+    
+    @Override
+    public CompletableFuture<List<Loan>> listOverdueLoans() {
+        return executor.submit(loanService::listOverdueLoans);
+    }
+    
+    @Override
+    public CompletableFuture<Double> calculateFine(Long loanId) {
+        return executor.submit(() -> loanService.calculateFine(loanId));
+    }
+    
+    @Override
+    public CompletableFuture<Double> calculateMemberFines(Long memberId) {
+        return executor.submit(() -> loanService.calculateMemberFines(memberId));
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.service.AsyncMemberService;
+import com.mycompany.libronova.service.MemberService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncMemberService that runs a blocking MemberService on virtual threads.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class AsyncMemberServiceImpl implements AsyncMemberService {
+    
+    private final MemberService memberService;
+    private final AsyncExecutor executor;
+    
+    public AsyncMemberServiceImpl(MemberService memberService, AsyncExecutor executor) {
+        this.memberService = memberService;
+        this.executor = executor;
+    }
+    
+    @Override
+    public CompletableFuture<Member> registerMember(Member member) {
+        return executor.submit(() -> memberService.registerMember(member));
+    }
+    
+    @Override
+    public CompletableFuture<Member> updateMember(Member member) {
+        return executor.submit(() -> memberService.updateMember(member));
+    }
+    
+    @Override
+    public CompletableFuture<Member> findMemberById(Long id) {
+        return executor.submit(() -> memberService.findMemberById(id));
+    }
+    
+    @Override
+    public CompletableFuture<Member> findMemberByNumber(String memberNumber) {
+        return executor.submit(() -> memberService.findMemberByNumber(memberNumber));
+    }
+    
+    @Override
+    public CompletableFuture<List<Member>> listAllMembers() {
+        return executor.submit(memberService::listAllMembers);
+    }
+    
+    @Override
+    public CompletableFuture<List<Member>> listActiveMembers() {
+        return executor.submit(memberService::listActiveMembers);
+    }
+    
+    @Override
+    public CompletableFuture<Void> activateMember(Long id) {
+        return executor.submit(() -> {
+            memberService.activateMember(id);
+            return null;
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Void> deactivateMember(Long id) {
+        return executor.submit(() -> {
+            memberService.deactivateMember(id);
+            return null;
+        });
+    }
+}
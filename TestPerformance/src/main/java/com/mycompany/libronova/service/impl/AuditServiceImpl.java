@@ -0,0 +1,190 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.ActivityEvent;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.ActivityRepository;
+import com.mycompany.libronova.service.AuditService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of AuditService backed by a bounded queue.
+ * The writer flushes every few seconds, or as soon as a full batch is
+ * queued, with one batched INSERT per batch. A full queue drops new
+ * events instead of slowing down the code that records them; the drop
+ * count is exposed so the backlog can be monitored.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class AuditServiceImpl implements AuditService {
+    
+    private static final Logger LOGGER = Logger.getLogger(AuditServiceImpl.class.getName());
+    private static final int MAX_USER_LENGTH = 50;
+    private static final int MAX_ACTION_LENGTH = 50;
+    
+    private final ActivityRepository activityRepository;
+    private final BlockingQueue<ActivityEvent> queue;
+    private final int batchSize;
+    private final long flushMillis;
+    
+    // Serializes flushes so batches are written in queue order
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private long droppedReported;
+    
+    private ScheduledExecutorService scheduler;
+    
+    public AuditServiceImpl(ActivityRepository activityRepository) {
+        this(activityRepository,
+             AppConfig.getInstance().getInt("audit.queue.capacity", 10000),
+             AppConfig.getInstance().getInt("audit.batch.size", 200),
+             AppConfig.getInstance().getInt("audit.flush.millis", 1000));
+    }
+    
+    public AuditServiceImpl(ActivityRepository activityRepository, int capacity, int batchSize, long flushMillis) {
+        if (capacity <= 0 || batchSize <= 0 || flushMillis <= 0) {
+            throw new IllegalArgumentException("Capacity, batch size and flush interval must be greater than 0");
+        }
+        this.activityRepository = activityRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushMillis = flushMillis;
+    }
+    
+    @Override
+    public boolean record(String userId, String action, String details) {
+        ActivityEvent event = new ActivityEvent(null,
+                truncate(userId != null ? userId : "ANONYMOUS", MAX_USER_LENGTH),
+                truncate(action, MAX_ACTION_LENGTH), details, LocalDateTime.now());
+        
+        if (!queue.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        
+        // A full batch is written right away instead of waiting for the timer
+        if (queue.size() >= batchSize) {
+            requestFlush();
+        }
+        return true;
+    }
+    
+    @Override
+    public int flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            reportDropped();
+            
+            int total = 0;
+            List<ActivityEvent> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                try {
+                    activityRepository.saveAll(batch);
+                    written.add(batch.size());
+                    total += batch.size();
+                } catch (DatabaseException | RuntimeException ex) {
+                    // Requeueing would retry forever while the database is down
+                    failed.add(batch.size());
+                    LOGGER.log(Level.SEVERE, "Could not write " + batch.size() + " audit events", ex);
+                }
+                batch.clear();
+            }
+            return total;
+        }
+    }
+    
+    @Override
+    public List<ActivityEvent> findByUser(String userId, LocalDateTime from, LocalDateTime to)
+            throws DatabaseException {
+        // Queued events would otherwise be missing from the result
+        flush();
+        return activityRepository.findByUser(userId, from, to);
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+    
+    @Override
+    public long getDropped() {
+        return dropped.sum();
+    }
+    
+    @Override
+    public long getWritten() {
+        return written.sum();
+    }
+    
+    @Override
+    public long getFailed() {
+        return failed.sum();
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        
+        LOGGER.info("Audit writer started, batches of " + batchSize + " every " + flushMillis + " ms");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+            LOGGER.info("Audit writer stopped");
+        }
+        flush();
+    }
+    
+    private void requestFlush() {
+        // One pending flush is enough however many recorders hit the threshold
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.execute(this::flush);
+            } else {
+                flushRequested.set(false);
+            }
+        }
+    }
+    
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > droppedReported) {
+            LOGGER.warning("Audit queue full, " + (total - droppedReported) + " events dropped");
+            droppedReported = total;
+        }
+    }
+    
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
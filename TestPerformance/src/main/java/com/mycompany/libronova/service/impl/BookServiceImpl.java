@@ -2,11 +2,15 @@ package com.mycompany.libronova.service.impl;
 
 import com.mycompany.libronova.domain.Book;
 import com.mycompany.libronova.exceptions.*;
+import com.mycompany.libronova.infra.cache.NegativeLookupCache;
+import com.mycompany.libronova.infra.config.AppConfig;
 import com.mycompany.libronova.infra.config.LoggingConfig;
 import com.mycompany.libronova.repository.BookRepository;
 import com.mycompany.libronova.service.BookService;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
@@ -18,9 +22,17 @@ public class BookServiceImpl implements BookService {
     
     private static final Logger LOGGER = LoggingConfig.getLogger(BookServiceImpl.class);
     private final BookRepository bookRepository;
+    private final NegativeLookupCache<String> missingIsbns;
     
     public BookServiceImpl(BookRepository bookRepository) {
+        this(bookRepository, new NegativeLookupCache<>(
+                Duration.ofSeconds(AppConfig.getInstance().getInt("cache.negative.ttl.seconds", 30)),
+                AppConfig.getInstance().getInt("cache.negative.max", 10000)));
+    }
+    
+    public BookServiceImpl(BookRepository bookRepository, NegativeLookupCache<String> missingIsbns) {
         this.bookRepository = bookRepository;
+        this.missingIsbns = missingIsbns;
     }
     
     @Override
@@ -34,6 +46,7 @@ public class BookServiceImpl implements BookService {
             
             LOGGER.info("Registering book: " + book.getIsbn());
             Book savedBook = bookRepository.save(book);
+            missingIsbns.invalidate(book.getIsbn());
             LOGGER.info("Book registered successfully: " + savedBook.getId());
             return savedBook;
         } catch (Exception e) {
@@ -59,7 +72,9 @@ public class BookServiceImpl implements BookService {
         }
         
         LOGGER.info("Updating book: " + book.getId());
-        return bookRepository.update(book);
+        Book updatedBook = bookRepository.update(book);
+        missingIsbns.invalidate(book.getIsbn());
+        return updatedBook;
     }
     
     @Override
@@ -70,8 +85,18 @@ public class BookServiceImpl implements BookService {
     
     @Override
     public Book findBookByIsbn(String isbn) throws EntityNotFoundException, DatabaseException {
-        return bookRepository.findByIsbn(isbn)
-                .orElseThrow(() -> new EntityNotFoundException("Book", isbn));
+        // Repeated misses are answered without a database round trip
+        if (missingIsbns.isKnownMissing(isbn)) {
+            throw new EntityNotFoundException("Book", isbn);
+        }
+        
+        long lookupGeneration = missingIsbns.generation();
+        Optional<Book> book = bookRepository.findByIsbn(isbn);
+        if (book.isEmpty()) {
+            missingIsbns.recordMiss(isbn, lookupGeneration);
+            throw new EntityNotFoundException("Book", isbn);
+        }
+        return book.get();
     }
     
     @Override
@@ -0,0 +1,273 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.service.CatalogService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copy-on-write implementation of CatalogService.
+ * The catalog is loaded once, then refreshed by polling books.updated_at
+ * for rows changed since the last high-water mark. Each refresh builds a
+ * new immutable snapshot and publishes it with a single atomic swap, so
+ * readers always see a consistent list. A periodic full reload picks up
+ * books deleted by other clients. The first load can come from a startup
+ * snapshot, such as a mapped catalog file, instead of the database.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class CatalogServiceImpl implements CatalogService {
+    
+    private static final Logger LOGGER = Logger.getLogger(CatalogServiceImpl.class.getName());
+    
+    // updated_at has second precision and is stamped before commit, so
+    // each poll re-reads a short window to catch late committers
+    private static final long WATERMARK_OVERLAP_SECONDS = 5;
+    
+    private static final Comparator<Book> BY_TITLE = Comparator
+            .comparing(Book::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Book::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    
+    private final BookRepository bookRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final int refreshSeconds;
+    private final long fullReloadNanos;
+    private ScheduledExecutorService scheduler;
+    
+    // Optional startup snapshot; without it the first load reads bookRepository
+    private BookRepository startupSnapshot;
+    
+    /**
+     * Immutable published state.
+     */
+    private static final class Snapshot {
+        final List<Book> books;
+        final Map<Long, Book> byId;
+        final LocalDateTime watermark;
+        final long fullLoadNanos;
+        
+        Snapshot(List<Book> books, Map<Long, Book> byId, LocalDateTime watermark, long fullLoadNanos) {
+            this.books = books;
+            this.byId = byId;
+            this.watermark = watermark;
+            this.fullLoadNanos = fullLoadNanos;
+        }
+    }
+    
+    public CatalogServiceImpl(BookRepository bookRepository) {
+        this(bookRepository,
+             AppConfig.getInstance().getInt("catalog.refresh.seconds", 5),
+             AppConfig.getInstance().getInt("catalog.full.reload.minutes", 15));
+    }
+    
+    public CatalogServiceImpl(BookRepository bookRepository, int refreshSeconds, int fullReloadMinutes) {
+        if (refreshSeconds <= 0 || fullReloadMinutes <= 0) {
+            throw new IllegalArgumentException("Refresh intervals must be greater than 0");
+        }
+        this.bookRepository = bookRepository;
+        this.refreshSeconds = refreshSeconds;
+        this.fullReloadNanos = TimeUnit.MINUTES.toNanos(fullReloadMinutes);
+    }
+    
+    /**
+     * Loads the first catalog from a snapshot instead of the database.
+     * Later refreshes poll the database for rows changed since the newest
+     * updated_at of the snapshot, and the next full reload drops books
+     * deleted after it was taken.
+     * 
+     * @param startupSnapshot repository read once for the first load
+     */
+    public synchronized void setStartupSnapshot(BookRepository startupSnapshot) {
+        this.startupSnapshot = startupSnapshot;
+    }
+    
+    @Override
+    public List<Book> getBooks() throws DatabaseException {
+        return current().books;
+    }
+    
+    @Override
+    public Optional<Book> findById(Long id) throws DatabaseException {
+        return Optional.ofNullable(current().byId.get(id));
+    }
+    
+    @Override
+    public synchronized void refresh() throws DatabaseException {
+        Snapshot current = snapshot.get();
+        if (current == null && startupSnapshot != null) {
+            BookRepository source = startupSnapshot;
+            startupSnapshot = null;
+            reload(source);
+            return;
+        }
+        if (current == null || current.watermark == null
+                || System.nanoTime() - current.fullLoadNanos >= fullReloadNanos) {
+            reload(bookRepository);
+            return;
+        }
+        
+        List<Book> changed = bookRepository.findUpdatedSince(
+                current.watermark.minusSeconds(WATERMARK_OVERLAP_SECONDS));
+        
+        List<Book> modified = new ArrayList<>();
+        LocalDateTime watermark = current.watermark;
+        for (Book book : changed) {
+            if (!sameContent(current.byId.get(book.getId()), book)) {
+                modified.add(book);
+            }
+            watermark = later(watermark, book.getUpdatedAt());
+        }
+        
+        if (modified.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, Book> byId = new HashMap<>(current.byId);
+        Set<Long> modifiedIds = new HashSet<>();
+        for (Book book : modified) {
+            byId.put(book.getId(), book);
+            modifiedIds.add(book.getId());
+        }
+        
+        modified.sort(BY_TITLE);
+        List<Book> books = merge(current.books, modifiedIds, modified);
+        snapshot.set(new Snapshot(books, Collections.unmodifiableMap(byId), watermark, current.fullLoadNanos));
+        
+        LOGGER.fine("Catalog refreshed: " + modified.size() + " books changed");
+    }
+    
+    @Override
+    public synchronized void remove(Long id) {
+        Snapshot current = snapshot.get();
+        if (current == null || !current.byId.containsKey(id)) {
+            return;
+        }
+        
+        Map<Long, Book> byId = new HashMap<>(current.byId);
+        byId.remove(id);
+        List<Book> books = new ArrayList<>(current.books.size());
+        for (Book book : current.books) {
+            if (!id.equals(book.getId())) {
+                books.add(book);
+            }
+        }
+        snapshot.set(new Snapshot(Collections.unmodifiableList(books), Collections.unmodifiableMap(byId),
+                current.watermark, current.fullLoadNanos));
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.WARNING, "Catalog refresh failed", ex);
+            }
+        }, 0, refreshSeconds, TimeUnit.SECONDS);
+        
+        LOGGER.info("Catalog refresh started every " + refreshSeconds + "s");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Catalog refresh stopped");
+        }
+    }
+    
+    private Snapshot current() throws DatabaseException {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+    
+    private void reload(BookRepository source) throws DatabaseException {
+        List<Book> books = new ArrayList<>(source.findAll());
+        Map<Long, Book> byId = new HashMap<>(books.size() * 2);
+        LocalDateTime watermark = null;
+        for (Book book : books) {
+            byId.put(book.getId(), book);
+            watermark = later(watermark, book.getUpdatedAt());
+        }
+        books.sort(BY_TITLE);
+        
+        snapshot.set(new Snapshot(Collections.unmodifiableList(books), Collections.unmodifiableMap(byId),
+                watermark, System.nanoTime()));
+        LOGGER.info("Catalog loaded: " + books.size() + " books");
+    }
+    
+    /**
+     * Merges freshly changed books into the previous sorted list in one pass.
+     */
+    private static List<Book> merge(List<Book> previous, Set<Long> replacedIds, List<Book> sortedChanges) {
+        List<Book> merged = new ArrayList<>(previous.size() + sortedChanges.size());
+        int next = 0;
+        for (Book book : previous) {
+            if (replacedIds.contains(book.getId())) {
+                continue;
+            }
+            while (next < sortedChanges.size() && BY_TITLE.compare(sortedChanges.get(next), book) < 0) {
+                merged.add(sortedChanges.get(next++));
+            }
+            merged.add(book);
+        }
+        while (next < sortedChanges.size()) {
+            merged.add(sortedChanges.get(next++));
+        }
+        return Collections.unmodifiableList(merged);
+    }
+    
+    private static boolean sameContent(Book a, Book b) {
+        return a != null
+                && Objects.equals(a.getUpdatedAt(), b.getUpdatedAt())
+                && Objects.equals(a.getAvailableStock(), b.getAvailableStock())
+                && Objects.equals(a.getTotalStock(), b.getTotalStock())
+                && Objects.equals(a.getIsbn(), b.getIsbn())
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getAuthor(), b.getAuthor())
+                && Objects.equals(a.getPublisher(), b.getPublisher())
+                && Objects.equals(a.getYear(), b.getYear());
+    }
+    
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return b.isAfter(a) ? b : a;
+    }
+}
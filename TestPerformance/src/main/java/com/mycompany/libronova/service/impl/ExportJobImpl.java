@@ -0,0 +1,118 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.service.ExportJob;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * ExportJob whose progress is reported by the export itself.
+ * Partitions of a parallel export report rows concurrently, so the row
+ * count is a LongAdder and cancellation a flag checked on every row.
+ *
+ * @author Wilffren Muñoz
+ */
+class ExportJobImpl implements ExportJob, ExportProgress {
+
+    private final long id;
+    private final String description;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private final LongAdder rowsWritten = new LongAdder();
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private volatile long estimatedTotal;
+    private volatile boolean cancelRequested;
+
+    ExportJobImpl(long id, String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    @Override
+    public long getId() { return id; }
+
+    @Override
+    public String getDescription() { return description; }
+
+    @Override
+    public Status getStatus() { return status.get(); }
+
+    @Override
+    public long getRowsWritten() { return rowsWritten.sum(); }
+
+    @Override
+    public long getEstimatedTotal() { return estimatedTotal; }
+
+    @Override
+    public double getProgress() {
+        if (status.get() == Status.COMPLETED) {
+            return 1;
+        }
+        long total = estimatedTotal;
+        return total <= 0 ? 0 : Math.min(1, (double) rowsWritten.sum() / total);
+    }
+
+    @Override
+    public boolean cancel() {
+        if (result.isDone()) {
+            return false;
+        }
+        cancelRequested = true;
+        // A queued job is finished here; a running one finishes when the export notices
+        if (status.compareAndSet(Status.QUEUED, Status.CANCELLED)) {
+            result.completeExceptionally(new CancellationException("Export cancelled: " + description));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isDone() { return result.isDone(); }
+
+    @Override
+    public CompletableFuture<String> getResult() { return result; }
+
+    @Override
+    public ExportJob onCompletion(BiConsumer<String, Throwable> callback) {
+        result.whenComplete((fileName, error) -> callback.accept(fileName,
+                error != null ? AsyncExecutor.unwrap(error) : null));
+        return this;
+    }
+
+    @Override
+    public void setEstimatedTotal(long rows) {
+        this.estimatedTotal = rows;
+    }
+
+    @Override
+    public void rowWritten() {
+        if (cancelRequested) {
+            throw new CancellationException("Export cancelled: " + description);
+        }
+        rowsWritten.increment();
+    }
+
+    /**
+     * @return false if the job was cancelled before it started
+     */
+    boolean markRunning() {
+        return status.compareAndSet(Status.QUEUED, Status.RUNNING);
+    }
+
+    void complete(String fileName) {
+        status.set(Status.COMPLETED);
+        result.complete(fileName);
+    }
+
+    void fail(Throwable error) {
+        status.set(error instanceof CancellationException ? Status.CANCELLED : Status.FAILED);
+        result.completeExceptionally(error);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExportJob{id=%d, %s, %s, rows=%d/%d}",
+                id, description, status.get(), rowsWritten.sum(), estimatedTotal);
+    }
+}
@@ -0,0 +1,164 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.service.ExportJob;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs exports as background jobs and keeps a registry of them.
+ * A fixed number of threads take jobs from a bounded queue, so several
+ * exports can overlap without an unbounded number of them competing for
+ * the database; submitting to a full queue is rejected. Finished jobs
+ * stay in the registry until newer ones push them out.
+ *
+ * @author Wilffren Muñoz
+ */
+public class ExportJobRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportJobRunner.class.getName());
+
+    /**
+     * Export run by a job; reports its rows to the job.
+     */
+    @FunctionalInterface
+    interface Export {
+        String run(ExportProgress progress) throws Exception;
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int history;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    // Insertion order, so the oldest finished jobs are evicted first
+    private final Map<Long, ExportJobImpl> jobs = new LinkedHashMap<>();
+
+    public ExportJobRunner() {
+        this(AppConfig.getInstance().getInt("export.jobs.threads", 2),
+             AppConfig.getInstance().getInt("export.jobs.queue", 16),
+             AppConfig.getInstance().getInt("export.jobs.history", 50));
+    }
+
+    /**
+     * @param threads exports running at once
+     * @param queueCapacity exports waiting for a thread
+     * @param history finished jobs kept in the registry
+     */
+    public ExportJobRunner(int threads, int queueCapacity, int history) {
+        if (threads <= 0 || queueCapacity <= 0 || history < 0) {
+            throw new IllegalArgumentException("Threads and queue capacity must be greater than 0");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "export-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.history = history;
+    }
+
+    /**
+     * Queues an export.
+     *
+     * @param description what the job exports
+     * @param export the export to run
+     * @return the job handle
+     * @throws RejectedExecutionException if the queue is full or the runner is shut down
+     */
+    ExportJob submit(String description, Export export) {
+        ExportJobImpl job = new ExportJobImpl(nextId.getAndIncrement(), description);
+        register(job);
+        try {
+            executor.execute(() -> run(job, export));
+        } catch (RejectedExecutionException ex) {
+            unregister(job);
+            throw new RejectedExecutionException("Too many exports in progress, try again later", ex);
+        }
+        LOGGER.info("Export job queued: " + job);
+        return job;
+    }
+
+    /**
+     * @return the running, queued and recently finished jobs, oldest first
+     */
+    public List<ExportJob> getJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * @param id the job ID
+     * @return the job, if still in the registry
+     */
+    public Optional<ExportJob> findJob(long id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * Stops accepting jobs; queued and running jobs still finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(ExportJobImpl job, Export export) {
+        if (!job.markRunning()) {
+            return;
+        }
+        try {
+            String fileName = export.run(job);
+            job.complete(fileName);
+            LOGGER.info("Export job completed: " + job);
+        } catch (CancellationException ex) {
+            job.fail(ex);
+            LOGGER.info("Export job cancelled: " + job);
+        } catch (Throwable ex) {
+            Throwable cause = AsyncExecutor.unwrap(ex);
+            job.fail(cause);
+            LOGGER.log(Level.WARNING, "Export job failed: " + job, cause);
+        }
+    }
+
+    private void register(ExportJobImpl job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            int finished = 0;
+            for (ExportJobImpl existing : jobs.values()) {
+                if (existing.isDone()) {
+                    finished++;
+                }
+            }
+            Iterator<ExportJobImpl> it = jobs.values().iterator();
+            while (finished > history && it.hasNext()) {
+                if (it.next().isDone()) {
+                    it.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+
+    private void unregister(ExportJobImpl job) {
+        synchronized (jobs) {
+            jobs.remove(job.getId());
+        }
+    }
+}
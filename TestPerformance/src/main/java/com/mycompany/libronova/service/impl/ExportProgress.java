@@ -0,0 +1,34 @@
+package com.mycompany.libronova.service.impl;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Receives the progress of an export as it writes rows.
+ *
+ * @author Wilffren Muñoz
+ */
+interface ExportProgress {
+
+    /** Progress of a synchronous export, which nobody watches. */
+    ExportProgress NONE = new ExportProgress() {
+        @Override
+        public void setEstimatedTotal(long rows) {
+        }
+
+        @Override
+        public void rowWritten() {
+        }
+    };
+
+    /**
+     * @param rows expected number of rows
+     */
+    void setEstimatedTotal(long rows);
+
+    /**
+     * Counts one written row; may be called from several threads.
+     *
+     * @throws CancellationException if the export was cancelled
+     */
+    void rowWritten();
+}
@@ -0,0 +1,91 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.FineRepository;
+import com.mycompany.libronova.service.FineAccrualService;
+import com.mycompany.libronova.service.FinePolicy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of FineAccrualService that maintains the loan_fines ledger.
+ * Runs once at startup to catch up and then every night at the configured hour.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class FineAccrualServiceImpl implements FineAccrualService {
+    
+    private static final Logger LOGGER = Logger.getLogger(FineAccrualServiceImpl.class.getName());
+    
+    private final FineRepository fineRepository;
+    private final FinePolicy policy;
+    private final int runHour;
+    private ScheduledExecutorService scheduler;
+    
+    public FineAccrualServiceImpl(FineRepository fineRepository, FinePolicy policy) {
+        this(fineRepository, policy, AppConfig.getInstance().getInt("prestamo.multa.hora", 2));
+    }
+    
+    public FineAccrualServiceImpl(FineRepository fineRepository, FinePolicy policy, int runHour) {
+        if (runHour < 0 || runHour > 23) {
+            throw new IllegalArgumentException("Run hour must be between 0 and 23");
+        }
+        this.fineRepository = fineRepository;
+        this.policy = policy;
+        this.runHour = runHour;
+    }
+    
+    @Override
+    public int accrueFines() throws DatabaseException {
+        return fineRepository.accrueThrough(LocalDate.now(), policy.getDailyRate(),
+                policy.getGraceDays(), policy.getMaxFine());
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextRun = now.toLocalDate().atTime(runHour, 0);
+        if (!nextRun.isAfter(now)) {
+            nextRun = nextRun.plusDays(1);
+        }
+        long initialDelay = Duration.between(now, nextRun).toMinutes();
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fine-accrual");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::runSafely);
+        scheduler.scheduleAtFixedRate(this::runSafely, initialDelay, TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+        
+        LOGGER.info("Fine accrual job started, next nightly run at " + nextRun);
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Fine accrual job stopped");
+        }
+    }
+    
+    private void runSafely() {
+        try {
+            accrueFines();
+        } catch (DatabaseException ex) {
+            LOGGER.log(Level.SEVERE, "Fine accrual run failed", ex);
+        }
+    }
+}
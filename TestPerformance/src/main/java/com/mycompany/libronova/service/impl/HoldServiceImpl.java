@@ -0,0 +1,313 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.HoldStatus;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanEvent;
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.EntityNotFoundException;
+import com.mycompany.libronova.exceptions.InactiveMemberException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.infra.journal.LoanJournal;
+import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.HoldRepository;
+import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.service.HoldService;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of HoldService.
+ * The database is the source of truth; each book's open holds are mirrored
+ * in a list kept in queue order. The sweep reloads the mirror after every
+ * run, which also picks up changes made outside this service.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class HoldServiceImpl implements HoldService {
+    
+    private static final Logger LOGGER = Logger.getLogger(HoldServiceImpl.class.getName());
+    
+    private final HoldRepository holdRepository;
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final int pickupDays;
+    private final int sweepMinutes;
+    
+    // Open holds per book, in queue order; guarded by its own monitor
+    private final Map<Long, List<Hold>> queues = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    
+    // Optional event journal; without it stock moved by the sweep leaves no trail
+    private LoanJournal loanJournal;
+    
+    public HoldServiceImpl(HoldRepository holdRepository, BookRepository bookRepository,
+                           MemberRepository memberRepository) {
+        this(holdRepository, bookRepository, memberRepository,
+             AppConfig.getInstance().getInt("prestamo.reserva.dias", 3),
+             AppConfig.getInstance().getInt("holds.sweep.minutes", 15));
+    }
+    
+    public HoldServiceImpl(HoldRepository holdRepository, BookRepository bookRepository,
+                           MemberRepository memberRepository, int pickupDays, int sweepMinutes) {
+        if (pickupDays <= 0 || sweepMinutes <= 0) {
+            throw new IllegalArgumentException("Pickup days and sweep interval must be > 0");
+        }
+        this.holdRepository = holdRepository;
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.pickupDays = pickupDays;
+        this.sweepMinutes = sweepMinutes;
+    }
+    
+    /**
+     * Appends the stock changes of expiries and copy assignments to the loan journal.
+     * 
+     * @param loanJournal the loan journal
+     */
+    public void setJournal(LoanJournal loanJournal) {
+        this.loanJournal = loanJournal;
+    }
+    
+    @Override
+    public Hold placeHold(Long bookId, Long memberId, int priority)
+            throws EntityNotFoundException, InactiveMemberException, DatabaseException {
+        
+        var book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Book", bookId));
+        
+        if (book.isAvailable()) {
+            throw new DatabaseException("Book has available copies, no hold needed");
+        }
+        
+        var member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("Member", memberId));
+        
+        if (!member.isActive()) {
+            throw new InactiveMemberException(member.getMemberNumber());
+        }
+        
+        for (Hold open : getQueue(bookId)) {
+            if (open.getMemberId().equals(memberId)) {
+                throw new DatabaseException("Member already has a hold on this book");
+            }
+        }
+        
+        Hold hold = holdRepository.save(new Hold(bookId, memberId, priority));
+        
+        synchronized (queues) {
+            List<Hold> queue = queues.computeIfAbsent(bookId, k -> new ArrayList<>());
+            queue.add(hold);
+            queue.sort(Hold.QUEUE_ORDER);
+        }
+        return hold;
+    }
+    
+    @Override
+    public void cancelHold(Long holdId) throws EntityNotFoundException, DatabaseException {
+        Hold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new EntityNotFoundException("Hold", holdId));
+        
+        boolean cancelled;
+        if (hold.isReady()) {
+            // Pull the pickup deadline in so the sweep passes the copy on right away
+            cancelled = holdRepository.updateDeadline(holdId, LocalDateTime.now().minusMinutes(1));
+            if (cancelled) {
+                expireHolds();
+            }
+        } else {
+            cancelled = holdRepository.updateStatus(holdId, HoldStatus.WAITING, HoldStatus.CANCELLED);
+            if (cancelled) {
+                remove(hold);
+            }
+        }
+        
+        if (!cancelled) {
+            throw new EntityNotFoundException("Hold", holdId);
+        }
+        LOGGER.info("Hold cancelled: " + holdId);
+    }
+    
+    @Override
+    public List<Hold> getQueue(Long bookId) {
+        synchronized (queues) {
+            List<Hold> queue = queues.get(bookId);
+            return queue != null ? new ArrayList<>(queue) : new ArrayList<>();
+        }
+    }
+    
+    @Override
+    public Optional<Hold> findReadyHold(Long bookId, Long memberId) {
+        for (Hold hold : getQueue(bookId)) {
+            if (!hold.isReady()) {
+                break;
+            }
+            if (hold.getMemberId().equals(memberId)) {
+                return Optional.of(hold);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public Loan fulfill(Hold hold, Loan loan, LoanLimit limit)
+            throws InsufficientStockException, LoanLimitExceededException, DatabaseException {
+        Loan saved;
+        try {
+            saved = holdRepository.fulfill(hold.getId(), loan, limit);
+        } catch (InsufficientStockException ex) {
+            // The mirror was stale: the hold expired or was passed on meanwhile
+            LOGGER.warning("Hold was no longer ready when picked up: " + hold.getId());
+            remove(hold);
+            throw ex;
+        }
+        remove(hold);
+        return saved;
+    }
+    
+    @Override
+    public Optional<Hold> returnLoan(Loan loan) throws DatabaseException {
+        Optional<Hold> assigned = holdRepository.returnLoan(loan.getId(), loan.getBook().getId(),
+                LocalDate.now(), readyUntil());
+        
+        assigned.ifPresent(hold -> {
+            synchronized (queues) {
+                List<Hold> queue = queues.computeIfAbsent(hold.getBookId(), k -> new ArrayList<>());
+                queue.removeIf(h -> h.getId().equals(hold.getId()));
+                queue.add(hold);
+                queue.sort(Hold.QUEUE_ORDER);
+            }
+            LOGGER.info("Returned copy of book " + hold.getBookId() + " assigned to hold " + hold.getId());
+        });
+        return assigned;
+    }
+    
+    @Override
+    public int expireHolds() throws DatabaseException {
+        Map<Long, Integer> stockChanges = new TreeMap<>();
+        int expired = holdRepository.expireReady(LocalDateTime.now(), readyUntil(), stockChanges);
+        journalStock(stockChanges);
+        
+        stockChanges.clear();
+        int assigned = holdRepository.assignAvailableCopies(LocalDateTime.now(), readyUntil(), stockChanges);
+        journalStock(stockChanges);
+        
+        if (expired > 0 || assigned > 0) {
+            reload();
+        }
+        return expired;
+    }
+    
+    @Override
+    public int assignAvailableCopies() throws DatabaseException {
+        Map<Long, Integer> stockChanges = new TreeMap<>();
+        int assigned = holdRepository.assignAvailableCopies(LocalDateTime.now(), readyUntil(), stockChanges);
+        journalStock(stockChanges);
+        
+        if (assigned > 0) {
+            reload();
+        }
+        return assigned;
+    }
+    
+    @Override
+    public void reload() throws DatabaseException {
+        Map<Long, List<Hold>> loaded = new HashMap<>();
+        for (Hold hold : holdRepository.findOpen()) {
+            loaded.computeIfAbsent(hold.getBookId(), k -> new ArrayList<>()).add(hold);
+        }
+        loaded.values().forEach(queue -> queue.sort(Hold.QUEUE_ORDER));
+        
+        synchronized (queues) {
+            queues.clear();
+            queues.putAll(loaded);
+        }
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hold-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                reload();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.SEVERE, "Could not load hold queues", ex);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                expireHolds();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.SEVERE, "Hold sweep failed", ex);
+            }
+        }, sweepMinutes, sweepMinutes, TimeUnit.MINUTES);
+        
+        LOGGER.info("Hold sweeper started, interval " + sweepMinutes + " minutes");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Hold sweeper stopped");
+        }
+    }
+    
+    private LocalDateTime readyUntil() {
+        return LocalDateTime.now().plusDays(pickupDays);
+    }
+    
+    /**
+     * Journals committed stock changes, one event per book. A journal
+     * failure is only logged, as in LoanServiceImpl.
+     */
+    private void journalStock(Map<Long, Integer> stockChanges) {
+        if (loanJournal == null) {
+            return;
+        }
+        for (Map.Entry<Long, Integer> entry : stockChanges.entrySet()) {
+            LoanEvent event = LoanEvent.stockChanged(entry.getKey(), entry.getValue());
+            try {
+                loanJournal.append(event);
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Could not journal " + event, ex);
+            }
+        }
+    }
+    
+    private void remove(Hold hold) {
+        synchronized (queues) {
+            List<Hold> queue = queues.get(hold.getBookId());
+            if (queue != null) {
+                queue.removeIf(h -> h.getId().equals(hold.getId()));
+                if (queue.isEmpty()) {
+                    queues.remove(hold.getBookId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.IdempotencyRecord;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.IdempotencyRepository;
+import com.mycompany.libronova.service.IdempotencyService;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of IdempotencyService.
+ * The idempotency_keys table is the source of truth and its primary key
+ * decides which of several concurrent requests runs. Completed keys are
+ * also kept in a bounded LRU map so retries are answered without a query.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class IdempotencyServiceImpl implements IdempotencyService {
+    
+    private static final Logger LOGGER = Logger.getLogger(IdempotencyServiceImpl.class.getName());
+    private static final int MAX_KEY_LENGTH = 64;
+    
+    private final IdempotencyRepository idempotencyRepository;
+    private final int retentionHours;
+    private final Map<String, IdempotencyRecord> completed;
+    private ScheduledExecutorService scheduler;
+    
+    public IdempotencyServiceImpl(IdempotencyRepository idempotencyRepository) {
+        this(idempotencyRepository,
+             AppConfig.getInstance().getInt("idempotency.cache.max", 10000),
+             AppConfig.getInstance().getInt("idempotency.retention.hours", 24));
+    }
+    
+    public IdempotencyServiceImpl(IdempotencyRepository idempotencyRepository, int maxSize, int retentionHours) {
+        if (maxSize <= 0 || retentionHours <= 0) {
+            throw new IllegalArgumentException("Cache size and retention must be greater than 0");
+        }
+        this.idempotencyRepository = idempotencyRepository;
+        this.retentionHours = retentionHours;
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    @Override
+    public Optional<Long> begin(String key, String operation) throws DatabaseException {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        IdempotencyRecord cached;
+        synchronized (completed) {
+            cached = completed.get(key);
+        }
+        if (cached != null) {
+            return Optional.of(replay(cached, operation));
+        }
+        
+        if (idempotencyRepository.reserve(key, operation)) {
+            return Optional.empty();
+        }
+        
+        // Someone else owns the key: replay it if it finished
+        IdempotencyRecord existing = idempotencyRepository.findByKey(key).orElse(null);
+        if (existing == null) {
+            // The owner failed and freed the key between our two statements
+            if (idempotencyRepository.reserve(key, operation)) {
+                return Optional.empty();
+            }
+            throw new DatabaseException("Request " + key + " is still in progress");
+        }
+        if (!existing.isCompleted()) {
+            throw new DatabaseException("Request " + key + " is still in progress");
+        }
+        remember(existing);
+        return Optional.of(replay(existing, operation));
+    }
+    
+    @Override
+    public void complete(String key, String operation, Long loanId) throws DatabaseException {
+        idempotencyRepository.complete(key, loanId);
+        remember(new IdempotencyRecord(key, operation, loanId, LocalDateTime.now()));
+    }
+    
+    @Override
+    public void abandon(String key) {
+        try {
+            idempotencyRepository.release(key);
+        } catch (DatabaseException ex) {
+            LOGGER.log(Level.WARNING, "Could not release idempotency key " + key, ex);
+        }
+    }
+    
+    @Override
+    public int purgeExpired() throws DatabaseException {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int deleted = idempotencyRepository.deleteOlderThan(cutoff);
+        synchronized (completed) {
+            completed.values().removeIf(r -> r.getCreatedAt() != null && r.getCreatedAt().isBefore(cutoff));
+        }
+        return deleted;
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpired();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.SEVERE, "Idempotency key purge failed", ex);
+            }
+        }, 0, 1, TimeUnit.HOURS);
+        
+        LOGGER.info("Idempotency key purge started, retention " + retentionHours + " hours");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Idempotency key purge stopped");
+        }
+    }
+    
+    private Long replay(IdempotencyRecord record, String operation) throws DatabaseException {
+        if (!record.getOperation().equals(operation)) {
+            throw new DatabaseException("Idempotency key " + record.getKey() + " was used for " + record.getOperation());
+        }
+        LOGGER.info("Replaying request " + record.getKey() + " for loan " + record.getLoanId());
+        return record.getLoanId();
+    }
+    
+    private void remember(IdempotencyRecord record) {
+        synchronized (completed) {
+            completed.put(record.getKey(), record);
+        }
+    }
+}
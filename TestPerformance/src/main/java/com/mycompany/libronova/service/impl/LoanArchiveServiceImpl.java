@@ -0,0 +1,88 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.LoanRepository;
+import com.mycompany.libronova.service.LoanArchiveService;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of LoanArchiveService that moves returned loans to loans_history.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class LoanArchiveServiceImpl implements LoanArchiveService {
+    
+    private static final Logger LOGGER = Logger.getLogger(LoanArchiveServiceImpl.class.getName());
+    
+    private final LoanRepository loanRepository;
+    private final int retentionDays;
+    private final int batchSize;
+    private ScheduledExecutorService scheduler;
+    
+    public LoanArchiveServiceImpl(LoanRepository loanRepository) {
+        this(loanRepository,
+             AppConfig.getInstance().getInt("prestamo.archivo.dias", 180),
+             AppConfig.getInstance().getInt("prestamo.archivo.lote", 500));
+    }
+    
+    public LoanArchiveServiceImpl(LoanRepository loanRepository, int retentionDays, int batchSize) {
+        if (retentionDays < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Retention days must be >= 0 and batch size > 0");
+        }
+        this.loanRepository = loanRepository;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    public int archiveReturnedLoans() throws DatabaseException {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        int total = 0;
+        int moved;
+        
+        do {
+            moved = loanRepository.archiveReturnedBefore(cutoff, batchSize);
+            total += moved;
+        } while (moved == batchSize);
+        
+        LOGGER.info("Archived " + total + " loans returned before " + cutoff);
+        return total;
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "loan-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveReturnedLoans();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.SEVERE, "Loan archival run failed", ex);
+            }
+        }, 1, TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+        
+        LOGGER.info("Loan archival job started");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Loan archival job stopped");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.domain.MemberLoanCounts;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.service.LoanLimitService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of LoanLimitService. The limit itself is enforced by a
+ * conditional counter update inside each checkout transaction, which the
+ * database serializes per member row across every JVM; this service holds
+ * the configured limit and runs the daily counter refresh.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class LoanLimitServiceImpl implements LoanLimitService {
+    
+    private static final Logger LOGGER = Logger.getLogger(LoanLimitServiceImpl.class.getName());
+    
+    private final MemberRepository memberRepository;
+    private final LoanLimit limit;
+    private ScheduledExecutorService scheduler;
+    
+    public LoanLimitServiceImpl(MemberRepository memberRepository) {
+        this(memberRepository,
+             AppConfig.getInstance().getInt("prestamo.max.activos", 5),
+             AppConfig.getInstance().getInt("prestamo.max.vencidos", 0));
+    }
+    
+    public LoanLimitServiceImpl(MemberRepository memberRepository, int maxActive, int maxOverdue) {
+        this.memberRepository = memberRepository;
+        this.limit = new LoanLimit(maxActive, maxOverdue);
+    }
+    
+    @Override
+    public LoanLimit getLimit() {
+        return limit;
+    }
+    
+    @Override
+    public MemberLoanCounts getCounts(Long memberId) throws DatabaseException {
+        return memberRepository.findLoanCounts(memberId);
+    }
+    
+    @Override
+    public int refreshCounts() throws DatabaseException {
+        return memberRepository.refreshLoanCounts();
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "loan-counter-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refreshCounts();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.SEVERE, "Loan counter refresh failed", ex);
+            }
+        }, 0, TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+        
+        LOGGER.info("Loan counter refresh job started");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Loan counter refresh job stopped");
+        }
+    }
+}
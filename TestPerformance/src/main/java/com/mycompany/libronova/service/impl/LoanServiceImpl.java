@@ -1,13 +1,36 @@
 package com.mycompany.libronova.service.impl;
 
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.BulkReturnReport;
+import com.mycompany.libronova.domain.Hold;
 import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanEvent;
+import com.mycompany.libronova.domain.LoanLimit;
 import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.LoanSummary;
+import com.mycompany.libronova.domain.ReturnOutcome;
 import com.mycompany.libronova.exceptions.*;
+import com.mycompany.libronova.infra.concurrent.StripedLockManager;
+import com.mycompany.libronova.infra.journal.LoanJournal;
 import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.FineRepository;
 import com.mycompany.libronova.repository.LoanRepository;
 import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.service.FinePolicy;
+import com.mycompany.libronova.service.HoldService;
+import com.mycompany.libronova.service.IdempotencyService;
+import com.mycompany.libronova.service.LoanLimitService;
 import com.mycompany.libronova.service.LoanService;
+import com.mycompany.libronova.service.ReminderService;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -22,8 +45,31 @@ public class LoanServiceImpl implements LoanService {
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
     
-    // Fine calculation constants
-    private static final double DAILY_FINE_RATE = 1.0; // $1 per day
+    // Queues checkouts and returns per book and member in this JVM; stock
+    // itself is only changed with conditional relative updates
+    private StripedLockManager lockManager = new StripedLockManager();
+    
+    // Optional fine ledger; without it fines are computed from the loan
+    private FineRepository fineRepository;
+    private FinePolicy finePolicy = FinePolicy.fromConfig();
+    
+    // Optional per-member loan limits; without them members are not capped
+    private LoanLimitService loanLimitService;
+    
+    // Optional waitlist; without it returned copies go straight back to stock
+    private HoldService holdService;
+    
+    // Optional idempotency keys; without them keyed calls run like plain ones
+    private IdempotencyService idempotencyService;
+    
+    // Optional due-date reminders; without them no reminders are sent
+    private ReminderService reminderService;
+    
+    // Optional event journal; without it checkouts and returns leave no trail
+    private LoanJournal loanJournal;
+    
+    private static final String CREATE_LOAN = "CREATE_LOAN";
+    private static final String RETURN_BOOK = "RETURN_BOOK";
     
     public LoanServiceImpl(LoanRepository loanRepository, BookRepository bookRepository, MemberRepository memberRepository) {
         this.loanRepository = loanRepository;
@@ -31,15 +77,108 @@ public class LoanServiceImpl implements LoanService {
         this.memberRepository = memberRepository;
     }
     
+    /**
+     * Replaces the lock manager, e.g. to size it or share it.
+     * 
+     * @param lockManager the lock manager
+     */
+    public void setLockManager(StripedLockManager lockManager) {
+        this.lockManager = lockManager;
+    }
+    
+    /**
+     * @return the lock manager, for its lock-wait metrics
+     */
+    public StripedLockManager getLockManager() {
+        return lockManager;
+    }
+    
+    /**
+     * Answers fine queries from the ledger kept by FineAccrualService.
+     * 
+     * @param fineRepository the fine ledger
+     * @param finePolicy policy used for loans the ledger has not seen yet
+     */
+    public void setFineLedger(FineRepository fineRepository, FinePolicy finePolicy) {
+        this.fineRepository = fineRepository;
+        this.finePolicy = finePolicy;
+    }
+    
+    /**
+     * Enforces per-member loan limits on checkout.
+     * 
+     * @param loanLimitService the loan limit service
+     */
+    public void setLoanLimits(LoanLimitService loanLimitService) {
+        this.loanLimitService = loanLimitService;
+    }
+    
+    /**
+     * Routes returned copies to the holds waitlist and lets members
+     * pick up copies set aside for them.
+     * 
+     * @param holdService the hold service
+     */
+    public void setHolds(HoldService holdService) {
+        this.holdService = holdService;
+    }
+    
+    /**
+     * Makes keyed createLoan and returnBook calls safe to retry.
+     * 
+     * @param idempotencyService the idempotency key service
+     */
+    public void setIdempotency(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+    
+    /**
+     * Schedules a due-date reminder for each new loan and cancels it on return.
+     * 
+     * @param reminderService the reminder service
+     */
+    public void setReminders(ReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+    
+    /**
+     * Appends every checkout, return and stock change to the loan journal.
+     * 
+     * @param loanJournal the loan journal
+     */
+    public void setJournal(LoanJournal loanJournal) {
+        this.loanJournal = loanJournal;
+    }
+    
     @Override
     public Loan createLoan(Long bookId, Long memberId, int loanDays) 
-            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException, DatabaseException {
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException {
+        
+        // Only operations on the same book or member wait for each other
+        StripedLockManager.Held held = lockManager.lock(bookId, memberId);
+        try {
+            return createLoanLocked(bookId, memberId, loanDays);
+        } finally {
+            held.close();
+        }
+    }
+    
+    private Loan createLoanLocked(Long bookId, Long memberId, int loanDays) 
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException {
         
         // Verify book exists and is available
         var book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("Book", bookId));
         
-        if (!book.isAvailable()) {
+        // A copy set aside for this member's hold is lent first, so it does not
+        // stay blocked while the member takes a copy from the shelf
+        Hold readyHold = null;
+        if (holdService != null) {
+            readyHold = holdService.findReadyHold(bookId, memberId).orElse(null);
+        }
+        if (readyHold == null && !book.isAvailable()) {
             throw new InsufficientStockException(book.getIsbn(), book.getAvailableStock());
         }
         
@@ -51,22 +190,151 @@ public class LoanServiceImpl implements LoanService {
             throw new InactiveMemberException(member.getMemberNumber());
         }
         
-        // Create loan
+        // Create loan; the member's loan limit is enforced in the same transaction
         Loan loan = new Loan(book, member, loanDays);
         
-        // Decrement book stock
-        book.setAvailableStock(book.getAvailableStock() - 1);
-        bookRepository.update(book);
+        if (readyHold != null) {
+            // Claim the hold and save the loan in one transaction
+            try {
+                loan = holdService.fulfill(readyHold, loan, loanLimit());
+            } catch (InsufficientStockException ex) {
+                // The hold went stale meanwhile; a copy on the shelf still serves the member
+                if (!book.isAvailable()) {
+                    throw ex;
+                }
+                readyHold = null;
+            }
+        }
+        if (readyHold == null) {
+            // Decrement stock only if a copy is left and save the loan, in one transaction
+            loan = loanRepository.saveAllAndDecrementStock(List.of(loan), loanLimit()).get(0);
+            book.setAvailableStock(book.getAvailableStock() - 1);
+        }
         
-        // Save loan
-        loan = loanRepository.save(loan);
+        journal(LoanEvent.loanCreated(loan));
+        if (readyHold == null) {
+            journal(LoanEvent.stockChanged(bookId, -1));
+        }
+        
+        if (reminderService != null) {
+            reminderService.loanCreated(loan);
+        }
         
         LOGGER.info("Loan created: " + loan.getId());
         return loan;
     }
     
+    @Override
+    public Loan createLoan(String requestKey, Long bookId, Long memberId, int loanDays)
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException {
+        
+        if (requestKey == null || idempotencyService == null) {
+            return createLoan(bookId, memberId, loanDays);
+        }
+        
+        Optional<Long> previous = idempotencyService.begin(requestKey, CREATE_LOAN);
+        if (previous.isPresent()) {
+            return findLoanById(previous.get());
+        }
+        
+        Loan loan;
+        try {
+            loan = createLoan(bookId, memberId, loanDays);
+        } catch (LibroNovaException | RuntimeException ex) {
+            idempotencyService.abandon(requestKey);
+            throw ex;
+        }
+        recordResult(requestKey, CREATE_LOAN, loan);
+        return loan;
+    }
+    
+    @Override
+    public List<Loan> createLoans(Long memberId, List<Long> bookIds, int loanDays)
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException {
+        
+        if (bookIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        StripedLockManager.Held held = lockManager.lock(new LinkedHashSet<>(bookIds), memberId);
+        try {
+            return createLoansLocked(memberId, bookIds, loanDays);
+        } finally {
+            held.close();
+        }
+    }
+    
+    private List<Loan> createLoansLocked(Long memberId, List<Long> bookIds, int loanDays)
+            throws EntityNotFoundException, InactiveMemberException, InsufficientStockException,
+                   LoanLimitExceededException, DatabaseException {
+        
+        // Verify member once for the whole checkout
+        var member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("Member", memberId));
+        
+        if (!member.isActive()) {
+            throw new InactiveMemberException(member.getMemberNumber());
+        }
+        
+        // Load all books with a single query
+        Map<Long, Book> books = new HashMap<>();
+        for (Book book : bookRepository.findAllById(new LinkedHashSet<>(bookIds))) {
+            books.put(book.getId(), book);
+        }
+        
+        // Verify every book exists and has enough copies for this checkout
+        Map<Long, Integer> copiesByBook = new HashMap<>();
+        List<Loan> loans = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                throw new EntityNotFoundException("Book", bookId);
+            }
+            int copies = copiesByBook.merge(bookId, 1, Integer::sum);
+            if (book.getAvailableStock() < copies) {
+                throw new InsufficientStockException(book.getIsbn(), book.getAvailableStock());
+            }
+            loans.add(new Loan(book, member, loanDays));
+        }
+        
+        // Decrement stock, count the loans against the member's limit and save them in one transaction
+        loans = loanRepository.saveAllAndDecrementStock(loans, loanLimit());
+        
+        copiesByBook.forEach((bookId, copies) -> {
+            Book book = books.get(bookId);
+            book.setAvailableStock(book.getAvailableStock() - copies);
+        });
+        
+        for (Loan loan : loans) {
+            journal(LoanEvent.loanCreated(loan));
+        }
+        copiesByBook.forEach((bookId, copies) -> journal(LoanEvent.stockChanged(bookId, -copies)));
+        
+        if (reminderService != null) {
+            loans.forEach(reminderService::loanCreated);
+        }
+        
+        LOGGER.info("Loans created for member " + memberId + ": " + loans.size());
+        return loans;
+    }
+    
     @Override
     public Loan returnBook(Long loanId) throws EntityNotFoundException, DatabaseException {
+        Loan current = loanRepository.findById(loanId)
+                .orElseThrow(() -> new EntityNotFoundException("Loan", loanId));
+        
+        // Lock the loan's book and member, then re-read the loan for fresh stock
+        StripedLockManager.Held held = lockManager.lock(current.getBook().getId(), current.getMember().getId());
+        try {
+            return returnBookLocked(loanId);
+        } finally {
+            held.close();
+        }
+    }
+    
+    private Loan returnBookLocked(Long loanId) throws EntityNotFoundException, DatabaseException {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new EntityNotFoundException("Loan", loanId));
         
@@ -78,18 +346,78 @@ public class LoanServiceImpl implements LoanService {
         loan.setStatus(LoanStatus.RETURNED);
         loan.setActualReturnDate(java.time.LocalDate.now());
         
-        // Increment book stock
-        var book = loan.getBook();
-        book.setAvailableStock(book.getAvailableStock() + 1);
-        bookRepository.update(book);
+        boolean setAside = false;
+        if (holdService != null) {
+            // Return the loan and hand the copy to the waitlist in one transaction
+            setAside = holdService.returnLoan(loan).isPresent();
+        } else {
+            // Mark the loan returned and add the copy back with a relative update, in one transaction
+            BulkReturnReport returned = loanRepository.returnAll(List.of(loanId), loan.getActualReturnDate());
+            if (returned.getOutcome(loanId) != ReturnOutcome.RETURNED) {
+                throw new DatabaseException("Loan is not active");
+            }
+            var book = loan.getBook();
+            book.setAvailableStock(book.getAvailableStock() + 1);
+        }
         
-        // Update loan
-        loan = loanRepository.update(loan);
+        journal(LoanEvent.bookReturned(loanId, loan.getBook().getId(), loan.getMember().getId()));
+        if (!setAside) {
+            journal(LoanEvent.stockChanged(loan.getBook().getId(), 1));
+        }
+        
+        if (reminderService != null) {
+            reminderService.loanReturned(loanId);
+        }
         
         LOGGER.info("Book returned for loan: " + loanId);
         return loan;
     }
     
+    @Override
+    public Loan returnBook(String requestKey, Long loanId) throws EntityNotFoundException, DatabaseException {
+        if (requestKey == null || idempotencyService == null) {
+            return returnBook(loanId);
+        }
+        
+        Optional<Long> previous = idempotencyService.begin(requestKey, RETURN_BOOK);
+        if (previous.isPresent()) {
+            return findLoanById(previous.get());
+        }
+        
+        Loan loan;
+        try {
+            loan = returnBook(loanId);
+        } catch (EntityNotFoundException | DatabaseException | RuntimeException ex) {
+            idempotencyService.abandon(requestKey);
+            throw ex;
+        }
+        recordResult(requestKey, RETURN_BOOK, loan);
+        return loan;
+    }
+    
+    @Override
+    public BulkReturnReport returnBooks(Collection<Long> loanIds) throws DatabaseException {
+        BulkReturnReport report = loanRepository.returnAll(new LinkedHashSet<>(loanIds), java.time.LocalDate.now());
+        
+        report.getOutcomes().forEach((loanId, outcome) -> {
+            if (outcome == ReturnOutcome.RETURNED) {
+                journal(LoanEvent.bookReturned(loanId, report.getBookId(loanId), report.getMemberId(loanId)));
+                if (reminderService != null) {
+                    reminderService.loanReturned(loanId);
+                }
+            }
+        });
+        report.getReturnedCopiesByBook().forEach((bookId, copies) -> journal(LoanEvent.stockChanged(bookId, copies)));
+        
+        // Bulk returns put copies back in stock; hand them to the waitlists
+        if (holdService != null && report.count(ReturnOutcome.RETURNED) > 0) {
+            holdService.assignAvailableCopies();
+        }
+        
+        LOGGER.info("Bulk return processed: " + report);
+        return report;
+    }
+    
     @Override
     public Loan findLoanById(Long id) throws EntityNotFoundException, DatabaseException {
         return loanRepository.findById(id)
@@ -106,6 +434,16 @@ public class LoanServiceImpl implements LoanService {
         return loanRepository.findActiveByMemberId(memberId);
     }
     
+    @Override
+    public List<Loan> listLoanHistoryByMember(Long memberId) throws DatabaseException {
+        return loanRepository.findHistoryByMemberId(memberId);
+    }
+    
+    @Override
+    public List<LoanSummary> listLoanSummaries() throws DatabaseException {
+        return loanRepository.findAllSummaries();
+    }
+    
     @Override
     public List<Loan> listOverdueLoans() throws DatabaseException {
         return loanRepository.findOverdue();
@@ -113,13 +451,84 @@ public class LoanServiceImpl implements LoanService {
     
     @Override
     public double calculateFine(Long loanId) throws EntityNotFoundException, DatabaseException {
+        if (fineRepository != null) {
+            Optional<Double> accrued = fineRepository.findAmountByLoanId(loanId);
+            if (accrued.isPresent()) {
+                return accrued.get();
+            }
+        }
+        
         Loan loan = findLoanById(loanId);
         
         if (!loan.isOverdue()) {
             return 0.0;
         }
         
-        long overdueDays = loan.overdueDays();
-        return overdueDays * DAILY_FINE_RATE;
+        return finePolicy.fineFor(loan.overdueDays());
+    }
+    
+    @Override
+    public double calculateMemberFines(Long memberId) throws DatabaseException {
+        List<Loan> overdue = new ArrayList<>();
+        for (Loan loan : loanRepository.findActiveByMemberId(memberId)) {
+            if (loan.isOverdue()) {
+                overdue.add(loan);
+            }
+        }
+        if (overdue.isEmpty()) {
+            return 0.0;
+        }
+        
+        // Ledger amounts where the nightly job accrued them, the policy for the rest
+        Map<Long, Double> accrued = new HashMap<>();
+        if (fineRepository != null) {
+            List<Long> loanIds = new ArrayList<>(overdue.size());
+            overdue.forEach(loan -> loanIds.add(loan.getId()));
+            accrued = fineRepository.findAmountsByLoanIds(loanIds);
+        }
+        
+        double total = 0.0;
+        for (Loan loan : overdue) {
+            Double amount = accrued.get(loan.getId());
+            total += amount != null ? amount : finePolicy.fineFor(loan.overdueDays());
+        }
+        return total;
+    }
+    
+    /**
+     * Journals an event after its change was committed. A journal failure
+     * is logged rather than failing an operation the database already made.
+     */
+    private void journal(LoanEvent event) {
+        if (loanJournal == null) {
+            return;
+        }
+        try {
+            loanJournal.append(event);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not journal " + event, ex);
+        }
+    }
+    
+    /**
+     * Gets the limit checkouts are saved with. Without a limit service
+     * members are not capped, but their counters are still kept.
+     */
+    private LoanLimit loanLimit() {
+        return loanLimitService != null ? loanLimitService.getLimit() : LoanLimit.UNLIMITED;
+    }
+    
+    /**
+     * Records the loan of a keyed request. The loan already exists, so a
+     * failure here is only logged; the key stays claimed and retries are
+     * refused as in progress until it expires, which still prevents a
+     * duplicate.
+     */
+    private void recordResult(String requestKey, String operation, Loan loan) {
+        try {
+            idempotencyService.complete(requestKey, operation, loan.getId());
+        } catch (DatabaseException ex) {
+            LOGGER.log(Level.WARNING, "Could not record result of request " + requestKey, ex);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,30 @@
 package com.mycompany.libronova.service.impl;
 
 import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberImportReport;
 import com.mycompany.libronova.domain.MemberStatus;
 import com.mycompany.libronova.exceptions.*;
+import com.mycompany.libronova.infra.cache.NegativeLookupCache;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.infra.util.CSVExporter;
+import com.mycompany.libronova.infra.util.CSVReader;
 import com.mycompany.libronova.repository.MemberRepository;
 import com.mycompany.libronova.service.MemberService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -18,9 +36,27 @@ public class MemberServiceImpl implements MemberService {
     
     private static final Logger LOGGER = Logger.getLogger(MemberServiceImpl.class.getName());
     private final MemberRepository memberRepository;
+    private final NegativeLookupCache<String> missingMemberNumbers;
+    private final int importBatchSize;
     
     public MemberServiceImpl(MemberRepository memberRepository) {
+        this(memberRepository, new NegativeLookupCache<>(
+                Duration.ofSeconds(AppConfig.getInstance().getInt("cache.negative.ttl.seconds", 30)),
+                AppConfig.getInstance().getInt("cache.negative.max", 10000)));
+    }
+    
+    public MemberServiceImpl(MemberRepository memberRepository, NegativeLookupCache<String> missingMemberNumbers) {
+        this(memberRepository, missingMemberNumbers, AppConfig.getInstance().getInt("members.import.batch", 1000));
+    }
+    
+    public MemberServiceImpl(MemberRepository memberRepository, NegativeLookupCache<String> missingMemberNumbers,
+                             int importBatchSize) {
+        if (importBatchSize <= 0) {
+            throw new IllegalArgumentException("Import batch size must be greater than 0");
+        }
         this.memberRepository = memberRepository;
+        this.missingMemberNumbers = missingMemberNumbers;
+        this.importBatchSize = importBatchSize;
     }
     
     @Override
@@ -28,7 +64,9 @@ public class MemberServiceImpl implements MemberService {
         validateMember(member);
         
         LOGGER.info("Registering member: " + member.getMemberNumber());
-        return memberRepository.save(member);
+        Member savedMember = memberRepository.save(member);
+        missingMemberNumbers.invalidate(member.getMemberNumber());
+        return savedMember;
     }
     
     @Override
@@ -44,7 +82,10 @@ public class MemberServiceImpl implements MemberService {
                 .orElseThrow(() -> new EntityNotFoundException("Member", member.getId()));
         
         LOGGER.info("Updating member: " + member.getId());
-        return memberRepository.update(member);
+        Member updatedMember = memberRepository.update(member);
+        // The member number may have changed to one recorded as missing
+        missingMemberNumbers.invalidate(member.getMemberNumber());
+        return updatedMember;
     }
     
     @Override
@@ -55,8 +96,18 @@ public class MemberServiceImpl implements MemberService {
     
     @Override
     public Member findMemberByNumber(String memberNumber) throws EntityNotFoundException, DatabaseException {
-        return memberRepository.findByMemberNumber(memberNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Member", memberNumber));
+        // Repeated misses are answered without a database round trip
+        if (missingMemberNumbers.isKnownMissing(memberNumber)) {
+            throw new EntityNotFoundException("Member", memberNumber);
+        }
+        
+        long lookupGeneration = missingMemberNumbers.generation();
+        Optional<Member> member = memberRepository.findByMemberNumber(memberNumber);
+        if (member.isEmpty()) {
+            missingMemberNumbers.recordMiss(memberNumber, lookupGeneration);
+            throw new EntityNotFoundException("Member", memberNumber);
+        }
+        return member.get();
     }
     
     @Override
@@ -87,6 +138,171 @@ public class MemberServiceImpl implements MemberService {
         LOGGER.info("Member deactivated: " + id);
     }
     
+    @Override
+    public MemberImportReport importMembers(Path csvFile) throws ValidationException, IOException, DatabaseException {
+        // Existing keys in one query; every duplicate check after this is in memory
+        Set<String> existingNumbers = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        memberRepository.loadKeys(existingNumbers, existingEmails);
+        
+        // Key to the line that first used it in this file
+        Map<String, Integer> fileNumbers = new HashMap<>();
+        Map<String, Integer> fileEmails = new HashMap<>();
+        
+        List<MemberImportReport.Rejection> rejections = new ArrayList<>();
+        List<Member> chunk = new ArrayList<>(importBatchSize);
+        List<Integer> chunkLines = new ArrayList<>(importBatchSize);
+        int imported = 0;
+        
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(csvFile, StandardCharsets.UTF_8))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return new MemberImportReport(0, rejections, null);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_'), i);
+            }
+            List<String> missing = new ArrayList<>();
+            for (String required : List.of("name", "email", "member_number")) {
+                if (!columns.containsKey(required)) {
+                    missing.add("Missing column: " + required);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new ValidationException(missing);
+            }
+            
+            List<String> row;
+            while ((row = reader.readRecord()) != null) {
+                if (row.size() == 1 && row.get(0).isBlank()) {
+                    continue;
+                }
+                int line = reader.getRecordLine();
+                String name = field(row, columns, "name");
+                String email = field(row, columns, "email");
+                String memberNumber = field(row, columns, "member_number");
+                
+                String reason = null;
+                if (name.isEmpty() || email.isEmpty() || memberNumber.isEmpty()) {
+                    reason = "Name, email and member number are required";
+                } else if (!memberNumber.matches("\\d+")) {
+                    reason = "Member number must be numeric";
+                }
+                
+                String numberKey = memberNumber.toLowerCase(Locale.ROOT);
+                String emailKey = email.toLowerCase(Locale.ROOT);
+                if (reason == null) {
+                    reason = duplicateReason("Member number", numberKey, existingNumbers, fileNumbers);
+                }
+                if (reason == null) {
+                    reason = duplicateReason("Email", emailKey, existingEmails, fileEmails);
+                }
+                
+                Member member = new Member(name, email, memberNumber);
+                if (reason == null) {
+                    try {
+                        String status = field(row, columns, "status");
+                        if (!status.isEmpty()) {
+                            member.setStatus(MemberStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+                        }
+                        String registered = field(row, columns, "registration_date");
+                        if (!registered.isEmpty()) {
+                            member.setRegistrationDate(LocalDate.parse(registered));
+                        }
+                    } catch (IllegalArgumentException | DateTimeParseException ex) {
+                        reason = "Invalid status or registration date";
+                    }
+                }
+                
+                if (reason != null) {
+                    rejections.add(new MemberImportReport.Rejection(line, memberNumber, email, reason));
+                    continue;
+                }
+                
+                fileNumbers.put(numberKey, line);
+                fileEmails.put(emailKey, line);
+                chunk.add(member);
+                chunkLines.add(line);
+                if (chunk.size() == importBatchSize) {
+                    imported += saveChunk(chunk, chunkLines, rejections);
+                }
+            }
+            imported += saveChunk(chunk, chunkLines, rejections);
+        }
+        
+        Path rejectionFile = null;
+        if (!rejections.isEmpty()) {
+            rejectionFile = csvFile.resolveSibling(csvFile.getFileName() + ".rejected.csv");
+            CSVExporter.exportMemberRejections(rejections, rejectionFile.toString());
+        }
+        
+        MemberImportReport report = new MemberImportReport(imported, rejections, rejectionFile);
+        LOGGER.info("Members imported from " + csvFile + ": " + report);
+        return report;
+    }
+    
+    /**
+     * Saves a chunk with one batched insert. If the batch fails, e.g. because
+     * someone registered one of the members meanwhile, the rows are retried
+     * one by one so only the offending rows are rejected.
+     */
+    private int saveChunk(List<Member> chunk, List<Integer> lines,
+                          List<MemberImportReport.Rejection> rejections) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        
+        int saved = 0;
+        try {
+            memberRepository.saveAll(chunk);
+            saved = chunk.size();
+        } catch (DatabaseException ex) {
+            LOGGER.warning("Batch insert of " + chunk.size() + " members failed, retrying row by row");
+            for (int i = 0; i < chunk.size(); i++) {
+                Member member = chunk.get(i);
+                try {
+                    memberRepository.save(member);
+                    saved++;
+                } catch (DatabaseException rowEx) {
+                    rejections.add(new MemberImportReport.Rejection(lines.get(i), member.getMemberNumber(),
+                            member.getEmail(), "Could not save: " + rootMessage(rowEx)));
+                }
+            }
+        }
+        
+        for (Member member : chunk) {
+            missingMemberNumbers.invalidate(member.getMemberNumber());
+        }
+        chunk.clear();
+        lines.clear();
+        return saved;
+    }
+    
+    private static String duplicateReason(String label, String key, Set<String> existing,
+                                          Map<String, Integer> inFile) {
+        if (existing.contains(key)) {
+            return label + " already registered";
+        }
+        Integer firstLine = inFile.get(key);
+        if (firstLine != null) {
+            return label + " repeated, first used on line " + firstLine;
+        }
+        return null;
+    }
+    
+    private static String field(List<String> row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < row.size() ? row.get(index).trim() : "";
+    }
+    
+    private static String rootMessage(Throwable ex) {
+        while (ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex.getMessage();
+    }
+    
     /**
      * Validates member data.
      */
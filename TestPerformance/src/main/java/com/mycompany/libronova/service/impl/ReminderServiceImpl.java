@@ -0,0 +1,175 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.DueReminder;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.concurrent.TimingWheel;
+import com.mycompany.libronova.infra.config.AppConfig;
+import com.mycompany.libronova.infra.notify.ReminderSink;
+import com.mycompany.libronova.repository.LoanRepository;
+import com.mycompany.libronova.service.ReminderService;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of ReminderService backed by a hierarchical timing wheel
+ * with one-hour ticks. The active loans are read once at startup; after
+ * that createLoan and returnBook keep the wheel current, so finding the
+ * reminders due in the current hour never scans the loans table.
+ * 
+ * @author Wilffren Muñoz
+ */
+public class ReminderServiceImpl implements ReminderService {
+    
+    private static final Logger LOGGER = Logger.getLogger(ReminderServiceImpl.class.getName());
+    
+    // 64^4 hours ahead, far beyond any loan period
+    private static final int WHEEL_LEVELS = 4;
+    
+    private final LoanRepository loanRepository;
+    private final ReminderSink sink;
+    private final int leadDays;
+    private final int sendHour;
+    private final TimingWheel<DueReminder> wheel;
+    private ScheduledExecutorService scheduler;
+    
+    public ReminderServiceImpl(LoanRepository loanRepository, ReminderSink sink) {
+        this(loanRepository, sink,
+             AppConfig.getInstance().getInt("prestamo.recordatorio.dias", 2),
+             AppConfig.getInstance().getInt("prestamo.recordatorio.hora", 9));
+    }
+    
+    public ReminderServiceImpl(LoanRepository loanRepository, ReminderSink sink, int leadDays, int sendHour) {
+        if (leadDays < 0 || sendHour < 0 || sendHour > 23) {
+            throw new IllegalArgumentException("Lead days must be >= 0 and send hour between 0 and 23");
+        }
+        this.loanRepository = loanRepository;
+        this.sink = sink;
+        this.leadDays = leadDays;
+        this.sendHour = sendHour;
+        this.wheel = new TimingWheel<>(WHEEL_LEVELS, tickOf(LocalDateTime.now()));
+    }
+    
+    @Override
+    public void loanCreated(Loan loan) {
+        // A short loan may already be inside the lead time; remind on the next tick
+        schedule(loan, true);
+    }
+    
+    @Override
+    public void loanReturned(Long loanId) {
+        synchronized (wheel) {
+            wheel.cancel(loanId);
+        }
+    }
+    
+    @Override
+    public int load() throws DatabaseException {
+        List<Loan> loans = loanRepository.findActiveDueFrom(LocalDate.now());
+        int scheduled = 0;
+        for (Loan loan : loans) {
+            // Reminders whose time passed were sent before the restart
+            if (schedule(loan, false)) {
+                scheduled++;
+            }
+        }
+        LOGGER.info("Due-date reminders scheduled: " + scheduled);
+        return scheduled;
+    }
+    
+    @Override
+    public int sendDue() {
+        List<DueReminder> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(tickOf(LocalDateTime.now()));
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            sink.send(due);
+            LOGGER.info("Due-date reminders sent: " + due.size());
+            return due.size();
+        } catch (IOException ex) {
+            // Keep the batch: the wheel fires overdue timers again on the next tick
+            synchronized (wheel) {
+                for (DueReminder reminder : due) {
+                    wheel.schedule(reminder.getLoanId(), wheel.getCurrentTick(), reminder);
+                }
+            }
+            LOGGER.log(Level.SEVERE, "Could not send " + due.size()
+                    + " due-date reminders, retrying on the next tick", ex);
+            return 0;
+        }
+    }
+    
+    @Override
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "due-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                load();
+            } catch (DatabaseException ex) {
+                LOGGER.log(Level.SEVERE, "Could not load loans for reminders", ex);
+            }
+        });
+        // Checking every minute is cheap: the wheel only moves once per hour
+        scheduler.scheduleWithFixedDelay(this::sendDue, 1, 1, TimeUnit.MINUTES);
+        
+        LOGGER.info("Due-date reminders started, " + leadDays + " days ahead at " + sendHour + ":00");
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOGGER.info("Due-date reminders stopped");
+        }
+    }
+    
+    private boolean schedule(Loan loan, boolean catchUp) {
+        if (loan.getId() == null || loan.getStatus() != LoanStatus.ACTIVE
+                || loan.getExpectedReturnDate().isBefore(LocalDate.now())) {
+            return false;
+        }
+        
+        LocalDateTime remindAt = loan.getExpectedReturnDate().minusDays(leadDays).atTime(sendHour, 0);
+        synchronized (wheel) {
+            if (!catchUp && tickOf(remindAt) <= wheel.getCurrentTick()) {
+                return false;
+            }
+            wheel.schedule(loan.getId(), tickOf(remindAt), DueReminder.of(loan));
+            return true;
+        }
+    }
+    
+    private static long tickOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.libronova.ui;
 
+import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -14,11 +15,14 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import com.mycompany.libronova.domain.Book;
 import com.mycompany.libronova.exceptions.*;
-import com.mycompany.libronova.infra.util.CSVExporter;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.service.AsyncBookService;
 import com.mycompany.libronova.service.BookService;
-import java.io.IOException;
+import com.mycompany.libronova.service.CatalogService;
+import com.mycompany.libronova.service.ExportJob;
+import com.mycompany.libronova.service.ExportOptions;
+import com.mycompany.libronova.service.ReportService;
 import java.time.Year;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -29,6 +33,9 @@ import java.util.Optional;
 public class BookView {
     
     private final BookService bookService;
+    private final AsyncBookService asyncBookService;
+    private final CatalogService catalogService;
+    private final ReportService reportService;
     private Stage stage;
     private Stage parentStage;
     
@@ -46,8 +53,12 @@ public class BookView {
     private TextField txtTotalStock;
     private TextField txtSearch;
     
-    public BookView(BookService bookService) {
+    public BookView(BookService bookService, AsyncBookService asyncBookService,
+                    CatalogService catalogService, ReportService reportService) {
         this.bookService = bookService;
+        this.asyncBookService = asyncBookService;
+        this.catalogService = catalogService;
+        this.reportService = reportService;
         this.bookList = FXCollections.observableArrayList();
     }
     
@@ -232,14 +243,24 @@ public class BookView {
     
     private void loadBooks() {
         try {
-            List<Book> books = bookService.listAllBooks();
-            bookList.clear();
-            bookList.addAll(books);
+            bookList.setAll(catalogService.getBooks());
         } catch (DatabaseException e) {
             showError("Database Error", "Failed to load books: " + e.getMessage());
         }
     }
     
+    /**
+     * Pulls our own changes into the catalog snapshot, then reloads the table.
+     */
+    private void refreshBooks() {
+        try {
+            catalogService.refresh();
+        } catch (DatabaseException e) {
+            showError("Database Error", "Failed to refresh books: " + e.getMessage());
+        }
+        loadBooks();
+    }
+    
     private void searchBooks() {
         String searchTerm = txtSearch.getText().trim();
         if (searchTerm.isEmpty()) {
@@ -247,20 +268,21 @@ public class BookView {
             return;
         }
         
-        try {
-            List<Book> books = bookService.findBooksByTitle(searchTerm);
-            bookList.clear();
-            bookList.addAll(books);
-        } catch (DatabaseException e) {
-            showError("Database Error", "Failed to search books: " + e.getMessage());
-        }
+        // Title search hits the database, so it runs off the FX thread
+        asyncBookService.findBooksByTitle(searchTerm).whenComplete((books, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                showError("Database Error", "Failed to search books: " + AsyncExecutor.unwrap(error).getMessage());
+            } else {
+                bookList.setAll(books);
+            }
+        }));
     }
     
     private void addBook() {
         try {
             Book book = createBookFromForm();
             bookService.registerBook(book);
-            loadBooks();
+            refreshBooks();
             clearForm();
             showInfo("Success", "Book added successfully!");
         } catch (Exception e) {
@@ -279,7 +301,7 @@ public class BookView {
             Book book = createBookFromForm();
             book.setId(selectedBook.getId());
             bookService.updateBook(book);
-            loadBooks();
+            refreshBooks();
             clearForm();
             showInfo("Success", "Book updated successfully!");
         } catch (Exception e) {
@@ -303,6 +325,7 @@ public class BookView {
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
                 bookService.deleteBook(selectedBook.getId());
+                catalogService.remove(selectedBook.getId());
                 loadBooks();
                 clearForm();
                 showInfo("Success", "Book deleted successfully!");
@@ -371,19 +394,10 @@ public class BookView {
     
     private void exportBooksToCSV() {
         try {
-            List<Book> books = bookService.listAllBooks();
-            if (books.isEmpty()) {
-                showWarning("No Data", "No books available to export.");
-                return;
-            }
-            
-            String fileName = CSVExporter.exportBookCatalog(books, null);
-            showInfo("Export Successful", "Book catalog exported successfully to: " + fileName);
-            
-        } catch (DatabaseException e) {
-            showError("Database Error", "Failed to retrieve books for export: " + e.getMessage());
-        } catch (IOException e) {
-            showError("Export Error", "Failed to export books to CSV: " + e.getMessage());
+            ExportJob job = reportService.submitBookCatalogExport(ExportOptions.fromConfig());
+            ExportJobWindow.show(stage, job);
+        } catch (RuntimeException e) {
+            showError("Export Error", "Failed to start book catalog export: " + e.getMessage());
         }
     }
 }
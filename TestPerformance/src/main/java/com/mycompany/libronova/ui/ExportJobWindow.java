@@ -0,0 +1,109 @@
+package com.mycompany.libronova.ui;
+
+import com.mycompany.libronova.service.ExportJob;
+import java.util.concurrent.CancellationException;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * Small non-modal window following an export job, with a progress bar,
+ * the row count and a cancel button. It closes when the job finishes
+ * and reports the result, so the rest of the UI stays usable meanwhile.
+ *
+ * @author Wilffren Muñoz
+ */
+public class ExportJobWindow {
+
+    private static final Duration REFRESH_INTERVAL = Duration.millis(250);
+
+    private final ExportJob job;
+    private final Stage stage = new Stage();
+    private final ProgressBar progressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+    private final Label lblRows = new Label("Waiting to start...");
+    private final Timeline refresher;
+
+    private ExportJobWindow(ExportJob job) {
+        this.job = job;
+        this.refresher = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+        refresher.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    /**
+     * Opens a window for a submitted job.
+     *
+     * @param owner the window the export was started from
+     * @param job the job to follow
+     */
+    public static void show(Stage owner, ExportJob job) {
+        new ExportJobWindow(job).open(owner);
+    }
+
+    private void open(Stage owner) {
+        Label lblTitle = new Label(job.getDescription() + " export");
+        lblTitle.setStyle("-fx-font-weight: bold;");
+        progressBar.setPrefWidth(300);
+
+        Button btnCancel = new Button("Cancel");
+        btnCancel.setOnAction(e -> {
+            btnCancel.setDisable(true);
+            job.cancel();
+        });
+
+        VBox root = new VBox(10, lblTitle, progressBar, lblRows, btnCancel);
+        root.setPadding(new Insets(15));
+        root.setAlignment(Pos.CENTER);
+
+        if (owner != null) {
+            stage.initOwner(owner);
+        }
+        stage.setTitle("Export #" + job.getId());
+        stage.setScene(new Scene(root));
+        stage.setResizable(false);
+        stage.setOnCloseRequest(e -> refresher.stop());
+        stage.show();
+
+        refresher.play();
+        job.onCompletion((fileName, error) -> Platform.runLater(() -> finish(fileName, error)));
+    }
+
+    private void refresh() {
+        long total = job.getEstimatedTotal();
+        if (job.getStatus() == ExportJob.Status.RUNNING) {
+            progressBar.setProgress(total > 0 ? job.getProgress() : ProgressBar.INDETERMINATE_PROGRESS);
+            lblRows.setText(total > 0
+                    ? String.format("%,d of about %,d rows", job.getRowsWritten(), total)
+                    : String.format("%,d rows", job.getRowsWritten()));
+        }
+    }
+
+    private void finish(String fileName, Throwable error) {
+        refresher.stop();
+        stage.close();
+
+        Alert alert;
+        if (error == null) {
+            alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Export Successful");
+            alert.setContentText(job.getDescription() + " exported to: " + fileName
+                    + "\nTotal records: " + job.getRowsWritten());
+        } else if (error instanceof CancellationException) {
+            alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Export Cancelled");
+            alert.setContentText(job.getDescription() + " export was cancelled.");
+        } else {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Failed");
+            alert.setContentText("Error during export: " + error.getMessage());
+        }
+        alert.setHeaderText(null);
+        alert.show();
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.libronova.ui;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -11,18 +12,24 @@ import javafx.scene.layout.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Hold;
 import com.mycompany.libronova.domain.Loan;
 import com.mycompany.libronova.domain.LoanStatus;
 import com.mycompany.libronova.domain.Member;
 import com.mycompany.libronova.exceptions.*;
-import com.mycompany.libronova.infra.util.CSVExporter;
-import com.mycompany.libronova.service.BookService;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.service.AsyncLoanService;
+import com.mycompany.libronova.service.AsyncMemberService;
+import com.mycompany.libronova.service.CatalogService;
+import com.mycompany.libronova.service.ExportJob;
+import com.mycompany.libronova.service.ExportOptions;
+import com.mycompany.libronova.service.HoldService;
 import com.mycompany.libronova.service.LoanService;
-import com.mycompany.libronova.service.MemberService;
-import java.io.IOException;
+import com.mycompany.libronova.service.ReportService;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * JavaFX View for Loan management.
@@ -32,8 +39,11 @@ import java.util.Optional;
 public class LoanView {
     
     private final LoanService loanService;
-    private final BookService bookService;
-    private final MemberService memberService;
+    private final AsyncLoanService asyncLoanService;
+    private final CatalogService catalogService;
+    private final AsyncMemberService asyncMemberService;
+    private final HoldService holdService;
+    private final ReportService reportService;
     private Stage stage;
     private Stage parentStage;
     
@@ -47,10 +57,19 @@ public class LoanView {
     private TextField txtLoanDays;
     private Label lblSelectedLoan;
     
-    public LoanView(LoanService loanService, BookService bookService, MemberService memberService) {
+    // Reused while the same checkout is retried, so a timed-out attempt is not lent twice
+    private String checkoutKey;
+    private String checkoutRequest;
+    
+    public LoanView(LoanService loanService, AsyncLoanService asyncLoanService,
+                    CatalogService catalogService, AsyncMemberService asyncMemberService,
+                    HoldService holdService, ReportService reportService) {
         this.loanService = loanService;
-        this.bookService = bookService;
-        this.memberService = memberService;
+        this.asyncLoanService = asyncLoanService;
+        this.catalogService = catalogService;
+        this.asyncMemberService = asyncMemberService;
+        this.holdService = holdService;
+        this.reportService = reportService;
         this.loanList = FXCollections.observableArrayList();
     }
     
@@ -290,6 +309,11 @@ public class LoanView {
         return bottomSection;
     }
     
+    /**
+     * Loads books, members and loans concurrently.
+     * Books come from the in-memory catalog snapshot; members and loans are
+     * applied on the JavaFX thread as soon as they arrive.
+     */
     private void loadData() {
         loadBooks();
         loadMembers();
@@ -298,7 +322,7 @@ public class LoanView {
     
     private void loadBooks() {
         try {
-            List<Book> books = bookService.listAllBooks();
+            List<Book> books = catalogService.getBooks();
             if (books.isEmpty()) {
                 cboBook.setItems(FXCollections.observableArrayList());
                 cboBook.setPromptText("No books available");
@@ -313,29 +337,40 @@ public class LoanView {
         }
     }
     
-    private void loadMembers() {
+    /**
+     * Pulls stock changes into the catalog snapshot, then reloads the book list.
+     */
+    private void refreshBooks() {
         try {
-            List<Member> members = memberService.listActiveMembers();
-            if (members.isEmpty()) {
+            catalogService.refresh();
+        } catch (DatabaseException e) {
+            showError("Database Error", "Failed to refresh books: " + e.getMessage());
+        }
+        loadBooks();
+    }
+    
+    private void loadMembers() {
+        asyncMemberService.listActiveMembers().whenComplete((members, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                showError("Database Error", "Failed to load members: " + AsyncExecutor.unwrap(error).getMessage());
+            } else if (members.isEmpty()) {
                 cboMember.setItems(FXCollections.observableArrayList());
                 cboMember.setPromptText("No active members available");
             } else {
                 cboMember.setItems(FXCollections.observableArrayList(members));
                 cboMember.setPromptText("Select a member...");
             }
-        } catch (DatabaseException e) {
-            showError("Database Error", "Failed to load members: " + e.getMessage());
-        }
+        }));
     }
     
     private void loadLoans() {
-        try {
-            List<Loan> loans = loanService.listAllLoans();
-            loanList.clear();
-            loanList.addAll(loans);
-        } catch (DatabaseException e) {
-            showError("Database Error", "Failed to load loans: " + e.getMessage());
-        }
+        asyncLoanService.listAllLoans().whenComplete((loans, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                showError("Database Error", "Failed to load loans: " + AsyncExecutor.unwrap(error).getMessage());
+            } else {
+                loanList.setAll(loans);
+            }
+        }));
     }
     
     private void loadActiveLoans() {
@@ -374,8 +409,9 @@ public class LoanView {
             return;
         }
         
-        if (selectedBook.getAvailableStock() <= 0) {
-            showWarning("Book Unavailable", "The selected book is not available (no stock).");
+        if (selectedBook.getAvailableStock() <= 0
+                && holdService.findReadyHold(selectedBook.getId(), selectedMember.getId()).isEmpty()) {
+            offerHold(selectedBook, selectedMember);
             return;
         }
         
@@ -392,9 +428,17 @@ public class LoanView {
                 return;
             }
             
-            loanService.createLoan(selectedBook.getId(), selectedMember.getId(), loanDays);
+            String request = selectedBook.getId() + ":" + selectedMember.getId() + ":" + loanDays;
+            if (!request.equals(checkoutRequest)) {
+                checkoutRequest = request;
+                checkoutKey = UUID.randomUUID().toString();
+            }
+            
+            loanService.createLoan(checkoutKey, selectedBook.getId(), selectedMember.getId(), loanDays);
+            checkoutKey = null;
+            checkoutRequest = null;
             loadLoans();
-            loadBooks(); // Refresh books to show updated stock
+            refreshBooks(); // Refresh books to show updated stock
             clearForm();
             showInfo("Success", "Loan created successfully!\nBook: " + selectedBook.getTitle() + 
                     "\nMember: " + selectedMember.getName() + " (" + selectedMember.getMemberNumber() + ")");
@@ -405,6 +449,28 @@ public class LoanView {
         }
     }
     
+    private void offerHold(Book book, Member member) {
+        int waiting = holdService.getQueue(book.getId()).size();
+        
+        Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmDialog.setTitle("Book Unavailable");
+        confirmDialog.setHeaderText("No copies of this book are available");
+        confirmDialog.setContentText("Place a hold for " + member.getName() + "?\n\nBook: " + book.getTitle() +
+                                    "\nMembers already waiting: " + waiting);
+        
+        confirmDialog.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                try {
+                    holdService.placeHold(book.getId(), member.getId(), 0);
+                    showInfo("Hold Placed", member.getName() + " is number " + (waiting + 1) +
+                            " in the queue.\nThe next returned copy will be set aside automatically.");
+                } catch (Exception e) {
+                    showError("Hold Failed", "Failed to place hold: " + e.getMessage());
+                }
+            }
+        });
+    }
+    
     private void returnBook() {
         Loan selectedLoan = loanTable.getSelectionModel().getSelectedItem();
         if (selectedLoan == null) {
@@ -430,15 +496,23 @@ public class LoanView {
         confirmDialog.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 try {
-                    loanService.returnBook(selectedLoan.getId());
+                    Long bookId = selectedLoan.getBook() != null ? selectedLoan.getBook().getId() : null;
+                    long readyBefore = countReadyHolds(bookId);
+                    // A loan is returned once, so its ID makes a stable retry key
+                    loanService.returnBook("return-" + selectedLoan.getId(), selectedLoan.getId());
                     loadLoans();
-                    loadBooks(); // Refresh books to show updated stock
+                    refreshBooks(); // Refresh books to show updated stock
                     clearForm();
                     
                     String successMessage = "Book returned successfully!\n\nBook: " + bookTitle + 
                                           "\nMember: " + memberName + 
                                           "\nReturn Date: " + java.time.LocalDate.now();
                     
+                    // Tell staff when the copy went to the waitlist instead of the shelf
+                    if (countReadyHolds(bookId) > readyBefore) {
+                        successMessage += "\n\nThis copy is set aside for a member with a hold.";
+                    }
+                    
                     // Check if it was overdue
                     if (selectedLoan.isOverdue()) {
                         long overdueDays = selectedLoan.overdueDays();
@@ -453,6 +527,13 @@ public class LoanView {
         });
     }
     
+    private long countReadyHolds(Long bookId) {
+        if (bookId == null) {
+            return 0;
+        }
+        return holdService.getQueue(bookId).stream().filter(Hold::isReady).count();
+    }
+    
     private void calculateFine() {
         Loan selectedLoan = loanTable.getSelectionModel().getSelectedItem();
         if (selectedLoan == null) {
@@ -512,19 +593,10 @@ public class LoanView {
     
     private void exportOverdueLoans() {
         try {
-            List<Loan> overdueLoans = loanService.listOverdueLoans();
-            if (overdueLoans.isEmpty()) {
-                showInfo("No Data", "No overdue loans found to export.");
-                return;
-            }
-            
-            String fileName = CSVExporter.exportOverdueLoans(overdueLoans, null);
-            showInfo("Export Successful", "Overdue loans exported successfully to: " + fileName + "\nTotal records: " + overdueLoans.size());
-            
-        } catch (DatabaseException e) {
-            showError("Database Error", "Failed to retrieve overdue loans for export: " + e.getMessage());
-        } catch (IOException e) {
-            showError("Export Error", "Failed to export overdue loans to CSV: " + e.getMessage());
+            ExportJob job = reportService.submitOverdueLoansExport(ExportOptions.fromConfig());
+            ExportJobWindow.show(stage, job);
+        } catch (RuntimeException e) {
+            showError("Export Error", "Failed to start overdue loans export: " + e.getMessage());
         }
     }
 }
@@ -7,13 +7,26 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.infra.config.AppConfig;
 import com.mycompany.libronova.infra.config.ConnectionDB;
 import com.mycompany.libronova.infra.config.LoggingConfig;
+import com.mycompany.libronova.infra.journal.LoanJournal;
+import com.mycompany.libronova.infra.journal.LoanProjection;
+import com.mycompany.libronova.infra.notify.ReminderSink;
+import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.repository.cache.CachingMemberRepository;
 import com.mycompany.libronova.repository.jdbc.*;
+import com.mycompany.libronova.repository.offheap.MappedBookRepository;
+import com.mycompany.libronova.repository.offheap.MappedCatalogWriter;
 import com.mycompany.libronova.service.*;
 import com.mycompany.libronova.service.impl.*;
 import com.mycompany.libronova.domain.SystemUser;
+import com.mycompany.libronova.exceptions.DatabaseException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main JavaFX Application for LibroNova.
@@ -31,6 +44,32 @@ public class MainApp extends Application {
     private LoanService loanService;
     private ReportService reportService;
     private AuthenticationService authService;
+    private LoanArchiveService loanArchiveService;
+    private FineAccrualService fineAccrualService;
+    private LoanLimitService loanLimitService;
+    private HoldService holdService;
+    private IdempotencyService idempotencyService;
+    private ReminderService reminderService;
+    private AuditService auditService;
+    private CatalogService catalogService;
+    
+    // Mapped catalog file rebuilt on exit; null when catalog.mapped.file is not set
+    private Path mappedCatalogFile;
+    private BookRepositoryJDBC catalogSource;
+    
+    // Loan event journal and the projection replayed from it
+    private LoanJournal loanJournal;
+    private LoanProjection loanProjection;
+    
+    // Async services for non-blocking view loads
+    private AsyncExecutor asyncExecutor;
+    private AsyncBookService asyncBookService;
+    private AsyncMemberService asyncMemberService;
+    private AsyncLoanService asyncLoanService;
+    
+    // Background exports, owned by the report service
+    private AsyncExecutor exportExecutor;
+    private ExportJobRunner exportJobRunner;
 
     // Views
     private BookView bookView;
@@ -63,6 +102,63 @@ public class MainApp extends Application {
         showLoginScreen();
     }
 
+    /**
+     * Stops the background jobs when the application exits. Audit events
+     * and the loan journal are flushed last, after everything that may
+     * still write to them has stopped.
+     */
+    @Override
+    public void stop() {
+        LoggingConfig.logInfo(MainApp.class.getName(), "LibroNova application stopping...");
+        
+        // Services are null if startup stopped at the database check
+        if (catalogService != null) {
+            catalogService.stop();
+        }
+        if (mappedCatalogFile != null) {
+            try {
+                MappedCatalogWriter.exportFrom(catalogSource, mappedCatalogFile);
+            } catch (DatabaseException | IOException ex) {
+                LoggingConfig.logError(MainApp.class.getName(), "Could not rebuild the mapped catalog", ex);
+            }
+        }
+        if (loanArchiveService != null) {
+            loanArchiveService.stop();
+        }
+        if (fineAccrualService != null) {
+            fineAccrualService.stop();
+        }
+        if (loanLimitService != null) {
+            loanLimitService.stop();
+        }
+        if (holdService != null) {
+            holdService.stop();
+        }
+        if (idempotencyService != null) {
+            idempotencyService.stop();
+        }
+        if (reminderService != null) {
+            reminderService.stop();
+        }
+        
+        if (exportJobRunner != null) {
+            exportJobRunner.shutdown();
+        }
+        if (exportExecutor != null) {
+            exportExecutor.shutdown();
+        }
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+        
+        if (auditService != null) {
+            auditService.stop();
+        }
+        if (loanJournal != null) {
+            loanJournal.stop();
+        }
+    }
+
     /**
      * Tests database connection.
      */
@@ -76,14 +172,117 @@ public class MainApp extends Application {
      */
     private void initializeServices() {
         BookRepositoryJDBC bookRepo = new BookRepositoryJDBC();
-        MemberRepositoryJDBC memberRepo = new MemberRepositoryJDBC();
+        MemberRepository memberRepo = new CachingMemberRepository(new MemberRepositoryJDBC());
         LoanRepositoryJDBC loanRepo = new LoanRepositoryJDBC();
 
         bookService = new BookServiceImpl(bookRepo);
         memberService = new MemberServiceImpl(memberRepo);
-        loanService = new LoanServiceImpl(loanRepo, bookRepo, memberRepo);
-        reportService = new ReportServiceImpl(bookService, loanService);
+        FineRepositoryJDBC fineRepo = new FineRepositoryJDBC();
+        FinePolicy finePolicy = FinePolicy.fromConfig();
+        
+        LoanServiceImpl loanServiceImpl = new LoanServiceImpl(loanRepo, bookRepo, memberRepo);
+        loanServiceImpl.setFineLedger(fineRepo, finePolicy);
+        loanLimitService = new LoanLimitServiceImpl(memberRepo);
+        loanServiceImpl.setLoanLimits(loanLimitService);
+        HoldServiceImpl holdServiceImpl = new HoldServiceImpl(new HoldRepositoryJDBC(), bookRepo, memberRepo);
+        holdService = holdServiceImpl;
+        loanServiceImpl.setHolds(holdService);
+        idempotencyService = new IdempotencyServiceImpl(new IdempotencyRepositoryJDBC());
+        loanServiceImpl.setIdempotency(idempotencyService);
+        reminderService = new ReminderServiceImpl(loanRepo, ReminderSink.fromConfig());
+        loanServiceImpl.setReminders(reminderService);
+        initializeJournal(loanServiceImpl, holdServiceImpl);
+        loanService = loanServiceImpl;
+        exportExecutor = new AsyncExecutor(
+                AppConfig.getInstance().getInt("export.max.connections", 4));
+        ReportServiceImpl reportServiceImpl = new ReportServiceImpl(bookService, loanService,
+                bookRepo, loanRepo, exportExecutor);
+        auditService = new AuditServiceImpl(new ActivityRepositoryJDBC());
+        reportServiceImpl.setAudit(auditService);
+        exportJobRunner = new ExportJobRunner();
+        reportServiceImpl.setJobRunner(exportJobRunner);
+        reportServiceImpl.setChangeLog(new ChangeLogRepositoryJDBC(), memberRepo,
+                AppConfig.getInstance().getInt("export.delta.tombstone.days", 30),
+                AppConfig.getInstance().getInt("export.delta.overlap.seconds", 300));
+        reportService = reportServiceImpl;
         authService = new AuthenticationServiceImpl();
+        
+        asyncExecutor = new AsyncExecutor();
+        asyncBookService = new AsyncBookServiceImpl(bookService, asyncExecutor);
+        asyncMemberService = new AsyncMemberServiceImpl(memberService, asyncExecutor);
+        asyncLoanService = new AsyncLoanServiceImpl(loanService, asyncExecutor);
+        
+        CatalogServiceImpl catalogServiceImpl = new CatalogServiceImpl(bookRepo);
+        initializeMappedCatalog(catalogServiceImpl, bookRepo);
+        catalogService = catalogServiceImpl;
+        catalogService.start();
+        
+        loanArchiveService = new LoanArchiveServiceImpl(loanRepo);
+        loanArchiveService.start();
+        
+        fineAccrualService = new FineAccrualServiceImpl(fineRepo, finePolicy);
+        fineAccrualService.start();
+        
+        loanLimitService.start();
+        
+        holdService.start();
+        
+        idempotencyService.start();
+        
+        reminderService.start();
+        
+        auditService.start();
+    }
+
+    /**
+     * Seeds the catalog from the mapped catalog file when catalog.mapped.file
+     * is set, so startup does not read every book from the database. The
+     * file is rebuilt from the database when the application stops.
+     */
+    private void initializeMappedCatalog(CatalogServiceImpl catalogServiceImpl, BookRepositoryJDBC bookRepo) {
+        String file = AppConfig.getInstance().getString("catalog.mapped.file", "");
+        if (file.isBlank()) {
+            return;
+        }
+        mappedCatalogFile = Path.of(file);
+        catalogSource = bookRepo;
+        if (!Files.exists(mappedCatalogFile)) {
+            LoggingConfig.logInfo(MainApp.class.getName(), "No mapped catalog yet; it is written on exit: "
+                    + mappedCatalogFile);
+            return;
+        }
+        
+        try {
+            MappedBookRepository mapped = MappedBookRepository.open(mappedCatalogFile);
+            catalogServiceImpl.setStartupSnapshot(mapped);
+            LoggingConfig.logInfo(MainApp.class.getName(), "Mapped catalog opened: " + mapped.size() + " books");
+        } catch (DatabaseException ex) {
+            LoggingConfig.logError(MainApp.class.getName(), "Could not open the mapped catalog", ex);
+        }
+    }
+
+    /**
+     * Opens the loan journal and rebuilds the loan projection from it.
+     * The application runs without a journal if it cannot be opened.
+     */
+    private void initializeJournal(LoanServiceImpl loanServiceImpl, HoldServiceImpl holdServiceImpl) {
+        try {
+            loanJournal = LoanJournal.fromConfig();
+            loanProjection = new LoanProjection();
+            
+            long started = System.nanoTime();
+            long events = loanJournal.replay(1, loanProjection);
+            LoggingConfig.logInfo(MainApp.class.getName(), "Loan journal replayed: " + events + " events in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms, " + loanProjection);
+            
+            loanJournal.subscribe(loanProjection);
+            loanServiceImpl.setJournal(loanJournal);
+            holdServiceImpl.setJournal(loanJournal);
+            loanJournal.start();
+        } catch (IOException ex) {
+            LoggingConfig.logError(MainApp.class.getName(), "Could not open the loan journal", ex);
+            loanJournal = null;
+        }
     }
 
     /**
@@ -103,13 +302,14 @@ public class MainApp extends Application {
                 throw new IllegalStateException("LoanService is null");
             }
             
-            bookView = new BookView(bookService);
+            bookView = new BookView(bookService, asyncBookService, catalogService, reportService);
             LoggingConfig.logInfo(MainApp.class.getName(), "BookView initialized");
             
             memberView = new MemberView(memberService);
             LoggingConfig.logInfo(MainApp.class.getName(), "MemberView initialized");
             
-            loanView = new LoanView(loanService, bookService, memberService);
+            loanView = new LoanView(loanService, asyncLoanService, catalogService, asyncMemberService,
+                    holdService, reportService);
             LoggingConfig.logInfo(MainApp.class.getName(), "LoanView initialized");
             
             LoggingConfig.logInfo(MainApp.class.getName(), "All views initialized successfully");
@@ -334,21 +534,53 @@ public class MainApp extends Application {
         
         ButtonType btnBookCatalog = new ButtonType("Book Catalog CSV");
         ButtonType btnOverdueLoans = new ButtonType("Overdue Loans CSV");
+        ButtonType btnAllLoans = new ButtonType("All Loans CSV");
+        ButtonType btnColumnar = new ButtonType("All Loans Columnar");
+        ButtonType btnDelta = new ButtonType("Changes Since Last Export");
+        ButtonType btnJson = new ButtonType("JSON Lines");
         ButtonType btnCancel = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
         
-        dialog.getButtonTypes().setAll(btnBookCatalog, btnOverdueLoans, btnCancel);
+        dialog.getButtonTypes().setAll(btnBookCatalog, btnOverdueLoans, btnAllLoans, btnColumnar, btnDelta, btnJson, btnCancel);
+        
+        ExportOptions defaults = ExportOptions.fromConfig();
+        CheckBox chkCompress = new CheckBox("Compress output (gzip)");
+        chkCompress.setSelected(defaults.isCompressed());
+        dialog.getDialogPane().setContent(chkCompress);
         
         dialog.showAndWait().ifPresent(response -> {
+            ExportOptions options = defaults.withCompression(chkCompress.isSelected());
             try {
+                ExportJob job = null;
                 if (response == btnBookCatalog) {
-                    String fileName = reportService.exportBookCatalog();
-                    showInfoAlert("Export Successful", "Book catalog exported to: " + fileName);
-                    reportService.logUserActivity("USER", "EXPORT_BOOKS_UI", "Book catalog exported via main menu");
+                    job = reportService.submitBookCatalogExport(options);
+                    reportService.logUserActivity("USER", "EXPORT_BOOKS_UI", "Book catalog export started via main menu");
                     
                 } else if (response == btnOverdueLoans) {
-                    String fileName = reportService.exportOverdueLoans();
-                    showInfoAlert("Export Successful", "Overdue loans exported to: " + fileName);
-                    reportService.logUserActivity("USER", "EXPORT_OVERDUE_UI", "Overdue loans exported via main menu");
+                    job = reportService.submitOverdueLoansExport(options);
+                    reportService.logUserActivity("USER", "EXPORT_OVERDUE_UI", "Overdue loans export started via main menu");
+                    
+                } else if (response == btnAllLoans) {
+                    job = reportService.submitAllLoansExport(options);
+                    reportService.logUserActivity("USER", "EXPORT_ALL_LOANS_UI", "All loans export started via main menu");
+                    
+                } else if (response == btnColumnar) {
+                    job = reportService.submitLoansColumnarExport();
+                    reportService.logUserActivity("USER", "EXPORT_LOANS_COLUMNAR_UI", "Columnar all loans export started via main menu");
+                    
+                } else if (response == btnDelta) {
+                    for (ExportEntity entity : ExportEntity.values()) {
+                        ExportJobWindow.show(primaryStage, reportService.submitDeltaExport(entity, options));
+                    }
+                    reportService.logUserActivity("USER", "EXPORT_DELTA_UI", "Delta exports started via main menu");
+                    
+                } else if (response == btnJson) {
+                    for (ExportEntity entity : ExportEntity.values()) {
+                        ExportJobWindow.show(primaryStage, reportService.submitJsonLinesExport(entity, options));
+                    }
+                    reportService.logUserActivity("USER", "EXPORT_JSON_LINES_UI", "JSON Lines exports started via main menu");
+                }
+                if (job != null) {
+                    ExportJobWindow.show(primaryStage, job);
                 }
             } catch (Exception e) {
                 reportService.logSystemError("MainApp", "Export failed", e);
@@ -8,12 +8,15 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberImportReport;
 import com.mycompany.libronova.domain.MemberStatus;
 import com.mycompany.libronova.exceptions.*;
 import com.mycompany.libronova.service.MemberService;
+import java.io.File;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -195,6 +198,10 @@ public class MemberView {
         btnDeactivate.setStyle("-fx-background-color: #e67e22; -fx-text-fill: white;");
         btnDeactivate.setOnAction(e -> deactivateMember());
         
+        Button btnImport = new Button("Import CSV");
+        btnImport.setStyle("-fx-background-color: #3498db; -fx-text-fill: white;");
+        btnImport.setOnAction(e -> importMembers());
+        
         Button btnClear = new Button("Clear Form");
         btnClear.setOnAction(e -> clearForm());
         
@@ -203,7 +210,7 @@ public class MemberView {
             stage.close();
         });
         
-        bottomSection.getChildren().addAll(btnAdd, btnUpdate, btnActivate, btnDeactivate, btnClear, btnBack);
+        bottomSection.getChildren().addAll(btnAdd, btnUpdate, btnActivate, btnDeactivate, btnImport, btnClear, btnBack);
         
         return bottomSection;
     }
@@ -234,6 +241,29 @@ public class MemberView {
         }
     }
     
+    private void importMembers() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Members");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) {
+            return;
+        }
+        
+        try {
+            MemberImportReport report = memberService.importMembers(file.toPath());
+            loadMembers();
+            if (report.getRejections().isEmpty()) {
+                showInfo("Import Complete", report.getImported() + " members imported.");
+            } else {
+                showWarning("Import Complete", report.getImported() + " members imported, "
+                        + report.getRejections().size() + " rows rejected.\n\nSee " + report.getRejectionFile());
+            }
+        } catch (Exception e) {
+            showError("Error", "Failed to import members: " + e.getMessage());
+        }
+    }
+    
     private void updateMember() {
         Member selectedMember = memberTable.getSelectionModel().getSelectedItem();
         if (selectedMember == null) {
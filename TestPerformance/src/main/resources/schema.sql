@@ -17,7 +17,8 @@ CREATE TABLE books (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_isbn (isbn),
-    INDEX idx_title (title)
+    INDEX idx_title (title),
+    INDEX idx_books_updated_at (updated_at)
 ) ENGINE=InnoDB;
 
 -- ==========================================
@@ -30,11 +31,15 @@ CREATE TABLE members (
     member_number VARCHAR(50) NOT NULL UNIQUE,
     status ENUM('ACTIVE', 'INACTIVE', 'SUSPENDED') NOT NULL DEFAULT 'ACTIVE',
     registration_date DATE NOT NULL,
+    active_loans INT NOT NULL DEFAULT 0,
+    overdue_loans INT NOT NULL DEFAULT 0,
+    overdue_counted_on DATE NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_member_number (member_number),
     INDEX idx_email (email),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_members_updated_at (updated_at)
 ) ENGINE=InnoDB;
 
 -- ==========================================
@@ -55,6 +60,118 @@ CREATE TABLE loans (
     INDEX idx_book_id (book_id),
     INDEX idx_member_id (member_id),
     INDEX idx_status (status),
-    INDEX idx_expected_return_date (expected_return_date)
+    INDEX idx_expected_return_date (expected_return_date),
+    INDEX idx_status_actual_return_date (status, actual_return_date),
+    INDEX idx_loans_updated_at (updated_at)
+) ENGINE=InnoDB;
+
+-- ==========================================
+-- Table: loans_history
+-- Returned loans moved out of the loans table by the archival job
+-- ==========================================
+CREATE TABLE loans_history (
+    id BIGINT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    loan_date DATE NOT NULL,
+    expected_return_date DATE NOT NULL,
+    actual_return_date DATE NULL,
+    status ENUM('ACTIVE', 'RETURNED', 'OVERDUE') NOT NULL,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_history_book_id (book_id),
+    INDEX idx_history_member_id (member_id),
+    INDEX idx_history_actual_return_date (actual_return_date)
 ) ENGINE=InnoDB;
 
+-- ==========================================
+-- Table: loan_fines
+-- Fine ledger maintained by the nightly accrual job, one row per overdue loan
+-- ==========================================
+CREATE TABLE loan_fines (
+    loan_id BIGINT PRIMARY KEY,
+    member_id BIGINT NOT NULL,
+    overdue_days INT NOT NULL,
+    daily_rate DECIMAL(10, 2) NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    accrued_through DATE NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_fines_member_amount (member_id, amount)
+) ENGINE=InnoDB;
+
+-- ==========================================
+-- Table: holds
+-- Waitlist of members for books with no available stock
+-- ==========================================
+CREATE TABLE holds (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    priority INT NOT NULL DEFAULT 0,
+    status ENUM('WAITING', 'READY', 'FULFILLED', 'EXPIRED', 'CANCELLED') NOT NULL DEFAULT 'WAITING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ready_at TIMESTAMP NULL,
+    expires_at TIMESTAMP NULL,
+    FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE,
+    FOREIGN KEY (member_id) REFERENCES members(id) ON DELETE CASCADE,
+    INDEX idx_holds_queue (book_id, status, priority, id),
+    INDEX idx_holds_status_expires (status, expires_at)
+) ENGINE=InnoDB;
+
+-- ==========================================
+-- Table: idempotency_keys
+-- Client-supplied keys that make createLoan and returnBook retries safe
+-- ==========================================
+CREATE TABLE idempotency_keys (
+    idem_key VARCHAR(64) PRIMARY KEY,
+    operation VARCHAR(20) NOT NULL,
+    loan_id BIGINT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_idempotency_created_at (created_at)
+) ENGINE=InnoDB;
+
+-- ==========================================
+-- Table: user_activity
+-- Audit trail written behind ReportService.logUserActivity and logSystemError
+-- ==========================================
+CREATE TABLE user_activity (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    details TEXT NULL,
+    created_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_activity_user_created (user_id, created_at)
+) ENGINE=InnoDB;
+
+-- ==========================================
+-- Table: deleted_rows
+-- Tombstones of deleted books, members and loans, read by delta exports.
+-- Loans moved to loans_history by the archival job leave a tombstone too.
+-- ==========================================
+CREATE TABLE deleted_rows (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_name VARCHAR(20) NOT NULL,
+    row_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_deleted_table_at (table_name, deleted_at),
+    INDEX idx_deleted_at (deleted_at)
+) ENGINE=InnoDB;
+
+CREATE TRIGGER trg_books_deleted AFTER DELETE ON books
+    FOR EACH ROW INSERT INTO deleted_rows (table_name, row_id) VALUES ('books', OLD.id);
+
+CREATE TRIGGER trg_members_deleted AFTER DELETE ON members
+    FOR EACH ROW INSERT INTO deleted_rows (table_name, row_id) VALUES ('members', OLD.id);
+
+CREATE TRIGGER trg_loans_deleted AFTER DELETE ON loans
+    FOR EACH ROW INSERT INTO deleted_rows (table_name, row_id) VALUES ('loans', OLD.id);
+
+-- ==========================================
+-- Table: export_watermarks
+-- Point in time each delta export has covered
+-- ==========================================
+CREATE TABLE export_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
@@ -0,0 +1,122 @@
+package com.mycompany.libronova.infra.columnar;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoanColumnWriter and LoanColumnReader focusing on round trips and corruption.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Columnar Loan File Tests")
+class LoanColumnWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should read back every loan across row groups, nulls included")
+    void shouldRoundTripLoansAcrossRowGroups() throws Exception {
+        // Given
+        Path file = dir.resolve("loans" + LoanColumnWriter.FILE_EXTENSION);
+        List<Loan> loans = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            loans.add(loan(id, id % 2 == 0 ? LoanStatus.RETURNED : LoanStatus.ACTIVE));
+        }
+        loans.get(6).setBook(null);
+
+        // When
+        try (LoanColumnWriter writer = LoanColumnWriter.open(file, 3)) {
+            for (Loan loan : loans) {
+                writer.append(loan);
+            }
+        }
+        List<Loan> read = new ArrayList<>();
+        try (LoanColumnReader reader = LoanColumnReader.open(file)) {
+            assertEquals(3, reader.getRowGroupCount());
+            assertEquals(7, reader.getRowCount());
+            assertEquals(4, reader.getIdRange(1).getMin());
+            assertEquals(6, reader.getIdRange(1).getMax());
+            reader.forEach(read::add);
+        }
+
+        // Then
+        assertEquals(7, read.size());
+        for (int i = 0; i < loans.size(); i++) {
+            Loan expected = loans.get(i);
+            Loan actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getLoanDate(), actual.getLoanDate());
+            assertEquals(expected.getExpectedReturnDate(), actual.getExpectedReturnDate());
+            assertEquals(expected.getActualReturnDate(), actual.getActualReturnDate());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getMember().getId(), actual.getMember().getId());
+            assertEquals(expected.getMember().getName(), actual.getMember().getName());
+            assertEquals(expected.getMember().getMemberNumber(), actual.getMember().getMemberNumber());
+        }
+        assertEquals("Cien años de soledad", read.get(0).getBook().getTitle());
+        assertEquals("978-0000000002", read.get(1).getBook().getIsbn());
+        assertNull(read.get(6).getBook());
+    }
+
+    @Test
+    @DisplayName("Should reject a row group whose bytes do not match its CRC")
+    void shouldDetectCorruptRowGroup() throws Exception {
+        // Given
+        Path file = dir.resolve("loans" + LoanColumnWriter.FILE_EXTENSION);
+        try (LoanColumnWriter writer = LoanColumnWriter.open(file, 10)) {
+            writer.append(loan(1L, LoanStatus.ACTIVE));
+            writer.append(loan(2L, LoanStatus.ACTIVE));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // First byte of the ID column, right after the file header
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), 8);
+        }
+
+        // When / Then
+        try (LoanColumnReader reader = LoanColumnReader.open(file)) {
+            IOException ex = assertThrows(IOException.class, () -> reader.readRowGroup(0));
+            assertTrue(ex.getMessage().contains("CRC"));
+        }
+    }
+
+    private Loan loan(Long id, LoanStatus status) {
+        Book book = new Book();
+        book.setId(100 + id % 3);
+        book.setIsbn("978-000000000" + id % 3);
+        book.setTitle(id % 3 == 1 ? "Cien años de soledad" : "Dune");
+
+        Member member = new Member();
+        member.setId(500 - id);
+        member.setName("Socio " + id);
+        member.setMemberNumber("M-" + id);
+
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setLoanDate(LocalDate.of(2025, 1, 1).plusDays(id));
+        loan.setExpectedReturnDate(loan.getLoanDate().plusDays(14));
+        if (status == LoanStatus.RETURNED) {
+            loan.setActualReturnDate(loan.getLoanDate().plusDays(10));
+        }
+        loan.setStatus(status);
+        return loan;
+    }
+}
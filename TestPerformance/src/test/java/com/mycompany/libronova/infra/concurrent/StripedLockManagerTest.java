@@ -0,0 +1,68 @@
+package com.mycompany.libronova.infra.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StripedLockManager focusing on which operations wait for each other.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Striped Lock Manager Tests")
+class StripedLockManagerTest {
+
+    @Test
+    @DisplayName("Should let operations on different books run in parallel")
+    void shouldNotBlockUnrelatedBooks() throws Exception {
+        // Given
+        StripedLockManager locks = new StripedLockManager(256);
+
+        // When
+        StripedLockManager.Held held = locks.lock(1L, 10L);
+        try {
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() -> {
+                StripedLockManager.Held inner = locks.lock(2L, 20L);
+                inner.close();
+            });
+            other.get(5, TimeUnit.SECONDS);
+        } finally {
+            held.close();
+        }
+
+        // Then
+        assertEquals(0, locks.getContendedAcquisitions());
+        assertEquals(4, locks.getAcquisitions());
+    }
+
+    @Test
+    @DisplayName("Should make a second operation on the same book wait and count the wait")
+    void shouldSerializeSameBook() throws Exception {
+        // Given
+        StripedLockManager locks = new StripedLockManager(256);
+        CompletableFuture<Void> other;
+
+        // When
+        StripedLockManager.Held held = locks.lock(List.of(7L, 3L, 7L), 10L);
+        try {
+            other = CompletableFuture.runAsync(() -> {
+                StripedLockManager.Held inner = locks.lock(List.of(3L), 99L);
+                inner.close();
+            });
+            Thread.sleep(100);
+            assertFalse(other.isDone());
+        } finally {
+            held.close();
+        }
+        other.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1, locks.getContendedAcquisitions());
+        assertTrue(locks.getMaxWaitMillis() >= 50);
+    }
+}
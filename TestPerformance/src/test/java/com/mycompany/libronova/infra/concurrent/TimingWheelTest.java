@@ -0,0 +1,64 @@
+package com.mycompany.libronova.infra.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheel focusing on firing ticks across levels.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Timing Wheel Tests")
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should fire timers on their deadline tick across levels")
+    void shouldFireOnDeadlineAcrossLevels() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(3, 0);
+        wheel.schedule(1L, 5, "five");
+        wheel.schedule(2L, 70, "seventy");
+        wheel.schedule(3L, 5000, "five thousand");
+
+        // When
+        List<String> early = wheel.advanceTo(4);
+        List<String> atFive = wheel.advanceTo(5);
+        List<String> beforeSeventy = wheel.advanceTo(69);
+        List<String> atSeventy = wheel.advanceTo(70);
+        List<String> beforeLast = wheel.advanceTo(4999);
+        List<String> atLast = wheel.advanceTo(5000);
+
+        // Then
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("five"), atFive);
+        assertTrue(beforeSeventy.isEmpty());
+        assertEquals(List.of("seventy"), atSeventy);
+        assertTrue(beforeLast.isEmpty());
+        assertEquals(List.of("five thousand"), atLast);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled timers and move rescheduled ones")
+    void shouldCancelAndReschedule() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(2, 100);
+        wheel.schedule(1L, 200, "cancelled");
+        wheel.schedule(2L, 300, "first");
+
+        // When
+        assertTrue(wheel.cancel(1L));
+        wheel.schedule(2L, 150, "moved");
+        wheel.schedule(3L, 50, "overdue");
+        List<String> fired = wheel.advanceTo(400);
+
+        // Then
+        assertEquals(List.of("overdue", "moved"), fired);
+        assertFalse(wheel.cancel(1L));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.libronova.infra.journal;
+
+import com.mycompany.libronova.domain.LoanEvent;
+import com.mycompany.libronova.domain.LoanEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoanJournal focusing on segment rolling, replay and recovery.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Loan Journal Tests")
+class LoanJournalTest {
+
+    // Header plus four records, so a handful of events spans several segments
+    private static final int SEGMENT_BYTES = 32 + 4 * 56;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should replay events across segments after reopening")
+    void shouldReplayAcrossSegments() throws IOException {
+        // Given
+        LoanJournal journal = LoanJournal.open(dir, SEGMENT_BYTES, 10);
+        for (long loanId = 1; loanId <= 6; loanId++) {
+            journal.append(LoanEvent.bookReturned(loanId, 10L, 20L));
+            journal.append(LoanEvent.stockChanged(10L, 1));
+        }
+        journal.stop();
+
+        // When
+        LoanJournal reopened = LoanJournal.open(dir, SEGMENT_BYTES, 10);
+        List<LoanEvent> all = new ArrayList<>();
+        List<LoanEvent> tail = new ArrayList<>();
+        reopened.replay(1, all::add);
+        reopened.replay(10, tail::add);
+        long next = reopened.append(LoanEvent.stockChanged(10L, -1));
+
+        // Then
+        assertEquals(4, segmentCount()); // three full segments and the new one
+        assertEquals(12, all.size());
+        assertEquals(13, next);
+        assertEquals(13, reopened.getLastSequence());
+        assertEquals(LoanEventType.BOOK_RETURNED, all.get(0).getType());
+        assertEquals(6L, all.get(10).getLoanId());
+        assertNull(all.get(11).getLoanId());
+        assertEquals(List.of(10L, 11L, 12L), tail.stream().map(LoanEvent::getSequence).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record and rebuild the projection from the rest")
+    void shouldRecoverFromTornRecord() throws IOException {
+        // Given
+        LoanJournal journal = LoanJournal.open(dir, 4096, 10);
+        journal.append(LoanEvent.bookReturned(1L, 10L, 20L));
+        journal.append(LoanEvent.bookReturned(2L, 10L, 20L));
+        journal.stop();
+        corruptByte(32 + 56 + 20);
+
+        // When
+        LoanJournal reopened = LoanJournal.open(dir, 4096, 10);
+        LoanProjection projection = new LoanProjection();
+        long replayed = reopened.replay(1, projection);
+        long next = reopened.append(LoanEvent.bookReturned(3L, 10L, 20L));
+
+        // Then
+        assertEquals(1, replayed);
+        assertEquals(1, projection.getReturnedCount());
+        assertEquals(2, next);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private void corruptByte(long position) throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0xFF));
+            buffer.rewind();
+            channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.libronova.infra.util;
+
+import com.mycompany.libronova.domain.LoanStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonLinesWriter focusing on escaping and buffering.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("JSON Lines Writer Tests")
+class JsonLinesWriterTest {
+
+    private static final JsonLinesWriter.Key ID = JsonLinesWriter.key("id");
+    private static final JsonLinesWriter.Key TITLE = JsonLinesWriter.key("title");
+    private static final JsonLinesWriter.Key DATE = JsonLinesWriter.key("date");
+    private static final JsonLinesWriter.Key STATUS = JsonLinesWriter.key("status");
+    private static final JsonLinesWriter.Key STOCK = JsonLinesWriter.key("stock");
+
+    @Test
+    @DisplayName("Should escape strings and encode them as UTF-8")
+    void shouldEscapeAndEncodeValues() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (JsonLinesWriter json = new JsonLinesWriter(out)) {
+            json.beginObject()
+                    .field(ID, -42L)
+                    .field(TITLE, "\"Cien años\" \\ 📚\n\t\u0001")
+                    .field(DATE, LocalDate.of(2025, 3, 7))
+                    .field(STATUS, LoanStatus.OVERDUE)
+                    .field(STOCK, (Integer) null)
+                    .endObject();
+            json.beginObject().field(ID, Long.MIN_VALUE).endObject();
+        }
+
+        // Then
+        assertEquals("{\"id\":-42,\"title\":\"\\\"Cien años\\\" \\\\ 📚\\n\\t\\u0001\","
+                + "\"date\":\"2025-03-07\",\"status\":\"OVERDUE\",\"stock\":null}\n"
+                + "{\"id\":-9223372036854775808}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should write the same bytes whatever the buffer size")
+    void shouldDrainSmallBufferWithoutLosingBytes() throws Exception {
+        // Given
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        ByteArrayOutputStream large = new ByteArrayOutputStream();
+        String longTitle = "é".repeat(40);
+
+        // When
+        try (JsonLinesWriter tiny = new JsonLinesWriter(small, 16);
+             JsonLinesWriter roomy = new JsonLinesWriter(large)) {
+            for (long id = 1; id <= 50; id++) {
+                tiny.beginObject().field(ID, id).field(TITLE, longTitle).endObject();
+                roomy.beginObject().field(ID, id).field(TITLE, longTitle).endObject();
+            }
+        }
+
+        // Then
+        String written = small.toString(StandardCharsets.UTF_8);
+        assertEquals(large.toString(StandardCharsets.UTF_8), written);
+        assertEquals(50, written.lines().count());
+        assertTrue(written.startsWith("{\"id\":1,\"title\":\"" + longTitle + "\"}\n"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.mycompany.libronova.infra.util;
+
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.repository.IdRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelCSVExporter focusing on partition order, compression and cleanup.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Parallel CSV Exporter Tests")
+class ParallelCSVExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should write partitions after the header in range order")
+    void shouldConcatenatePartitionsInOrder() throws Exception {
+        // Given
+        Path target = dir.resolve("export.csv");
+        List<IdRange> partitions = new IdRange(1, 10).split(4);
+        AsyncExecutor executor = new AsyncExecutor(4);
+
+        // When
+        long rows = ParallelCSVExporter.export(target, "id\n", partitions, executor, (range, writer) -> {
+            // Later partitions finish first
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos((10 - range.getMin()) * 5));
+            for (long id = range.getMin(); id <= range.getMax(); id++) {
+                writer.write(id + "\n");
+            }
+            return range.getMax() - range.getMin() + 1;
+        });
+
+        // Then
+        assertEquals(4, partitions.size());
+        assertEquals(10, rows);
+        assertEquals("id\n1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n", Files.readString(target, StandardCharsets.UTF_8));
+        assertEquals(1, fileCount());
+    }
+
+    @Test
+    @DisplayName("Should write compressed partitions as one readable gzip file")
+    void shouldConcatenateCompressedPartitions() throws Exception {
+        // Given
+        Path target = dir.resolve("export.csv.gz");
+        List<IdRange> partitions = new IdRange(1, 6).split(3);
+        AsyncExecutor executor = new AsyncExecutor(3);
+
+        // When
+        ParallelCSVExporter.export(target, "id\n", partitions, executor, true, 9, (range, writer) -> {
+            for (long id = range.getMin(); id <= range.getMax(); id++) {
+                writer.write(id + "\n");
+            }
+            return range.getMax() - range.getMin() + 1;
+        });
+
+        // Then
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(target))) {
+            assertEquals("id\n1\n2\n3\n4\n5\n6\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, fileCount());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a partition failure and delete the segments")
+    void shouldCleanUpWhenPartitionFails() throws IOException {
+        // Given
+        Path target = dir.resolve("export.csv");
+        List<IdRange> partitions = new IdRange(1, 4).split(4);
+        AsyncExecutor executor = new AsyncExecutor(2);
+
+        // When
+        DatabaseException error = assertThrows(DatabaseException.class, () ->
+                ParallelCSVExporter.export(target, "id\n", partitions, executor, (range, writer) -> {
+                    if (range.getMin() == 3) {
+                        throw new DatabaseException("Partition failed");
+                    }
+                    writer.write(range.getMin() + "\n");
+                    return 1;
+                }));
+
+        // Then
+        assertEquals("Partition failed", error.getMessage());
+        assertEquals(0, fileCount());
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
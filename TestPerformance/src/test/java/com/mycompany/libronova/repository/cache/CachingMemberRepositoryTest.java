@@ -0,0 +1,133 @@
+package com.mycompany.libronova.repository.cache;
+
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberStatus;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingMemberRepository focusing on index consistency and eviction.
+ *
+ * @author Wilffren Muñoz
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Member Cache Tests")
+class CachingMemberRepositoryTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    private CachingMemberRepository cache;
+    private Member testMember;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CachingMemberRepository(memberRepository, 2);
+        testMember = createTestMember(1L, "M001", "test@example.com");
+    }
+
+    private Member createTestMember(Long id, String memberNumber, String email) {
+        Member member = new Member();
+        member.setId(id);
+        member.setName("Test Member " + id);
+        member.setEmail(email);
+        member.setMemberNumber(memberNumber);
+        member.setStatus(MemberStatus.ACTIVE);
+        member.setRegistrationDate(LocalDate.now());
+        return member;
+    }
+
+    @Test
+    @DisplayName("Should serve id, number and email lookups from one cached entry")
+    void shouldServeAllKeysFromOneEntry() throws DatabaseException {
+        // Given
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+
+        // When
+        cache.findById(1L);
+        Optional<Member> byNumber = cache.findByMemberNumber("M001");
+        Optional<Member> byEmail = cache.findByEmail("test@example.com");
+
+        // Then
+        assertTrue(byNumber.isPresent());
+        assertTrue(byEmail.isPresent());
+        assertEquals(1L, byNumber.get().getId());
+        assertEquals(2, cache.getHits());
+        verify(memberRepository, times(1)).findById(1L);
+        verify(memberRepository, never()).findByMemberNumber(anyString());
+        verify(memberRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot modify cached members")
+    void shouldReturnCopies() throws DatabaseException {
+        // Given
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        cache.findById(1L);
+
+        // When
+        Member first = cache.findById(1L).orElseThrow();
+        first.setStatus(MemberStatus.INACTIVE);
+        Member second = cache.findById(1L).orElseThrow();
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(MemberStatus.ACTIVE, second.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should evict every index when a member is updated")
+    void shouldEvictOnUpdate() throws DatabaseException {
+        // Given
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        cache.findById(1L);
+
+        Member changed = createTestMember(1L, "M001", "new@example.com");
+        when(memberRepository.update(changed)).thenReturn(changed);
+        when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+
+        // When
+        cache.update(changed);
+
+        // Then
+        assertEquals(0, cache.size());
+        assertTrue(cache.findByEmail("test@example.com").isEmpty());
+        verify(memberRepository).findByEmail("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used member when full")
+    void shouldEvictLeastRecentlyUsed() throws DatabaseException {
+        // Given
+        Member second = createTestMember(2L, "M002", "second@example.com");
+        Member third = createTestMember(3L, "M003", "third@example.com");
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(memberRepository.findById(2L)).thenReturn(Optional.of(second));
+        when(memberRepository.findById(3L)).thenReturn(Optional.of(third));
+        when(memberRepository.findByMemberNumber("M002")).thenReturn(Optional.of(second));
+
+        // When
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(1L); // touch 1 so 2 becomes eldest
+        cache.findById(3L);
+        cache.findByMemberNumber("M002");
+
+        // Then
+        verify(memberRepository).findByMemberNumber("M002");
+        verify(memberRepository, times(1)).findById(1L);
+    }
+}
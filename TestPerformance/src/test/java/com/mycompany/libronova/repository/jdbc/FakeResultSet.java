@@ -0,0 +1,90 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory ResultSet for mapper tests and benchmarks.
+ * Label lookups go through a case-insensitive map, as JDBC drivers do.
+ *
+ * @author Wilffren Muñoz
+ */
+final class FakeResultSet {
+
+    private final List<Object[]> rows;
+    private final Map<String, Integer> indexByLabel = new HashMap<>();
+    private int cursor = -1;
+    private boolean lastWasNull;
+
+    private FakeResultSet(String[] labels, List<Object[]> rows) {
+        this.rows = rows;
+        for (int i = 0; i < labels.length; i++) {
+            indexByLabel.put(labels[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+    }
+
+    /**
+     * Creates a result set over the given rows.
+     *
+     * @param labels column labels in select order
+     * @param rows row values; dates as java.sql.Date/Timestamp
+     * @return a ResultSet proxy supporting the getters used by the mappers
+     */
+    static ResultSet of(String[] labels, List<Object[]> rows) {
+        FakeResultSet state = new FakeResultSet(labels, rows);
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> state.invoke(method.getName(), args));
+    }
+
+    private Object invoke(String name, Object[] args) throws SQLException {
+        switch (name) {
+            case "next":
+                return ++cursor < rows.size();
+            case "beforeFirst":
+                cursor = -1;
+                return null;
+            case "findColumn":
+                return index((String) args[0]);
+            case "wasNull":
+                return lastWasNull;
+            case "close":
+                return null;
+            default:
+                break;
+        }
+        int column = args[0] instanceof String ? index((String) args[0]) : (Integer) args[0];
+        Object value = rows.get(cursor)[column - 1];
+        lastWasNull = value == null;
+        switch (name) {
+            case "getObject":
+                return value;
+            case "getString":
+                return value == null ? null : value.toString();
+            case "getLong":
+                return value == null ? 0L : ((Number) value).longValue();
+            case "getInt":
+                return value == null ? 0 : ((Number) value).intValue();
+            case "getDate":
+                return (Date) value;
+            case "getTimestamp":
+                return (Timestamp) value;
+            default:
+                throw new UnsupportedOperationException(name);
+        }
+    }
+
+    private int index(String label) throws SQLException {
+        Integer index = indexByLabel.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Column not found: " + label);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberStatus;
+import com.mycompany.libronova.domain.UserRole;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the index-based loan mapper with the previous label-based mapping.
+ * Not a unit test; after {@code mvn test-compile} run it from the IDE or with
+ * {@code java -cp target/classes:target/test-classes
+ * com.mycompany.libronova.repository.jdbc.RowMapperBenchmark}.
+ *
+ * @author Wilffren Muñoz
+ */
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int ROUNDS = 15;
+
+    public static void main(String[] args) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(RowMapperTest.loanRow(i, i % 5_000, i % 20_000));
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long labelNanos = time(rows, false);
+            long indexNanos = time(rows, true);
+            if (round >= ROUNDS - 5) {
+                System.out.printf("round %d: by label %d ms, by index %d ms%n",
+                        round, labelNanos / 1_000_000, indexNanos / 1_000_000);
+            }
+        }
+    }
+
+    private static long time(List<Object[]> rows, boolean byIndex) throws SQLException {
+        ResultSet rs = FakeResultSet.of(RowMapperTest.LOAN_LABELS, rows);
+        List<Loan> loans = new ArrayList<>(rows.size());
+        long start = System.nanoTime();
+        if (byIndex) {
+            LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
+            while (rs.next()) {
+                loans.add(mapper.map(rs));
+            }
+        } else {
+            while (rs.next()) {
+                loans.add(mapByLabel(rs));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (loans.size() != rows.size()) {
+            throw new IllegalStateException("Mapped " + loans.size() + " rows");
+        }
+        return elapsed;
+    }
+
+    /**
+     * The label-based mapping LoanRepositoryJDBC used before the row mappers.
+     */
+    private static Loan mapByLabel(ResultSet rs) throws SQLException {
+        Loan loan = new Loan();
+        loan.setId(rs.getLong("id"));
+        loan.setLoanDate(rs.getDate("loan_date").toLocalDate());
+        loan.setExpectedReturnDate(rs.getDate("expected_return_date").toLocalDate());
+        Date actualReturnDate = rs.getDate("actual_return_date");
+        if (actualReturnDate != null) {
+            loan.setActualReturnDate(actualReturnDate.toLocalDate());
+        }
+        loan.setStatus(LoanStatus.valueOf(rs.getString("status")));
+
+        Book book = new Book();
+        book.setId(rs.getLong("book_id"));
+        book.setIsbn(rs.getString("isbn"));
+        book.setTitle(rs.getString("title"));
+        book.setAuthor(rs.getString("author"));
+        book.setPublisher(rs.getString("publisher"));
+        if (rs.getObject("year") != null) {
+            book.setYear(Year.of(rs.getInt("year")));
+        }
+        book.setAvailableStock(rs.getInt("available_stock"));
+        book.setTotalStock(rs.getInt("total_stock"));
+        loan.setBook(book);
+
+        Member member = new Member();
+        member.setId(rs.getLong("member_id"));
+        member.setName(rs.getString("name"));
+        member.setEmail(rs.getString("email"));
+        member.setMemberNumber(rs.getString("member_number"));
+        member.setStatus(MemberStatus.valueOf(rs.getString("member_status")));
+        if (rs.getDate("registration_date") != null) {
+            member.setRegistrationDate(rs.getDate("registration_date").toLocalDate());
+        }
+        member.setRole(UserRole.MEMBER);
+        loan.setMember(member);
+        return loan;
+    }
+}
@@ -0,0 +1,159 @@
+package com.mycompany.libronova.repository.jdbc;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.IdempotencyRecord;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanStatus;
+import com.mycompany.libronova.domain.MemberStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the index-based row mappers.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Row Mapper Tests")
+class RowMapperTest {
+
+    static final String[] BOOK_LABELS = BookRowMapper.COLUMNS.split(", ");
+    static final String[] LOAN_LABELS = {
+        "id", "book_id", "member_id", "loan_date", "expected_return_date", "actual_return_date", "status",
+        "isbn", "title", "author", "publisher", "year", "available_stock", "total_stock",
+        "name", "email", "member_number", "member_status", "registration_date"
+    };
+
+    static Object[] loanRow(long id, long bookId, long memberId) {
+        Date date = Date.valueOf(LocalDate.of(2024, 3, 1));
+        return new Object[]{
+            id, bookId, memberId, date, Date.valueOf(LocalDate.of(2024, 3, 15)), null, "ACTIVE",
+            "978-" + bookId, "Title " + bookId, "Author", "Publisher", 2001, 3, 5,
+            "Member " + memberId, memberId + "@example.com", "M" + memberId, "ACTIVE", date
+        };
+    }
+
+    @Test
+    @DisplayName("Should map every book column by index")
+    void shouldMapBookColumns() throws SQLException {
+        // Given
+        Timestamp updated = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 30));
+        ResultSet rs = FakeResultSet.of(BOOK_LABELS, List.<Object[]>of(
+                new Object[]{7L, "978-7", "Rayuela", "Cortázar", "Sudamericana", 1963, 2, 4, updated}));
+
+        // When
+        BookRowMapper mapper = BookRowMapper.forResultSet(rs);
+        assertTrue(rs.next());
+        Book book = mapper.map(rs);
+
+        // Then
+        assertEquals(7L, book.getId());
+        assertEquals("Rayuela", book.getTitle());
+        assertEquals("Sudamericana", book.getPublisher());
+        assertEquals(Year.of(1963), book.getYear());
+        assertEquals(2, book.getAvailableStock());
+        assertEquals(4, book.getTotalStock());
+        assertEquals(updated.toLocalDateTime(), book.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should share book and member instances across loan rows")
+    void shouldShareJoinedInstances() throws SQLException {
+        // Given
+        ResultSet rs = FakeResultSet.of(LOAN_LABELS, List.of(
+                loanRow(1L, 10L, 100L), loanRow(2L, 10L, 200L), loanRow(3L, 11L, 100L)));
+
+        // When
+        LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
+        List<Loan> loans = new ArrayList<>();
+        while (rs.next()) {
+            loans.add(mapper.map(rs));
+        }
+
+        // Then
+        assertEquals(3, loans.size());
+        assertSame(loans.get(0).getBook(), loans.get(1).getBook());
+        assertSame(loans.get(0).getMember(), loans.get(2).getMember());
+        assertNotSame(loans.get(0).getBook(), loans.get(2).getBook());
+        assertEquals(LoanStatus.ACTIVE, loans.get(0).getStatus());
+        assertEquals(MemberStatus.ACTIVE, loans.get(0).getMember().getStatus());
+        assertEquals("Title 11", loans.get(2).getBook().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should give every streamed loan row its own book and member")
+    void shouldNotShareInstancesWhenStreaming() throws SQLException {
+        // Given
+        ResultSet rs = FakeResultSet.of(LOAN_LABELS, List.of(loanRow(1L, 10L, 100L), loanRow(2L, 10L, 100L)));
+
+        // When
+        LoanRowMapper mapper = LoanRowMapper.forStreaming(rs);
+        List<Loan> loans = new ArrayList<>();
+        while (rs.next()) {
+            loans.add(mapper.map(rs));
+        }
+
+        // Then
+        assertNotSame(loans.get(0).getBook(), loans.get(1).getBook());
+        assertNotSame(loans.get(0).getMember(), loans.get(1).getMember());
+        assertEquals(loans.get(0).getBook().getId(), loans.get(1).getBook().getId());
+        assertEquals("M100", loans.get(1).getMember().getMemberNumber());
+    }
+
+    @Test
+    @DisplayName("Should tolerate missing joined rows")
+    void shouldTolerateMissingJoinedRows() throws SQLException {
+        // Given
+        Object[] row = loanRow(1L, 10L, 100L);
+        for (int i = 7; i < row.length; i++) {
+            row[i] = null;
+        }
+        ResultSet rs = FakeResultSet.of(LOAN_LABELS, List.<Object[]>of(row));
+
+        // When
+        LoanRowMapper mapper = LoanRowMapper.forResultSet(rs);
+        assertTrue(rs.next());
+        Loan loan = mapper.map(rs);
+
+        // Then
+        assertNull(loan.getBook().getYear());
+        assertNull(loan.getBook().getTitle());
+        assertNull(loan.getMember().getStatus());
+        assertNull(loan.getMember().getRegistrationDate());
+    }
+
+    @Test
+    @DisplayName("Should map a key still in progress without a loan")
+    void shouldMapInProgressIdempotencyKey() throws SQLException {
+        // Given: created_at is read after loan_id and is not null
+        Timestamp created = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 30));
+        ResultSet rs = FakeResultSet.of(IdempotencyRowMapper.COLUMNS.split(", "), List.of(
+                new Object[]{"req-1", "CREATE_LOAN", null, created},
+                new Object[]{"req-2", "CREATE_LOAN", 42L, created}));
+
+        // When
+        IdempotencyRowMapper mapper = IdempotencyRowMapper.forResultSet(rs);
+        assertTrue(rs.next());
+        IdempotencyRecord inProgress = mapper.map(rs);
+        assertTrue(rs.next());
+        IdempotencyRecord completed = mapper.map(rs);
+
+        // Then
+        assertFalse(inProgress.isCompleted());
+        assertNull(inProgress.getLoanId());
+        assertEquals(created.toLocalDateTime(), inProgress.getCreatedAt());
+        assertTrue(completed.isCompleted());
+        assertEquals(42L, completed.getLoanId());
+    }
+}
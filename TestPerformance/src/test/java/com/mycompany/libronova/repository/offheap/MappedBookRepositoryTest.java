@@ -0,0 +1,99 @@
+package com.mycompany.libronova.repository.offheap;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedBookRepository reading files built by MappedCatalogWriter.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Mapped Catalog Tests")
+class MappedBookRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path catalogFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        catalogFile = tempDir.resolve("catalog.bin");
+        MappedCatalogWriter.write(List.of(
+                createTestBook(3L, "978-0000000003", "Zorba el griego", "Kazantzakis"),
+                createTestBook(1L, "978-0000000001", "Cien años de soledad", "García Márquez"),
+                createTestBook(2L, "978-0000000002", "El amor en los tiempos del cólera", "García Márquez")
+        ), catalogFile);
+    }
+
+    private Book createTestBook(Long id, String isbn, String title, String author) {
+        Book book = new Book(isbn, title, author, "Editorial", Year.of(1967), 4, 5);
+        book.setId(id);
+        book.setUpdatedAt(LocalDateTime.of(2024, 1, id.intValue(), 10, 0));
+        return book;
+    }
+
+    @Test
+    @DisplayName("Should read back every field of a book by id and ISBN")
+    void shouldRoundTripBooks() throws DatabaseException {
+        // Given
+        MappedBookRepository repository = MappedBookRepository.open(catalogFile);
+
+        // When
+        Optional<Book> byId = repository.findById(1L);
+        Optional<Book> byIsbn = repository.findByIsbn("978-0000000002");
+
+        // Then
+        assertTrue(byId.isPresent());
+        assertEquals("Cien años de soledad", byId.get().getTitle());
+        assertEquals("García Márquez", byId.get().getAuthor());
+        assertEquals(Year.of(1967), byId.get().getYear());
+        assertEquals(4, byId.get().getAvailableStock());
+        assertEquals(5, byId.get().getTotalStock());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), byId.get().getUpdatedAt());
+        assertTrue(byIsbn.isPresent());
+        assertEquals(2L, byIsbn.get().getId());
+        assertTrue(repository.findById(99L).isEmpty());
+        assertFalse(repository.existsByIsbn("978-9999999999"));
+    }
+
+    @Test
+    @DisplayName("Should keep books sorted by title and search titles")
+    void shouldReturnBooksSortedByTitle() throws DatabaseException {
+        // Given
+        MappedBookRepository repository = MappedBookRepository.open(catalogFile);
+
+        // When
+        List<Book> all = repository.findAll();
+        List<Book> matches = repository.findByTitle("EL");
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), all.stream().map(Book::getId).toList());
+        assertEquals(List.of(2L, 3L), matches.stream().map(Book::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject writes")
+    void shouldRejectWrites() throws DatabaseException {
+        // Given
+        MappedBookRepository repository = MappedBookRepository.open(catalogFile);
+
+        // When / Then
+        assertThrows(DatabaseException.class, () -> repository.deleteById(1L));
+        assertThrows(DatabaseException.class,
+                () -> repository.save(createTestBook(4L, "978-0000000004", "Nuevo", "Autor")));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.ActivityEvent;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.repository.ActivityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuditServiceImpl focusing on batching and backpressure.
+ *
+ * @author Wilffren Muñoz
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditService Write-Behind Tests")
+class AuditServiceImplTest {
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    private AuditServiceImpl auditService;
+
+    @BeforeEach
+    void setUp() {
+        auditService = new AuditServiceImpl(activityRepository, 5, 2, 1000);
+    }
+
+    @Test
+    @DisplayName("Should write queued events in batches and drop events when full")
+    void shouldBatchAndDropWhenFull() throws DatabaseException {
+        // Given
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<List<ActivityEvent>>getArgument(0).size());
+            return null;
+        }).when(activityRepository).saveAll(anyList());
+
+        // When
+        int accepted = 0;
+        for (int i = 0; i < 7; i++) {
+            if (auditService.record("U" + i, "LOGIN", null)) {
+                accepted++;
+            }
+        }
+        int written = auditService.flush();
+
+        // Then
+        assertEquals(5, accepted);
+        assertEquals(2, auditService.getDropped());
+        assertEquals(5, written);
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals(0, auditService.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("Should write pending events before querying and count failed batches")
+    void shouldFlushBeforeQuery() throws DatabaseException {
+        // Given
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        LocalDateTime to = LocalDateTime.now().plusHours(1);
+        doThrow(new DatabaseException("down")).doNothing().when(activityRepository).saveAll(anyList());
+        when(activityRepository.findByUser("U1", from, to)).thenReturn(List.of());
+
+        auditService.record("U1", "EXPORT_BOOKS", "first");
+        auditService.record("U1", "EXPORT_BOOKS", "second");
+        auditService.record("U1", "EXPORT_BOOKS", "third");
+
+        // When
+        auditService.findByUser("U1", from, to);
+
+        // Then
+        var order = inOrder(activityRepository);
+        order.verify(activityRepository, times(2)).saveAll(anyList());
+        order.verify(activityRepository).findByUser("U1", from, to);
+        assertEquals(2, auditService.getFailed());
+        assertEquals(1, auditService.getWritten());
+    }
+}
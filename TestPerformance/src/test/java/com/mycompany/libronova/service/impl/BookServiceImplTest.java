@@ -171,6 +171,39 @@ class BookServiceImplTest {
         assertEquals(nonExistentId, exception.getIdentifier());
     }
     
+    @Test
+    @DisplayName("Should answer repeated ISBN misses without querying the repository")
+    void shouldCacheIsbnMisses() throws DatabaseException {
+        // Given
+        String missingIsbn = "978-0000000000";
+        when(bookRepository.findByIsbn(missingIsbn)).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThrows(EntityNotFoundException.class, () -> bookService.findBookByIsbn(missingIsbn));
+        assertThrows(EntityNotFoundException.class, () -> bookService.findBookByIsbn(missingIsbn));
+        
+        verify(bookRepository, times(1)).findByIsbn(missingIsbn);
+    }
+    
+    @Test
+    @DisplayName("Should forget an ISBN miss once the book is registered")
+    void shouldInvalidateIsbnMissOnRegister() throws Exception {
+        // Given
+        when(bookRepository.findByIsbn(testBook.getIsbn()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(testBook));
+        when(bookRepository.save(testBook)).thenReturn(testBook);
+        assertThrows(EntityNotFoundException.class, () -> bookService.findBookByIsbn(testBook.getIsbn()));
+        
+        // When
+        bookService.registerBook(testBook);
+        Book result = bookService.findBookByIsbn(testBook.getIsbn());
+        
+        // Then
+        assertEquals(testBook.getIsbn(), result.getIsbn());
+        verify(bookRepository, times(2)).findByIsbn(testBook.getIsbn());
+    }
+    
     @Test
     @DisplayName("Should find all books successfully")
     void shouldFindAllBooksSuccessfully() throws DatabaseException {
@@ -0,0 +1,80 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.service.ExportJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExportJobRunner focusing on progress, completion and cancellation.
+ *
+ * @author Wilffren Muñoz
+ */
+@DisplayName("Export Job Runner Tests")
+class ExportJobRunnerTest {
+
+    @Test
+    @DisplayName("Should report progress and notify completion")
+    void shouldReportProgressAndComplete() throws Exception {
+        // Given
+        ExportJobRunner runner = new ExportJobRunner(1, 4, 10);
+        CompletableFuture<String> notified = new CompletableFuture<>();
+
+        // When
+        ExportJob job = runner.submit("Books", progress -> {
+            progress.setEstimatedTotal(4);
+            for (int i = 0; i < 4; i++) {
+                progress.rowWritten();
+            }
+            return "books.csv";
+        }).onCompletion((fileName, error) -> notified.complete(fileName));
+
+        // Then
+        assertEquals("books.csv", notified.get(5, TimeUnit.SECONDS));
+        assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRowsWritten());
+        assertEquals(4, job.getEstimatedTotal());
+        assertEquals(1.0, job.getProgress());
+        assertEquals(1, runner.getJobs().size());
+    }
+
+    @Test
+    @DisplayName("Should stop a running job and never start a cancelled queued one")
+    void shouldCancelRunningAndQueuedJobs() throws Exception {
+        // Given
+        ExportJobRunner runner = new ExportJobRunner(1, 4, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        ExportJob running = runner.submit("Loans", progress -> {
+            started.countDown();
+            while (true) {
+                progress.rowWritten();
+                Thread.sleep(1);
+            }
+        });
+        ExportJob queued = runner.submit("Books", progress -> {
+            queuedRan.set(true);
+            return "books.csv";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        assertTrue(queued.cancel());
+        assertTrue(running.cancel());
+
+        // Then
+        assertThrows(CancellationException.class, () -> running.getResult().get(5, TimeUnit.SECONDS));
+        assertEquals(ExportJob.Status.CANCELLED, running.getStatus());
+        assertEquals(ExportJob.Status.CANCELLED, queued.getStatus());
+        // The single thread takes jobs in order, so the queued one was skipped before this runs
+        assertEquals("done", runner.submit("Members", progress -> "done").getResult().get(5, TimeUnit.SECONDS));
+        assertFalse(queuedRan.get());
+    }
+}
@@ -0,0 +1,162 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.HoldStatus;
+import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanEvent;
+import com.mycompany.libronova.domain.LoanEventType;
+import com.mycompany.libronova.domain.LoanLimit;
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberStatus;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.infra.journal.LoanJournal;
+import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.HoldRepository;
+import com.mycompany.libronova.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HoldServiceImpl focusing on queue order, hold placement and pickup.
+ *
+ * @author Wilffren Muñoz
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HoldService Waitlist Tests")
+class HoldServiceImplTest {
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private LoanJournal loanJournal;
+
+    private HoldServiceImpl holdService;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldServiceImpl(holdRepository, bookRepository, memberRepository, 3, 15);
+    }
+
+    private Hold createHold(long id, long memberId, int priority, HoldStatus status) {
+        Hold hold = new Hold(1L, memberId, priority);
+        hold.setId(id);
+        hold.setStatus(status);
+        return hold;
+    }
+
+    @Test
+    @DisplayName("Should order queue by ready, then priority, then arrival")
+    void shouldOrderQueue() throws DatabaseException {
+        // Given
+        when(holdRepository.findOpen()).thenReturn(List.of(
+                createHold(1L, 11L, 0, HoldStatus.WAITING),
+                createHold(2L, 12L, 5, HoldStatus.WAITING),
+                createHold(3L, 13L, 0, HoldStatus.WAITING),
+                createHold(4L, 14L, 0, HoldStatus.READY)));
+
+        // When
+        holdService.reload();
+        List<Hold> queue = holdService.getQueue(1L);
+
+        // Then
+        assertEquals(List.of(4L, 2L, 1L, 3L), queue.stream().map(Hold::getId).toList());
+        assertTrue(holdService.findReadyHold(1L, 14L).isPresent());
+        assertTrue(holdService.findReadyHold(1L, 12L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a second hold by the same member on a book")
+    void shouldRejectDuplicateHold() throws DatabaseException {
+        // Given
+        Book book = new Book();
+        book.setId(1L);
+        book.setTotalStock(1);
+        book.setAvailableStock(0);
+        Member member = new Member();
+        member.setId(11L);
+        member.setMemberNumber("M011");
+        member.setStatus(MemberStatus.ACTIVE);
+        when(holdRepository.findOpen()).thenReturn(List.of(createHold(1L, 11L, 0, HoldStatus.WAITING)));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(memberRepository.findById(11L)).thenReturn(Optional.of(member));
+        holdService.reload();
+
+        // When & Then
+        assertThrows(DatabaseException.class, () -> holdService.placeHold(1L, 11L, 0));
+        verify(holdRepository, never()).save(any(Hold.class));
+    }
+
+    @Test
+    @DisplayName("Should drop a stale ready hold from the queue when its claim fails")
+    void shouldDropStaleHoldWhenClaimFails() throws Exception {
+        // Given
+        Hold hold = createHold(4L, 14L, 0, HoldStatus.READY);
+        Book book = new Book();
+        book.setId(1L);
+        book.setIsbn("978-1");
+        Member member = new Member();
+        member.setId(14L);
+        Loan loan = new Loan(book, member, 14);
+        when(holdRepository.findOpen()).thenReturn(List.of(hold));
+        when(holdRepository.fulfill(4L, loan, LoanLimit.UNLIMITED)).thenThrow(new InsufficientStockException("978-1", 0));
+        holdService.reload();
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> holdService.fulfill(hold, loan, LoanLimit.UNLIMITED));
+        assertTrue(holdService.findReadyHold(1L, 14L).isEmpty());
+        verify(holdRepository, never()).updateStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should journal the stock moved by expired and assigned holds")
+    void shouldJournalStockChangesOfSweep() throws Exception {
+        // Given
+        holdService.setJournal(loanJournal);
+        when(holdRepository.expireReady(any(LocalDateTime.class), any(LocalDateTime.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    Map<Long, Integer> stockChanges = invocation.getArgument(2);
+                    stockChanges.put(1L, 2);
+                    return 3;
+                });
+        when(holdRepository.assignAvailableCopies(any(LocalDateTime.class), any(LocalDateTime.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    Map<Long, Integer> stockChanges = invocation.getArgument(2);
+                    stockChanges.put(5L, -1);
+                    return 1;
+                });
+
+        // When
+        int expired = holdService.expireHolds();
+
+        // Then
+        assertEquals(3, expired);
+        ArgumentCaptor<LoanEvent> events = ArgumentCaptor.forClass(LoanEvent.class);
+        verify(loanJournal, times(2)).append(events.capture());
+        assertTrue(events.getAllValues().stream().allMatch(e -> e.getType() == LoanEventType.STOCK_CHANGED));
+        assertEquals(List.of(1L, 5L), events.getAllValues().stream().map(LoanEvent::getBookId).toList());
+        assertEquals(List.of(2, -1), events.getAllValues().stream().map(LoanEvent::getStockDelta).toList());
+    }
+}
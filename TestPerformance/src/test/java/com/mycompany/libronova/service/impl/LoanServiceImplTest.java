@@ -1,18 +1,28 @@
 package com.mycompany.libronova.service.impl;
 
 import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.domain.BulkReturnReport;
+import com.mycompany.libronova.domain.Hold;
+import com.mycompany.libronova.domain.HoldStatus;
 import com.mycompany.libronova.domain.Loan;
+import com.mycompany.libronova.domain.LoanLimit;
 import com.mycompany.libronova.domain.LoanStatus;
 import com.mycompany.libronova.domain.Member;
 import com.mycompany.libronova.domain.MemberStatus;
+import com.mycompany.libronova.domain.ReturnOutcome;
 import com.mycompany.libronova.domain.UserRole;
 import com.mycompany.libronova.exceptions.DatabaseException;
 import com.mycompany.libronova.exceptions.EntityNotFoundException;
 import com.mycompany.libronova.exceptions.InactiveMemberException;
 import com.mycompany.libronova.exceptions.InsufficientStockException;
+import com.mycompany.libronova.exceptions.LoanLimitExceededException;
 import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.FineRepository;
 import com.mycompany.libronova.repository.LoanRepository;
 import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.service.FinePolicy;
+import com.mycompany.libronova.service.HoldService;
+import com.mycompany.libronova.service.IdempotencyService;
 import com.mycompany.libronova.service.impl.LoanServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,7 +34,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +62,15 @@ class LoanServiceImplTest {
     @Mock
     private MemberRepository memberRepository;
     
+    @Mock
+    private FineRepository fineRepository;
+    
+    @Mock
+    private HoldService holdService;
+    
+    @Mock
+    private IdempotencyService idempotencyService;
+    
     private LoanServiceImpl loanService;
     private Book testBook;
     private Member testMember;
@@ -102,8 +124,7 @@ class LoanServiceImplTest {
         // Given
         when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
         when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
-        when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
-        when(bookRepository.update(any(Book.class))).thenReturn(testBook);
+        when(loanRepository.saveAllAndDecrementStock(anyList(), any(LoanLimit.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         Loan result = loanService.createLoan(testBook.getId(), testMember.getId(), 14);
@@ -113,8 +134,8 @@ class LoanServiceImplTest {
         assertEquals(testBook.getId(), result.getBook().getId());
         assertEquals(testMember.getId(), result.getMember().getId());
         assertEquals(LoanStatus.ACTIVE, result.getStatus());
-        verify(bookRepository).update(testBook);
-        verify(loanRepository).save(any(Loan.class));
+        verify(loanRepository).saveAllAndDecrementStock(anyList(), any(LoanLimit.class));
+        verify(bookRepository, never()).update(any(Book.class));
     }
     
     @Test
@@ -183,8 +204,8 @@ class LoanServiceImplTest {
     void shouldReturnBookSuccessfully() throws Exception {
         // Given
         when(loanRepository.findById(testLoan.getId())).thenReturn(Optional.of(testLoan));
-        when(bookRepository.update(any(Book.class))).thenReturn(testBook);
-        when(loanRepository.update(any(Loan.class))).thenReturn(testLoan);
+        when(loanRepository.returnAll(anyCollection(), any(LocalDate.class)))
+                .thenReturn(new BulkReturnReport(Map.of(testLoan.getId(), ReturnOutcome.RETURNED)));
         
         // When
         Loan result = loanService.returnBook(testLoan.getId());
@@ -193,8 +214,8 @@ class LoanServiceImplTest {
         assertEquals(LoanStatus.RETURNED, result.getStatus());
         assertNotNull(result.getActualReturnDate());
         assertEquals(LocalDate.now(), result.getActualReturnDate());
-        verify(bookRepository).update(testBook);
-        verify(loanRepository).update(testLoan);
+        verify(loanRepository).returnAll(List.of(testLoan.getId()), LocalDate.now());
+        verify(bookRepository, never()).update(any(Book.class));
     }
     
     @Test
@@ -207,7 +228,7 @@ class LoanServiceImplTest {
         double fine = loanService.calculateFine(testLoan.getId());
         
         // Then
-        assertEquals(6.0, fine, 0.01); // $1 per day * 6 days = $6.00
+        assertEquals(FinePolicy.fromConfig().fineFor(6), fine, 0.01);
     }
     
     @Test
@@ -247,19 +268,19 @@ class LoanServiceImplTest {
         when(loanRepository.findById(testLoan.getId())).thenReturn(Optional.of(testLoan));
         
         double fine1Day = loanService.calculateFine(testLoan.getId());
-        assertEquals(1.0, fine1Day, 0.01);
+        assertEquals(FinePolicy.fromConfig().fineFor(1), fine1Day, 0.01);
         
         // Test 30 days overdue
         testLoan.setExpectedReturnDate(LocalDate.now().minusDays(30));
         
         double fine30Days = loanService.calculateFine(testLoan.getId());
-        assertEquals(30.0, fine30Days, 0.01);
+        assertEquals(FinePolicy.fromConfig().fineFor(30), fine30Days, 0.01);
         
         // Test 100 days overdue
         testLoan.setExpectedReturnDate(LocalDate.now().minusDays(100));
         
         double fine100Days = loanService.calculateFine(testLoan.getId());
-        assertEquals(100.0, fine100Days, 0.01);
+        assertEquals(FinePolicy.fromConfig().fineFor(100), fine100Days, 0.01);
     }
     
     @Test
@@ -377,15 +398,14 @@ class LoanServiceImplTest {
         int initialStock = testBook.getAvailableStock();
         when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
         when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
-        when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
-        when(bookRepository.update(any(Book.class))).thenReturn(testBook);
+        when(loanRepository.saveAllAndDecrementStock(anyList(), any(LoanLimit.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         loanService.createLoan(testBook.getId(), testMember.getId(), 14);
         
         // Then
         assertEquals(initialStock - 1, testBook.getAvailableStock());
-        verify(bookRepository).update(testBook);
+        verify(bookRepository, never()).update(any(Book.class));
     }
     
     @Test
@@ -394,14 +414,286 @@ class LoanServiceImplTest {
         // Given
         int initialStock = testBook.getAvailableStock();
         when(loanRepository.findById(testLoan.getId())).thenReturn(Optional.of(testLoan));
-        when(bookRepository.update(any(Book.class))).thenReturn(testBook);
-        when(loanRepository.update(any(Loan.class))).thenReturn(testLoan);
+        when(loanRepository.returnAll(anyCollection(), any(LocalDate.class)))
+                .thenReturn(new BulkReturnReport(Map.of(testLoan.getId(), ReturnOutcome.RETURNED)));
         
         // When
         loanService.returnBook(testLoan.getId());
         
         // Then
         assertEquals(initialStock + 1, testBook.getAvailableStock());
-        verify(bookRepository).update(testBook);
+        verify(bookRepository, never()).update(any(Book.class));
+    }
+    
+    @Test
+    @DisplayName("Should create several loans with one member lookup and one batch")
+    void shouldCreateLoansInOneBatch() throws Exception {
+        // Given
+        Book secondBook = createTestBook();
+        secondBook.setId(2L);
+        secondBook.setIsbn("978-0000000002");
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(bookRepository.findAllById(anyCollection())).thenReturn(List.of(testBook, secondBook));
+        when(loanRepository.saveAllAndDecrementStock(anyList(), any(LoanLimit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        List<Loan> loans = loanService.createLoans(testMember.getId(), List.of(1L, 2L, 1L), 14);
+        
+        // Then
+        assertEquals(3, loans.size());
+        assertEquals(3, testBook.getAvailableStock());
+        assertEquals(4, secondBook.getAvailableStock());
+        verify(memberRepository, times(1)).findById(testMember.getId());
+        verify(loanRepository, times(1)).saveAllAndDecrementStock(anyList(), any(LoanLimit.class));
+        verify(bookRepository, never()).update(any(Book.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+    
+    @Test
+    @DisplayName("Should create no loans when one book lacks copies")
+    void shouldRejectLoanBatchWhenStockInsufficient() throws Exception {
+        // Given
+        testBook.setAvailableStock(1);
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(bookRepository.findAllById(anyCollection())).thenReturn(List.of(testBook));
+        
+        // When & Then
+        assertThrows(InsufficientStockException.class,
+                () -> loanService.createLoans(testMember.getId(), List.of(1L, 1L), 14));
+        verify(loanRepository, never()).saveAllAndDecrementStock(anyList(), any(LoanLimit.class));
+        assertEquals(1, testBook.getAvailableStock());
+    }
+    
+    @Test
+    @DisplayName("Should report an outcome for every loan in a bulk return")
+    void shouldReportOutcomePerLoanOnBulkReturn() throws Exception {
+        // Given
+        Map<Long, ReturnOutcome> outcomes = new LinkedHashMap<>();
+        outcomes.put(1L, ReturnOutcome.RETURNED);
+        outcomes.put(2L, ReturnOutcome.NOT_ACTIVE);
+        outcomes.put(3L, ReturnOutcome.NOT_FOUND);
+        when(loanRepository.returnAll(anyCollection(), any(LocalDate.class)))
+                .thenReturn(new BulkReturnReport(outcomes, Map.of(1L, 7L), Map.of(1L, 9L)));
+        
+        // When
+        BulkReturnReport report = loanService.returnBooks(List.of(1L, 2L, 3L, 1L));
+        
+        // Then
+        assertEquals(1, report.count(ReturnOutcome.RETURNED));
+        assertEquals(7L, report.getBookId(1L));
+        assertEquals(List.of(2L, 3L), report.getRejected());
+        verify(loanRepository).returnAll(eq(new LinkedHashSet<>(List.of(1L, 2L, 3L))), any(LocalDate.class));
+        verify(loanRepository, never()).update(any(Loan.class));
+        verify(bookRepository, never()).update(any(Book.class));
+    }
+    
+    @Test
+    @DisplayName("Should answer fines from the ledger without loading the loan")
+    void shouldReadFineFromLedger() throws Exception {
+        // Given
+        loanService.setFineLedger(fineRepository, new FinePolicy(2.0, 0, 0));
+        when(fineRepository.findAmountByLoanId(testLoan.getId())).thenReturn(Optional.of(12.0));
+        
+        // When
+        double fine = loanService.calculateFine(testLoan.getId());
+        
+        // Then
+        assertEquals(12.0, fine, 0.01);
+        verify(loanRepository, never()).findById(anyLong());
+    }
+    
+    @Test
+    @DisplayName("Should apply the configured policy to loans not yet in the ledger")
+    void shouldApplyPolicyWhenLedgerHasNoRow() throws Exception {
+        // Given
+        loanService.setFineLedger(fineRepository, new FinePolicy(2.0, 1, 8.0));
+        when(fineRepository.findAmountByLoanId(testLoan.getId())).thenReturn(Optional.empty());
+        when(loanRepository.findById(testLoan.getId())).thenReturn(Optional.of(testLoan));
+        
+        // When
+        double fine = loanService.calculateFine(testLoan.getId());
+        
+        // Then
+        assertEquals(8.0, fine, 0.01, "6 overdue days minus 1 grace day at 2.0, capped at 8.0");
+    }
+    
+    @Test
+    @DisplayName("Should add active overdue loans the ledger has not accrued yet to member fines")
+    void shouldTotalMemberFinesFromLedgerAndPolicy() throws Exception {
+        // Given: loan 1 is accrued, loan 2 is overdue but not accrued, loan 3 is not due yet
+        loanService.setFineLedger(fineRepository, new FinePolicy(2.0, 0, 0));
+        Loan notAccrued = createTestLoan();
+        notAccrued.setId(2L);
+        notAccrued.setExpectedReturnDate(LocalDate.now().minusDays(3));
+        Loan notDue = createTestLoan();
+        notDue.setId(3L);
+        notDue.setExpectedReturnDate(LocalDate.now().plusDays(3));
+        when(loanRepository.findActiveByMemberId(testMember.getId()))
+                .thenReturn(List.of(testLoan, notAccrued, notDue));
+        when(fineRepository.findAmountsByLoanIds(List.of(1L, 2L))).thenReturn(Map.of(1L, 12.0));
+        
+        // When
+        double total = loanService.calculateMemberFines(testMember.getId());
+        
+        // Then
+        assertEquals(18.0, total, 0.01, "12.0 from the ledger plus 3 days at 2.0");
+    }
+    
+    @Test
+    @DisplayName("Should reject loan when member reached the active loan limit")
+    void shouldRejectLoanOverMemberLimit() throws Exception {
+        // Given
+        int initialStock = testBook.getAvailableStock();
+        loanService.setLoanLimits(new LoanLimitServiceImpl(memberRepository, 2, 0));
+        when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(loanRepository.saveAllAndDecrementStock(anyList(), argThat(limit -> limit.getMaxActive() == 2)))
+                .thenThrow(new LoanLimitExceededException(testMember.getMemberNumber(), 2, 0, "limit reached"));
+        
+        // When & Then
+        assertThrows(LoanLimitExceededException.class, () -> 
+            loanService.createLoan(testBook.getId(), testMember.getId(), 14));
+        
+        assertEquals(initialStock, testBook.getAvailableStock());
+        verify(memberRepository, never()).findLoanCounts(anyLong());
+        verify(bookRepository, never()).update(any(Book.class));
+    }
+    
+    @Test
+    @DisplayName("Should keep counting loans when no limit is configured")
+    void shouldSaveUncappedLoansWithoutLimitService() throws Exception {
+        // Given
+        when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(loanRepository.saveAllAndDecrementStock(anyList(), any(LoanLimit.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        loanService.createLoan(testBook.getId(), testMember.getId(), 14);
+        
+        // Then
+        verify(loanRepository).saveAllAndDecrementStock(anyList(), same(LoanLimit.UNLIMITED));
+    }
+    
+    @Test
+    @DisplayName("Should hand returned copy to the waitlist instead of restocking")
+    void shouldRouteReturnThroughWaitlist() throws Exception {
+        // Given
+        loanService.setHolds(holdService);
+        when(loanRepository.findById(testLoan.getId())).thenReturn(Optional.of(testLoan));
+        when(holdService.returnLoan(testLoan)).thenReturn(Optional.empty());
+        
+        // When
+        Loan result = loanService.returnBook(testLoan.getId());
+        
+        // Then
+        assertEquals(LoanStatus.RETURNED, result.getStatus());
+        verify(holdService).returnLoan(testLoan);
+        verify(bookRepository, never()).update(any(Book.class));
+        verify(loanRepository, never()).update(any(Loan.class));
+    }
+    
+    @Test
+    @DisplayName("Should lend the copy set aside for a member's ready hold")
+    void shouldLendCopyHeldForMember() throws Exception {
+        // Given
+        testBook.setAvailableStock(0);
+        Hold hold = new Hold(testBook.getId(), testMember.getId(), 0);
+        hold.setId(7L);
+        hold.setStatus(HoldStatus.READY);
+        loanService.setHolds(holdService);
+        when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
+        when(holdService.findReadyHold(testBook.getId(), testMember.getId())).thenReturn(Optional.of(hold));
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(holdService.fulfill(eq(hold), any(Loan.class), any(LoanLimit.class))).thenReturn(testLoan);
+        
+        // When
+        Loan result = loanService.createLoan(testBook.getId(), testMember.getId(), 14);
+        
+        // Then
+        assertSame(testLoan, result);
+        assertEquals(0, testBook.getAvailableStock());
+        verify(bookRepository, never()).update(any(Book.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+    
+    @Test
+    @DisplayName("Should lend the held copy even when other copies are on the shelf")
+    void shouldPreferReadyHoldOverShelfCopy() throws Exception {
+        // Given
+        int initialStock = testBook.getAvailableStock();
+        Hold hold = new Hold(testBook.getId(), testMember.getId(), 0);
+        hold.setId(7L);
+        hold.setStatus(HoldStatus.READY);
+        loanService.setHolds(holdService);
+        when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
+        when(holdService.findReadyHold(testBook.getId(), testMember.getId())).thenReturn(Optional.of(hold));
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(holdService.fulfill(eq(hold), any(Loan.class), any(LoanLimit.class))).thenReturn(testLoan);
+        
+        // When
+        Loan result = loanService.createLoan(testBook.getId(), testMember.getId(), 14);
+        
+        // Then
+        assertSame(testLoan, result);
+        assertEquals(initialStock, testBook.getAvailableStock());
+        verify(loanRepository, never()).saveAllAndDecrementStock(anyList(), any(LoanLimit.class));
+    }
+    
+    @Test
+    @DisplayName("Should lend nothing when the ready hold can no longer be claimed")
+    void shouldRejectLoanWhenHoldClaimFails() throws Exception {
+        // Given
+        testBook.setAvailableStock(0);
+        Hold hold = new Hold(testBook.getId(), testMember.getId(), 0);
+        hold.setId(7L);
+        hold.setStatus(HoldStatus.READY);
+        loanService.setHolds(holdService);
+        when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
+        when(holdService.findReadyHold(testBook.getId(), testMember.getId())).thenReturn(Optional.of(hold));
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(holdService.fulfill(eq(hold), any(Loan.class), any(LoanLimit.class)))
+                .thenThrow(new InsufficientStockException(testBook.getIsbn(), 0));
+        
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> 
+            loanService.createLoan(testBook.getId(), testMember.getId(), 14));
+        
+        verify(bookRepository, never()).update(any(Book.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+    
+    @Test
+    @DisplayName("Should replay the loan of a retried request instead of lending again")
+    void shouldReplayRetriedCreateLoan() throws Exception {
+        // Given
+        loanService.setIdempotency(idempotencyService);
+        when(idempotencyService.begin("req-1", "CREATE_LOAN")).thenReturn(Optional.of(testLoan.getId()));
+        when(loanRepository.findById(testLoan.getId())).thenReturn(Optional.of(testLoan));
+        
+        // When
+        Loan result = loanService.createLoan("req-1", testBook.getId(), testMember.getId(), 14);
+        
+        // Then
+        assertSame(testLoan, result);
+        verify(bookRepository, never()).update(any(Book.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+    
+    @Test
+    @DisplayName("Should free the idempotency key when the request fails")
+    void shouldAbandonKeyWhenCreateLoanFails() throws Exception {
+        // Given
+        testBook.setAvailableStock(0);
+        loanService.setIdempotency(idempotencyService);
+        when(idempotencyService.begin("req-2", "CREATE_LOAN")).thenReturn(Optional.empty());
+        when(bookRepository.findById(testBook.getId())).thenReturn(Optional.of(testBook));
+        
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> 
+            loanService.createLoan("req-2", testBook.getId(), testMember.getId(), 14));
+        
+        verify(idempotencyService).abandon("req-2");
+        verify(idempotencyService, never()).complete(anyString(), anyString(), anyLong());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Member;
+import com.mycompany.libronova.domain.MemberImportReport;
+import com.mycompany.libronova.exceptions.DatabaseException;
+import com.mycompany.libronova.exceptions.EntityNotFoundException;
+import com.mycompany.libronova.infra.cache.NegativeLookupCache;
+import com.mycompany.libronova.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MemberServiceImpl focusing on bulk CSV import and
+ * the missing member number cache.
+ *
+ * @author Wilffren Muñoz
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberService Tests")
+class MemberServiceImplTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @TempDir
+    Path dir;
+
+    private MemberServiceImpl memberService;
+
+    private NegativeLookupCache<String> missingMemberNumbers;
+
+    @BeforeEach
+    void setUp() {
+        missingMemberNumbers = new NegativeLookupCache<>(Duration.ofSeconds(30), 100);
+        memberService = new MemberServiceImpl(memberRepository, missingMemberNumbers, 2);
+    }
+
+    @Test
+    @DisplayName("Should reject duplicates in memory and insert the rest in chunks")
+    void shouldRejectDuplicatesAndInsertInChunks() throws Exception {
+        // Given
+        Path csv = Files.writeString(dir.resolve("term.csv"), String.join("\n",
+                "Name,Email,Member Number",
+                "Ana,ana@example.com,2001",
+                "Luis,luis@example.com,1001",
+                "Eva,TAKEN@example.com,2002",
+                "\"Ruiz, Sofia\",sofia@example.com,2003",
+                "Ana Copy,other@example.com,2001",
+                "Pablo,pablo@example.com,A-7",
+                "Marta,marta@example.com,2004"));
+        doAnswer(invocation -> {
+            invocation.<Set<String>>getArgument(0).add("1001");
+            invocation.<Set<String>>getArgument(1).add("taken@example.com");
+            return null;
+        }).when(memberRepository).loadKeys(anySet(), anySet());
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(memberRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Member> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk;
+        });
+
+        // When
+        MemberImportReport report = memberService.importMembers(csv);
+
+        // Then
+        assertEquals(3, report.getImported());
+        assertEquals(List.of(2, 1), chunkSizes);
+        assertEquals(List.of(3, 4, 6, 7), report.getRejections().stream()
+                .map(MemberImportReport.Rejection::getLine).toList());
+        assertEquals("Member number repeated, first used on line 2", report.getRejections().get(2).getReason());
+        assertTrue(Files.readString(report.getRejectionFile()).contains("Email already registered"));
+        verify(memberRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk row by row and reject only the failing rows")
+    void shouldRetryFailedChunkRowByRow() throws Exception {
+        // Given
+        Path csv = Files.writeString(dir.resolve("term.csv"), String.join("\n",
+                "name,email,member_number",
+                "Ana,ana@example.com,2001",
+                "Luis,luis@example.com,2002"));
+        doAnswer(invocation -> {
+            invocation.<Set<String>>getArgument(0).add("1001");
+            invocation.<Set<String>>getArgument(1).add("taken@example.com");
+            return null;
+        }).when(memberRepository).loadKeys(anySet(), anySet());
+        when(memberRepository.saveAll(anyList())).thenThrow(new DatabaseException("Duplicate entry"));
+        when(memberRepository.save(argThat(m -> m != null && "2001".equals(m.getMemberNumber()))))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(memberRepository.save(argThat(m -> m != null && "2002".equals(m.getMemberNumber()))))
+                .thenThrow(new DatabaseException("Duplicate entry '2002'"));
+
+        // When
+        MemberImportReport report = memberService.importMembers(csv);
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejections().size());
+        assertEquals(3, report.getRejections().get(0).getLine());
+    }
+
+    @Test
+    @DisplayName("Should read the header of a file saved with a UTF-8 byte order mark")
+    void shouldImportFileWithByteOrderMark() throws Exception {
+        // Given: spreadsheets often save CSV files as "UTF-8 with BOM"
+        Path csv = Files.writeString(dir.resolve("term.csv"), String.join("\n",
+                "\uFEFFName,Email,Member Number",
+                "Ana,ana@example.com,2001"));
+        when(memberRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        MemberImportReport report = memberService.importMembers(csv);
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertTrue(report.getRejections().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should forget a cached miss once a member is updated to that number")
+    void shouldInvalidateMissingNumberOnUpdate() throws Exception {
+        // Given
+        Member member = new Member();
+        member.setId(7L);
+        member.setName("Ana");
+        member.setEmail("ana@example.com");
+        member.setMemberNumber("3001");
+        when(memberRepository.findByMemberNumber("3001"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(member));
+        when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+        when(memberRepository.update(member)).thenReturn(member);
+        assertThrows(EntityNotFoundException.class, () -> memberService.findMemberByNumber("3001"));
+        assertTrue(missingMemberNumbers.isKnownMissing("3001"));
+
+        // When
+        memberService.updateMember(member);
+
+        // Then
+        assertFalse(missingMemberNumbers.isKnownMissing("3001"));
+        assertSame(member, memberService.findMemberByNumber("3001"));
+        verify(memberRepository, times(2)).findByMemberNumber("3001");
+    }
+}
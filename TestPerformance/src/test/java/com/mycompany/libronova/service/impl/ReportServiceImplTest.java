@@ -0,0 +1,139 @@
+package com.mycompany.libronova.service.impl;
+
+import com.mycompany.libronova.domain.Book;
+import com.mycompany.libronova.infra.concurrent.AsyncExecutor;
+import com.mycompany.libronova.repository.BookRepository;
+import com.mycompany.libronova.repository.ChangeLogRepository;
+import com.mycompany.libronova.repository.LoanRepository;
+import com.mycompany.libronova.repository.MemberRepository;
+import com.mycompany.libronova.repository.RowCallback;
+import com.mycompany.libronova.service.BookService;
+import com.mycompany.libronova.service.ExportEntity;
+import com.mycompany.libronova.service.ExportOptions;
+import com.mycompany.libronova.service.LoanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportServiceImpl focusing on delta exports.
+ *
+ * @author Wilffren Muñoz
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportService Delta Export Tests")
+class ReportServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 2, 0);
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private ChangeLogRepository changeLog;
+
+    private ReportServiceImpl reportService;
+    private String fileName;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reportService = new ReportServiceImpl(bookService, loanService, bookRepository, loanRepository,
+                new AsyncExecutor(1));
+        reportService.setChangeLog(changeLog, memberRepository, 30, 300);
+        when(changeLog.currentTimestamp()).thenReturn(NOW);
+        doAnswer(invocation -> {
+            RowCallback<Book> callback = invocation.getArgument(1);
+            callback.accept(book(7L, "978-0000000007", "Dune"));
+            callback.accept(book(9L, "978-0000000009", "Emma, Vol. 2"));
+            return null;
+        }).when(bookRepository).streamUpdatedSince(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (fileName != null) {
+            Files.deleteIfExists(Path.of(fileName));
+        }
+    }
+
+    @Test
+    @DisplayName("Should export every row on the first run and store the watermark")
+    void shouldExportEverythingOnFirstRun() throws Exception {
+        // Given
+        when(changeLog.findWatermark("delta.books")).thenReturn(Optional.empty());
+
+        // When
+        fileName = reportService.exportDelta(ExportEntity.BOOKS, new ExportOptions(1));
+
+        // Then
+        List<String> lines = Files.readAllLines(Path.of(fileName));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("Change,ID,ISBN,"));
+        assertEquals("UPSERT,7,978-0000000007,Dune,Autor,Editorial,1965,2,3", lines.get(1));
+        assertEquals("UPSERT,9,978-0000000009,\"Emma, Vol. 2\",Autor,Editorial,1965,2,3", lines.get(2));
+        verify(changeLog, never()).findDeletedSince(anyString(), any());
+        verify(changeLog).saveWatermark("delta.books", NOW);
+    }
+
+    @Test
+    @DisplayName("Should re-read an overlap window and write tombstones for deleted rows")
+    void shouldExportChangesAndTombstonesSinceWatermark() throws Exception {
+        // Given
+        LocalDateTime watermark = NOW.minusDays(1);
+        LocalDateTime since = watermark.minusSeconds(300);
+        when(changeLog.findWatermark("delta.books")).thenReturn(Optional.of(watermark));
+        when(changeLog.findDeletedSince("books", since)).thenReturn(List.of(4L));
+
+        // When
+        fileName = reportService.exportDelta(ExportEntity.BOOKS, new ExportOptions(1));
+
+        // Then
+        List<String> lines = Files.readAllLines(Path.of(fileName));
+        assertEquals(4, lines.size());
+        assertEquals("DELETE,4,,,,,,,", lines.get(3));
+        assertEquals(lines.get(0).split(",", -1).length, lines.get(3).split(",", -1).length);
+        verify(bookRepository).streamUpdatedSince(eq(since), any());
+        verify(changeLog).saveWatermark("delta.books", NOW);
+        verify(changeLog).deleteTombstonesBefore(NOW.minusDays(30));
+    }
+
+    private Book book(Long id, String isbn, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setIsbn(isbn);
+        book.setTitle(title);
+        book.setAuthor("Autor");
+        book.setPublisher("Editorial");
+        book.setYear(Year.of(1965));
+        book.setAvailableStock(2);
+        book.setTotalStock(3);
+        return book;
+    }
+}